@@ -0,0 +1,28 @@
+-- Migration: expedientes catalog search index
+-- Date: 2026-10-18
+-- Goal:
+--   1) Add idx_expedientes_empresa so catalog prefix search by company uses an index.
+--   2) idx_expedientes_codigo already serves keyset pagination by (expediente, id).
+
+SET @has_idx_empresa := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'expedientes'
+    AND INDEX_NAME = 'idx_expedientes_empresa'
+);
+SET @sql_idx_empresa := IF(
+  @has_idx_empresa > 0,
+  'SELECT 1',
+  'ALTER TABLE expedientes ADD INDEX idx_expedientes_empresa (empresa)'
+);
+PREPARE stmt_idx_empresa FROM @sql_idx_empresa;
+EXECUTE stmt_idx_empresa;
+DEALLOCATE PREPARE stmt_idx_empresa;
+
+-- Validation query: should return both indexes.
+SELECT DISTINCT INDEX_NAME
+FROM INFORMATION_SCHEMA.STATISTICS
+WHERE TABLE_SCHEMA = DATABASE()
+  AND TABLE_NAME = 'expedientes'
+  AND INDEX_NAME IN ('idx_expedientes_codigo', 'idx_expedientes_empresa');
@@ -0,0 +1,251 @@
+-- Migration: typed dates for roadmap timelines
+-- Date: 2026-10-18
+-- Goal:
+--   1) Add DATE columns next to the VARCHAR(20) date fields. The text keeps
+--      what the editor wrote (e.g. 2026-T1); the DATE holds the first day of
+--      the period for start fields and the last day for end fields:
+--        roadmaps.horizonte_inicio_date / horizonte_fin_date
+--        iniciativas.inicio_date / fin_date
+--        compromisos.fecha_comprometido_date
+--        expedientes.fecha_fin_expediente_date
+--   2) Add idx_iniciativas_roadmap_fechas (roadmap_id, inicio_date, fin_date),
+--      idx_compromisos_roadmap_fecha and idx_expedientes_fecha_fin so window
+--      queries ("what is active in Q3") filter in SQL.
+--   3) Backfill the common formats: YYYY-Tn / YYYY-Qn, YYYY-MM-DD,
+--      DD/MM/YYYY, YYYY-MM and YYYY. The backend fills the remaining forms
+--      with its lenient parser on the next connection.
+
+SET @has_col_1 := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.COLUMNS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'roadmaps'
+    AND COLUMN_NAME = 'horizonte_inicio_date'
+);
+SET @sql_col_1 := IF(
+  @has_col_1 > 0,
+  'SELECT 1',
+  'ALTER TABLE roadmaps ADD COLUMN horizonte_inicio_date DATE NULL AFTER horizonte_fin'
+);
+PREPARE stmt_col_1 FROM @sql_col_1;
+EXECUTE stmt_col_1;
+DEALLOCATE PREPARE stmt_col_1;
+
+SET @has_col_2 := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.COLUMNS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'roadmaps'
+    AND COLUMN_NAME = 'horizonte_fin_date'
+);
+SET @sql_col_2 := IF(
+  @has_col_2 > 0,
+  'SELECT 1',
+  'ALTER TABLE roadmaps ADD COLUMN horizonte_fin_date DATE NULL AFTER horizonte_inicio_date'
+);
+PREPARE stmt_col_2 FROM @sql_col_2;
+EXECUTE stmt_col_2;
+DEALLOCATE PREPARE stmt_col_2;
+
+SET @has_col_3 := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.COLUMNS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'iniciativas'
+    AND COLUMN_NAME = 'inicio_date'
+);
+SET @sql_col_3 := IF(
+  @has_col_3 > 0,
+  'SELECT 1',
+  'ALTER TABLE iniciativas ADD COLUMN inicio_date DATE NULL AFTER fin'
+);
+PREPARE stmt_col_3 FROM @sql_col_3;
+EXECUTE stmt_col_3;
+DEALLOCATE PREPARE stmt_col_3;
+
+SET @has_col_4 := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.COLUMNS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'iniciativas'
+    AND COLUMN_NAME = 'fin_date'
+);
+SET @sql_col_4 := IF(
+  @has_col_4 > 0,
+  'SELECT 1',
+  'ALTER TABLE iniciativas ADD COLUMN fin_date DATE NULL AFTER inicio_date'
+);
+PREPARE stmt_col_4 FROM @sql_col_4;
+EXECUTE stmt_col_4;
+DEALLOCATE PREPARE stmt_col_4;
+
+SET @has_col_5 := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.COLUMNS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'compromisos'
+    AND COLUMN_NAME = 'fecha_comprometido_date'
+);
+SET @sql_col_5 := IF(
+  @has_col_5 > 0,
+  'SELECT 1',
+  'ALTER TABLE compromisos ADD COLUMN fecha_comprometido_date DATE NULL AFTER fecha_comprometido'
+);
+PREPARE stmt_col_5 FROM @sql_col_5;
+EXECUTE stmt_col_5;
+DEALLOCATE PREPARE stmt_col_5;
+
+SET @has_col_6 := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.COLUMNS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'expedientes'
+    AND COLUMN_NAME = 'fecha_fin_expediente_date'
+);
+SET @sql_col_6 := IF(
+  @has_col_6 > 0,
+  'SELECT 1',
+  'ALTER TABLE expedientes ADD COLUMN fecha_fin_expediente_date DATE NULL AFTER fecha_fin_expediente'
+);
+PREPARE stmt_col_6 FROM @sql_col_6;
+EXECUTE stmt_col_6;
+DEALLOCATE PREPARE stmt_col_6;
+
+SET @has_idx_1 := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'iniciativas'
+    AND INDEX_NAME = 'idx_iniciativas_roadmap_fechas'
+);
+SET @sql_idx_1 := IF(
+  @has_idx_1 > 0,
+  'SELECT 1',
+  'ALTER TABLE iniciativas ADD INDEX idx_iniciativas_roadmap_fechas (roadmap_id, inicio_date, fin_date)'
+);
+PREPARE stmt_idx_1 FROM @sql_idx_1;
+EXECUTE stmt_idx_1;
+DEALLOCATE PREPARE stmt_idx_1;
+
+SET @has_idx_2 := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'compromisos'
+    AND INDEX_NAME = 'idx_compromisos_roadmap_fecha'
+);
+SET @sql_idx_2 := IF(
+  @has_idx_2 > 0,
+  'SELECT 1',
+  'ALTER TABLE compromisos ADD INDEX idx_compromisos_roadmap_fecha (roadmap_id, fecha_comprometido_date)'
+);
+PREPARE stmt_idx_2 FROM @sql_idx_2;
+EXECUTE stmt_idx_2;
+DEALLOCATE PREPARE stmt_idx_2;
+
+SET @has_idx_3 := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'expedientes'
+    AND INDEX_NAME = 'idx_expedientes_fecha_fin'
+);
+SET @sql_idx_3 := IF(
+  @has_idx_3 > 0,
+  'SELECT 1',
+  'ALTER TABLE expedientes ADD INDEX idx_expedientes_fecha_fin (fecha_fin_expediente_date)'
+);
+PREPARE stmt_idx_3 FROM @sql_idx_3;
+EXECUTE stmt_idx_3;
+DEALLOCATE PREPARE stmt_idx_3;
+
+UPDATE roadmaps
+SET horizonte_inicio_date = CASE
+    WHEN UPPER(TRIM(horizonte_inicio)) REGEXP '^[0-9]{4}-[TQ][1-4]$'
+      THEN MAKEDATE(LEFT(UPPER(TRIM(horizonte_inicio)), 4), 1) + INTERVAL (RIGHT(UPPER(TRIM(horizonte_inicio)), 1) - 1) * 3 MONTH
+    WHEN UPPER(TRIM(horizonte_inicio)) REGEXP '^[0-9]{4}-[0-9]{2}-[0-9]{2}$' THEN STR_TO_DATE(UPPER(TRIM(horizonte_inicio)), '%Y-%m-%d')
+    WHEN UPPER(TRIM(horizonte_inicio)) REGEXP '^[0-9]{1,2}/[0-9]{1,2}/[0-9]{4}$' THEN STR_TO_DATE(UPPER(TRIM(horizonte_inicio)), '%d/%m/%Y')
+    WHEN UPPER(TRIM(horizonte_inicio)) REGEXP '^[0-9]{4}-[0-9]{2}$' THEN STR_TO_DATE(CONCAT(UPPER(TRIM(horizonte_inicio)), '-01'), '%Y-%m-%d')
+    WHEN UPPER(TRIM(horizonte_inicio)) REGEXP '^[0-9]{4}$' THEN MAKEDATE(UPPER(TRIM(horizonte_inicio)), 1)
+  END
+WHERE horizonte_inicio_date IS NULL
+  AND horizonte_inicio IS NOT NULL
+  AND horizonte_inicio <> '';
+
+UPDATE roadmaps
+SET horizonte_fin_date = CASE
+    WHEN UPPER(TRIM(horizonte_fin)) REGEXP '^[0-9]{4}-[TQ][1-4]$'
+      THEN LAST_DAY(MAKEDATE(LEFT(UPPER(TRIM(horizonte_fin)), 4), 1) + INTERVAL RIGHT(UPPER(TRIM(horizonte_fin)), 1) * 3 - 1 MONTH)
+    WHEN UPPER(TRIM(horizonte_fin)) REGEXP '^[0-9]{4}-[0-9]{2}-[0-9]{2}$' THEN STR_TO_DATE(UPPER(TRIM(horizonte_fin)), '%Y-%m-%d')
+    WHEN UPPER(TRIM(horizonte_fin)) REGEXP '^[0-9]{1,2}/[0-9]{1,2}/[0-9]{4}$' THEN STR_TO_DATE(UPPER(TRIM(horizonte_fin)), '%d/%m/%Y')
+    WHEN UPPER(TRIM(horizonte_fin)) REGEXP '^[0-9]{4}-[0-9]{2}$' THEN LAST_DAY(STR_TO_DATE(CONCAT(UPPER(TRIM(horizonte_fin)), '-01'), '%Y-%m-%d'))
+    WHEN UPPER(TRIM(horizonte_fin)) REGEXP '^[0-9]{4}$' THEN MAKEDATE(UPPER(TRIM(horizonte_fin)), 1) + INTERVAL 1 YEAR - INTERVAL 1 DAY
+  END
+WHERE horizonte_fin_date IS NULL
+  AND horizonte_fin IS NOT NULL
+  AND horizonte_fin <> '';
+
+UPDATE iniciativas
+SET inicio_date = CASE
+    WHEN UPPER(TRIM(inicio)) REGEXP '^[0-9]{4}-[TQ][1-4]$'
+      THEN MAKEDATE(LEFT(UPPER(TRIM(inicio)), 4), 1) + INTERVAL (RIGHT(UPPER(TRIM(inicio)), 1) - 1) * 3 MONTH
+    WHEN UPPER(TRIM(inicio)) REGEXP '^[0-9]{4}-[0-9]{2}-[0-9]{2}$' THEN STR_TO_DATE(UPPER(TRIM(inicio)), '%Y-%m-%d')
+    WHEN UPPER(TRIM(inicio)) REGEXP '^[0-9]{1,2}/[0-9]{1,2}/[0-9]{4}$' THEN STR_TO_DATE(UPPER(TRIM(inicio)), '%d/%m/%Y')
+    WHEN UPPER(TRIM(inicio)) REGEXP '^[0-9]{4}-[0-9]{2}$' THEN STR_TO_DATE(CONCAT(UPPER(TRIM(inicio)), '-01'), '%Y-%m-%d')
+    WHEN UPPER(TRIM(inicio)) REGEXP '^[0-9]{4}$' THEN MAKEDATE(UPPER(TRIM(inicio)), 1)
+  END
+WHERE inicio_date IS NULL
+  AND inicio IS NOT NULL
+  AND inicio <> '';
+
+UPDATE iniciativas
+SET fin_date = CASE
+    WHEN UPPER(TRIM(fin)) REGEXP '^[0-9]{4}-[TQ][1-4]$'
+      THEN LAST_DAY(MAKEDATE(LEFT(UPPER(TRIM(fin)), 4), 1) + INTERVAL RIGHT(UPPER(TRIM(fin)), 1) * 3 - 1 MONTH)
+    WHEN UPPER(TRIM(fin)) REGEXP '^[0-9]{4}-[0-9]{2}-[0-9]{2}$' THEN STR_TO_DATE(UPPER(TRIM(fin)), '%Y-%m-%d')
+    WHEN UPPER(TRIM(fin)) REGEXP '^[0-9]{1,2}/[0-9]{1,2}/[0-9]{4}$' THEN STR_TO_DATE(UPPER(TRIM(fin)), '%d/%m/%Y')
+    WHEN UPPER(TRIM(fin)) REGEXP '^[0-9]{4}-[0-9]{2}$' THEN LAST_DAY(STR_TO_DATE(CONCAT(UPPER(TRIM(fin)), '-01'), '%Y-%m-%d'))
+    WHEN UPPER(TRIM(fin)) REGEXP '^[0-9]{4}$' THEN MAKEDATE(UPPER(TRIM(fin)), 1) + INTERVAL 1 YEAR - INTERVAL 1 DAY
+  END
+WHERE fin_date IS NULL
+  AND fin IS NOT NULL
+  AND fin <> '';
+
+UPDATE compromisos
+SET fecha_comprometido_date = CASE
+    WHEN UPPER(TRIM(fecha_comprometido)) REGEXP '^[0-9]{4}-[TQ][1-4]$'
+      THEN LAST_DAY(MAKEDATE(LEFT(UPPER(TRIM(fecha_comprometido)), 4), 1) + INTERVAL RIGHT(UPPER(TRIM(fecha_comprometido)), 1) * 3 - 1 MONTH)
+    WHEN UPPER(TRIM(fecha_comprometido)) REGEXP '^[0-9]{4}-[0-9]{2}-[0-9]{2}$' THEN STR_TO_DATE(UPPER(TRIM(fecha_comprometido)), '%Y-%m-%d')
+    WHEN UPPER(TRIM(fecha_comprometido)) REGEXP '^[0-9]{1,2}/[0-9]{1,2}/[0-9]{4}$' THEN STR_TO_DATE(UPPER(TRIM(fecha_comprometido)), '%d/%m/%Y')
+    WHEN UPPER(TRIM(fecha_comprometido)) REGEXP '^[0-9]{4}-[0-9]{2}$' THEN LAST_DAY(STR_TO_DATE(CONCAT(UPPER(TRIM(fecha_comprometido)), '-01'), '%Y-%m-%d'))
+    WHEN UPPER(TRIM(fecha_comprometido)) REGEXP '^[0-9]{4}$' THEN MAKEDATE(UPPER(TRIM(fecha_comprometido)), 1) + INTERVAL 1 YEAR - INTERVAL 1 DAY
+  END
+WHERE fecha_comprometido_date IS NULL
+  AND fecha_comprometido IS NOT NULL
+  AND fecha_comprometido <> '';
+
+UPDATE expedientes
+SET fecha_fin_expediente_date = CASE
+    WHEN UPPER(TRIM(fecha_fin_expediente)) REGEXP '^[0-9]{4}-[TQ][1-4]$'
+      THEN LAST_DAY(MAKEDATE(LEFT(UPPER(TRIM(fecha_fin_expediente)), 4), 1) + INTERVAL RIGHT(UPPER(TRIM(fecha_fin_expediente)), 1) * 3 - 1 MONTH)
+    WHEN UPPER(TRIM(fecha_fin_expediente)) REGEXP '^[0-9]{4}-[0-9]{2}-[0-9]{2}$' THEN STR_TO_DATE(UPPER(TRIM(fecha_fin_expediente)), '%Y-%m-%d')
+    WHEN UPPER(TRIM(fecha_fin_expediente)) REGEXP '^[0-9]{1,2}/[0-9]{1,2}/[0-9]{4}$' THEN STR_TO_DATE(UPPER(TRIM(fecha_fin_expediente)), '%d/%m/%Y')
+    WHEN UPPER(TRIM(fecha_fin_expediente)) REGEXP '^[0-9]{4}-[0-9]{2}$' THEN LAST_DAY(STR_TO_DATE(CONCAT(UPPER(TRIM(fecha_fin_expediente)), '-01'), '%Y-%m-%d'))
+    WHEN UPPER(TRIM(fecha_fin_expediente)) REGEXP '^[0-9]{4}$' THEN MAKEDATE(UPPER(TRIM(fecha_fin_expediente)), 1) + INTERVAL 1 YEAR - INTERVAL 1 DAY
+  END
+WHERE fecha_fin_expediente_date IS NULL
+  AND fecha_fin_expediente IS NOT NULL
+  AND fecha_fin_expediente <> '';
+
+-- Validation query: rows whose text could not be converted (left to the backend).
+SELECT 'iniciativas' AS tabla, COUNT(*) AS pendientes
+FROM iniciativas
+WHERE (inicio <> '' AND inicio_date IS NULL) OR (fin <> '' AND fin_date IS NULL)
+UNION ALL
+SELECT 'compromisos', COUNT(*)
+FROM compromisos
+WHERE fecha_comprometido <> '' AND fecha_comprometido_date IS NULL
+UNION ALL
+SELECT 'expedientes', COUNT(*)
+FROM expedientes
+WHERE fecha_fin_expediente <> '' AND fecha_fin_expediente_date IS NULL;
@@ -0,0 +1,44 @@
+-- Migration: initiative dependency edges
+-- Date: 2026-10-18
+-- Goal:
+--   1) Create iniciativa_dependencia, one row per entry of
+--      iniciativas.dependencias: (roadmap_id, iniciativa_id, depende_de_id, tipo).
+--      iniciativa_id waits for depende_de_id. The JSON column stays as is and
+--      the backend keeps both in sync on every save and import.
+--   2) Primary key (iniciativa_id, depende_de_id) answers "what does X wait
+--      for"; idx_iniciativa_dependencia_inversa (roadmap_id, depende_de_id,
+--      iniciativa_id) answers "what depends on X" and the impact walks.
+--   3) Backfill from the JSON column (MySQL 8.0 JSON_TABLE). Blank targets and
+--      self links are skipped; repeated targets keep the first one.
+
+CREATE TABLE IF NOT EXISTS iniciativa_dependencia (
+  roadmap_id VARCHAR(50) NOT NULL,
+  iniciativa_id VARCHAR(50) NOT NULL,
+  depende_de_id VARCHAR(50) NOT NULL,
+  tipo VARCHAR(255),
+  posicion INT DEFAULT 0,
+  PRIMARY KEY (iniciativa_id, depende_de_id),
+  FOREIGN KEY (roadmap_id) REFERENCES roadmaps(id) ON DELETE CASCADE,
+  FOREIGN KEY (iniciativa_id) REFERENCES iniciativas(id) ON DELETE CASCADE,
+  INDEX idx_iniciativa_dependencia_inversa (roadmap_id, depende_de_id, iniciativa_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT IGNORE INTO iniciativa_dependencia (roadmap_id, iniciativa_id, depende_de_id, tipo, posicion)
+SELECT i.roadmap_id, i.id, TRIM(d.iniciativa), COALESCE(d.tipo, ''), d.ord - 1
+FROM iniciativas i,
+     JSON_TABLE(i.dependencias, '$[*]' COLUMNS (
+       ord FOR ORDINALITY,
+       iniciativa VARCHAR(50) PATH '$.iniciativa',
+       tipo VARCHAR(255) PATH '$.tipo'
+     )) d
+WHERE JSON_LENGTH(i.dependencias) > 0
+  AND TRIM(d.iniciativa) <> ''
+  AND TRIM(d.iniciativa) <> i.id;
+
+-- Validation query: edges per roadmap should match the JSON arrays.
+SELECT i.roadmap_id,
+       SUM(JSON_LENGTH(i.dependencias)) AS json_links,
+       (SELECT COUNT(*) FROM iniciativa_dependencia d WHERE d.roadmap_id = i.roadmap_id) AS edges
+FROM iniciativas i
+WHERE JSON_LENGTH(i.dependencias) > 0
+GROUP BY i.roadmap_id;
@@ -0,0 +1,29 @@
+-- Migration: roadmaps keyset listing index
+-- Date: 2026-10-18
+-- Goal:
+--   1) Add idx_roadmaps_created (created_at, id) so GET /api/roadmaps/page
+--      seeks directly to each page instead of sorting the whole table.
+
+SET @has_idx_created := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'roadmaps'
+    AND INDEX_NAME = 'idx_roadmaps_created'
+);
+SET @sql_idx_created := IF(
+  @has_idx_created > 0,
+  'SELECT 1',
+  'ALTER TABLE roadmaps ADD INDEX idx_roadmaps_created (created_at, id)'
+);
+PREPARE stmt_idx_created FROM @sql_idx_created;
+EXECUTE stmt_idx_created;
+DEALLOCATE PREPARE stmt_idx_created;
+
+-- Validation query: should return the index columns in order.
+SELECT INDEX_NAME, SEQ_IN_INDEX, COLUMN_NAME
+FROM INFORMATION_SCHEMA.STATISTICS
+WHERE TABLE_SCHEMA = DATABASE()
+  AND TABLE_NAME = 'roadmaps'
+  AND INDEX_NAME = 'idx_roadmaps_created'
+ORDER BY SEQ_IN_INDEX;
@@ -0,0 +1,28 @@
+-- Migration: roadmaps version index
+-- Date: 2026-10-18
+-- Goal:
+--   1) Add idx_roadmaps_updated_at so the roadmap list version
+--      (COUNT(*), MAX(updated_at)) used for ETag/Last-Modified is an index lookup.
+
+SET @has_idx_updated := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'roadmaps'
+    AND INDEX_NAME = 'idx_roadmaps_updated_at'
+);
+SET @sql_idx_updated := IF(
+  @has_idx_updated > 0,
+  'SELECT 1',
+  'ALTER TABLE roadmaps ADD INDEX idx_roadmaps_updated_at (updated_at)'
+);
+PREPARE stmt_idx_updated FROM @sql_idx_updated;
+EXECUTE stmt_idx_updated;
+DEALLOCATE PREPARE stmt_idx_updated;
+
+-- Validation query: should return the index.
+SELECT DISTINCT INDEX_NAME
+FROM INFORMATION_SCHEMA.STATISTICS
+WHERE TABLE_SCHEMA = DATABASE()
+  AND TABLE_NAME = 'roadmaps'
+  AND INDEX_NAME = 'idx_roadmaps_updated_at';
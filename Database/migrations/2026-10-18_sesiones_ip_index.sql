@@ -0,0 +1,28 @@
+-- Migration: sesiones IP index
+-- Date: 2026-10-18
+-- Goal:
+--   1) Add idx_sesiones_ip_address so admins can list and revoke the active
+--      sessions opened from one IP without scanning the table.
+
+SET @has_idx_ip := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'sesiones'
+    AND INDEX_NAME = 'idx_sesiones_ip_address'
+);
+SET @sql_idx_ip := IF(
+  @has_idx_ip > 0,
+  'SELECT 1',
+  'ALTER TABLE sesiones ADD INDEX idx_sesiones_ip_address (ip_address)'
+);
+PREPARE stmt_idx_ip FROM @sql_idx_ip;
+EXECUTE stmt_idx_ip;
+DEALLOCATE PREPARE stmt_idx_ip;
+
+-- Validation query: should return the index.
+SELECT DISTINCT INDEX_NAME
+FROM INFORMATION_SCHEMA.STATISTICS
+WHERE TABLE_SCHEMA = DATABASE()
+  AND TABLE_NAME = 'sesiones'
+  AND INDEX_NAME = 'idx_sesiones_ip_address';
@@ -0,0 +1,110 @@
+-- Migration (OPTIONAL): partition sesiones by expiry day
+-- Date: 2026-10-18
+-- Goal:
+--   Let the session reaper drop whole days of expired sessions
+--   (ALTER TABLE ... DROP PARTITION) instead of deleting them row by row.
+--   Without this migration the reaper deletes in small batches, which is
+--   enough for most installations.
+-- Trade-offs (MySQL requires every unique key to include the partition column
+-- and does not support foreign keys on partitioned tables):
+--   1) The FK sesiones.usuario_id -> usuarios.id is dropped. Deleting a user
+--      now deletes its sessions explicitly (JdbcUsuarioRepository.delete).
+--   2) PRIMARY KEY becomes (id, expires_at); id stays AUTO_INCREMENT.
+--   3) The UNIQUE index on the raw token is dropped; uk_sesiones_token_sha256
+--      becomes (token_sha256, expires_at). Digests are 256-bit, so uniqueness
+--      on the digest alone is still effectively guaranteed.
+--   4) expires_at becomes DATETIME: RANGE partitioning by TO_DAYS() is not
+--      allowed on TIMESTAMP columns. The application writes local times.
+-- Partitions are named pYYYYMMDD and hold sessions expiring before the next
+-- day; pmax catches the rest. The reaper keeps 7 days of partitions ahead by
+-- splitting pmax and drops days older than the expiry grace period.
+-- Run during a maintenance window: the table is rebuilt.
+
+SET @fk_name := (
+  SELECT CONSTRAINT_NAME
+  FROM INFORMATION_SCHEMA.REFERENTIAL_CONSTRAINTS
+  WHERE CONSTRAINT_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'sesiones'
+    AND REFERENCED_TABLE_NAME = 'usuarios'
+  LIMIT 1
+);
+SET @sql_fk := IF(
+  @fk_name IS NULL,
+  'SELECT 1',
+  CONCAT('ALTER TABLE sesiones DROP FOREIGN KEY ', @fk_name)
+);
+PREPARE stmt_fk FROM @sql_fk;
+EXECUTE stmt_fk;
+DEALLOCATE PREPARE stmt_fk;
+
+SET @uk_token := (
+  SELECT INDEX_NAME
+  FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'sesiones'
+    AND COLUMN_NAME = 'token'
+    AND NON_UNIQUE = 0
+  LIMIT 1
+);
+SET @sql_uk_token := IF(
+  @uk_token IS NULL,
+  'SELECT 1',
+  CONCAT('ALTER TABLE sesiones DROP INDEX ', @uk_token)
+);
+PREPARE stmt_uk_token FROM @sql_uk_token;
+EXECUTE stmt_uk_token;
+DEALLOCATE PREPARE stmt_uk_token;
+
+SET @is_partitioned := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.PARTITIONS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'sesiones'
+    AND PARTITION_NAME IS NOT NULL
+);
+SET @sql_keys := IF(
+  @is_partitioned > 0,
+  'SELECT 1',
+  'ALTER TABLE sesiones
+     MODIFY COLUMN expires_at DATETIME NOT NULL,
+     DROP PRIMARY KEY,
+     ADD PRIMARY KEY (id, expires_at),
+     DROP INDEX uk_sesiones_token_sha256,
+     ADD UNIQUE INDEX uk_sesiones_token_sha256 (token_sha256, expires_at)'
+);
+PREPARE stmt_keys FROM @sql_keys;
+EXECUTE stmt_keys;
+DEALLOCATE PREPARE stmt_keys;
+
+-- One partition per day from yesterday to a week ahead; older rows fall
+-- into the first partition and are dropped by the reaper on its first run.
+SET @d0 := CURDATE() - INTERVAL 1 DAY;
+SET @sql_partition := IF(
+  @is_partitioned > 0,
+  'SELECT 1',
+  CONCAT(
+    'ALTER TABLE sesiones PARTITION BY RANGE (TO_DAYS(expires_at)) (',
+    (
+      SELECT GROUP_CONCAT(
+        CONCAT('PARTITION p', DATE_FORMAT(@d0 + INTERVAL n DAY, '%Y%m%d'),
+               ' VALUES LESS THAN (TO_DAYS(''', @d0 + INTERVAL (n + 1) DAY, '''))')
+        ORDER BY n SEPARATOR ', ')
+      FROM (
+        SELECT 0 AS n UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3
+        UNION ALL SELECT 4 UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7
+        UNION ALL SELECT 8
+      ) days
+    ),
+    ', PARTITION pmax VALUES LESS THAN MAXVALUE)'
+  )
+);
+PREPARE stmt_partition FROM @sql_partition;
+EXECUTE stmt_partition;
+DEALLOCATE PREPARE stmt_partition;
+
+-- Validation query: should list the daily partitions followed by pmax.
+SELECT PARTITION_NAME, PARTITION_DESCRIPTION, TABLE_ROWS
+FROM INFORMATION_SCHEMA.PARTITIONS
+WHERE TABLE_SCHEMA = DATABASE()
+  AND TABLE_NAME = 'sesiones'
+ORDER BY PARTITION_ORDINAL_POSITION;
@@ -0,0 +1,70 @@
+-- Migration: session revocation tracking
+-- Date: 2026-10-18
+-- Goal:
+--   1) Add sesiones.jti, the JWT id claim, so revocations can be matched
+--      without the raw token.
+--   2) Add sesiones.revoked_at, set when a session is revoked, and
+--      idx_sesiones_revoked_at so the stateless validation mode can pull
+--      new revocations incrementally.
+
+SET @has_jti := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.COLUMNS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'sesiones'
+    AND COLUMN_NAME = 'jti'
+);
+SET @sql_jti := IF(
+  @has_jti > 0,
+  'SELECT 1',
+  'ALTER TABLE sesiones ADD COLUMN jti VARCHAR(64) NULL'
+);
+PREPARE stmt_jti FROM @sql_jti;
+EXECUTE stmt_jti;
+DEALLOCATE PREPARE stmt_jti;
+
+SET @has_revoked_at := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.COLUMNS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'sesiones'
+    AND COLUMN_NAME = 'revoked_at'
+);
+SET @sql_revoked_at := IF(
+  @has_revoked_at > 0,
+  'SELECT 1',
+  'ALTER TABLE sesiones ADD COLUMN revoked_at TIMESTAMP(3) NULL'
+);
+PREPARE stmt_revoked_at FROM @sql_revoked_at;
+EXECUTE stmt_revoked_at;
+DEALLOCATE PREPARE stmt_revoked_at;
+
+SET @has_idx_revoked := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'sesiones'
+    AND INDEX_NAME = 'idx_sesiones_revoked_at'
+);
+SET @sql_idx_revoked := IF(
+  @has_idx_revoked > 0,
+  'SELECT 1',
+  'ALTER TABLE sesiones ADD INDEX idx_sesiones_revoked_at (revoked_at)'
+);
+PREPARE stmt_idx_revoked FROM @sql_idx_revoked;
+EXECUTE stmt_idx_revoked;
+DEALLOCATE PREPARE stmt_idx_revoked;
+
+-- Sessions revoked before this migration have no revoked_at yet.
+UPDATE sesiones
+SET revoked_at = NOW(3)
+WHERE estado = 'REVOCADA'
+  AND revoked_at IS NULL
+  AND expires_at > NOW();
+
+-- Validation query: should return both columns.
+SELECT COLUMN_NAME
+FROM INFORMATION_SCHEMA.COLUMNS
+WHERE TABLE_SCHEMA = DATABASE()
+  AND TABLE_NAME = 'sesiones'
+  AND COLUMN_NAME IN ('jti', 'revoked_at');
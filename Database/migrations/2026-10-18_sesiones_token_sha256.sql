@@ -0,0 +1,109 @@
+-- Migration: session lookup by token digest
+-- Date: 2026-10-18
+-- Goal:
+--   1) Add sesiones.token_sha256 BINARY(32) with a UNIQUE index; sessions are
+--      looked up by this fixed-width digest instead of the full JWT.
+--   2) Backfill the digest of existing sessions.
+--   3) Make sesiones.token nullable so the raw token can stop being stored
+--      (auth.sessions.store-raw-token=false).
+--   4) Replace the UNIQUE index on token and idx_token with a non-unique
+--      prefix index: lookups go by digest, so the wide unique index only
+--      costs writes. 100 characters reach past the JWT header every token
+--      shares.
+-- Rows written without digest by nodes of the previous version are still
+-- found by token while auth.sessions.dual-read=true (off by default).
+
+SET @has_digest := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.COLUMNS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'sesiones'
+    AND COLUMN_NAME = 'token_sha256'
+);
+SET @sql_digest := IF(
+  @has_digest > 0,
+  'SELECT 1',
+  'ALTER TABLE sesiones ADD COLUMN token_sha256 BINARY(32) NULL AFTER token'
+);
+PREPARE stmt_digest FROM @sql_digest;
+EXECUTE stmt_digest;
+DEALLOCATE PREPARE stmt_digest;
+
+UPDATE sesiones
+SET token_sha256 = UNHEX(SHA2(token, 256))
+WHERE token_sha256 IS NULL
+  AND token IS NOT NULL;
+
+SET @has_uk_digest := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'sesiones'
+    AND INDEX_NAME = 'uk_sesiones_token_sha256'
+);
+SET @sql_uk_digest := IF(
+  @has_uk_digest > 0,
+  'SELECT 1',
+  'ALTER TABLE sesiones ADD UNIQUE INDEX uk_sesiones_token_sha256 (token_sha256)'
+);
+PREPARE stmt_uk_digest FROM @sql_uk_digest;
+EXECUTE stmt_uk_digest;
+DEALLOCATE PREPARE stmt_uk_digest;
+
+ALTER TABLE sesiones MODIFY COLUMN token VARCHAR(500) NULL;
+
+SET @has_idx_token := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'sesiones'
+    AND INDEX_NAME = 'idx_token'
+);
+SET @sql_idx_token := IF(
+  @has_idx_token > 0,
+  'ALTER TABLE sesiones DROP INDEX idx_token',
+  'SELECT 1'
+);
+PREPARE stmt_idx_token FROM @sql_idx_token;
+EXECUTE stmt_idx_token;
+DEALLOCATE PREPARE stmt_idx_token;
+
+SET @uk_token := (
+  SELECT INDEX_NAME
+  FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'sesiones'
+    AND COLUMN_NAME = 'token'
+    AND NON_UNIQUE = 0
+  LIMIT 1
+);
+SET @sql_uk_token := IF(
+  @uk_token IS NULL,
+  'SELECT 1',
+  CONCAT('ALTER TABLE sesiones DROP INDEX ', @uk_token)
+);
+PREPARE stmt_uk_token FROM @sql_uk_token;
+EXECUTE stmt_uk_token;
+DEALLOCATE PREPARE stmt_uk_token;
+
+SET @has_idx_token_prefix := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'sesiones'
+    AND INDEX_NAME = 'idx_sesiones_token'
+);
+SET @sql_idx_token_prefix := IF(
+  @has_idx_token_prefix > 0,
+  'SELECT 1',
+  'ALTER TABLE sesiones ADD INDEX idx_sesiones_token (token(100))'
+);
+PREPARE stmt_idx_token_prefix FROM @sql_idx_token_prefix;
+EXECUTE stmt_idx_token_prefix;
+DEALLOCATE PREPARE stmt_idx_token_prefix;
+
+-- Validation query: should return 0 (every stored token has its digest).
+SELECT COUNT(*) AS sesiones_sin_digest
+FROM sesiones
+WHERE token_sha256 IS NULL
+  AND token IS NOT NULL;
@@ -0,0 +1,29 @@
+-- Migration: usuarios admin queries index
+-- Date: 2026-10-18
+-- Goal:
+--   1) Add idx_usuarios_rol_activo_username so the per-role counts and the
+--      last-active-ADMIN check are index-only, and the admin user search
+--      filtered by rol/activo reads rows already ordered by username.
+
+SET @has_idx_rol_activo := (
+  SELECT COUNT(*)
+  FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'usuarios'
+    AND INDEX_NAME = 'idx_usuarios_rol_activo_username'
+);
+SET @sql_idx_rol_activo := IF(
+  @has_idx_rol_activo > 0,
+  'SELECT 1',
+  'ALTER TABLE usuarios ADD INDEX idx_usuarios_rol_activo_username (rol, activo, username)'
+);
+PREPARE stmt_idx_rol_activo FROM @sql_idx_rol_activo;
+EXECUTE stmt_idx_rol_activo;
+DEALLOCATE PREPARE stmt_idx_rol_activo;
+
+-- Validation query: should return the index.
+SELECT DISTINCT INDEX_NAME
+FROM INFORMATION_SCHEMA.STATISTICS
+WHERE TABLE_SCHEMA = DATABASE()
+  AND TABLE_NAME = 'usuarios'
+  AND INDEX_NAME = 'idx_usuarios_rol_activo_username';
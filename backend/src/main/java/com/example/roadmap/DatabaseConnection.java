@@ -2,8 +2,11 @@ package com.example.roadmap;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -46,6 +49,7 @@ public class DatabaseConnection {
 
     private static HikariDataSource dataSource;
     private static DatabaseType currentType = DatabaseType.MYSQL;
+    private static volatile long poolGeneration;
 
     private static final Config mysqlConfig = new Config(DatabaseType.MYSQL);
     private static final Config oracleConfig = new Config(DatabaseType.ORACLE);
@@ -127,6 +131,7 @@ public class DatabaseConnection {
             dataSource = null;
         }
 
+        poolGeneration++;
         if (currentType == DatabaseType.ORACLE) {
             initializeOracleDataSource(config);
         } else {
@@ -166,6 +171,7 @@ public class DatabaseConnection {
         hikariConfig.addDataSourceProperty("cachePrepStmts", "true");
         hikariConfig.addDataSourceProperty("prepStmtCacheSize", "250");
         hikariConfig.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        hikariConfig.addDataSourceProperty("rewriteBatchedStatements", "true");
 
         dataSource = new HikariDataSource(hikariConfig);
     }
@@ -229,6 +235,7 @@ public class DatabaseConnection {
                 System.err.println("Error closing connection pool: " + e.getMessage());
             } finally {
                 dataSource = null;
+                poolGeneration++;
             }
             System.out.println("Disconnected from database.");
         }
@@ -243,6 +250,40 @@ public class DatabaseConnection {
         return dataSource != null && !dataSource.isClosed();
     }
 
+    /**
+     * Returns a counter that changes every time the pool is recreated or closed.
+     *
+     * Caches derived from the connected schema compare it to detect staleness.
+     *
+     * @return Current pool generation.
+     */
+    public static long getPoolGeneration() {
+        return poolGeneration;
+    }
+
+    /**
+     * Returns live counters of the active connection pool.
+     *
+     * @return Map with active, idle, total and waiting connections; empty when no pool exists.
+     */
+    public static Map<String, Object> getPoolStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        HikariDataSource current = dataSource;
+        if (current == null || current.isClosed()) {
+            return stats;
+        }
+        stats.put("poolName", current.getPoolName());
+        stats.put("maximumPoolSize", current.getMaximumPoolSize());
+        HikariPoolMXBean pool = current.getHikariPoolMXBean();
+        if (pool != null) {
+            stats.put("activeConnections", pool.getActiveConnections());
+            stats.put("idleConnections", pool.getIdleConnections());
+            stats.put("totalConnections", pool.getTotalConnections());
+            stats.put("threadsAwaitingConnection", pool.getThreadsAwaitingConnection());
+        }
+        return stats;
+    }
+
     /**
      * Returns JDBC URL for current configuration.
      *
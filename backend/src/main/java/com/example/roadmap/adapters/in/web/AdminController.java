@@ -4,22 +4,43 @@ import com.example.roadmap.adapters.in.web.annotation.RequireRole;
 import com.example.roadmap.adapters.in.web.dto.ChangeActivoRequest;
 import com.example.roadmap.adapters.in.web.dto.ChangeRolRequest;
 import com.example.roadmap.adapters.in.web.dto.CreateUsuarioRequest;
+import com.example.roadmap.adapters.in.web.dto.RevokeSesionesRequest;
+import com.example.roadmap.adapters.in.web.dto.SesionResponse;
 import com.example.roadmap.adapters.in.web.dto.UsuarioResponse;
+import com.example.roadmap.application.AuthenticationService;
+import com.example.roadmap.application.PasswordHashingService;
+import com.example.roadmap.application.SessionReaper;
+import com.example.roadmap.application.TokenAuthenticationCache;
+import com.example.roadmap.application.UsuarioProvisioningUseCase;
+import com.example.roadmap.domain.SesionFilter;
+import com.example.roadmap.domain.SesionPage;
+import com.example.roadmap.domain.SesionRepository;
 import com.example.roadmap.domain.Usuario;
+import com.example.roadmap.domain.UsuarioPage;
+import com.example.roadmap.domain.UsuarioPrincipal;
 import com.example.roadmap.domain.UsuarioRepository;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -31,25 +52,54 @@ import java.util.stream.Collectors;
  *
  * Endpoints:
  * - GET /api/admin/usuarios: Listar todos los usuarios.
+ * - GET /api/admin/usuarios/search?q=&rol=&activo=&cursor=&limit=: Búsqueda paginada.
+ * - GET /api/admin/usuarios/stats: Recuento de usuarios por rol y estado.
  * - POST /api/admin/usuarios: Crear nuevo usuario.
+ * - POST /api/admin/usuarios/bulk: Alta masiva (JSON, CSV o fichero CSV).
  * - GET /api/admin/usuarios/{id}: Obtener usuario por ID.
  * - PUT /api/admin/usuarios/{id}/rol: Cambiar rol del usuario.
  * - PUT /api/admin/usuarios/{id}/activo: Activar/desactivar usuario.
  * - DELETE /api/admin/usuarios/{id}: Eliminar usuario.
+ * - GET /api/admin/sesiones?usuarioId=&rol=&ip=&olderThanMinutes=&cursor=&limit=: Sesiones activas.
+ * - POST /api/admin/sesiones/revoke: Revocar en bloque las sesiones que cumplen un filtro.
+ * - GET /api/admin/auth-cache/stats: Métricas de la caché de tokens.
+ * - GET /api/admin/password-hashing/stats: Métricas del pool de BCrypt.
+ * - GET /api/admin/session-reaper/stats: Métricas de la limpieza de sesiones.
  *
  * @since 1.0
  */
 @RestController
 @RequestMapping("/api/admin")
 public class AdminController {
+    private static final int DEFAULT_SEARCH_LIMIT = 50;
+    private static final int MAX_SEARCH_LIMIT = 200;
 
     private final UsuarioRepository usuarioRepository;
 
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final AuthenticationService authenticationService;
 
-    public AdminController(UsuarioRepository usuarioRepository) {
+    private final PasswordHashingService passwordHashingService;
+
+    private final SessionReaper sessionReaper;
+
+    private final UsuarioProvisioningUseCase provisioningUseCase;
+
+    private final SesionRepository sesionRepository;
+
+    public AdminController(
+        UsuarioRepository usuarioRepository,
+        AuthenticationService authenticationService,
+        PasswordHashingService passwordHashingService,
+        SessionReaper sessionReaper,
+        UsuarioProvisioningUseCase provisioningUseCase,
+        SesionRepository sesionRepository
+    ) {
         this.usuarioRepository = usuarioRepository;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.authenticationService = authenticationService;
+        this.passwordHashingService = passwordHashingService;
+        this.sessionReaper = sessionReaper;
+        this.provisioningUseCase = provisioningUseCase;
+        this.sesionRepository = sesionRepository;
     }
 
     /**
@@ -75,6 +125,73 @@ public class AdminController {
         }
     }
 
+    /**
+     * Buscar usuarios por prefijo de username, rol y estado, paginando por
+     * username con cursor keyset.
+     * Solo accesible para ADMIN.
+     *
+     * @param query Prefijo del username.
+     * @param rol Rol exacto.
+     * @param activo Estado exacto.
+     * @param cursor Cursor de la página anterior.
+     * @param limit Tamaño de página (por defecto 50, máximo 200).
+     * @return Usuarios de la página y cursor de la siguiente.
+     */
+    @GetMapping("/usuarios/search")
+    @RequireRole(roles = {Usuario.Role.ADMIN})
+    public ResponseEntity<Object> searchUsuarios(
+        @RequestParam(name = "q", required = false) String query,
+        @RequestParam(name = "rol", required = false) Usuario.Role rol,
+        @RequestParam(name = "activo", required = false) Boolean activo,
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "limit", required = false) Integer limit
+    ) {
+        try {
+            int pageSize = (limit == null || limit <= 0) ? DEFAULT_SEARCH_LIMIT : Math.min(limit, MAX_SEARCH_LIMIT);
+            UsuarioPage page = usuarioRepository.search(query, rol, activo, cursor, pageSize);
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("items", page.getItems().stream()
+                .map(UsuarioResponse::from)
+                .collect(Collectors.toList()));
+            response.put("nextCursor", page.getNextCursor());
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(createErrorResponse("Error al buscar usuarios: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Recuento de usuarios por rol, total y activos.
+     * Solo accesible para ADMIN.
+     *
+     * @return Totales por rol y estado.
+     */
+    @GetMapping("/usuarios/stats")
+    @RequireRole(roles = {Usuario.Role.ADMIN})
+    public ResponseEntity<Object> getUsuarioStats() {
+        try {
+            Map<Usuario.Role, Integer> todos = usuarioRepository.countByRol(null);
+            Map<Usuario.Role, Integer> activos = usuarioRepository.countByRol(true);
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("total", todos.values().stream().mapToInt(Integer::intValue).sum());
+            response.put("activos", activos.values().stream().mapToInt(Integer::intValue).sum());
+            response.put("porRol", todos);
+            response.put("activosPorRol", activos);
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(createErrorResponse("Error al contar usuarios: " + e.getMessage()));
+        }
+    }
+
     /**
      * Obtener un usuario por ID.
      * Solo accesible para ADMIN.
@@ -138,7 +255,7 @@ public class AdminController {
             // Crear usuario
             Usuario nuevoUsuario = new Usuario(request.getUsername(), null, request.getRol());
             if (request.getPassword() != null && !request.getPassword().isBlank()) {
-                nuevoUsuario.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+                nuevoUsuario.setPasswordHash(passwordHashingService.encode(request.getPassword(), request.getUsername(), null));
                 nuevoUsuario.setMustChangePassword(false);
             }
             nuevoUsuario.setCreatedBy("ADMIN");
@@ -149,12 +266,82 @@ public class AdminController {
             return ResponseEntity.status(HttpStatus.CREATED)
                 .body(UsuarioResponse.from(usuarioGuardado));
 
+        } catch (PasswordHashingService.RejectedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(createErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(createErrorResponse("Error al crear usuario: " + e.getMessage()));
         }
     }
 
+    /**
+     * Alta masiva de usuarios desde un array JSON con el mismo formato que
+     * POST /api/admin/usuarios.
+     * Solo accesible para ADMIN.
+     *
+     * @param requests Usuarios a crear.
+     * @param currentUser Administrador que realiza la carga.
+     * @return Totales y resultado por fila.
+     */
+    @PostMapping(path = "/usuarios/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @RequireRole(roles = {Usuario.Role.ADMIN})
+    public ResponseEntity<Object> bulkCreateUsuarios(
+        @RequestBody List<CreateUsuarioRequest> requests,
+        @RequestAttribute(name = "currentUser", required = false) UsuarioPrincipal currentUser
+    ) {
+        List<UsuarioProvisioningUseCase.ProvisionRow> rows = requests == null ? List.of() : requests.stream()
+            .map(request -> new UsuarioProvisioningUseCase.ProvisionRow(
+                request.getUsername(),
+                request.getRol() == null ? null : request.getRol().name(),
+                request.getPassword()))
+            .collect(Collectors.toList());
+        return provision(rows, currentUser);
+    }
+
+    /**
+     * Alta masiva de usuarios desde CSV ({@code username,rol,password}) en el
+     * cuerpo de la petición.
+     * Solo accesible para ADMIN.
+     *
+     * @param csv Contenido CSV.
+     * @param currentUser Administrador que realiza la carga.
+     * @return Totales y resultado por fila.
+     */
+    @PostMapping(path = "/usuarios/bulk", consumes = "text/csv")
+    @RequireRole(roles = {Usuario.Role.ADMIN})
+    public ResponseEntity<Object> bulkCreateUsuariosCsv(
+        @RequestBody String csv,
+        @RequestAttribute(name = "currentUser", required = false) UsuarioPrincipal currentUser
+    ) {
+        return provision(UsuarioProvisioningUseCase.parseCsv(csv), currentUser);
+    }
+
+    /**
+     * Alta masiva de usuarios desde un fichero CSV subido como multipart
+     * (campo {@code file}).
+     * Solo accesible para ADMIN.
+     *
+     * @param file Fichero CSV en UTF-8.
+     * @param currentUser Administrador que realiza la carga.
+     * @return Totales y resultado por fila.
+     */
+    @PostMapping(path = "/usuarios/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @RequireRole(roles = {Usuario.Role.ADMIN})
+    public ResponseEntity<Object> bulkCreateUsuariosFile(
+        @RequestPart("file") MultipartFile file,
+        @RequestAttribute(name = "currentUser", required = false) UsuarioPrincipal currentUser
+    ) {
+        try {
+            String csv = new String(file.getBytes(), StandardCharsets.UTF_8);
+            return provision(UsuarioProvisioningUseCase.parseCsv(csv), currentUser);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest()
+                .body(createErrorResponse("No se pudo leer el fichero: " + e.getMessage()));
+        }
+    }
+
     /**
      * Cambiar el rol de un usuario.
      * Solo accesible para ADMIN.
@@ -183,24 +370,19 @@ public class AdminController {
                     .body(createErrorResponse("Nuevo rol es requerido"));
             }
 
-            // No permitir cambiar rol del usuario admin si solo hay uno
-            if (usuario.getRol() == Usuario.Role.ADMIN && request.getNewRol() != Usuario.Role.ADMIN) {
-                List<Usuario> admins = usuarioRepository.findAll().stream()
-                    .filter(u -> u.getRol() == Usuario.Role.ADMIN)
-                    .collect(Collectors.toList());
-
-                if (admins.size() <= 1) {
-                    return ResponseEntity.badRequest()
-                        .body(createErrorResponse("No se puede remover el último usuario ADMIN del sistema"));
-                }
+            // No permitir quitar el rol al último admin activo (comprobado en el propio UPDATE)
+            if (!usuarioRepository.updateRolKeepingActiveAdmin(id, request.getNewRol())) {
+                return usuarioNoEncontradoOr(id, "No se puede remover el último usuario ADMIN activo del sistema");
             }
-
-            usuarioRepository.updateRol(id, request.getNewRol());
+            authenticationService.invalidateCachedUsuario(id);
             usuario.setRol(request.getNewRol());
             usuario.setUpdatedBy("ADMIN");
 
             return ResponseEntity.ok(UsuarioResponse.from(usuario));
 
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(createErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(createErrorResponse("Error al cambiar rol: " + e.getMessage()));
@@ -235,24 +417,19 @@ public class AdminController {
                     .body(createErrorResponse("Estado 'activo' es requerido"));
             }
 
-            // No permitir desactivar el último admin
-            if (!request.getActivo() && usuario.getRol() == Usuario.Role.ADMIN) {
-                List<Usuario> admins = usuarioRepository.findAll().stream()
-                    .filter(u -> u.getRol() == Usuario.Role.ADMIN && u.getActivo())
-                    .collect(Collectors.toList());
-
-                if (admins.size() <= 1) {
-                    return ResponseEntity.badRequest()
-                        .body(createErrorResponse("No se puede desactivar el último usuario ADMIN activo del sistema"));
-                }
+            // No permitir desactivar el último admin activo (comprobado en el propio UPDATE)
+            if (!usuarioRepository.updateActivoKeepingActiveAdmin(id, request.getActivo())) {
+                return usuarioNoEncontradoOr(id, "No se puede desactivar el último usuario ADMIN activo del sistema");
             }
-
-            usuarioRepository.updateActivo(id, request.getActivo());
+            authenticationService.invalidateCachedUsuario(id);
             usuario.setActivo(request.getActivo());
             usuario.setUpdatedBy("ADMIN");
 
             return ResponseEntity.ok(UsuarioResponse.from(usuario));
 
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(createErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(createErrorResponse("Error al cambiar estado: " + e.getMessage()));
@@ -262,7 +439,7 @@ public class AdminController {
     /**
      * Eliminar un usuario.
      * Solo accesible para ADMIN.
-     * No se puede eliminar el último ADMIN del sistema.
+     * No se puede eliminar el último ADMIN activo del sistema.
      *
      * @param id ID del usuario a eliminar.
      * @return Mensaje de confirmación.
@@ -279,30 +456,195 @@ public class AdminController {
                     .body(createErrorResponse("Usuario no encontrado"));
             }
 
-            // No permitir eliminar el último admin
-            if (usuario.getRol() == Usuario.Role.ADMIN) {
-                List<Usuario> admins = usuarioRepository.findAll().stream()
-                    .filter(u -> u.getRol() == Usuario.Role.ADMIN)
-                    .collect(Collectors.toList());
-
-                if (admins.size() <= 1) {
-                    return ResponseEntity.badRequest()
-                        .body(createErrorResponse("No se puede eliminar el último usuario ADMIN del sistema"));
-                }
+            // No permitir eliminar el último admin activo (comprobado en el propio DELETE)
+            if (!usuarioRepository.deleteKeepingActiveAdmin(id)) {
+                return usuarioNoEncontradoOr(id, "No se puede eliminar el último usuario ADMIN activo del sistema");
             }
-
-            usuarioRepository.delete(id);
+            authenticationService.invalidateCachedUsuario(id);
 
             return ResponseEntity.ok(createSuccessResponse("Usuario eliminado correctamente"));
 
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(createErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(createErrorResponse("Error al eliminar usuario: " + e.getMessage()));
         }
     }
 
+    /**
+     * Listar sesiones activas filtrando por usuario, rol, IP y antigüedad,
+     * de la más reciente a la más antigua con cursor keyset.
+     * Solo accesible para ADMIN.
+     *
+     * @param usuarioId ID del usuario.
+     * @param rol Rol del usuario.
+     * @param ip Dirección IP de origen.
+     * @param olderThanMinutes Solo sesiones creadas hace más de estos minutos.
+     * @param cursor Cursor de la página anterior.
+     * @param limit Tamaño de página (por defecto 50, máximo 200).
+     * @return Sesiones de la página y cursor de la siguiente.
+     */
+    @GetMapping("/sesiones")
+    @RequireRole(roles = {Usuario.Role.ADMIN})
+    public ResponseEntity<Object> listSesiones(
+        @RequestParam(name = "usuarioId", required = false) Integer usuarioId,
+        @RequestParam(name = "rol", required = false) Usuario.Role rol,
+        @RequestParam(name = "ip", required = false) String ip,
+        @RequestParam(name = "olderThanMinutes", required = false) Integer olderThanMinutes,
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "limit", required = false) Integer limit
+    ) {
+        try {
+            int pageSize = (limit == null || limit <= 0) ? DEFAULT_SEARCH_LIMIT : Math.min(limit, MAX_SEARCH_LIMIT);
+            SesionPage page = sesionRepository.findActive(
+                new SesionFilter(usuarioId, rol, blankToNull(ip), createdBefore(olderThanMinutes)), cursor, pageSize);
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("items", page.getItems().stream()
+                .map(SesionResponse::from)
+                .collect(Collectors.toList()));
+            response.put("nextCursor", page.getNextCursor());
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(createErrorResponse("Error al listar sesiones: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Revocar de una vez todas las sesiones activas que cumplen el filtro.
+     * La sesión del administrador que hace la petición se conserva salvo
+     * {@code includeCurrent}.
+     * Solo accesible para ADMIN.
+     *
+     * @param request Criterios de selección; al menos uno.
+     * @param currentToken Token de la petición actual.
+     * @return Número de sesiones revocadas.
+     */
+    @PostMapping("/sesiones/revoke")
+    @RequireRole(roles = {Usuario.Role.ADMIN})
+    public ResponseEntity<Object> revokeSesiones(
+        @RequestBody RevokeSesionesRequest request,
+        @RequestAttribute(name = "currentToken", required = false) String currentToken
+    ) {
+        try {
+            if (request == null) {
+                return ResponseEntity.badRequest()
+                    .body(createErrorResponse("Indica al menos un criterio"));
+            }
+            SesionFilter filter = new SesionFilter(request.getUsuarioId(), request.getRol(),
+                blankToNull(request.getIpAddress()), createdBefore(request.getOlderThanMinutes()));
+            if (filter.isEmpty()) {
+                return ResponseEntity.badRequest()
+                    .body(createErrorResponse("Indica al menos un criterio"));
+            }
+            if (currentToken != null && !Boolean.TRUE.equals(request.getIncludeCurrent())) {
+                filter.setExcludeTokenDigest(TokenAuthenticationCache.digest(currentToken));
+            }
+
+            int revoked = authenticationService.revokeSessions(filter);
+            Map<String, Object> response = createSuccessResponse("Sesiones revocadas");
+            response.put("revoked", revoked);
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(createErrorResponse("Error al revocar sesiones: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Métricas de la caché de tokens verificados.
+     * Solo accesible para ADMIN.
+     *
+     * @return Aciertos, fallos, invalidaciones y tamaño de la caché.
+     */
+    @GetMapping("/auth-cache/stats")
+    @RequireRole(roles = {Usuario.Role.ADMIN})
+    public ResponseEntity<Object> getAuthCacheStats() {
+        return ResponseEntity.ok(authenticationService.getTokenCacheStats());
+    }
+
+    /**
+     * Métricas del pool de cifrado de contraseñas.
+     * Solo accesible para ADMIN.
+     *
+     * @return Hilos, cola, completadas y rechazos por motivo.
+     */
+    @GetMapping("/password-hashing/stats")
+    @RequireRole(roles = {Usuario.Role.ADMIN})
+    public ResponseEntity<Object> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordHashingService.stats());
+    }
+
+    /**
+     * Métricas de la limpieza de sesiones expiradas y revocadas.
+     * Solo accesible para ADMIN.
+     *
+     * @return Filas eliminadas, particiones borradas, última pasada y retraso.
+     */
+    @GetMapping("/session-reaper/stats")
+    @RequireRole(roles = {Usuario.Role.ADMIN})
+    public ResponseEntity<Object> getSessionReaperStats() {
+        return ResponseEntity.ok(sessionReaper.stats());
+    }
+
     // Utilidades privadas
 
+    private ResponseEntity<Object> provision(List<UsuarioProvisioningUseCase.ProvisionRow> rows, UsuarioPrincipal currentUser) {
+        try {
+            String createdBy = currentUser != null ? currentUser.getUsername() : "ADMIN";
+            return ResponseEntity.ok(provisioningUseCase.provision(rows, createdBy));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(createErrorResponse(e.getMessage()));
+        } catch (PasswordHashingService.RejectedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(createErrorResponse("Error en el alta masiva: " + e.getMessage()));
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static LocalDateTime createdBefore(Integer olderThanMinutes) {
+        if (olderThanMinutes == null) {
+            return null;
+        }
+        if (olderThanMinutes < 0) {
+            throw new IllegalArgumentException("olderThanMinutes no puede ser negativo");
+        }
+        return LocalDateTime.now().minusMinutes(olderThanMinutes);
+    }
+
+    /**
+     * Respuesta cuando un cambio protegido del último ADMIN no afecta a
+     * ninguna fila: 404 si el usuario se eliminó entretanto, 400 si no.
+     */
+    private ResponseEntity<Object> usuarioNoEncontradoOr(Integer id, String lastAdminMessage) {
+        if (usuarioRepository.findById(id).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(createErrorResponse("Usuario no encontrado"));
+        }
+        return ResponseEntity.badRequest()
+            .body(createErrorResponse(lastAdminMessage));
+    }
+
     private Map<String, Object> createErrorResponse(String message) {
         Map<String, Object> response = new HashMap<>();
         response.put("error", true);
@@ -6,8 +6,10 @@ import com.example.roadmap.adapters.in.web.dto.LoginResponse;
 import com.example.roadmap.adapters.in.web.dto.SetPasswordRequest;
 import com.example.roadmap.adapters.in.web.dto.UsuarioResponse;
 import com.example.roadmap.application.AuthenticationService;
+import com.example.roadmap.application.PasswordHashingService;
 import com.example.roadmap.domain.Sesion;
 import com.example.roadmap.domain.Usuario;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -47,7 +49,8 @@ public class AuthController {
      * 
      * @param loginRequest Username y password.
      * @param request HttpServletRequest para obtener IP y User-Agent.
-     * @return LoginResponse con token si es exitoso, 401 si falla.
+     * @return LoginResponse con token si es exitoso, 401 si falla, 429 si el
+     *         servicio de contraseñas está saturado.
      */
     @PostMapping("/login")
     public ResponseEntity<Object> login(
@@ -87,6 +90,10 @@ public class AuthController {
         } catch (AuthenticationService.AuthenticationException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(createErrorResponse(e.getMessage()));
+        } catch (PasswordHashingService.RejectedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(createErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(createErrorResponse("Error en el servidor: " + e.getMessage()));
@@ -148,6 +155,10 @@ public class AuthController {
         } catch (AuthenticationService.AuthenticationException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(createErrorResponse(e.getMessage()));
+        } catch (PasswordHashingService.RejectedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(createErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(createErrorResponse("Error en el servidor: " + e.getMessage()));
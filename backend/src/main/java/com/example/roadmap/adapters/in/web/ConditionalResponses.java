@@ -0,0 +1,97 @@
+package com.example.roadmap.adapters.in.web;
+
+import com.example.roadmap.application.RoadmapConfigSnapshot;
+import com.example.roadmap.domain.RoadmapListVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Builds conditional GET responses (ETag / Last-Modified / 304).
+ *
+ * <p>
+ * Validators are computed from cheap version data before the body is read, so
+ * a matching {@code If-None-Match} or {@code If-Modified-Since} costs only that
+ * lookup. Responses carry {@code Cache-Control: no-cache, private}: browsers
+ * keep the body but revalidate it on every request.
+ * </p>
+ *
+ * @since 1.2
+ */
+final class ConditionalResponses {
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Strong ETag of one roadmap configuration: roadmap version plus body hash.
+     *
+     * @param snapshot Serialised configuration.
+     * @return Quoted ETag.
+     */
+    static String configEtag(RoadmapConfigSnapshot snapshot) {
+        Instant updatedAt = snapshot.getUpdatedAt() == null ? Instant.EPOCH : snapshot.getUpdatedAt();
+        return "\"c-" + Long.toString(updatedAt.toEpochMilli(), 36) + "-"
+            + snapshot.getContentHash().substring(0, Math.min(16, snapshot.getContentHash().length())) + "\"";
+    }
+
+    /**
+     * Strong ETag of the roadmap list: row count, latest modification in
+     * microseconds and content hash, when the adapter provides one.
+     *
+     * @param version Roadmap collection version.
+     * @return Quoted ETag.
+     */
+    static String listEtag(RoadmapListVersion version) {
+        Instant lastModified = version.getLastModified();
+        long micros = lastModified.getEpochSecond() * 1_000_000L + lastModified.getNano() / 1_000;
+        return "\"l-" + version.getCount() + "-" + Long.toString(micros, 36)
+            + "-" + Long.toUnsignedString(version.getContentHash(), 36) + "\"";
+    }
+
+    /**
+     * Returns 304 when the client validators match, otherwise 200 with the
+     * body produced by {@code body}.
+     *
+     * @param request Current request, read for If-None-Match / If-Modified-Since.
+     * @param etag Quoted strong ETag.
+     * @param lastModified Last modification time, or null when unknown.
+     * @param body Supplier invoked only when the body must be sent.
+     * @return Response entity.
+     */
+    static ResponseEntity<?> respond(WebRequest request, String etag, Instant lastModified, Supplier<?> body) {
+        long lastModifiedMillis = lastModified == null ? -1L : lastModified.toEpochMilli();
+        if (request.checkNotModified(etag, lastModifiedMillis)) {
+            return headers(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, lastModifiedMillis).build();
+        }
+        return headers(ResponseEntity.ok(), etag, lastModifiedMillis).body(body.get());
+    }
+
+    /**
+     * Same as {@link #respond(WebRequest, String, Instant, Supplier)} for a
+     * body that is already serialised JSON.
+     */
+    static ResponseEntity<?> respondJson(WebRequest request, String etag, Instant lastModified, byte[] json) {
+        long lastModifiedMillis = lastModified == null ? -1L : lastModified.toEpochMilli();
+        if (request.checkNotModified(etag, lastModifiedMillis)) {
+            return headers(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, lastModifiedMillis).build();
+        }
+        return headers(ResponseEntity.ok(), etag, lastModifiedMillis)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(json);
+    }
+
+    private static ResponseEntity.BodyBuilder headers(ResponseEntity.BodyBuilder builder, String etag, long lastModifiedMillis) {
+        builder.eTag(etag).cacheControl(REVALIDATE);
+        if (lastModifiedMillis >= 0) {
+            builder.lastModified(lastModifiedMillis);
+        }
+        return builder;
+    }
+}
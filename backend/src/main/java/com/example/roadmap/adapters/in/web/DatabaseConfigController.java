@@ -12,7 +12,12 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.roadmap.DatabaseConnection;
+import com.example.roadmap.adapters.in.web.annotation.RequireRole;
+import com.example.roadmap.adapters.out.persistence.ConnectionScopeRegistry;
 import com.example.roadmap.adapters.out.persistence.MySqlSchemaInitializer;
+import com.example.roadmap.adapters.out.persistence.SchemaCapabilities;
+import com.example.roadmap.application.SearchService;
+import com.example.roadmap.domain.Usuario;
 
 /**
  * REST controller used to configure and inspect runtime database connectivity.
@@ -25,6 +30,11 @@ import com.example.roadmap.adapters.out.persistence.MySqlSchemaInitializer;
 @RestController
 @RequestMapping("/api/database")
 public class DatabaseConfigController {
+    private final SearchService searchService;
+
+    public DatabaseConfigController(SearchService searchService) {
+        this.searchService = searchService;
+    }
 
     /**
      * Connects the backend to a MySQL instance.
@@ -48,11 +58,17 @@ public class DatabaseConfigController {
             DatabaseConnection.setMySQLParams(host, port, database, user, password);
             DatabaseConnection.setDatabaseType("MYSQL");
 
-            Connection conn = DatabaseConnection.connect();
-
             Map<String, Object> response = new HashMap<>();
-            if (conn != null && DatabaseConnection.isConnected()) {
-                String schemaWarning = MySqlSchemaInitializer.ensureSchema(conn);
+            String schemaWarning = null;
+            boolean connected;
+            try (Connection conn = DatabaseConnection.connect()) {
+                connected = conn != null && DatabaseConnection.isConnected();
+                if (connected) {
+                    schemaWarning = MySqlSchemaInitializer.ensureSchema(conn);
+                }
+            }
+
+            if (connected) {
                 if (schemaWarning != null) {
                     DatabaseConnection.disconnect();
                     response.put("status", "FAILED");
@@ -61,6 +77,7 @@ public class DatabaseConfigController {
                     return ResponseEntity.status(500).body(response);
                 }
 
+                searchService.rebuildAsync();
                 response.put("status", "SUCCESS");
                 response.put("message", "Successfully connected to MySQL database");
                 response.put("type", "MYSQL");
@@ -147,6 +164,24 @@ public class DatabaseConfigController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Returns connection pool counters, open leases with borrower stack traces,
+     * per-repository borrow/hold time histograms and the cached schema snapshot.
+     * Requires ADMIN role.
+     *
+     * @return ResponseEntity<Map<String, Object>> with pool metrics.
+     */
+    @GetMapping("/pool-metrics")
+    @RequireRole(roles = {Usuario.Role.ADMIN})
+    public ResponseEntity<Map<String, Object>> getPoolMetrics() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("connected", DatabaseConnection.isConnected());
+        response.put("pool", DatabaseConnection.getPoolStats());
+        response.put("scopes", ConnectionScopeRegistry.snapshot());
+        response.put("schema", SchemaCapabilities.describe());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Disconnects from the currently active database.
      *
@@ -0,0 +1,62 @@
+package com.example.roadmap.adapters.in.web;
+
+import com.example.roadmap.adapters.in.web.annotation.RequireRole;
+import com.example.roadmap.adapters.out.persistence.JdbcExpedienteCatalogRepository;
+import com.example.roadmap.application.ExpedienteCatalogUseCase;
+import com.example.roadmap.domain.ExpedienteCatalogPage;
+import com.example.roadmap.domain.Usuario;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * REST controller exposing the global expedientes catalog.
+ *
+ * Endpoints:
+ * - GET /api/expedientes?q=&cursor=&limit=: Página del catálogo ordenada por código.
+ *
+ * @since 1.2
+ */
+@RestController
+@RequestMapping("/api/expedientes")
+public class ExpedienteCatalogController {
+    private static final Logger LOG = LoggerFactory.getLogger(ExpedienteCatalogController.class);
+    private final ExpedienteCatalogUseCase catalogUseCase;
+
+    public ExpedienteCatalogController() {
+        this.catalogUseCase = new ExpedienteCatalogUseCase(new JdbcExpedienteCatalogRepository());
+    }
+
+    /**
+     * Returns one page of the catalog, filtered by a prefix of the expediente
+     * code or company name.
+     * Requires any authenticated user (all roles have read access).
+     */
+    @GetMapping
+    @RequireRole(roles = {Usuario.Role.CONSULTA, Usuario.Role.GESTION, Usuario.Role.ADMIN})
+    public ResponseEntity<?> search(
+        @RequestParam(name = "q", required = false) String query,
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "limit", required = false) Integer limit
+    ) {
+        try {
+            ExpedienteCatalogPage page = catalogUseCase.search(query, cursor, limit);
+            LOG.debug("Catálogo expedientes [{}]: {} resultados", query, page.getItems().size());
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            LOG.warn("Catálogo expedientes falló por estado de conexión: {}", e.getMessage());
+            return ResponseEntity.status(503).body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            LOG.error("Error consultando catálogo de expedientes", e);
+            return ResponseEntity.status(500).body(Map.of("message", "No se pudo consultar el catálogo de expedientes."));
+        }
+    }
+}
@@ -2,21 +2,53 @@ package com.example.roadmap.adapters.in.web;
 
 import com.example.roadmap.adapters.in.web.annotation.RequireRole;
 import com.example.roadmap.application.CreateRoadmapUseCase;
+import com.example.roadmap.application.DependencyGraphAnalysis;
+import com.example.roadmap.application.DependencyGraphService;
+import com.example.roadmap.application.PortfolioUseCase;
+import com.example.roadmap.application.RoadmapConfigCache;
+import com.example.roadmap.application.RoadmapConfigSnapshot;
 import com.example.roadmap.application.RoadmapConfigUseCase;
+import com.example.roadmap.application.RoadmapExportUseCase;
+import com.example.roadmap.application.RoadmapImportProgress;
+import com.example.roadmap.application.RoadmapImportUseCase;
+import com.example.roadmap.application.SearchService;
+import com.example.roadmap.adapters.out.persistence.JdbcExpedienteCatalogRepository;
+import com.example.roadmap.adapters.out.persistence.JdbcPortfolioRepository;
 import com.example.roadmap.adapters.out.persistence.JdbcRoadmapConfigRepository;
 import com.example.roadmap.adapters.out.persistence.JdbcRoadmapRepository;
+import com.example.roadmap.domain.Initiative;
+import com.example.roadmap.domain.InitiativeImpact;
 import com.example.roadmap.domain.Roadmap;
 import com.example.roadmap.domain.RoadmapConfig;
+import com.example.roadmap.domain.RoadmapDates;
+import com.example.roadmap.domain.RoadmapListVersion;
+import com.example.roadmap.domain.RoadmapPage;
 import com.example.roadmap.domain.Usuario;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
 /**
  * REST controller exposing roadmap and roadmap-config operations.
@@ -27,16 +59,47 @@ import java.util.Optional;
 @RequestMapping("/api/roadmaps")
 public class RoadmapController {
     private static final Logger LOG = LoggerFactory.getLogger(RoadmapController.class);
+    private static final String UNDATED_INITIATIVES_HEADER = "X-Iniciativas-Sin-Fecha";
+    private static final String EXPORT_CLEANUP_KEY = RoadmapController.class.getName() + ".exportCleanup";
     private final JdbcRoadmapRepository roadmapRepository;
     private final JdbcRoadmapConfigRepository configRepository;
     private final CreateRoadmapUseCase roadmapUseCase;
     private final RoadmapConfigUseCase roadmapConfigUseCase;
+    private final RoadmapImportUseCase roadmapImportUseCase;
+    private final RoadmapExportUseCase roadmapExportUseCase;
+    private final DependencyGraphService dependencyGraphService;
+    private final PortfolioUseCase portfolioUseCase;
+    private final SearchService searchService;
 
-    public RoadmapController() {
+    public RoadmapController(
+        SearchService searchService,
+        @Value("${roadmap.config-cache.max-weight-bytes:67108864}") long configCacheMaxWeightBytes,
+        @Value("${roadmap.config-cache.revalidate-ms:5000}") long configCacheRevalidateMs,
+        @Value("${roadmap.import.batch-size:500}") int importBatchSize,
+        @Value("${roadmap.import.max-concurrent:2}") int importMaxConcurrent,
+        @Value("${roadmap.import.max-bytes:209715200}") long importMaxBytes,
+        @Value("${roadmap.export.max-concurrent:4}") int exportMaxConcurrent,
+        @Value("${roadmap.graph-cache.max-entries:256}") int graphCacheMaxEntries,
+        @Value("${roadmap.portfolio.max-age-ms:300000}") long portfolioMaxAgeMs
+    ) {
+        this.searchService = searchService;
         this.roadmapRepository = new JdbcRoadmapRepository();
         this.configRepository = new JdbcRoadmapConfigRepository();
         this.roadmapUseCase = new CreateRoadmapUseCase(roadmapRepository);
-        this.roadmapConfigUseCase = new RoadmapConfigUseCase(roadmapRepository, configRepository);
+        this.roadmapConfigUseCase = new RoadmapConfigUseCase(
+            roadmapRepository,
+            configRepository,
+            new JdbcExpedienteCatalogRepository(),
+            new RoadmapConfigCache(configCacheMaxWeightBytes, configCacheRevalidateMs)
+        );
+        this.portfolioUseCase = new PortfolioUseCase(new JdbcPortfolioRepository(), portfolioMaxAgeMs);
+        this.roadmapImportUseCase = new RoadmapImportUseCase(configRepository, importBatchSize, importMaxConcurrent, importMaxBytes,
+            roadmap -> {
+                portfolioUseCase.roadmapChanged(roadmap.getId());
+                searchService.roadmapChanged(roadmap.getId());
+            });
+        this.roadmapExportUseCase = new RoadmapExportUseCase(configRepository, exportMaxConcurrent);
+        this.dependencyGraphService = new DependencyGraphService(roadmapConfigUseCase, graphCacheMaxEntries);
     }
 
     /**
@@ -57,6 +120,8 @@ public class RoadmapController {
             }
             Roadmap created = roadmapUseCase.create(title, safe(dto.description));
             LOG.info("Roadmap creado [{}] título [{}]", created.getId(), created.getTitle());
+            portfolioUseCase.roadmapChanged(created.getId());
+            searchService.roadmapCreated(created);
             return ResponseEntity.created(URI.create("/api/roadmaps/" + created.getId())).body(created);
         } catch (IllegalStateException e) {
             LOG.warn("Crear roadmap falló por estado de conexión: {}", e.getMessage());
@@ -69,30 +134,30 @@ public class RoadmapController {
 
     /**
      * Imports one full roadmap payload including editable config.
+     * The body (same shape as {@link ImportRoadmapDto}) is streamed and written
+     * in one transaction; with {@code async=true} the import runs in the
+     * background and the response is 202 with a progress resource.
      * Requires GESTION or ADMIN role.
      */
     @PostMapping("/import")
     @RequireRole(roles = {Usuario.Role.GESTION, Usuario.Role.ADMIN})
-    public ResponseEntity<?> importRoadmap(@RequestBody ImportRoadmapDto dto) {
+    public ResponseEntity<?> importRoadmap(
+        HttpServletRequest request,
+        @RequestParam(name = "async", defaultValue = "false") boolean async
+    ) {
         try {
-            LOG.info("Solicitud importación roadmap recibida");
-            if (dto == null) {
-                return ResponseEntity.badRequest().body(Map.of("message", "Payload vacío."));
-            }
-            String title = safe(dto.title);
-            if (title.isBlank()) {
-                title = safe(dto.producto);
-            }
-            if (title.isBlank()) {
-                return ResponseEntity.badRequest().body(Map.of("message", "El título o producto es obligatorio."));
+            LOG.info("Solicitud importación roadmap recibida (async={})", async);
+            if (async) {
+                RoadmapImportProgress progress = roadmapImportUseCase.submit(request.getInputStream());
+                return ResponseEntity.accepted()
+                    .location(URI.create("/api/roadmaps/import/" + progress.getId()))
+                    .body(progress);
             }
-
-            Roadmap created = roadmapUseCase.create(title, safe(dto.description));
-            RoadmapConfig config = dto.toRoadmapConfig();
-            roadmapConfigUseCase.saveForRoadmap(created.getId(), config);
-            LOG.info("Roadmap importado [{}], ejes: {}, iniciativas: {}",
-                created.getId(), config.getEjes_estrategicos().size(), config.getIniciativas().size());
+            Roadmap created = roadmapImportUseCase.importNow(request.getInputStream()).getRoadmap();
             return ResponseEntity.created(URI.create("/api/roadmaps/" + created.getId())).body(created);
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Importación roadmap rechazada: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         } catch (IllegalStateException e) {
             LOG.warn("Importación roadmap falló por estado de conexión: {}", e.getMessage());
             return ResponseEntity.status(503).body(Map.of("message", e.getMessage()));
@@ -102,18 +167,34 @@ public class RoadmapController {
         }
     }
 
+    /**
+     * Returns the progress of an import started with {@code async=true}.
+     * Requires GESTION or ADMIN role.
+     */
+    @GetMapping("/import/{importId}")
+    @RequireRole(roles = {Usuario.Role.GESTION, Usuario.Role.ADMIN})
+    public ResponseEntity<?> getImportProgress(@PathVariable String importId) {
+        return roadmapImportUseCase.getProgress(importId)
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     /**
      * Lists all roadmaps.
+     * Answers 304 when If-None-Match / If-Modified-Since match the list version.
      * Requires any authenticated user (all roles have read access).
      */
     @GetMapping
     @RequireRole(roles = {Usuario.Role.CONSULTA, Usuario.Role.GESTION, Usuario.Role.ADMIN})
-    public ResponseEntity<?> list() {
+    public ResponseEntity<?> list(WebRequest request) {
         try {
             LOG.info("Solicitud listar roadmaps");
-            List<Roadmap> roadmaps = roadmapUseCase.list();
-            LOG.info("Roadmaps listados: {}", roadmaps.size());
-            return ResponseEntity.ok(roadmaps);
+            RoadmapListVersion version = roadmapUseCase.listVersion();
+            return ConditionalResponses.respond(request, ConditionalResponses.listEtag(version), version.getLastModified(), () -> {
+                List<Roadmap> roadmaps = roadmapUseCase.list();
+                LOG.info("Roadmaps listados: {}", roadmaps.size());
+                return roadmaps;
+            });
         } catch (IllegalStateException e) {
             LOG.warn("Listado roadmaps falló por estado de conexión: {}", e.getMessage());
             return ResponseEntity.status(503).body(Map.of("message", e.getMessage()));
@@ -123,6 +204,36 @@ public class RoadmapController {
         }
     }
 
+    /**
+     * Returns one page of roadmaps, newest first, with a keyset cursor.
+     * {@code fields=summary} (default) cuts descriptions; {@code fields=full}
+     * returns them complete. {@code q} keeps only roadmaps whose title or
+     * description contains it. The first unfiltered page carries {@code totalHint}.
+     * Requires any authenticated user (all roles have read access).
+     */
+    @GetMapping("/page")
+    @RequireRole(roles = {Usuario.Role.CONSULTA, Usuario.Role.GESTION, Usuario.Role.ADMIN})
+    public ResponseEntity<?> listPage(
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "fields", required = false) String fields,
+        @RequestParam(name = "q", required = false) String query
+    ) {
+        try {
+            RoadmapPage page = roadmapUseCase.listPage(cursor, limit, fields, query);
+            LOG.debug("Página de roadmaps: {} elementos", page.getItems().size());
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            LOG.warn("Página de roadmaps falló por estado de conexión: {}", e.getMessage());
+            return ResponseEntity.status(503).body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            LOG.error("Error paginando roadmaps", e);
+            return ResponseEntity.status(500).body(Map.of("message", "No se pudo listar roadmaps."));
+        }
+    }
+
     /**
      * Returns one roadmap by id.
      * Requires any authenticated user (all roles have read access).
@@ -146,16 +257,33 @@ public class RoadmapController {
 
     /**
      * Returns full editable configuration for one roadmap.
+     * The global expedientes catalog is only embedded with {@code catalogo=true};
+     * otherwise clients page it through /api/expedientes.
+     * Without the catalog the response carries a strong ETag and Last-Modified
+     * and answers 304 when the client copy is current.
      * Requires any authenticated user (all roles have read access).
      */
     @GetMapping("/{id}/config")
     @RequireRole(roles = {Usuario.Role.CONSULTA, Usuario.Role.GESTION, Usuario.Role.ADMIN})
-    public ResponseEntity<?> getConfig(@PathVariable String id) {
+    public ResponseEntity<?> getConfig(
+        @PathVariable String id,
+        @RequestParam(name = "catalogo", defaultValue = "false") boolean includeCatalog,
+        WebRequest request
+    ) {
         try {
             LOG.info("Solicitud get configuración roadmap [{}]", id);
-            Optional<RoadmapConfig> config = roadmapConfigUseCase.getByRoadmapId(id);
-            return config.<ResponseEntity<?>>map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+            if (includeCatalog) {
+                Optional<RoadmapConfig> config = roadmapConfigUseCase.getByRoadmapId(id, true);
+                return config.<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+            }
+            Optional<RoadmapConfigSnapshot> snapshot = roadmapConfigUseCase.getSnapshot(id);
+            if (snapshot.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            RoadmapConfigSnapshot current = snapshot.get();
+            return ConditionalResponses.respondJson(
+                request, ConditionalResponses.configEtag(current), current.getUpdatedAt(), current.getJson());
         } catch (IllegalStateException e) {
             LOG.warn("Get config roadmap [{}] falló por estado de conexión: {}", id, e.getMessage());
             return ResponseEntity.status(503).body(Map.of("message", e.getMessage()));
@@ -165,6 +293,212 @@ public class RoadmapController {
         }
     }
 
+    /**
+     * Returns the initiatives of a roadmap whose period overlaps a window,
+     * ordered by start date. {@code from} and {@code to} accept the same
+     * forms as the initiative dates ({@code 2026-T3}, {@code 2026-07},
+     * {@code 2026-07-01}...): {@code from} counts from the first day of its
+     * period and {@code to} up to the last. At least one is required.
+     * Initiatives whose start date cannot be read are left out; their count
+     * is returned in the {@code X-Iniciativas-Sin-Fecha} header.
+     * Requires any authenticated user (all roles have read access).
+     */
+    @GetMapping("/{id}/initiatives")
+    @RequireRole(roles = {Usuario.Role.CONSULTA, Usuario.Role.GESTION, Usuario.Role.ADMIN})
+    public ResponseEntity<?> getInitiativesInWindow(
+        @PathVariable String id,
+        @RequestParam(name = "from", required = false) String from,
+        @RequestParam(name = "to", required = false) String to
+    ) {
+        try {
+            LOG.info("Solicitud iniciativas de roadmap [{}] entre [{}] y [{}]", id, from, to);
+            if (safe(from).isEmpty() && safe(to).isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of("message", "Indica from, to o ambos."));
+            }
+            Optional<LocalDate> fromDate = RoadmapDates.periodStart(from);
+            Optional<LocalDate> toDate = RoadmapDates.periodEnd(to);
+            if ((!safe(from).isEmpty() && fromDate.isEmpty()) || (!safe(to).isEmpty() && toDate.isEmpty())) {
+                return ResponseEntity.badRequest().body(Map.of("message", "Fecha no reconocida."));
+            }
+            Optional<List<Initiative>> initiatives = roadmapConfigUseCase.getInitiativesInWindow(
+                id, fromDate.orElse(null), toDate.orElse(null));
+            if (initiatives.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok()
+                .header(UNDATED_INITIATIVES_HEADER, String.valueOf(roadmapConfigUseCase.countUndatedInitiatives(id)))
+                .body(initiatives.get());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            LOG.warn("Iniciativas de roadmap [{}] fallaron por estado de conexión: {}", id, e.getMessage());
+            return ResponseEntity.status(503).body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            LOG.error("Error obteniendo iniciativas de roadmap [{}]", id, e);
+            return ResponseEntity.status(500).body(Map.of("message", "No se pudieron recuperar las iniciativas."));
+        }
+    }
+
+    /**
+     * Returns the initiatives reached from one initiative through dependency
+     * links, up to {@code depth} links away. {@code direction=dependents}
+     * (default) lists what is affected if the initiative slips;
+     * {@code direction=dependencies} lists what it waits for.
+     * Requires any authenticated user (all roles have read access).
+     */
+    @GetMapping("/{id}/initiatives/{initiativeId}/impact")
+    @RequireRole(roles = {Usuario.Role.CONSULTA, Usuario.Role.GESTION, Usuario.Role.ADMIN})
+    public ResponseEntity<?> getInitiativeImpact(
+        @PathVariable String id,
+        @PathVariable String initiativeId,
+        @RequestParam(name = "direction", defaultValue = "dependents") String direction,
+        @RequestParam(name = "depth", defaultValue = "3") int depth
+    ) {
+        try {
+            LOG.info("Solicitud impacto de iniciativa [{}] en roadmap [{}] ({}, profundidad {})", initiativeId, id, direction, depth);
+            boolean dependents;
+            if ("dependents".equalsIgnoreCase(safe(direction))) {
+                dependents = true;
+            } else if ("dependencies".equalsIgnoreCase(safe(direction))) {
+                dependents = false;
+            } else {
+                return ResponseEntity.badRequest().body(Map.of("message", "direction debe ser dependents o dependencies."));
+            }
+            Optional<List<InitiativeImpact>> impact = roadmapConfigUseCase.getDependencyClosure(id, initiativeId, dependents, depth);
+            return impact.<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            LOG.warn("Impacto de iniciativa [{}] falló por estado de conexión: {}", initiativeId, e.getMessage());
+            return ResponseEntity.status(503).body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            LOG.error("Error obteniendo impacto de iniciativa [{}] en roadmap [{}]", initiativeId, id, e);
+            return ResponseEntity.status(500).body(Map.of("message", "No se pudo calcular el impacto de la iniciativa."));
+        }
+    }
+
+    /**
+     * Returns the dependency analysis of a roadmap: topological order, cycles,
+     * earliest/latest dates and slack per initiative, and the critical path.
+     * Results are cached per configuration version.
+     * Requires any authenticated user (all roles have read access).
+     */
+    @GetMapping("/{id}/graph/analysis")
+    @RequireRole(roles = {Usuario.Role.CONSULTA, Usuario.Role.GESTION, Usuario.Role.ADMIN})
+    public ResponseEntity<?> getGraphAnalysis(@PathVariable String id) {
+        try {
+            LOG.info("Solicitud análisis de dependencias roadmap [{}]", id);
+            Optional<DependencyGraphAnalysis> analysis = dependencyGraphService.analyze(id);
+            return analysis.<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            LOG.warn("Análisis de dependencias roadmap [{}] falló por estado de conexión: {}", id, e.getMessage());
+            return ResponseEntity.status(503).body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            LOG.error("Error analizando dependencias de roadmap [{}]", id, e);
+            return ResponseEntity.status(500).body(Map.of("message", "No se pudo analizar las dependencias."));
+        }
+    }
+
+    /**
+     * Returns portfolio aggregates across all roadmaps: initiatives per
+     * strategic axis, expediente tender and award totals and commitments due
+     * per month, overall and per roadmap.
+     * Requires any authenticated user (all roles have read access).
+     */
+    @GetMapping("/portfolio")
+    @RequireRole(roles = {Usuario.Role.CONSULTA, Usuario.Role.GESTION, Usuario.Role.ADMIN})
+    public ResponseEntity<?> getPortfolio() {
+        try {
+            LOG.info("Solicitud resumen de cartera");
+            return ResponseEntity.ok(portfolioUseCase.getSummary());
+        } catch (IllegalStateException e) {
+            LOG.warn("Resumen de cartera falló por estado de conexión: {}", e.getMessage());
+            return ResponseEntity.status(503).body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            LOG.error("Error calculando resumen de cartera", e);
+            return ResponseEntity.status(500).body(Map.of("message", "No se pudo calcular el resumen de cartera."));
+        }
+    }
+
+    /**
+     * Downloads one roadmap as JSON accepted by {@code POST /api/roadmaps/import}.
+     * The roadmap is first written to a temporary file, so the database
+     * connection is released before the download starts and a slow client
+     * cannot stall the read. The body is gzip-encoded when the client
+     * accepts it; {@code gzip=true} returns a {@code .json.gz} file instead.
+     * Answers 503 when too many exports are reading at once. The file is
+     * deleted once streamed, on any error, and when the async request
+     * completes, times out or is abandoned before the body ran.
+     * Requires any authenticated user (all roles have read access).
+     */
+    @GetMapping("/{id}/export")
+    @RequireRole(roles = {Usuario.Role.CONSULTA, Usuario.Role.GESTION, Usuario.Role.ADMIN})
+    public ResponseEntity<?> export(
+        @PathVariable String id,
+        @RequestParam(name = "gzip", defaultValue = "false") boolean gzipFile,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        WebRequest request
+    ) {
+        Path file = null;
+        try {
+            LOG.info("Solicitud exportar roadmap [{}]", id);
+            boolean gzipEncoding = !gzipFile && acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+            Optional<Path> exported = roadmapExportUseCase.exportToFile(id, gzipFile || gzipEncoding);
+            if (exported.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            Path exportFile = exported.get();
+            file = exportFile;
+            long length = Files.size(exportFile);
+            StreamingResponseBody body = out -> {
+                try (InputStream in = Files.newInputStream(exportFile)) {
+                    in.transferTo(out);
+                    out.flush();
+                } finally {
+                    deleteExportFile(exportFile);
+                }
+            };
+            WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EXPORT_CLEANUP_KEY,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest completed, Callable<T> task) {
+                        deleteExportFile(exportFile);
+                    }
+                });
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"roadmap-" + id + (gzipFile ? ".json.gz" : ".json") + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentLength(length)
+                .contentType(gzipFile ? MediaType.parseMediaType("application/gzip") : MediaType.APPLICATION_JSON);
+            if (gzipEncoding) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return response.body(body);
+        } catch (IllegalStateException e) {
+            deleteExportFile(file);
+            LOG.warn("Exportar roadmap [{}] rechazado: {}", id, e.getMessage());
+            return ResponseEntity.status(503).body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            deleteExportFile(file);
+            LOG.error("Error exportando roadmap [{}]", id, e);
+            return ResponseEntity.status(500).body(Map.of("message", "No se pudo exportar el roadmap."));
+        }
+    }
+
+    private static void deleteExportFile(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (Exception e) {
+            LOG.warn("No se pudo borrar el fichero temporal de exportación [{}]: {}", file, e.getMessage());
+        }
+    }
+
     /**
      * Persists editable configuration for one roadmap.
      */
@@ -176,9 +510,20 @@ public class RoadmapController {
             if (roadmap.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
-            roadmapConfigUseCase.saveForRoadmap(id, config);
-            LOG.info("Configuración guardada para roadmap [{}]", id);
+            Set<String> changed = new LinkedHashSet<>();
+            changed.add(id);
+            changed.addAll(roadmapConfigUseCase.saveForRoadmap(id, config));
+            for (String changedId : changed) {
+                portfolioUseCase.roadmapChanged(changedId);
+                searchService.roadmapChanged(changedId);
+                dependencyGraphService.roadmapChanged(changedId);
+            }
+            LOG.info("Configuración guardada para roadmap [{}]; roadmaps afectados por expedientes compartidos: {}",
+                id, changed.size() - 1);
             return ResponseEntity.ok(Map.of("status", "SUCCESS"));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Configuración inválida para roadmap [{}]: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         } catch (IllegalStateException e) {
             LOG.warn("Guardar config roadmap [{}] falló por estado de conexión: {}", id, e.getMessage());
             return ResponseEntity.status(503).body(Map.of("message", e.getMessage()));
@@ -188,6 +533,36 @@ public class RoadmapController {
         }
     }
 
+    /**
+     * Returns counters of the roadmap configuration cache.
+     * Requires ADMIN role.
+     */
+    @GetMapping("/config-cache/stats")
+    @RequireRole(roles = {Usuario.Role.ADMIN})
+    public ResponseEntity<?> getConfigCacheStats() {
+        return ResponseEntity.ok(roadmapConfigUseCase.getCacheStats());
+    }
+
+    /**
+     * Returns counters of the portfolio aggregates cache.
+     * Requires ADMIN role.
+     */
+    @GetMapping("/portfolio-cache/stats")
+    @RequireRole(roles = {Usuario.Role.ADMIN})
+    public ResponseEntity<?> getPortfolioCacheStats() {
+        return ResponseEntity.ok(portfolioUseCase.stats());
+    }
+
+    /**
+     * Returns counters of the dependency analysis cache.
+     * Requires ADMIN role.
+     */
+    @GetMapping("/graph-cache/stats")
+    @RequireRole(roles = {Usuario.Role.ADMIN})
+    public ResponseEntity<?> getGraphCacheStats() {
+        return ResponseEntity.ok(dependencyGraphService.stats());
+    }
+
     private String safe(String value) {
         return value == null ? "" : value.trim();
     }
@@ -201,7 +576,9 @@ public class RoadmapController {
     }
 
     /**
-     * DTO for full JSON roadmap import requests.
+     * DTO describing full JSON roadmap import payloads. The import endpoint
+     * streams the body instead of binding it; this class documents the shape
+     * and converts small payloads built in memory.
      */
     public static class ImportRoadmapDto {
         public String title;
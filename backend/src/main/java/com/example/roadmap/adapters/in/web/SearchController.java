@@ -0,0 +1,96 @@
+package com.example.roadmap.adapters.in.web;
+
+import com.example.roadmap.adapters.in.web.annotation.RequireRole;
+import com.example.roadmap.application.SearchIndex;
+import com.example.roadmap.application.SearchService;
+import com.example.roadmap.domain.Usuario;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * REST controller exposing full-text search across roadmaps.
+ *
+ * Endpoints:
+ * - GET /api/search?q=&tipo=&roadmapId=&offset=&limit=: Resultados ordenados por relevancia.
+ * - GET /api/search/stats: Estado del índice (solo ADMIN).
+ * - POST /api/search/rebuild: Reconstruye el índice desde la base de datos (solo ADMIN).
+ *
+ * @since 1.2
+ */
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+    private static final Logger LOG = LoggerFactory.getLogger(SearchController.class);
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Searches roadmap titles and descriptions, initiative names, commitments
+     * and expedientes. Accents and case are ignored; the last word also
+     * matches as a prefix.
+     * Requires any authenticated user (all roles have read access).
+     */
+    @GetMapping
+    @RequireRole(roles = {Usuario.Role.CONSULTA, Usuario.Role.GESTION, Usuario.Role.ADMIN})
+    public ResponseEntity<?> search(
+        @RequestParam(name = "q", required = false) String query,
+        @RequestParam(name = "tipo", required = false) String tipo,
+        @RequestParam(name = "roadmapId", required = false) String roadmapId,
+        @RequestParam(name = "offset", required = false) Integer offset,
+        @RequestParam(name = "limit", required = false) Integer limit
+    ) {
+        try {
+            SearchIndex.Page page = searchService.search(query, tipo, roadmapId, offset, limit);
+            LOG.debug("Búsqueda [{}]: {} resultados", query, page.getTotal());
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            LOG.warn("Búsqueda falló por estado de conexión: {}", e.getMessage());
+            return ResponseEntity.status(503).body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            LOG.error("Error ejecutando búsqueda", e);
+            return ResponseEntity.status(500).body(Map.of("message", "No se pudo ejecutar la búsqueda."));
+        }
+    }
+
+    /**
+     * Returns index size, term count and rebuild timings.
+     * Requires ADMIN role.
+     */
+    @GetMapping("/stats")
+    @RequireRole(roles = {Usuario.Role.ADMIN})
+    public ResponseEntity<?> stats() {
+        return ResponseEntity.ok(searchService.stats());
+    }
+
+    /**
+     * Rebuilds the index from the database and returns the new stats.
+     * Requires ADMIN role.
+     */
+    @PostMapping("/rebuild")
+    @RequireRole(roles = {Usuario.Role.ADMIN})
+    public ResponseEntity<?> rebuild() {
+        try {
+            searchService.rebuild();
+            return ResponseEntity.ok(searchService.stats());
+        } catch (IllegalStateException e) {
+            LOG.warn("Reconstrucción del índice falló por estado de conexión: {}", e.getMessage());
+            return ResponseEntity.status(503).body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            LOG.error("Error reconstruyendo el índice de búsqueda", e);
+            return ResponseEntity.status(500).body(Map.of("message", "No se pudo reconstruir el índice de búsqueda."));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.roadmap.adapters.in.web.aspect;
 
 import com.example.roadmap.adapters.in.web.annotation.RequireRole;
 import com.example.roadmap.domain.Usuario;
+import com.example.roadmap.domain.UsuarioPrincipal;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -44,7 +45,7 @@ public class RoleAuthorizationAspect {
         }
 
         String requestPath = request.getRequestURI();
-        Usuario currentUser = (Usuario) request.getAttribute("currentUser");
+        UsuarioPrincipal currentUser = (UsuarioPrincipal) request.getAttribute("currentUser");
 
         LOG.debug("RoleAuthorizationAspect - Validando acceso a {}, usuario: {}", 
             requestPath, currentUser != null ? currentUser.getUsername() : "NO AUTENTICADO");
@@ -0,0 +1,62 @@
+package com.example.roadmap.adapters.in.web.dto;
+
+import com.example.roadmap.domain.Usuario;
+
+/**
+ * DTO para revocar sesiones activas en bloque (solo ADMIN).
+ *
+ * Los criterios informados se combinan con AND; al menos uno es obligatorio.
+ * La sesión del propio administrador se conserva salvo {@code includeCurrent}.
+ *
+ * @since 1.2
+ */
+public class RevokeSesionesRequest {
+    private Integer usuarioId;
+    private Usuario.Role rol;
+    private String ipAddress;
+    private Integer olderThanMinutes;
+    private Boolean includeCurrent;
+
+    public RevokeSesionesRequest() {
+    }
+
+    public Integer getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Integer usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public Usuario.Role getRol() {
+        return rol;
+    }
+
+    public void setRol(Usuario.Role rol) {
+        this.rol = rol;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public void setIpAddress(String ipAddress) {
+        this.ipAddress = ipAddress;
+    }
+
+    public Integer getOlderThanMinutes() {
+        return olderThanMinutes;
+    }
+
+    public void setOlderThanMinutes(Integer olderThanMinutes) {
+        this.olderThanMinutes = olderThanMinutes;
+    }
+
+    public Boolean getIncludeCurrent() {
+        return includeCurrent;
+    }
+
+    public void setIncludeCurrent(Boolean includeCurrent) {
+        this.includeCurrent = includeCurrent;
+    }
+}
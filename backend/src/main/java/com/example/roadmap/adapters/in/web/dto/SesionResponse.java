@@ -0,0 +1,93 @@
+package com.example.roadmap.adapters.in.web.dto;
+
+import com.example.roadmap.domain.Sesion;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de una sesión activa para el listado de administración.
+ *
+ * No expone el token ni su digest.
+ *
+ * @since 1.2
+ */
+public class SesionResponse {
+    private Integer id;
+    private Integer usuarioId;
+    private String ipAddress;
+    private String userAgent;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+
+    public SesionResponse() {
+    }
+
+    public SesionResponse(Integer id, Integer usuarioId, String ipAddress, String userAgent,
+                          LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.id = id;
+        this.usuarioId = usuarioId;
+        this.ipAddress = ipAddress;
+        this.userAgent = userAgent;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public static SesionResponse from(Sesion sesion) {
+        return new SesionResponse(
+            sesion.getId(),
+            sesion.getUsuarioId(),
+            sesion.getIpAddress(),
+            sesion.getUserAgent(),
+            sesion.getCreatedAt(),
+            sesion.getExpiresAt()
+        );
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Integer usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public void setIpAddress(String ipAddress) {
+        this.ipAddress = ipAddress;
+    }
+
+    public String getUserAgent() {
+        return userAgent;
+    }
+
+    public void setUserAgent(String userAgent) {
+        this.userAgent = userAgent;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
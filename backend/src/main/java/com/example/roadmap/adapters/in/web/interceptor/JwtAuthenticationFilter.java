@@ -1,7 +1,7 @@
 package com.example.roadmap.adapters.in.web.interceptor;
 
 import com.example.roadmap.application.AuthenticationService;
-import com.example.roadmap.domain.Usuario;
+import com.example.roadmap.domain.UsuarioPrincipal;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -10,12 +10,14 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * Filtro JWT que valida tokens en cada solicitud.
  *
  * El token debe venir en la cabecera Authorization: Bearer <token>
- * Si es válido, se agrega la información del usuario al request como atributo.
+ * Si es válido, se agrega el {@link UsuarioPrincipal} al request como atributo
+ * {@code currentUser}.
  *
  * @since 1.0
  */
@@ -41,8 +43,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = extractToken(request);
 
             if (token != null) {
-                if (authenticationService.isSessionValid(token)) {
-                    Usuario usuario = authenticationService.getUserFromToken(token);
+                Optional<UsuarioPrincipal> authenticated = authenticationService.authenticate(token);
+                if (authenticated.isPresent()) {
+                    UsuarioPrincipal usuario = authenticated.get();
                     request.setAttribute("currentUser", usuario);
                     request.setAttribute("currentToken", token);
                     logger.debug("JWT válido para usuario: " + usuario.getUsername() + " en " + requestPath);
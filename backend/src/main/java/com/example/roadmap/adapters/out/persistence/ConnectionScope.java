@@ -0,0 +1,128 @@
+package com.example.roadmap.adapters.out.persistence;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+
+/**
+ * Managed lease of one pooled JDBC connection.
+ *
+ * <p>
+ * Repositories open a scope with try-with-resources so the connection always
+ * returns to the pool. When a transaction was started and not committed the
+ * scope rolls it back on close and restores auto-commit before releasing the
+ * connection. Every open scope is tracked by {@link ConnectionScopeRegistry}
+ * for leak detection and borrow/hold timing.
+ * </p>
+ *
+ * @since 1.2
+ */
+public final class ConnectionScope implements AutoCloseable {
+    private final long leaseId;
+    private final String owner;
+    private final Connection connection;
+    private final String threadName;
+    private final Throwable borrowSite;
+    private final Instant acquiredAt;
+    private final long acquiredAtNanos;
+    private boolean transactional;
+    private boolean committed;
+    private boolean closed;
+    volatile boolean leakReported;
+
+    ConnectionScope(long leaseId, String owner, Connection connection) {
+        this.leaseId = leaseId;
+        this.owner = owner;
+        this.connection = connection;
+        this.threadName = Thread.currentThread().getName();
+        this.borrowSite = new Throwable("Connection borrowed by " + owner);
+        this.acquiredAt = Instant.now();
+        this.acquiredAtNanos = System.nanoTime();
+    }
+
+    /** @return Borrowed JDBC connection. Must not be closed by callers. */
+    public Connection connection() {
+        if (closed) {
+            throw new IllegalStateException("La conexión ya fue devuelta al pool.");
+        }
+        return connection;
+    }
+
+    /**
+     * Starts a transaction on the leased connection.
+     *
+     * @throws SQLException When auto-commit cannot be disabled.
+     */
+    public void begin() throws SQLException {
+        connection().setAutoCommit(false);
+        transactional = true;
+        committed = false;
+    }
+
+    /**
+     * Commits the transaction started with {@link #begin()}.
+     *
+     * @throws SQLException When commit fails.
+     */
+    public void commit() throws SQLException {
+        connection().commit();
+        committed = true;
+    }
+
+    /**
+     * Rolls back uncommitted work, restores auto-commit and returns the
+     * connection to the pool. Safe to call more than once.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (transactional) {
+                if (!committed) {
+                    try {
+                        connection.rollback();
+                    } catch (Exception ignored) {
+                        // no-op
+                    }
+                }
+                try {
+                    connection.setAutoCommit(true);
+                } catch (Exception ignored) {
+                    // no-op
+                }
+            }
+            connection.close();
+        } catch (Exception ignored) {
+            // no-op
+        } finally {
+            ConnectionScopeRegistry.release(this, System.nanoTime() - acquiredAtNanos);
+        }
+    }
+
+    long getLeaseId() {
+        return leaseId;
+    }
+
+    String getOwner() {
+        return owner;
+    }
+
+    String getThreadName() {
+        return threadName;
+    }
+
+    Throwable getBorrowSite() {
+        return borrowSite;
+    }
+
+    Instant getAcquiredAt() {
+        return acquiredAt;
+    }
+
+    long heldNanos() {
+        return System.nanoTime() - acquiredAtNanos;
+    }
+}
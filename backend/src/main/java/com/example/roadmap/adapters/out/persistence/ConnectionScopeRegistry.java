@@ -0,0 +1,174 @@
+package com.example.roadmap.adapters.out.persistence;
+
+import com.example.roadmap.DatabaseConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Process-wide registry of open {@link ConnectionScope} leases.
+ *
+ * <p>
+ * Tracks who borrowed each pooled connection (owner, thread and stack trace),
+ * reports leases held longer than the leak threshold and keeps per-repository
+ * borrow-time and hold-time histograms.
+ * </p>
+ *
+ * @since 1.2
+ */
+public final class ConnectionScopeRegistry {
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectionScopeRegistry.class);
+    private static final int MAX_STACK_FRAMES = 12;
+
+    private static final AtomicLong LEASE_SEQUENCE = new AtomicLong();
+    private static final Map<Long, ConnectionScope> OPEN_SCOPES = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> BORROW_TIMES = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> HOLD_TIMES = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> BORROW_FAILURES = new ConcurrentHashMap<>();
+    private static final LongAdder LEAKS_DETECTED = new LongAdder();
+    private static volatile long leakThresholdMillis = 30_000L;
+
+    private ConnectionScopeRegistry() {
+    }
+
+    /**
+     * Borrows one connection from the active pool on behalf of a repository.
+     *
+     * @param owner Repository name used for metrics and leak reports.
+     * @return Open scope wrapping the pooled connection.
+     * @throws SQLException When there is no active pool or no connection is available.
+     */
+    static ConnectionScope open(String owner) throws SQLException {
+        detectLeaks();
+        long start = System.nanoTime();
+        Connection connection = DatabaseConnection.getConnection();
+        long borrowNanos = System.nanoTime() - start;
+        if (connection == null) {
+            BORROW_FAILURES.computeIfAbsent(owner, key -> new LongAdder()).increment();
+            throw new SQLException("No hay conexión activa con la base de datos.");
+        }
+        BORROW_TIMES.computeIfAbsent(owner, key -> new LatencyHistogram()).record(borrowNanos);
+        ConnectionScope scope = new ConnectionScope(LEASE_SEQUENCE.incrementAndGet(), owner, connection);
+        OPEN_SCOPES.put(scope.getLeaseId(), scope);
+        return scope;
+    }
+
+    static void release(ConnectionScope scope, long holdNanos) {
+        OPEN_SCOPES.remove(scope.getLeaseId());
+        HOLD_TIMES.computeIfAbsent(scope.getOwner(), key -> new LatencyHistogram()).record(holdNanos);
+        if (scope.leakReported) {
+            LOG.warn("Conexión [{}] de {} devuelta tras {} ms (reportada previamente como fuga)",
+                scope.getLeaseId(), scope.getOwner(), TimeUnit.NANOSECONDS.toMillis(holdNanos));
+        }
+    }
+
+    /**
+     * Logs every lease held longer than the leak threshold, once per lease.
+     *
+     * The number of open leases is bounded by the pool size, so this check is
+     * cheap enough to run on every borrow.
+     */
+    static void detectLeaks() {
+        long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(leakThresholdMillis);
+        for (ConnectionScope scope : OPEN_SCOPES.values()) {
+            if (!scope.leakReported && scope.heldNanos() > thresholdNanos) {
+                scope.leakReported = true;
+                LEAKS_DETECTED.increment();
+                LOG.warn("Posible fuga de conexión [{}]: {} la mantiene desde {} en hilo {}",
+                    scope.getLeaseId(), scope.getOwner(), scope.getAcquiredAt(), scope.getThreadName(),
+                    scope.getBorrowSite());
+            }
+        }
+    }
+
+    /**
+     * Overrides the leak threshold.
+     *
+     * @param millis Hold time after which a lease is reported as leaked.
+     */
+    public static void setLeakThresholdMillis(long millis) {
+        leakThresholdMillis = Math.max(1L, millis);
+    }
+
+    /** @return Number of leases currently checked out through scopes. */
+    public static int openCount() {
+        return OPEN_SCOPES.size();
+    }
+
+    /**
+     * Returns currently open leases with borrower details, oldest first.
+     *
+     * @return List of JSON-friendly lease descriptions.
+     */
+    public static List<Map<String, Object>> openLeases() {
+        List<ConnectionScope> scopes = new ArrayList<>(OPEN_SCOPES.values());
+        scopes.sort(Comparator.comparing(ConnectionScope::getAcquiredAt));
+        List<Map<String, Object>> out = new ArrayList<>();
+        for (ConnectionScope scope : scopes) {
+            Map<String, Object> lease = new LinkedHashMap<>();
+            lease.put("id", scope.getLeaseId());
+            lease.put("owner", scope.getOwner());
+            lease.put("thread", scope.getThreadName());
+            lease.put("acquiredAt", scope.getAcquiredAt().toString());
+            lease.put("heldMs", TimeUnit.NANOSECONDS.toMillis(scope.heldNanos()));
+            lease.put("suspectedLeak", scope.leakReported);
+            lease.put("stackTrace", Arrays.stream(scope.getBorrowSite().getStackTrace())
+                .limit(MAX_STACK_FRAMES)
+                .map(StackTraceElement::toString)
+                .collect(Collectors.toList()));
+            out.add(lease);
+        }
+        return out;
+    }
+
+    /**
+     * Builds a metrics snapshot with per-repository histograms and open leases.
+     *
+     * @return Map ready to be serialized as JSON.
+     */
+    public static Map<String, Object> snapshot() {
+        detectLeaks();
+        Map<String, Object> repositories = new TreeMap<>();
+        for (String owner : allOwners()) {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            LatencyHistogram borrow = BORROW_TIMES.get(owner);
+            LatencyHistogram hold = HOLD_TIMES.get(owner);
+            LongAdder failures = BORROW_FAILURES.get(owner);
+            metrics.put("borrowTime", borrow == null ? new LatencyHistogram().snapshot() : borrow.snapshot());
+            metrics.put("holdTime", hold == null ? new LatencyHistogram().snapshot() : hold.snapshot());
+            metrics.put("borrowFailures", failures == null ? 0L : failures.sum());
+            repositories.put(owner, metrics);
+        }
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("leakThresholdMs", leakThresholdMillis);
+        out.put("leaksDetected", LEAKS_DETECTED.sum());
+        out.put("openLeases", openLeases());
+        out.put("repositories", repositories);
+        return out;
+    }
+
+    private static List<String> allOwners() {
+        List<String> owners = new ArrayList<>(BORROW_TIMES.keySet());
+        for (String owner : BORROW_FAILURES.keySet()) {
+            if (!owners.contains(owner)) {
+                owners.add(owner);
+            }
+        }
+        return owners;
+    }
+}
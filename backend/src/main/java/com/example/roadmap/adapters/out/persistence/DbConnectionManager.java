@@ -1,28 +1,29 @@
 package com.example.roadmap.adapters.out.persistence;
 
-import com.example.roadmap.DatabaseConnection;
 import org.springframework.stereotype.Component;
 
-import java.sql.Connection;
 import java.sql.SQLException;
 
 /**
  * Wrapper de acceso a la conexión de base de datos compartida.
  *
  * Este administrador delega en DatabaseConnection para mantener compatibilidad
- * con la implementación actual del backend.
+ * con la implementación actual del backend. Las conexiones se entregan siempre
+ * dentro de un {@link ConnectionScope} para garantizar su devolución al pool.
  *
  * @since 1.0
  */
 @Component
 public class DbConnectionManager {
 
-    public Connection getConnection() throws SQLException {
-        Connection conn = DatabaseConnection.getConnection();
-        if (conn == null) {
-            throw new SQLException("No hay conexión activa con la base de datos.");
-        }
-        return conn;
+    /**
+     * Toma prestada una conexión del pool para un repositorio.
+     *
+     * @param owner Nombre del repositorio, usado en métricas y detección de fugas.
+     * @return Scope a cerrar con try-with-resources.
+     * @throws SQLException Si no hay conexión activa con la base de datos.
+     */
+    public ConnectionScope open(String owner) throws SQLException {
+        return ConnectionScopeRegistry.open(owner);
     }
 }
-
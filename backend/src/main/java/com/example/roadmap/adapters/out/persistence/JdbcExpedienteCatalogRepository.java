@@ -0,0 +1,193 @@
+package com.example.roadmap.adapters.out.persistence;
+
+import com.example.roadmap.domain.ExpedienteCatalogPage;
+import com.example.roadmap.domain.ExpedienteCatalogRepository;
+import com.example.roadmap.domain.InitiativeExpediente;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC adapter reading the global expedientes catalog.
+ *
+ * <p>
+ * Pages are ordered by {@code (expediente, id)} and continued with a keyset
+ * cursor, so every page is an index range scan on {@code idx_expedientes_codigo}
+ * (InnoDB secondary indexes carry the primary key). Prefix search matches the
+ * start of the expediente code or of the company name.
+ * </p>
+ *
+ * @since 1.2
+ */
+public class JdbcExpedienteCatalogRepository implements ExpedienteCatalogRepository {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcExpedienteCatalogRepository.class);
+    private static final String OWNER = "JdbcExpedienteCatalogRepository";
+    private static final String COLUMNS = "id, tipo, empresa, expediente, impacto, precio_licitacion, precio_adjudicacion, " +
+        "fecha_fin_expediente, informacion_adicional";
+
+    private final DbConnectionManager dbConnectionManager;
+
+    public JdbcExpedienteCatalogRepository() {
+        this(new DbConnectionManager());
+    }
+
+    public JdbcExpedienteCatalogRepository(DbConnectionManager dbConnectionManager) {
+        this.dbConnectionManager = dbConnectionManager;
+    }
+
+    @Override
+    public ExpedienteCatalogPage search(String prefix, String cursor, int limit) {
+        String[] after = decodeCursor(cursor);
+        boolean filtered = prefix != null && !prefix.isBlank();
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM expedientes WHERE 1 = 1");
+        if (filtered) {
+            sql.append(" AND (expediente LIKE ? ESCAPE '!' OR empresa LIKE ? ESCAPE '!')");
+        }
+        if (after != null) {
+            sql.append(" AND (expediente > ? OR (expediente = ? AND id > ?))");
+        }
+        sql.append(" ORDER BY expediente ASC, id ASC LIMIT ?");
+
+        try (ConnectionScope scope = openScope()) {
+            Connection connection = scope.connection();
+            if (!SchemaCapabilities.hasTable(connection, "expedientes")) {
+                return new ExpedienteCatalogPage(new ArrayList<>(), null);
+            }
+            try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+                int index = 1;
+                if (filtered) {
+                    String pattern = escapeLike(prefix.trim()) + "%";
+                    ps.setString(index++, pattern);
+                    ps.setString(index++, pattern);
+                }
+                if (after != null) {
+                    ps.setString(index++, after[0]);
+                    ps.setString(index++, after[0]);
+                    ps.setString(index++, after[1]);
+                }
+                ps.setInt(index, limit + 1);
+
+                List<InitiativeExpediente> items = new ArrayList<>();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        items.add(map(rs));
+                    }
+                }
+                String nextCursor = null;
+                if (items.size() > limit) {
+                    items = new ArrayList<>(items.subList(0, limit));
+                    InitiativeExpediente last = items.get(items.size() - 1);
+                    nextCursor = encodeCursor(last.getExpediente(), last.getId());
+                }
+                return new ExpedienteCatalogPage(items, nextCursor);
+            }
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("Error buscando en el catálogo de expedientes", e);
+            throw new RuntimeException("No se pudo leer el catálogo de expedientes", e);
+        }
+    }
+
+    @Override
+    public List<InitiativeExpediente> findAll() {
+        String sql = "SELECT " + COLUMNS + " FROM expedientes ORDER BY expediente ASC, empresa ASC, created_at ASC";
+        List<InitiativeExpediente> out = new ArrayList<>();
+        try (ConnectionScope scope = openScope()) {
+            Connection connection = scope.connection();
+            if (!SchemaCapabilities.hasTable(connection, "expedientes")) {
+                return out;
+            }
+            try (PreparedStatement ps = connection.prepareStatement(sql);
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    out.add(map(rs));
+                }
+            }
+            return out;
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("Error leyendo el catálogo de expedientes", e);
+            throw new RuntimeException("No se pudo leer el catálogo de expedientes", e);
+        }
+    }
+
+    static String encodeCursor(String expediente, String id) {
+        String raw = valueOrEmpty(expediente) + "\n" + valueOrEmpty(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de catálogo inválido.", e);
+        }
+        int separator = raw.lastIndexOf('\n');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Cursor de catálogo inválido.");
+        }
+        return new String[]{raw.substring(0, separator), raw.substring(separator + 1)};
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private InitiativeExpediente map(ResultSet rs) throws SQLException {
+        InitiativeExpediente expediente = new InitiativeExpediente();
+        expediente.setId(valueOrEmpty(rs.getString("id")));
+        expediente.setTipo(valueOrEmpty(rs.getString("tipo")));
+        expediente.setEmpresa(valueOrEmpty(rs.getString("empresa")));
+        expediente.setExpediente(valueOrEmpty(rs.getString("expediente")));
+        expediente.setImpacto(valueOrEmpty(rs.getString("impacto")));
+        expediente.setPrecio_licitacion(valueOrEmpty(rs.getString("precio_licitacion")));
+        expediente.setPrecio_adjudicacion(valueOrEmpty(rs.getString("precio_adjudicacion")));
+        expediente.setFecha_fin_expediente(valueOrEmpty(rs.getString("fecha_fin_expediente")));
+        expediente.setInformacion_adicional(readAdditionalInfo(rs.getString("informacion_adicional")));
+        return expediente;
+    }
+
+    private Map<String, String> readAdditionalInfo(String rawJson) {
+        try {
+            if (rawJson == null || rawJson.isBlank()) {
+                return new LinkedHashMap<>();
+            }
+            return OBJECT_MAPPER.readValue(rawJson, new TypeReference<Map<String, String>>() {
+            });
+        } catch (Exception e) {
+            return new LinkedHashMap<>();
+        }
+    }
+
+    private static String valueOrEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private ConnectionScope openScope() {
+        try {
+            return dbConnectionManager.open(OWNER);
+        } catch (SQLException e) {
+            throw new IllegalStateException("No hay conexión activa con la base de datos.", e);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.roadmap.adapters.out.persistence;
+
+import com.example.roadmap.domain.PortfolioAmounts;
+import com.example.roadmap.domain.PortfolioRepository;
+import com.example.roadmap.domain.PortfolioRoadmapStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC adapter computing portfolio aggregates with GROUP BY queries.
+ *
+ * <p>
+ * Every figure is counted by MySQL over indexed roadmap_id columns; no JSON
+ * column is read and no configuration is assembled. Restricting the
+ * aggregates to a few roadmaps adds an {@code IN} list, in chunks of
+ * {@value #IN_CHUNK} ids, to the same queries. All queries of one call run
+ * in a single read transaction, so they see the same snapshot.
+ * </p>
+ *
+ * <p>
+ * Expediente prices are free text such as {@code 1.234.567,89 €}. They are
+ * parsed in SQL like the roadmap view does: dots are dropped, the comma
+ * becomes the decimal separator and any other symbol is ignored. Only
+ * expedientes linked through {@code iniciativa_expediente} are counted.
+ * </p>
+ *
+ * @since 1.2
+ */
+public class JdbcPortfolioRepository implements PortfolioRepository {
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcPortfolioRepository.class);
+    private static final String OWNER = "JdbcPortfolioRepository";
+    private static final int IN_CHUNK = 500;
+
+    private final DbConnectionManager dbConnectionManager;
+
+    public JdbcPortfolioRepository() {
+        this(new DbConnectionManager());
+    }
+
+    public JdbcPortfolioRepository(DbConnectionManager dbConnectionManager) {
+        this.dbConnectionManager = dbConnectionManager;
+    }
+
+    @Override
+    public List<PortfolioRoadmapStats> findStats(Collection<String> roadmapIds) {
+        if (roadmapIds != null && roadmapIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try (ConnectionScope scope = openScope()) {
+            Connection connection = scope.connection();
+            // Read-only transaction: one snapshot for every query below.
+            scope.begin();
+            boolean linkedExpedientes = SchemaCapabilities.hasTable(connection, "iniciativa_expediente");
+            Map<String, PortfolioRoadmapStats> stats = new LinkedHashMap<>();
+            if (roadmapIds == null) {
+                aggregate(connection, List.of(), linkedExpedientes, stats);
+            } else {
+                List<String> ids = new ArrayList<>(roadmapIds);
+                for (int from = 0; from < ids.size(); from += IN_CHUNK) {
+                    aggregate(connection, ids.subList(from, Math.min(ids.size(), from + IN_CHUNK)), linkedExpedientes, stats);
+                }
+            }
+            return new ArrayList<>(stats.values());
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("Error calculando agregados de cartera", e);
+            throw new RuntimeException("No se pudieron calcular los agregados de cartera", e);
+        }
+    }
+
+    @Override
+    public PortfolioAmounts findLinkedExpedienteAmounts() {
+        try (ConnectionScope scope = openScope()) {
+            Connection connection = scope.connection();
+            if (!SchemaCapabilities.hasTable(connection, "iniciativa_expediente")) {
+                return PortfolioAmounts.EMPTY;
+            }
+            String sql = """
+                SELECT COUNT(*), SUM(%s), SUM(%s)
+                FROM expedientes e
+                WHERE EXISTS (SELECT 1 FROM iniciativa_expediente ie WHERE ie.expediente_id = e.id)
+                """.formatted(amount("e.precio_licitacion"), amount("e.precio_adjudicacion"));
+            try (PreparedStatement ps = connection.prepareStatement(sql);
+                 ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return new PortfolioAmounts(rs.getInt(1), rs.getBigDecimal(2), rs.getBigDecimal(3));
+            }
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("Error calculando importes de expedientes de cartera", e);
+            throw new RuntimeException("No se pudieron calcular los importes de expedientes", e);
+        }
+    }
+
+    /**
+     * Runs the aggregate queries for a chunk of roadmaps, or for all of them
+     * when {@code ids} is empty, and merges the rows into {@code stats}.
+     */
+    private void aggregate(Connection connection, List<String> ids, boolean linkedExpedientes,
+                           Map<String, PortfolioRoadmapStats> stats) throws SQLException {
+        String roadmapsSql = """
+            SELECT r.id, r.titulo,
+                   (SELECT COUNT(*) FROM iniciativas i WHERE i.roadmap_id = r.id),
+                   (SELECT COUNT(*) FROM compromisos c WHERE c.roadmap_id = r.id)
+            FROM roadmaps r
+            WHERE 1 = 1%s
+            """.formatted(in("r.id", ids.size()));
+        try (PreparedStatement ps = prepare(connection, roadmapsSql, ids);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                PortfolioRoadmapStats entry = new PortfolioRoadmapStats(rs.getString(1), rs.getString(2));
+                entry.setIniciativas(rs.getInt(3));
+                entry.setCompromisos(rs.getInt(4));
+                stats.put(entry.getRoadmapId(), entry);
+            }
+        }
+
+        String axesSql = """
+            SELECT i.roadmap_id, ej.nombre, COUNT(*)
+            FROM iniciativas i
+            LEFT JOIN ejes_estrategicos ej ON ej.id = i.eje_id
+            WHERE 1 = 1%s
+            GROUP BY i.roadmap_id, ej.nombre
+            """.formatted(in("i.roadmap_id", ids.size()));
+        try (PreparedStatement ps = prepare(connection, axesSql, ids);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                PortfolioRoadmapStats entry = stats.get(rs.getString(1));
+                if (entry != null) {
+                    String axis = rs.getString(2);
+                    entry.getIniciativasPorEje().merge(axis == null || axis.isBlank() ? PortfolioRoadmapStats.SIN_EJE : axis,
+                        rs.getInt(3), Integer::sum);
+                }
+            }
+        }
+
+        String monthsSql = """
+            SELECT roadmap_id, DATE_FORMAT(fecha_comprometido_date, '%%Y-%%m') AS mes, COUNT(*)
+            FROM compromisos
+            WHERE fecha_comprometido_date IS NOT NULL%s
+            GROUP BY roadmap_id, mes
+            """.formatted(in("roadmap_id", ids.size()));
+        try (PreparedStatement ps = prepare(connection, monthsSql, ids);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                PortfolioRoadmapStats entry = stats.get(rs.getString(1));
+                if (entry != null) {
+                    entry.getCompromisosPorMes().put(rs.getString(2), rs.getInt(3));
+                }
+            }
+        }
+
+        if (!linkedExpedientes) {
+            return;
+        }
+        String amountsSql = """
+            SELECT x.roadmap_id, COUNT(*), SUM(%s), SUM(%s)
+            FROM (
+                SELECT DISTINCT i.roadmap_id, e.id, e.precio_licitacion, e.precio_adjudicacion
+                FROM iniciativas i
+                INNER JOIN iniciativa_expediente ie ON ie.iniciativa_id = i.id
+                INNER JOIN expedientes e ON e.id = ie.expediente_id
+                WHERE 1 = 1%s
+            ) x
+            GROUP BY x.roadmap_id
+            """.formatted(amount("x.precio_licitacion"), amount("x.precio_adjudicacion"), in("i.roadmap_id", ids.size()));
+        try (PreparedStatement ps = prepare(connection, amountsSql, ids);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                PortfolioRoadmapStats entry = stats.get(rs.getString(1));
+                if (entry != null) {
+                    entry.setExpedientes(new PortfolioAmounts(rs.getInt(2), rs.getBigDecimal(3), rs.getBigDecimal(4)));
+                }
+            }
+        }
+    }
+
+    /**
+     * SQL expression reading a free-text price as DECIMAL; unreadable text is 0.
+     */
+    static String amount(String column) {
+        return "CAST(COALESCE(NULLIF(REGEXP_REPLACE(REPLACE(REPLACE(TRIM(" + column
+            + "), '.', ''), ',', '.'), '[^0-9.-]', ''), ''), '0') AS DECIMAL(20,2))";
+    }
+
+    private static String in(String column, int size) {
+        if (size == 0) {
+            return "";
+        }
+        return " AND " + column + " IN (" + String.join(", ", Collections.nCopies(size, "?")) + ")";
+    }
+
+    private static PreparedStatement prepare(Connection connection, String sql, List<String> ids) throws SQLException {
+        PreparedStatement ps = connection.prepareStatement(sql);
+        for (int i = 0; i < ids.size(); i++) {
+            ps.setString(i + 1, ids.get(i));
+        }
+        return ps;
+    }
+
+    private ConnectionScope openScope() {
+        try {
+            return dbConnectionManager.open(OWNER);
+        } catch (SQLException e) {
+            throw new IllegalStateException("No hay conexión activa con la base de datos.", e);
+        }
+    }
+}
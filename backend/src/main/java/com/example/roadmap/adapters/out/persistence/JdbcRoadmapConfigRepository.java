@@ -1,25 +1,41 @@
 package com.example.roadmap.adapters.out.persistence;
 
-import com.example.roadmap.DatabaseConnection;
 import com.example.roadmap.domain.Initiative;
 import com.example.roadmap.domain.InitiativeDependency;
 import com.example.roadmap.domain.InitiativeExpediente;
+import com.example.roadmap.domain.InitiativeImpact;
+import com.example.roadmap.domain.Roadmap;
 import com.example.roadmap.domain.RoadmapConfig;
 import com.example.roadmap.domain.RoadmapConfigRepository;
+import com.example.roadmap.domain.RoadmapDates;
+import com.example.roadmap.domain.RoadmapExportRepository;
+import com.example.roadmap.domain.RoadmapExportSink;
+import com.example.roadmap.domain.RoadmapImportRepository;
+import com.example.roadmap.domain.RoadmapImportSession;
 import com.example.roadmap.domain.RoadmapCommitment;
 import com.example.roadmap.domain.RoadmapHorizon;
 import com.example.roadmap.domain.StrategicAxis;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -27,6 +43,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 
 /**
@@ -34,19 +51,66 @@ import java.util.UUID;
  *
  * <p>
  * Expedientes are stored in normalized tables and legacy embedded JSON data is
- * migrated automatically on read when needed.
+ * migrated automatically on read when needed. The global expedientes catalog
+ * is not loaded here; see {@link JdbcExpedienteCatalogRepository}. Saves diff the incoming config
+ * against the stored rows and only write the rows that were added, changed,
+ * moved or removed. Imports write into empty tables through an
+ * {@link RoadmapImportSession}, batch by batch, inside one transaction.
+ * Exports stream initiatives and commitments from forward-only result sets
+ * straight into a {@link RoadmapExportSink}.
+ * </p>
+ *
+ * <p>
+ * Date fields keep the text the client sent (for example {@code 2026-T1}) and
+ * also write a typed {@code *_date} column parsed by {@link RoadmapDates}, so
+ * timeline windows are filtered in SQL through {@code (roadmap_id, inicio_date, fin_date)}.
+ * </p>
+ *
+ * <p>
+ * Initiative dependencies are kept in the {@code dependencias} JSON column,
+ * which stays the source for reads, and mirrored as rows of
+ * {@code iniciativa_dependencia} on every save and import, so dependency
+ * closures are walked in SQL without deserialising initiatives.
  * </p>
  *
  * @since 1.0
  */
-public class JdbcRoadmapConfigRepository implements RoadmapConfigRepository {
+public class JdbcRoadmapConfigRepository implements RoadmapConfigRepository, RoadmapImportRepository, RoadmapExportRepository {
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private static final Logger LOG = LoggerFactory.getLogger(JdbcRoadmapConfigRepository.class);
+    private static final String OWNER = "JdbcRoadmapConfigRepository";
+    private static final List<String> AXIS_COLUMNS = List.of("nombre", "descripcion", "color");
+    private static final List<String> INITIATIVE_COLUMNS = List.of(
+        "eje_id", "nombre", "inicio", "fin", "certeza", "dependencias", "informacion_adicional", "expedientes",
+        "inicio_date", "fin_date");
+    private static final List<String> COMMITMENT_COLUMNS = List.of(
+        "descripcion", "fecha_comprometido", "actor", "quien_compromete", "informacion_adicional",
+        "fecha_comprometido_date");
+    private static final int IN_CLAUSE_CHUNK = 500;
+    /** Initiatives joined with their linked expedientes; callers append WHERE and ORDER BY. */
+    private static final String LINKED_INITIATIVE_COLUMNS = """
+        SELECT i.id, i.eje_id, i.nombre, i.inicio, i.fin, i.certeza, i.dependencias, i.informacion_adicional,
+               e.id AS expediente_id, e.tipo, e.empresa, e.expediente, e.impacto, e.precio_licitacion,
+               e.precio_adjudicacion, e.fecha_fin_expediente, e.informacion_adicional AS expediente_info
+        FROM iniciativas i
+        LEFT JOIN iniciativa_expediente ie ON ie.iniciativa_id = i.id
+        LEFT JOIN expedientes e ON e.id = ie.expediente_id
+        """;
+
+    private final DbConnectionManager dbConnectionManager;
+
+    public JdbcRoadmapConfigRepository() {
+        this(new DbConnectionManager());
+    }
+
+    public JdbcRoadmapConfigRepository(DbConnectionManager dbConnectionManager) {
+        this.dbConnectionManager = dbConnectionManager;
+    }
 
     @Override
     public Optional<RoadmapConfig> findByRoadmapId(String roadmapId) {
-        Connection connection = requireConnection();
-        try {
+        try (ConnectionScope scope = openScope()) {
+            Connection connection = scope.connection();
             RoadmapConfig config = readBaseConfig(connection, roadmapId);
             if (config == null) {
                 return Optional.empty();
@@ -61,7 +125,7 @@ public class JdbcRoadmapConfigRepository implements RoadmapConfigRepository {
                 for (Initiative initiative : initiatives) {
                     initiative.setExpedientes(linkedExpedientes.getOrDefault(initiative.getId(), new ArrayList<>()));
                 }
-                config.setExpedientes_catalogo(readExpedientesCatalog(connection));
+                // The global catalog is served paginated by JdbcExpedienteCatalogRepository.
             } else {
                 config.setExpedientes_catalogo(buildCatalogFromInitiatives(initiatives));
             }
@@ -69,6 +133,8 @@ public class JdbcRoadmapConfigRepository implements RoadmapConfigRepository {
             config.setIniciativas(initiatives);
             config.setCompromisos(readCommitments(connection, roadmapId));
             return Optional.of(config);
+        } catch (IllegalStateException e) {
+            throw e;
         } catch (Exception e) {
             LOG.error("Error cargando configuración para roadmap [{}]", roadmapId, e);
             throw new RuntimeException("No se pudo leer la configuración del roadmap", e);
@@ -76,34 +142,381 @@ public class JdbcRoadmapConfigRepository implements RoadmapConfigRepository {
     }
 
     @Override
-    public void saveForRoadmap(String roadmapId, RoadmapConfig config) {
-        Connection connection = requireConnection();
-        try {
-            connection.setAutoCommit(false);
+    public Optional<Instant> findUpdatedAt(String roadmapId) {
+        try (ConnectionScope scope = openScope();
+             PreparedStatement ps = scope.connection().prepareStatement("SELECT updated_at FROM roadmaps WHERE id = ?")) {
+            ps.setString(1, roadmapId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                Timestamp updatedAt = rs.getTimestamp("updated_at");
+                return Optional.of(updatedAt == null ? Instant.EPOCH : updatedAt.toInstant());
+            }
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("Error leyendo versión de roadmap [{}]", roadmapId, e);
+            throw new RuntimeException("No se pudo leer la versión del roadmap", e);
+        }
+    }
+
+    @Override
+    public List<Initiative> findInitiativesInWindow(String roadmapId, LocalDate from, LocalDate to) {
+        // Range on inicio_date inside idx_iniciativas_roadmap_fechas; fin_date
+        // is checked from the same index entry. A missing end is open-ended.
+        StringBuilder where = new StringBuilder("WHERE i.roadmap_id = ? AND i.inicio_date IS NOT NULL");
+        List<Object> params = new ArrayList<>();
+        params.add(roadmapId);
+        if (to != null) {
+            where.append(" AND i.inicio_date <= ?");
+            params.add(to);
+        }
+        if (from != null) {
+            where.append(" AND (i.fin_date IS NULL OR i.fin_date >= ?)");
+            params.add(from);
+        }
+        try (ConnectionScope scope = openScope()) {
+            Connection connection = scope.connection();
+            boolean linked = supportsNormalizedExpedientes(connection) && hasExpedienteLinks(connection, roadmapId);
+            String sql = linked
+                ? LINKED_INITIATIVE_COLUMNS + where + " ORDER BY i.inicio_date ASC, i.posicion ASC, i.id ASC, ie.posicion ASC, ie.created_at ASC"
+                : "SELECT i.id, i.eje_id, i.nombre, i.inicio, i.fin, i.certeza, i.dependencias, i.informacion_adicional, i.expedientes " +
+                  "FROM iniciativas i " + where + " ORDER BY i.inicio_date ASC, i.posicion ASC, i.id ASC";
+            List<Initiative> out = new ArrayList<>();
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                for (int i = 0; i < params.size(); i++) {
+                    ps.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    Initiative current = null;
+                    while (rs.next()) {
+                        if (!linked) {
+                            Initiative initiative = mapInitiative(rs, roadmapId);
+                            initiative.setExpedientes(readLegacyExpedientes(rs.getString("expedientes"), initiative.getInformacion_adicional()));
+                            out.add(initiative);
+                            continue;
+                        }
+                        String id = valueOrEmpty(rs.getString("id"));
+                        if (current == null || !current.getId().equals(id)) {
+                            current = mapInitiative(rs, roadmapId);
+                            current.setExpedientes(new ArrayList<>());
+                            out.add(current);
+                        }
+                        if (rs.getString("expediente_id") != null) {
+                            current.getExpedientes().add(mapLinkedExpediente(rs));
+                        }
+                    }
+                }
+            }
+            return out;
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("Error leyendo iniciativas de roadmap [{}] entre {} y {}", roadmapId, from, to, e);
+            throw new RuntimeException("No se pudieron leer las iniciativas del roadmap", e);
+        }
+    }
+
+    @Override
+    public int countInitiativesWithoutStartDate(String roadmapId) {
+        // Counted from idx_iniciativas_roadmap_fechas: (roadmap_id, NULL) prefix.
+        String sql = "SELECT COUNT(*) FROM iniciativas WHERE roadmap_id = ? AND inicio_date IS NULL";
+        try (ConnectionScope scope = openScope();
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
+            ps.setString(1, roadmapId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("Error contando iniciativas sin fecha de roadmap [{}]", roadmapId, e);
+            throw new RuntimeException("No se pudieron contar las iniciativas sin fecha", e);
+        }
+    }
+
+    @Override
+    public List<InitiativeImpact> findDependencyClosure(String roadmapId, String initiativeId, boolean dependents, int maxDepth) {
+        try (ConnectionScope scope = openScope()) {
+            Connection connection = scope.connection();
+            if (!supportsDependencyEdges(connection)) {
+                return closureFromJson(connection, roadmapId, initiativeId, dependents, maxDepth);
+            }
+            // Dependents walk the reverse index (roadmap_id, depende_de_id);
+            // dependencies walk the primary key (iniciativa_id, depende_de_id).
+            // UNION drops repeated (id, depth) pairs, which bounds the walk
+            // even when the links contain cycles.
+            String from = dependents ? "depende_de_id" : "iniciativa_id";
+            String to = dependents ? "iniciativa_id" : "depende_de_id";
+            String sql = """
+                WITH RECURSIVE reach (id, depth) AS (
+                    SELECT d.%2$s, 1 FROM iniciativa_dependencia d
+                    WHERE d.roadmap_id = ? AND d.%1$s = ?
+                    UNION
+                    SELECT d.%2$s, r.depth + 1 FROM reach r
+                    INNER JOIN iniciativa_dependencia d ON d.roadmap_id = ? AND d.%1$s = r.id
+                    WHERE r.depth < ?
+                )
+                SELECT r.id, MIN(r.depth) AS depth, i.nombre, i.inicio, i.fin
+                FROM reach r
+                LEFT JOIN iniciativas i ON i.id = r.id AND i.roadmap_id = ?
+                WHERE r.id <> ?
+                GROUP BY r.id, i.nombre, i.inicio, i.fin
+                ORDER BY depth ASC, r.id ASC
+                """.formatted(from, to);
+            List<InitiativeImpact> out = new ArrayList<>();
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                ps.setString(1, roadmapId);
+                ps.setString(2, initiativeId);
+                ps.setString(3, roadmapId);
+                ps.setInt(4, maxDepth);
+                ps.setString(5, roadmapId);
+                ps.setString(6, initiativeId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        out.add(new InitiativeImpact(rs.getString("id"), rs.getString("nombre"),
+                            rs.getString("inicio"), rs.getString("fin"), rs.getInt("depth")));
+                    }
+                }
+            }
+            return out;
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("Error leyendo dependencias de la iniciativa [{}] del roadmap [{}]", initiativeId, roadmapId, e);
+            throw new RuntimeException("No se pudieron leer las dependencias de la iniciativa", e);
+        }
+    }
+
+    @Override
+    public Set<String> saveForRoadmap(String roadmapId, RoadmapConfig config) {
+        try (ConnectionScope scope = openScope()) {
+            Connection connection = scope.connection();
+            scope.begin();
+            // The UPDATE locks the roadmap row, so concurrent saves of the same
+            // roadmap serialise here and each one diffs against committed state.
             updateBaseConfig(connection, roadmapId, config);
-            deleteCommitments(connection, roadmapId);
-            deleteInitiatives(connection, roadmapId);
-            deleteAxes(connection, roadmapId);
 
-            Map<String, String> axisIdMapping = insertAxes(connection, roadmapId, safeAxes(config));
-            insertInitiatives(connection, roadmapId, safeInitiatives(config), axisIdMapping);
+            Map<String, String> axisIdMapping = new HashMap<>();
+            RowDiff<String> axes = RowDiff.compute(readStoredAxisRows(connection, roadmapId),
+                desiredAxisRows(roadmapId, safeAxes(config), axisIdMapping));
+            RowDiff<String> initiatives = RowDiff.compute(readStoredInitiativeRows(connection, roadmapId),
+                desiredInitiativeRows(safeInitiatives(config), axisIdMapping, 0));
+            RowDiff<String> commitments = RowDiff.compute(readStoredCommitmentRows(connection, roadmapId),
+                desiredCommitmentRows(safeCommitments(config), 0));
+
+            applyUpserts(connection, "ejes_estrategicos", AXIS_COLUMNS, roadmapId, axes);
+            applyDeletes(connection, "iniciativas", roadmapId, initiatives);
+            applyUpserts(connection, "iniciativas", INITIATIVE_COLUMNS, roadmapId, initiatives);
+            applyDeletes(connection, "ejes_estrategicos", roadmapId, axes);
 
+            Set<String> linkedRoadmaps = Set.of();
             if (supportsNormalizedExpedientes(connection)) {
-                upsertExpedientes(connection, safeInitiatives(config));
-                insertInitiativeExpedienteLinks(connection, safeInitiatives(config));
+                Set<String> updatedExpedientes = syncExpedientes(connection, safeInitiatives(config));
+                syncInitiativeExpedienteLinks(connection, roadmapId, safeInitiatives(config));
+                linkedRoadmaps = touchRoadmapsLinkedTo(connection, roadmapId, updatedExpedientes);
+            }
+            if (supportsDependencyEdges(connection)) {
+                syncDependencyEdges(connection, roadmapId, safeInitiatives(config));
             }
 
-            insertCommitments(connection, roadmapId, safeCommitments(config));
-            connection.commit();
+            applyDeletes(connection, "compromisos", roadmapId, commitments);
+            applyUpserts(connection, "compromisos", COMMITMENT_COLUMNS, roadmapId, commitments);
+            scope.commit();
+            LOG.debug("Roadmap [{}] guardado: ejes {}, iniciativas {}, compromisos {}, roadmaps con expedientes compartidos {}",
+                roadmapId, axes, initiatives, commitments, linkedRoadmaps);
+            return linkedRoadmaps;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw e;
         } catch (Exception e) {
-            rollbackQuietly(connection);
             LOG.error("Error guardando configuración para roadmap [{}]", roadmapId, e);
             throw new RuntimeException("No se pudo guardar la configuración del roadmap", e);
-        } finally {
-            resetAutocommitQuietly(connection);
         }
     }
 
+    @Override
+    public RoadmapImportSession openImport(Roadmap roadmap, RoadmapConfig config) {
+        ConnectionScope scope = openScope();
+        try {
+            scope.begin();
+            String sql = "INSERT INTO roadmaps (id, titulo, descripcion, created_at, updated_at) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP(6))";
+            try (PreparedStatement ps = scope.connection().prepareStatement(sql)) {
+                ps.setString(1, roadmap.getId());
+                ps.setString(2, roadmap.getTitle());
+                ps.setString(3, roadmap.getDescription());
+                ps.setTimestamp(4, Timestamp.from(roadmap.getCreatedAt()));
+                ps.executeUpdate();
+            }
+            updateBaseConfig(scope.connection(), roadmap.getId(), config);
+            return new ImportSession(scope, roadmap.getId(),
+                supportsNormalizedExpedientes(scope.connection()), supportsDependencyEdges(scope.connection()));
+        } catch (Exception e) {
+            scope.close();
+            LOG.error("Error iniciando importación de roadmap [{}]", roadmap.getId(), e);
+            throw new RuntimeException("No se pudo iniciar la importación del roadmap", e);
+        }
+    }
+
+    @Override
+    public boolean exportRoadmap(String roadmapId, RoadmapExportSink sink) throws IOException {
+        try (ConnectionScope scope = openScope()) {
+            Connection connection = scope.connection();
+            // One transaction gives every read below the same InnoDB snapshot;
+            // nothing is written, so closing the scope just rolls it back.
+            scope.begin();
+            RoadmapConfig header = new RoadmapConfig();
+            Roadmap roadmap = readExportHeader(connection, roadmapId, header);
+            if (roadmap == null) {
+                return false;
+            }
+            sink.begin(roadmap, header);
+            for (StrategicAxis axis : readAxes(connection, roadmapId)) {
+                sink.axis(axis);
+            }
+            if (supportsNormalizedExpedientes(connection) && hasExpedienteLinks(connection, roadmapId)) {
+                streamLinkedInitiatives(connection, roadmapId, sink);
+            } else {
+                streamLegacyInitiatives(connection, roadmapId, sink);
+            }
+            streamCommitments(connection, roadmapId, sink);
+            sink.end();
+            return true;
+        } catch (IllegalStateException | IOException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("Error exportando roadmap [{}]", roadmapId, e);
+            throw new RuntimeException("No se pudo exportar el roadmap", e);
+        }
+    }
+
+    private Roadmap readExportHeader(Connection connection, String roadmapId, RoadmapConfig header) throws Exception {
+        String sql = "SELECT titulo, descripcion, created_at, producto, organizacion, horizonte_inicio, horizonte_fin FROM roadmaps WHERE id = ?";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, roadmapId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                header.setProducto(valueOrEmpty(rs.getString("producto")));
+                header.setOrganizacion(valueOrEmpty(rs.getString("organizacion")));
+                header.setHorizonte_base(new RoadmapHorizon(
+                    valueOrEmpty(rs.getString("horizonte_inicio")),
+                    valueOrEmpty(rs.getString("horizonte_fin"))
+                ));
+                Timestamp createdAt = rs.getTimestamp("created_at");
+                return new Roadmap(roadmapId, valueOrEmpty(rs.getString("titulo")), valueOrEmpty(rs.getString("descripcion")),
+                    createdAt == null ? Instant.EPOCH : createdAt.toInstant());
+            }
+        }
+    }
+
+    private boolean hasExpedienteLinks(Connection connection, String roadmapId) throws Exception {
+        String sql = """
+            SELECT 1
+            FROM iniciativa_expediente ie
+            INNER JOIN iniciativas i ON i.id = ie.iniciativa_id
+            WHERE i.roadmap_id = ?
+            LIMIT 1
+            """;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, roadmapId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Streams initiatives joined with their linked expedientes. Rows arrive
+     * grouped by initiative, so only the initiative being assembled is held.
+     */
+    private void streamLinkedInitiatives(Connection connection, String roadmapId, RoadmapExportSink sink) throws Exception {
+        String sql = LINKED_INITIATIVE_COLUMNS + """
+            WHERE i.roadmap_id = ?
+            ORDER BY i.posicion ASC, i.created_at ASC, i.id ASC, ie.posicion ASC, ie.created_at ASC
+            """;
+        try (PreparedStatement ps = prepareStreaming(connection, sql)) {
+            ps.setString(1, roadmapId);
+            try (ResultSet rs = ps.executeQuery()) {
+                Initiative current = null;
+                while (rs.next()) {
+                    String id = valueOrEmpty(rs.getString("id"));
+                    if (current == null || !current.getId().equals(id)) {
+                        if (current != null) {
+                            sink.initiative(current);
+                        }
+                        current = mapInitiative(rs, roadmapId);
+                        current.setExpedientes(new ArrayList<>());
+                    }
+                    if (rs.getString("expediente_id") != null) {
+                        current.getExpedientes().add(mapLinkedExpediente(rs));
+                    }
+                }
+                if (current != null) {
+                    sink.initiative(current);
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps the expediente columns of a row from {@link #LINKED_INITIATIVE_COLUMNS}.
+     */
+    private InitiativeExpediente mapLinkedExpediente(ResultSet rs) throws SQLException {
+        InitiativeExpediente expediente = new InitiativeExpediente();
+        expediente.setId(valueOrEmpty(rs.getString("expediente_id")));
+        expediente.setTipo(valueOrEmpty(rs.getString("tipo")));
+        expediente.setEmpresa(valueOrEmpty(rs.getString("empresa")));
+        expediente.setExpediente(valueOrEmpty(rs.getString("expediente")));
+        expediente.setImpacto(valueOrEmpty(rs.getString("impacto")));
+        expediente.setPrecio_licitacion(valueOrEmpty(rs.getString("precio_licitacion")));
+        expediente.setPrecio_adjudicacion(valueOrEmpty(rs.getString("precio_adjudicacion")));
+        expediente.setFecha_fin_expediente(valueOrEmpty(rs.getString("fecha_fin_expediente")));
+        expediente.setInformacion_adicional(readAdditionalInfo(rs.getString("expediente_info")));
+        return expediente;
+    }
+
+    private void streamLegacyInitiatives(Connection connection, String roadmapId, RoadmapExportSink sink) throws Exception {
+        String sql = "SELECT id, eje_id, nombre, inicio, fin, certeza, dependencias, informacion_adicional, expedientes " +
+            "FROM iniciativas WHERE roadmap_id = ? ORDER BY posicion ASC, created_at ASC";
+        try (PreparedStatement ps = prepareStreaming(connection, sql)) {
+            ps.setString(1, roadmapId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Initiative initiative = mapInitiative(rs, roadmapId);
+                    initiative.setExpedientes(readLegacyExpedientes(rs.getString("expedientes"), initiative.getInformacion_adicional()));
+                    sink.initiative(initiative);
+                }
+            }
+        }
+    }
+
+    private void streamCommitments(Connection connection, String roadmapId, RoadmapExportSink sink) throws Exception {
+        String sql = "SELECT id, descripcion, fecha_comprometido, actor, quien_compromete, informacion_adicional " +
+            "FROM compromisos WHERE roadmap_id = ? ORDER BY posicion ASC, created_at ASC";
+        try (PreparedStatement ps = prepareStreaming(connection, sql)) {
+            ps.setString(1, roadmapId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    sink.commitment(mapCommitment(rs));
+                }
+            }
+        }
+    }
+
+    /**
+     * Forward-only statement that MySQL Connector/J streams row by row instead
+     * of buffering the whole result. Only one such result set may be open per
+     * connection at a time.
+     */
+    private PreparedStatement prepareStreaming(Connection connection, String sql) throws SQLException {
+        PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(Integer.MIN_VALUE);
+        return ps;
+    }
+
     private RoadmapConfig readBaseConfig(Connection connection, String roadmapId) throws Exception {
         String sql = "SELECT producto, organizacion, horizonte_inicio, horizonte_fin FROM roadmaps WHERE id = ?";
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
@@ -152,15 +565,7 @@ public class JdbcRoadmapConfigRepository implements RoadmapConfigRepository {
             ps.setString(1, roadmapId);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    Initiative initiative = new Initiative();
-                    initiative.setId(valueOrEmpty(rs.getString("id")));
-                    initiative.setEje(fromDbAxisId(roadmapId, valueOrEmpty(rs.getString("eje_id"))));
-                    initiative.setNombre(valueOrEmpty(rs.getString("nombre")));
-                    initiative.setInicio(valueOrEmpty(rs.getString("inicio")));
-                    initiative.setFin(valueOrEmpty(rs.getString("fin")));
-                    initiative.setCerteza(valueOrEmpty(rs.getString("certeza")));
-                    initiative.setDependencias(readDependencies(rs.getString("dependencias")));
-                    initiative.setInformacion_adicional(readAdditionalInfo(rs.getString("informacion_adicional")));
+                    Initiative initiative = mapInitiative(rs, roadmapId);
                     initiative.setExpedientes(readLegacyExpedientes(rs.getString("expedientes"), initiative.getInformacion_adicional()));
                     out.add(initiative);
                 }
@@ -169,6 +574,19 @@ public class JdbcRoadmapConfigRepository implements RoadmapConfigRepository {
         return out;
     }
 
+    private Initiative mapInitiative(ResultSet rs, String roadmapId) throws SQLException {
+        Initiative initiative = new Initiative();
+        initiative.setId(valueOrEmpty(rs.getString("id")));
+        initiative.setEje(fromDbAxisId(roadmapId, valueOrEmpty(rs.getString("eje_id"))));
+        initiative.setNombre(valueOrEmpty(rs.getString("nombre")));
+        initiative.setInicio(valueOrEmpty(rs.getString("inicio")));
+        initiative.setFin(valueOrEmpty(rs.getString("fin")));
+        initiative.setCerteza(valueOrEmpty(rs.getString("certeza")));
+        initiative.setDependencias(readDependencies(rs.getString("dependencias")));
+        initiative.setInformacion_adicional(readAdditionalInfo(rs.getString("informacion_adicional")));
+        return initiative;
+    }
+
     private List<InitiativeDependency> readDependencies(String rawJson) {
         try {
             if (rawJson == null || rawJson.isBlank()) {
@@ -232,95 +650,228 @@ public class JdbcRoadmapConfigRepository implements RoadmapConfigRepository {
     }
 
     private void updateBaseConfig(Connection connection, String roadmapId, RoadmapConfig config) throws Exception {
-        String sql = "UPDATE roadmaps SET producto = ?, organizacion = ?, horizonte_inicio = ?, horizonte_fin = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+        String sql = "UPDATE roadmaps SET producto = ?, organizacion = ?, horizonte_inicio = ?, horizonte_fin = ?, " +
+            "horizonte_inicio_date = ?, horizonte_fin_date = ?, updated_at = CURRENT_TIMESTAMP(6) WHERE id = ?";
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, valueOrEmpty(config.getProducto()));
             ps.setString(2, valueOrEmpty(config.getOrganizacion()));
             ps.setString(3, valueOrEmpty(safeHorizon(config).getInicio()));
             ps.setString(4, valueOrEmpty(safeHorizon(config).getFin()));
-            ps.setString(5, roadmapId);
+            ps.setObject(5, RoadmapDates.periodStart(safeHorizon(config).getInicio()).orElse(null));
+            ps.setObject(6, RoadmapDates.periodEnd(safeHorizon(config).getFin()).orElse(null));
+            ps.setString(7, roadmapId);
             ps.executeUpdate();
         }
     }
 
-    private void deleteInitiatives(Connection connection, String roadmapId) throws Exception {
-        try (PreparedStatement ps = connection.prepareStatement("DELETE FROM iniciativas WHERE roadmap_id = ?")) {
+    private Map<String, RowDiff.Row> readStoredAxisRows(Connection connection, String roadmapId) throws Exception {
+        String sql = "SELECT id, nombre, descripcion, color, posicion FROM ejes_estrategicos WHERE roadmap_id = ?";
+        Map<String, RowDiff.Row> out = new HashMap<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, roadmapId);
-            ps.executeUpdate();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    out.put(rs.getString("id"), RowDiff.row(rs.getInt("posicion"),
+                        valueOrEmpty(rs.getString("nombre")),
+                        valueOrEmpty(rs.getString("descripcion")),
+                        valueOrEmpty(rs.getString("color"))));
+                }
+            }
         }
+        return out;
     }
 
-    private void deleteCommitments(Connection connection, String roadmapId) throws Exception {
-        try (PreparedStatement ps = connection.prepareStatement("DELETE FROM compromisos WHERE roadmap_id = ?")) {
-            ps.setString(1, roadmapId);
-            ps.executeUpdate();
+    private Map<String, RowDiff.Row> desiredAxisRows(String roadmapId, List<StrategicAxis> axes, Map<String, String> mapping) {
+        Map<String, RowDiff.Row> out = new LinkedHashMap<>();
+        for (int i = 0; i < axes.size(); i++) {
+            StrategicAxis axis = axes.get(i);
+            String sourceId = valueOrEmpty(axis.getId());
+            if (sourceId.isBlank()) {
+                sourceId = "AXIS-" + i;
+            }
+            if (mapping.containsKey(sourceId)) {
+                sourceId = sourceId + "-" + i;
+            }
+            String dbAxisId = toDbAxisId(roadmapId, sourceId);
+            mapping.put(sourceId, dbAxisId);
+            out.put(dbAxisId, RowDiff.row(i,
+                valueOrEmpty(axis.getNombre()),
+                valueOrEmpty(axis.getDescripcion()),
+                valueOrEmpty(axis.getColor())));
         }
+        return out;
     }
 
-    private void deleteAxes(Connection connection, String roadmapId) throws Exception {
-        try (PreparedStatement ps = connection.prepareStatement("DELETE FROM ejes_estrategicos WHERE roadmap_id = ?")) {
+    private Map<String, RowDiff.Row> readStoredInitiativeRows(Connection connection, String roadmapId) throws Exception {
+        String sql = "SELECT id, eje_id, nombre, inicio, fin, certeza, dependencias, informacion_adicional, expedientes, " +
+            "inicio_date, fin_date, posicion FROM iniciativas WHERE roadmap_id = ?";
+        Map<String, RowDiff.Row> out = new HashMap<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, roadmapId);
-            ps.executeUpdate();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    out.put(rs.getString("id"), RowDiff.row(rs.getInt("posicion"),
+                        rs.getString("eje_id"),
+                        valueOrEmpty(rs.getString("nombre")),
+                        valueOrEmpty(rs.getString("inicio")),
+                        valueOrEmpty(rs.getString("fin")),
+                        valueOrEmpty(rs.getString("certeza")),
+                        readJsonTree(rs.getString("dependencias")),
+                        readJsonTree(rs.getString("informacion_adicional")),
+                        readJsonTree(rs.getString("expedientes")),
+                        rs.getString("inicio_date"),
+                        rs.getString("fin_date")));
+                }
+            }
         }
+        return out;
     }
 
-    private Map<String, String> insertAxes(Connection connection, String roadmapId, List<StrategicAxis> axes) throws Exception {
-        String sql = "INSERT INTO ejes_estrategicos (id, roadmap_id, nombre, descripcion, color, posicion) VALUES (?, ?, ?, ?, ?, ?)";
-        Map<String, String> mapping = new HashMap<>();
+    private Map<String, RowDiff.Row> desiredInitiativeRows(List<Initiative> initiatives, Map<String, String> axisIdMapping, int firstPosition) {
+        Map<String, RowDiff.Row> out = new LinkedHashMap<>();
+        for (int i = 0; i < initiatives.size(); i++) {
+            Initiative initiative = initiatives.get(i);
+            String dbAxisId = axisIdMapping.get(valueOrEmpty(initiative.getEje()));
+            // Legacy embedded expedientes are cleared on save, as before.
+            out.put(valueOrEmpty(initiative.getId()), RowDiff.row(firstPosition + i,
+                (dbAxisId == null || dbAxisId.isBlank()) ? null : dbAxisId,
+                valueOrEmpty(initiative.getNombre()),
+                valueOrEmpty(initiative.getInicio()),
+                valueOrEmpty(initiative.getFin()),
+                valueOrEmpty(initiative.getCerteza()),
+                OBJECT_MAPPER.valueToTree(safeDependencies(initiative)),
+                OBJECT_MAPPER.valueToTree(safeAdditionalInfo(initiative)),
+                null,
+                startDate(initiative.getInicio()),
+                endDate(initiative.getFin())));
+        }
+        if (out.size() != initiatives.size()) {
+            throw new IllegalArgumentException("El lote contiene iniciativas con id repetido.");
+        }
+        return out;
+    }
+
+    private Map<String, RowDiff.Row> readStoredCommitmentRows(Connection connection, String roadmapId) throws Exception {
+        String sql = "SELECT id, descripcion, fecha_comprometido, actor, quien_compromete, informacion_adicional, " +
+            "fecha_comprometido_date, posicion FROM compromisos WHERE roadmap_id = ?";
+        Map<String, RowDiff.Row> out = new HashMap<>();
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            for (int i = 0; i < axes.size(); i++) {
-                StrategicAxis axis = axes.get(i);
-                String sourceId = valueOrEmpty(axis.getId());
-                if (sourceId.isBlank()) {
-                    sourceId = "AXIS-" + i;
-                }
-                if (mapping.containsKey(sourceId)) {
-                    sourceId = sourceId + "-" + i;
-                }
-                String dbAxisId = toDbAxisId(roadmapId, sourceId);
-                mapping.put(sourceId, dbAxisId);
-                ps.setString(1, dbAxisId);
-                ps.setString(2, roadmapId);
-                ps.setString(3, valueOrEmpty(axis.getNombre()));
-                ps.setString(4, valueOrEmpty(axis.getDescripcion()));
-                ps.setString(5, valueOrEmpty(axis.getColor()));
-                ps.setInt(6, i);
-                ps.addBatch();
+            ps.setString(1, roadmapId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    out.put(rs.getString("id"), RowDiff.row(rs.getInt("posicion"),
+                        valueOrEmpty(rs.getString("descripcion")),
+                        valueOrEmpty(rs.getString("fecha_comprometido")),
+                        valueOrEmpty(rs.getString("actor")),
+                        valueOrEmpty(rs.getString("quien_compromete")),
+                        readJsonTree(rs.getString("informacion_adicional")),
+                        rs.getString("fecha_comprometido_date")));
+                }
             }
-            ps.executeBatch();
         }
-        return mapping;
+        return out;
     }
 
-    private void insertInitiatives(Connection connection, String roadmapId, List<Initiative> initiatives, Map<String, String> axisIdMapping) throws Exception {
-        String sql = "INSERT INTO iniciativas (id, roadmap_id, eje_id, nombre, inicio, fin, certeza, dependencias, informacion_adicional, expedientes, posicion) " +
-            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            for (int i = 0; i < initiatives.size(); i++) {
-                Initiative initiative = initiatives.get(i);
-                ps.setString(1, valueOrEmpty(initiative.getId()));
+    private Map<String, RowDiff.Row> desiredCommitmentRows(List<RoadmapCommitment> commitments, int firstPosition) {
+        Map<String, RowDiff.Row> out = new LinkedHashMap<>();
+        for (int i = 0; i < commitments.size(); i++) {
+            RoadmapCommitment commitment = commitments.get(i);
+            out.put(valueOrEmpty(commitment.getId()), RowDiff.row(firstPosition + i,
+                valueOrEmpty(commitment.getDescripcion()),
+                valueOrEmpty(commitment.getFecha_comprometido()),
+                valueOrEmpty(commitment.getActor()),
+                valueOrEmpty(commitment.getQuien_compromete()),
+                OBJECT_MAPPER.valueToTree(safeAdditionalInfo(commitment)),
+                endDate(commitment.getFecha_comprometido())));
+        }
+        return out;
+    }
+
+    /**
+     * Writes inserted, changed and moved rows of one roadmap table.
+     *
+     * Table and column names come from constants of this class, never from input.
+     */
+    private void applyUpserts(Connection connection, String table, List<String> columns, String roadmapId, RowDiff<String> diff) throws Exception {
+        if (!diff.getInserts().isEmpty()) {
+            String sql = "INSERT INTO " + table + " (id, roadmap_id, " + String.join(", ", columns) + ", posicion) VALUES (?, ?, " +
+                "?, ".repeat(columns.size()) + "?)";
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                for (String id : diff.getInserts()) {
+                    RowDiff.Row row = diff.desired(id);
+                    ps.setString(1, id);
+                    ps.setString(2, roadmapId);
+                    bindValues(ps, 3, row.getValues());
+                    ps.setInt(3 + columns.size(), row.getPosition());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+        if (!diff.getUpdates().isEmpty()) {
+            String sql = "UPDATE " + table + " SET " + String.join(" = ?, ", columns) + " = ?, posicion = ? WHERE id = ? AND roadmap_id = ?";
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                for (String id : diff.getUpdates()) {
+                    RowDiff.Row row = diff.desired(id);
+                    bindValues(ps, 1, row.getValues());
+                    ps.setInt(columns.size() + 1, row.getPosition());
+                    ps.setString(columns.size() + 2, id);
+                    ps.setString(columns.size() + 3, roadmapId);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+        if (!diff.getMoves().isEmpty()) {
+            String sql = "UPDATE " + table + " SET posicion = ? WHERE id = ? AND roadmap_id = ?";
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                for (String id : diff.getMoves()) {
+                    ps.setInt(1, diff.desired(id).getPosition());
+                    ps.setString(2, id);
+                    ps.setString(3, roadmapId);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+    }
+
+    private void applyDeletes(Connection connection, String table, String roadmapId, RowDiff<String> diff) throws Exception {
+        if (diff.getDeletes().isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = connection.prepareStatement("DELETE FROM " + table + " WHERE id = ? AND roadmap_id = ?")) {
+            for (String id : diff.getDeletes()) {
+                ps.setString(1, id);
                 ps.setString(2, roadmapId);
-                String sourceAxisId = valueOrEmpty(initiative.getEje());
-                String dbAxisId = axisIdMapping.get(sourceAxisId);
-                if (dbAxisId == null || dbAxisId.isBlank()) {
-                    ps.setNull(3, Types.VARCHAR);
-                } else {
-                    ps.setString(3, dbAxisId);
-                }
-                ps.setString(4, valueOrEmpty(initiative.getNombre()));
-                ps.setString(5, valueOrEmpty(initiative.getInicio()));
-                ps.setString(6, valueOrEmpty(initiative.getFin()));
-                ps.setString(7, valueOrEmpty(initiative.getCerteza()));
-                ps.setString(8, OBJECT_MAPPER.writeValueAsString(safeDependencies(initiative)));
-                ps.setString(9, OBJECT_MAPPER.writeValueAsString(safeAdditionalInfo(initiative)));
-                ps.setNull(10, Types.VARCHAR);
-                ps.setInt(11, i);
                 ps.addBatch();
             }
             ps.executeBatch();
         }
     }
 
+    private void bindValues(PreparedStatement ps, int firstIndex, List<Object> values) throws SQLException {
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            if (value == null) {
+                ps.setNull(firstIndex + i, Types.VARCHAR);
+            } else {
+                ps.setString(firstIndex + i, value.toString());
+            }
+        }
+    }
+
+    private JsonNode readJsonTree(String rawJson) {
+        if (rawJson == null) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.readTree(rawJson);
+        } catch (Exception e) {
+            return TextNode.valueOf(rawJson);
+        }
+    }
+
     private List<RoadmapCommitment> readCommitments(Connection connection, String roadmapId) throws Exception {
         String sql = "SELECT id, descripcion, fecha_comprometido, actor, quien_compromete, informacion_adicional " +
             "FROM compromisos WHERE roadmap_id = ? ORDER BY posicion ASC, created_at ASC";
@@ -329,53 +880,177 @@ public class JdbcRoadmapConfigRepository implements RoadmapConfigRepository {
             ps.setString(1, roadmapId);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    RoadmapCommitment commitment = new RoadmapCommitment();
-                    commitment.setId(valueOrEmpty(rs.getString("id")));
-                    commitment.setDescripcion(valueOrEmpty(rs.getString("descripcion")));
-                    commitment.setFecha_comprometido(valueOrEmpty(rs.getString("fecha_comprometido")));
-                    commitment.setActor(valueOrEmpty(rs.getString("actor")));
-                    commitment.setQuien_compromete(valueOrEmpty(rs.getString("quien_compromete")));
-                    commitment.setInformacion_adicional(readAdditionalInfo(rs.getString("informacion_adicional")));
-                    out.add(commitment);
+                    out.add(mapCommitment(rs));
                 }
             }
         }
         return out;
     }
 
-    private void insertCommitments(Connection connection, String roadmapId, List<RoadmapCommitment> commitments) throws Exception {
-        String sql = "INSERT INTO compromisos (id, roadmap_id, descripcion, fecha_comprometido, actor, quien_compromete, informacion_adicional, posicion) " +
-            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private RoadmapCommitment mapCommitment(ResultSet rs) throws SQLException {
+        RoadmapCommitment commitment = new RoadmapCommitment();
+        commitment.setId(valueOrEmpty(rs.getString("id")));
+        commitment.setDescripcion(valueOrEmpty(rs.getString("descripcion")));
+        commitment.setFecha_comprometido(valueOrEmpty(rs.getString("fecha_comprometido")));
+        commitment.setActor(valueOrEmpty(rs.getString("actor")));
+        commitment.setQuien_compromete(valueOrEmpty(rs.getString("quien_compromete")));
+        commitment.setInformacion_adicional(readAdditionalInfo(rs.getString("informacion_adicional")));
+        return commitment;
+    }
+
+    private boolean supportsNormalizedExpedientes(Connection connection) throws Exception {
+        return SchemaCapabilities.hasTable(connection, "expedientes")
+            && SchemaCapabilities.hasTable(connection, "iniciativa_expediente");
+    }
+
+    private boolean supportsDependencyEdges(Connection connection) throws Exception {
+        return SchemaCapabilities.hasTable(connection, "iniciativa_dependencia");
+    }
+
+    /**
+     * Dependency edges wanted for a set of initiatives, keyed by
+     * (iniciativa_id, depende_de_id). Blank targets and self links are
+     * skipped; a repeated target keeps its first position.
+     */
+    private Map<List<String>, RowDiff.Row> desiredDependencyEdges(List<Initiative> initiatives) {
+        Map<List<String>, RowDiff.Row> edges = new LinkedHashMap<>();
+        for (Initiative initiative : initiatives) {
+            String id = valueOrEmpty(initiative.getId());
+            List<InitiativeDependency> dependencies = safeDependencies(initiative);
+            for (int i = 0; i < dependencies.size(); i++) {
+                InitiativeDependency dependency = dependencies.get(i);
+                String target = dependency == null ? null : dependency.getIniciativa();
+                if (isBlank(target) || target.trim().length() > 50 || target.trim().equals(id)) {
+                    continue;
+                }
+                edges.putIfAbsent(List.of(id, target.trim()), RowDiff.row(i, valueOrEmpty(dependency.getTipo())));
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Brings the dependency edges of a roadmap in line with the config.
+     *
+     * Edges of initiatives deleted in this save are already gone through
+     * ON DELETE CASCADE and are not deleted again.
+     */
+    private void syncDependencyEdges(Connection connection, String roadmapId, List<Initiative> initiatives) throws Exception {
+        Map<List<String>, RowDiff.Row> stored = new HashMap<>();
+        String sql = "SELECT iniciativa_id, depende_de_id, tipo, posicion FROM iniciativa_dependencia WHERE roadmap_id = ?";
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            for (int i = 0; i < commitments.size(); i++) {
-                RoadmapCommitment commitment = commitments.get(i);
-                ps.setString(1, valueOrEmpty(commitment.getId()));
-                ps.setString(2, roadmapId);
-                ps.setString(3, valueOrEmpty(commitment.getDescripcion()));
-                ps.setString(4, valueOrEmpty(commitment.getFecha_comprometido()));
-                ps.setString(5, valueOrEmpty(commitment.getActor()));
-                ps.setString(6, valueOrEmpty(commitment.getQuien_compromete()));
-                ps.setString(7, OBJECT_MAPPER.writeValueAsString(safeAdditionalInfo(commitment)));
-                ps.setInt(8, i);
-                ps.addBatch();
+            ps.setString(1, roadmapId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    stored.put(List.of(rs.getString("iniciativa_id"), rs.getString("depende_de_id")),
+                        RowDiff.row(rs.getInt("posicion"), valueOrEmpty(rs.getString("tipo"))));
+                }
+            }
+        }
+
+        RowDiff<List<String>> diff = RowDiff.compute(stored, desiredDependencyEdges(initiatives));
+        if (!diff.getDeletes().isEmpty()) {
+            try (PreparedStatement ps = connection.prepareStatement("DELETE FROM iniciativa_dependencia WHERE iniciativa_id = ? AND depende_de_id = ?")) {
+                for (List<String> key : diff.getDeletes()) {
+                    ps.setString(1, key.get(0));
+                    ps.setString(2, key.get(1));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+        if (!diff.getInserts().isEmpty()) {
+            Map<List<String>, RowDiff.Row> rows = new HashMap<>();
+            diff.getInserts().forEach(key -> rows.put(key, diff.desired(key)));
+            insertDependencyEdges(connection, roadmapId, diff.getInserts(), rows);
+        }
+        List<List<String>> changed = new ArrayList<>(diff.getUpdates());
+        changed.addAll(diff.getMoves());
+        if (!changed.isEmpty()) {
+            try (PreparedStatement ps = connection.prepareStatement("UPDATE iniciativa_dependencia SET tipo = ?, posicion = ? WHERE iniciativa_id = ? AND depende_de_id = ?")) {
+                for (List<String> key : changed) {
+                    RowDiff.Row row = diff.desired(key);
+                    ps.setString(1, (String) row.getValues().get(0));
+                    ps.setInt(2, row.getPosition());
+                    ps.setString(3, key.get(0));
+                    ps.setString(4, key.get(1));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
             }
-            ps.executeBatch();
         }
     }
 
-    private boolean supportsNormalizedExpedientes(Connection connection) throws Exception {
-        return tableExists(connection, "expedientes") && tableExists(connection, "iniciativa_expediente");
+    private void insertDependencyEdges(Connection connection, String roadmapId, Collection<List<String>> keys,
+                                       Map<List<String>, RowDiff.Row> rows) throws Exception {
+        if (keys.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO iniciativa_dependencia (roadmap_id, iniciativa_id, depende_de_id, tipo, posicion) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (List<String> key : keys) {
+                RowDiff.Row row = rows.get(key);
+                ps.setString(1, roadmapId);
+                ps.setString(2, key.get(0));
+                ps.setString(3, key.get(1));
+                ps.setString(4, (String) row.getValues().get(0));
+                ps.setInt(5, row.getPosition());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
     }
 
-    private boolean tableExists(Connection connection, String tableName) throws Exception {
-        String sql = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+    /**
+     * Breadth-first walk over the {@code dependencias} JSON column, for
+     * schemas without {@code iniciativa_dependencia}. Only ids, dates and
+     * dependency lists are read.
+     */
+    private List<InitiativeImpact> closureFromJson(Connection connection, String roadmapId, String initiativeId,
+                                                   boolean dependents, int maxDepth) throws Exception {
+        Map<String, String[]> details = new HashMap<>();
+        Map<String, List<String>> next = new HashMap<>();
+        String sql = "SELECT id, nombre, inicio, fin, dependencias FROM iniciativas WHERE roadmap_id = ?";
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, tableName);
+            ps.setString(1, roadmapId);
             try (ResultSet rs = ps.executeQuery()) {
-                rs.next();
-                return rs.getInt(1) > 0;
+                while (rs.next()) {
+                    String id = rs.getString("id");
+                    details.put(id, new String[] {rs.getString("nombre"), rs.getString("inicio"), rs.getString("fin")});
+                    for (InitiativeDependency dependency : readDependencies(rs.getString("dependencias"))) {
+                        if (dependency == null || isBlank(dependency.getIniciativa())) {
+                            continue;
+                        }
+                        String target = dependency.getIniciativa().trim();
+                        String key = dependents ? target : id;
+                        next.computeIfAbsent(key, k -> new ArrayList<>()).add(dependents ? id : target);
+                    }
+                }
+            }
+        }
+
+        List<InitiativeImpact> out = new ArrayList<>();
+        Map<String, Integer> depth = new HashMap<>();
+        depth.put(initiativeId, 0);
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(initiativeId);
+        while (!queue.isEmpty()) {
+            String current = queue.poll();
+            int d = depth.get(current);
+            if (d == maxDepth) {
+                continue;
+            }
+            for (String reached : next.getOrDefault(current, List.of())) {
+                if (depth.putIfAbsent(reached, d + 1) == null) {
+                    String[] row = details.get(reached);
+                    out.add(row == null
+                        ? new InitiativeImpact(reached, null, null, null, d + 1)
+                        : new InitiativeImpact(reached, row[0], row[1], row[2], d + 1));
+                    queue.add(reached);
+                }
             }
         }
+        return out;
     }
 
     private void migrateLegacyExpedientesIfNeeded(Connection connection, String roadmapId, List<Initiative> initiatives) throws Exception {
@@ -408,16 +1083,140 @@ public class JdbcRoadmapConfigRepository implements RoadmapConfigRepository {
         insertInitiativeExpedienteLinks(connection, initiatives);
     }
 
+    /**
+     * Upserts only the expedientes that are new or whose data changed.
+     *
+     * @return Ids of the expedientes that already existed and were changed.
+     */
+    private Set<String> syncExpedientes(Connection connection, List<Initiative> initiatives) throws Exception {
+        Map<String, RowDiff.Row> desired = new LinkedHashMap<>();
+        Map<String, InitiativeExpediente> byId = new HashMap<>();
+        for (InitiativeExpediente expediente : collectUniqueExpedientes(initiatives).values()) {
+            ensureExpedienteIdentity(expediente);
+            if (byId.putIfAbsent(expediente.getId(), expediente) == null) {
+                desired.put(expediente.getId(), expedienteRow(expediente));
+            }
+        }
+        RowDiff<String> diff = RowDiff.compute(readStoredExpedienteRows(connection, desired.keySet()), desired);
+
+        List<InitiativeExpediente> changed = new ArrayList<>();
+        for (String id : diff.getInserts()) {
+            changed.add(byId.get(id));
+        }
+        for (String id : diff.getUpdates()) {
+            changed.add(byId.get(id));
+        }
+        writeExpedientes(connection, changed);
+        return new LinkedHashSet<>(diff.getUpdates());
+    }
+
+    /**
+     * Bumps {@code updated_at} of the other roadmaps that link any of the
+     * given expedientes. Expedientes are shared, so a save that changes one
+     * also changes the configuration those roadmaps serve; their version has
+     * to move with it. The rows are locked in id order.
+     *
+     * @return Ids of the touched roadmaps, without {@code roadmapId}.
+     */
+    private Set<String> touchRoadmapsLinkedTo(Connection connection, String roadmapId, Set<String> expedienteIds) throws Exception {
+        Set<String> linked = new TreeSet<>();
+        List<String> pending = new ArrayList<>(expedienteIds);
+        for (int from = 0; from < pending.size(); from += IN_CLAUSE_CHUNK) {
+            List<String> chunk = pending.subList(from, Math.min(pending.size(), from + IN_CLAUSE_CHUNK));
+            String sql = "SELECT DISTINCT i.roadmap_id FROM iniciativa_expediente ie JOIN iniciativas i ON i.id = ie.iniciativa_id " +
+                "WHERE ie.expediente_id IN (" + "?, ".repeat(chunk.size() - 1) + "?) AND i.roadmap_id <> ?";
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                int index = 1;
+                for (String id : chunk) {
+                    ps.setString(index++, id);
+                }
+                ps.setString(index, roadmapId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        linked.add(rs.getString(1));
+                    }
+                }
+            }
+        }
+        List<String> ordered = new ArrayList<>(linked);
+        for (int from = 0; from < ordered.size(); from += IN_CLAUSE_CHUNK) {
+            List<String> chunk = ordered.subList(from, Math.min(ordered.size(), from + IN_CLAUSE_CHUNK));
+            String sql = "UPDATE roadmaps SET updated_at = CURRENT_TIMESTAMP(6) WHERE id IN (" + "?, ".repeat(chunk.size() - 1) + "?)";
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    ps.setString(i + 1, chunk.get(i));
+                }
+                ps.executeUpdate();
+            }
+        }
+        return linked;
+    }
+
+    private RowDiff.Row expedienteRow(InitiativeExpediente expediente) {
+        return RowDiff.row(0,
+            valueOrEmpty(expediente.getTipo()),
+            valueOrEmpty(expediente.getEmpresa()),
+            valueOrEmpty(expediente.getExpediente()),
+            valueOrEmpty(expediente.getImpacto()),
+            valueOrEmpty(expediente.getPrecio_licitacion()),
+            valueOrEmpty(expediente.getPrecio_adjudicacion()),
+            valueOrEmpty(expediente.getFecha_fin_expediente()),
+            OBJECT_MAPPER.valueToTree(safeAdditionalInfo(expediente)),
+            buildBusinessFingerprint(expediente),
+            endDate(expediente.getFecha_fin_expediente()));
+    }
+
+    private Map<String, RowDiff.Row> readStoredExpedienteRows(Connection connection, Set<String> ids) throws Exception {
+        Map<String, RowDiff.Row> out = new HashMap<>();
+        List<String> pending = new ArrayList<>(ids);
+        for (int from = 0; from < pending.size(); from += IN_CLAUSE_CHUNK) {
+            List<String> chunk = pending.subList(from, Math.min(pending.size(), from + IN_CLAUSE_CHUNK));
+            String sql = "SELECT id, tipo, empresa, expediente, impacto, precio_licitacion, precio_adjudicacion, fecha_fin_expediente, " +
+                "informacion_adicional, huella_negocio, fecha_fin_expediente_date FROM expedientes WHERE id IN (" + "?, ".repeat(chunk.size() - 1) + "?)";
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    ps.setString(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        out.put(rs.getString("id"), RowDiff.row(0,
+                            valueOrEmpty(rs.getString("tipo")),
+                            valueOrEmpty(rs.getString("empresa")),
+                            valueOrEmpty(rs.getString("expediente")),
+                            valueOrEmpty(rs.getString("impacto")),
+                            valueOrEmpty(rs.getString("precio_licitacion")),
+                            valueOrEmpty(rs.getString("precio_adjudicacion")),
+                            valueOrEmpty(rs.getString("fecha_fin_expediente")),
+                            readJsonTree(rs.getString("informacion_adicional")),
+                            valueOrEmpty(rs.getString("huella_negocio")),
+                            rs.getString("fecha_fin_expediente_date")));
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
     private void upsertExpedientes(Connection connection, List<Initiative> initiatives) throws Exception {
-        String sql = "INSERT INTO expedientes (id, tipo, empresa, expediente, impacto, precio_licitacion, precio_adjudicacion, fecha_fin_expediente, informacion_adicional, huella_negocio) " +
-            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        Map<String, InitiativeExpediente> uniques = collectUniqueExpedientes(initiatives);
+        for (InitiativeExpediente expediente : uniques.values()) {
+            ensureExpedienteIdentity(expediente);
+        }
+        writeExpedientes(connection, uniques.values());
+    }
+
+    private void writeExpedientes(Connection connection, Collection<InitiativeExpediente> expedientes) throws Exception {
+        if (expedientes.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO expedientes (id, tipo, empresa, expediente, impacto, precio_licitacion, precio_adjudicacion, fecha_fin_expediente, informacion_adicional, huella_negocio, fecha_fin_expediente_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
             "ON DUPLICATE KEY UPDATE tipo = VALUES(tipo), empresa = VALUES(empresa), expediente = VALUES(expediente), impacto = VALUES(impacto), " +
             "precio_licitacion = VALUES(precio_licitacion), precio_adjudicacion = VALUES(precio_adjudicacion), fecha_fin_expediente = VALUES(fecha_fin_expediente), " +
-            "informacion_adicional = VALUES(informacion_adicional), huella_negocio = VALUES(huella_negocio)";
+            "informacion_adicional = VALUES(informacion_adicional), huella_negocio = VALUES(huella_negocio), " +
+            "fecha_fin_expediente_date = VALUES(fecha_fin_expediente_date)";
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            Map<String, InitiativeExpediente> uniques = collectUniqueExpedientes(initiatives);
-            for (InitiativeExpediente expediente : uniques.values()) {
-                ensureExpedienteIdentity(expediente);
+            for (InitiativeExpediente expediente : expedientes) {
                 ps.setString(1, expediente.getId());
                 ps.setString(2, valueOrEmpty(expediente.getTipo()));
                 ps.setString(3, valueOrEmpty(expediente.getEmpresa()));
@@ -428,6 +1227,7 @@ public class JdbcRoadmapConfigRepository implements RoadmapConfigRepository {
                 ps.setString(8, valueOrEmpty(expediente.getFecha_fin_expediente()));
                 ps.setString(9, OBJECT_MAPPER.writeValueAsString(safeAdditionalInfo(expediente)));
                 ps.setString(10, buildBusinessFingerprint(expediente));
+                ps.setObject(11, RoadmapDates.periodEnd(expediente.getFecha_fin_expediente()).orElse(null));
                 ps.addBatch();
             }
             ps.executeBatch();
@@ -457,6 +1257,74 @@ public class JdbcRoadmapConfigRepository implements RoadmapConfigRepository {
         }
     }
 
+    /**
+     * Brings initiative-expediente links of a roadmap in line with the config.
+     *
+     * Links of initiatives deleted in this save are already gone through
+     * ON DELETE CASCADE and are not deleted again.
+     */
+    private void syncInitiativeExpedienteLinks(Connection connection, String roadmapId, List<Initiative> initiatives) throws Exception {
+        Map<List<String>, RowDiff.Row> desired = new LinkedHashMap<>();
+        for (Initiative initiative : initiatives) {
+            List<InitiativeExpediente> normalized = normalizeExpedienteIds(initiative.getExpedientes());
+            for (int i = 0; i < normalized.size(); i++) {
+                List<String> key = List.of(valueOrEmpty(initiative.getId()), normalized.get(i).getId());
+                desired.putIfAbsent(key, RowDiff.row(i));
+            }
+            initiative.setExpedientes(normalized);
+        }
+
+        Map<List<String>, RowDiff.Row> stored = new HashMap<>();
+        String sql = """
+            SELECT ie.iniciativa_id, ie.expediente_id, ie.posicion
+            FROM iniciativa_expediente ie
+            INNER JOIN iniciativas i ON i.id = ie.iniciativa_id
+            WHERE i.roadmap_id = ?
+            """;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, roadmapId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    stored.put(List.of(rs.getString("iniciativa_id"), rs.getString("expediente_id")), RowDiff.row(rs.getInt("posicion")));
+                }
+            }
+        }
+
+        RowDiff<List<String>> diff = RowDiff.compute(stored, desired);
+        if (!diff.getDeletes().isEmpty()) {
+            try (PreparedStatement ps = connection.prepareStatement("DELETE FROM iniciativa_expediente WHERE iniciativa_id = ? AND expediente_id = ?")) {
+                for (List<String> key : diff.getDeletes()) {
+                    ps.setString(1, key.get(0));
+                    ps.setString(2, key.get(1));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+        if (!diff.getInserts().isEmpty()) {
+            try (PreparedStatement ps = connection.prepareStatement("INSERT INTO iniciativa_expediente (iniciativa_id, expediente_id, posicion) VALUES (?, ?, ?)")) {
+                for (List<String> key : diff.getInserts()) {
+                    ps.setString(1, key.get(0));
+                    ps.setString(2, key.get(1));
+                    ps.setInt(3, diff.desired(key).getPosition());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+        if (!diff.getMoves().isEmpty()) {
+            try (PreparedStatement ps = connection.prepareStatement("UPDATE iniciativa_expediente SET posicion = ? WHERE iniciativa_id = ? AND expediente_id = ?")) {
+                for (List<String> key : diff.getMoves()) {
+                    ps.setInt(1, diff.desired(key).getPosition());
+                    ps.setString(2, key.get(0));
+                    ps.setString(3, key.get(1));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+    }
+
     private Map<String, List<InitiativeExpediente>> readInitiativeExpedientes(Connection connection, String roadmapId) throws Exception {
         String sql = """
             SELECT ie.iniciativa_id, e.id, e.tipo, e.empresa, e.expediente, e.impacto, e.precio_licitacion,
@@ -489,29 +1357,6 @@ public class JdbcRoadmapConfigRepository implements RoadmapConfigRepository {
         return out;
     }
 
-    private List<InitiativeExpediente> readExpedientesCatalog(Connection connection) throws Exception {
-        String sql = "SELECT id, tipo, empresa, expediente, impacto, precio_licitacion, precio_adjudicacion, fecha_fin_expediente, informacion_adicional " +
-            "FROM expedientes ORDER BY expediente ASC, empresa ASC, created_at ASC";
-        List<InitiativeExpediente> out = new ArrayList<>();
-        try (PreparedStatement ps = connection.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                InitiativeExpediente expediente = new InitiativeExpediente();
-                expediente.setId(valueOrEmpty(rs.getString("id")));
-                expediente.setTipo(valueOrEmpty(rs.getString("tipo")));
-                expediente.setEmpresa(valueOrEmpty(rs.getString("empresa")));
-                expediente.setExpediente(valueOrEmpty(rs.getString("expediente")));
-                expediente.setImpacto(valueOrEmpty(rs.getString("impacto")));
-                expediente.setPrecio_licitacion(valueOrEmpty(rs.getString("precio_licitacion")));
-                expediente.setPrecio_adjudicacion(valueOrEmpty(rs.getString("precio_adjudicacion")));
-                expediente.setFecha_fin_expediente(valueOrEmpty(rs.getString("fecha_fin_expediente")));
-                expediente.setInformacion_adicional(readAdditionalInfo(rs.getString("informacion_adicional")));
-                out.add(expediente);
-            }
-        }
-        return out;
-    }
-
     private List<InitiativeExpediente> buildCatalogFromInitiatives(List<Initiative> initiatives) {
         return new ArrayList<>(collectUniqueExpedientes(initiatives).values());
     }
@@ -630,6 +1475,17 @@ public class JdbcRoadmapConfigRepository implements RoadmapConfigRepository {
         return (config.getHorizonte_base() != null) ? config.getHorizonte_base() : new RoadmapHorizon("", "");
     }
 
+    /**
+     * Text form of the typed start date, matching what MySQL returns for a DATE.
+     */
+    private String startDate(String value) {
+        return RoadmapDates.periodStart(value).map(LocalDate::toString).orElse(null);
+    }
+
+    private String endDate(String value) {
+        return RoadmapDates.periodEnd(value).map(LocalDate::toString).orElse(null);
+    }
+
     private String valueOrEmpty(String value) {
         return value == null ? "" : value;
     }
@@ -646,27 +1502,96 @@ public class JdbcRoadmapConfigRepository implements RoadmapConfigRepository {
         return valueOrEmpty(storedId);
     }
 
-    private Connection requireConnection() {
-        Connection connection = DatabaseConnection.getConnection();
-        if (connection == null || !DatabaseConnection.isConnected()) {
-            throw new IllegalStateException("No hay conexión activa con la base de datos.");
+    /**
+     * Import writer over one open transaction. Tables start empty for the new
+     * roadmap, so every batch is a plain batched INSERT.
+     */
+    private final class ImportSession implements RoadmapImportSession {
+        private final ConnectionScope scope;
+        private final String roadmapId;
+        private final boolean normalizedExpedientes;
+        private final boolean dependencyEdges;
+        private final Map<String, String> axisIdMapping = new HashMap<>();
+        private boolean committed;
+
+        private ImportSession(ConnectionScope scope, String roadmapId, boolean normalizedExpedientes, boolean dependencyEdges) {
+            this.scope = scope;
+            this.roadmapId = roadmapId;
+            this.normalizedExpedientes = normalizedExpedientes;
+            this.dependencyEdges = dependencyEdges;
         }
-        return connection;
-    }
 
-    private void rollbackQuietly(Connection connection) {
-        try {
-            connection.rollback();
-        } catch (Exception ignored) {
-            // no-op
+        @Override
+        public void writeAxes(List<StrategicAxis> axes) {
+            try {
+                Map<String, RowDiff.Row> rows = desiredAxisRows(roadmapId, axes, axisIdMapping);
+                applyUpserts(scope.connection(), "ejes_estrategicos", AXIS_COLUMNS, roadmapId, RowDiff.compute(Map.of(), rows));
+            } catch (Exception e) {
+                throw new RuntimeException("No se pudieron importar los ejes del roadmap", e);
+            }
+        }
+
+        @Override
+        public int writeInitiatives(List<Initiative> initiatives, int firstPosition) {
+            try {
+                Connection connection = scope.connection();
+                Map<String, RowDiff.Row> rows = desiredInitiativeRows(initiatives, axisIdMapping, firstPosition);
+                applyUpserts(connection, "iniciativas", INITIATIVE_COLUMNS, roadmapId, RowDiff.compute(Map.of(), rows));
+                if (dependencyEdges) {
+                    Map<List<String>, RowDiff.Row> edges = desiredDependencyEdges(initiatives);
+                    insertDependencyEdges(connection, roadmapId, edges.keySet(), edges);
+                }
+                if (!normalizedExpedientes) {
+                    return 0;
+                }
+                Map<String, InitiativeExpediente> uniques = collectUniqueExpedientes(initiatives);
+                for (InitiativeExpediente expediente : uniques.values()) {
+                    ensureExpedienteIdentity(expediente);
+                }
+                writeExpedientes(connection, uniques.values());
+                insertInitiativeExpedienteLinks(connection, initiatives);
+                return uniques.size();
+            } catch (IllegalArgumentException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException("No se pudieron importar las iniciativas del roadmap", e);
+            }
+        }
+
+        @Override
+        public void writeCommitments(List<RoadmapCommitment> commitments, int firstPosition) {
+            try {
+                Map<String, RowDiff.Row> rows = desiredCommitmentRows(commitments, firstPosition);
+                applyUpserts(scope.connection(), "compromisos", COMMITMENT_COLUMNS, roadmapId, RowDiff.compute(Map.of(), rows));
+            } catch (Exception e) {
+                throw new RuntimeException("No se pudieron importar los compromisos del roadmap", e);
+            }
+        }
+
+        @Override
+        public void commit() {
+            try {
+                scope.commit();
+                committed = true;
+            } catch (SQLException e) {
+                throw new RuntimeException("No se pudo confirmar la importación del roadmap", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!committed) {
+                LOG.warn("Importación de roadmap [{}] descartada", roadmapId);
+            }
+            scope.close();
         }
     }
 
-    private void resetAutocommitQuietly(Connection connection) {
+    private ConnectionScope openScope() {
         try {
-            connection.setAutoCommit(true);
-        } catch (Exception ignored) {
-            // no-op
+            return dbConnectionManager.open(OWNER);
+        } catch (SQLException e) {
+            throw new IllegalStateException("No hay conexión activa con la base de datos.", e);
         }
     }
 }
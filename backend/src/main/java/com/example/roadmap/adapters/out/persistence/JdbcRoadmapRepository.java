@@ -1,12 +1,14 @@
 package com.example.roadmap.adapters.out.persistence;
 
-import com.example.roadmap.DatabaseConnection;
 import com.example.roadmap.domain.Roadmap;
+import com.example.roadmap.domain.RoadmapListVersion;
+import com.example.roadmap.domain.RoadmapPage;
+import com.example.roadmap.domain.RoadmapProjection;
 import com.example.roadmap.domain.RoadmapRepository;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -19,11 +21,23 @@ import java.util.Optional;
  * @since 1.0
  */
 public class JdbcRoadmapRepository implements RoadmapRepository {
+    private static final String OWNER = "JdbcRoadmapRepository";
+
+    private final DbConnectionManager dbConnectionManager;
+
+    public JdbcRoadmapRepository() {
+        this(new DbConnectionManager());
+    }
+
+    public JdbcRoadmapRepository(DbConnectionManager dbConnectionManager) {
+        this.dbConnectionManager = dbConnectionManager;
+    }
 
     @Override
     public Roadmap save(Roadmap roadmap) {
-        String sql = "INSERT INTO roadmaps (id, titulo, descripcion, created_at, updated_at) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)";
-        try (PreparedStatement ps = requireConnection().prepareStatement(sql)) {
+        String sql = "INSERT INTO roadmaps (id, titulo, descripcion, created_at, updated_at) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP(6))";
+        try (ConnectionScope scope = openScope();
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
             ps.setString(1, roadmap.getId());
             ps.setString(2, roadmap.getTitle());
             ps.setString(3, roadmap.getDescription());
@@ -38,7 +52,8 @@ public class JdbcRoadmapRepository implements RoadmapRepository {
     @Override
     public Optional<Roadmap> findById(String id) {
         String sql = "SELECT id, titulo, descripcion, created_at FROM roadmaps WHERE id = ?";
-        try (PreparedStatement ps = requireConnection().prepareStatement(sql)) {
+        try (ConnectionScope scope = openScope();
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
             ps.setString(1, id);
             try (ResultSet rs = ps.executeQuery()) {
                 if (!rs.next()) {
@@ -55,7 +70,8 @@ public class JdbcRoadmapRepository implements RoadmapRepository {
     public List<Roadmap> findAll() {
         String sql = "SELECT id, titulo, descripcion, created_at FROM roadmaps ORDER BY created_at DESC";
         List<Roadmap> out = new ArrayList<>();
-        try (PreparedStatement ps = requireConnection().prepareStatement(sql);
+        try (ConnectionScope scope = openScope();
+             PreparedStatement ps = scope.connection().prepareStatement(sql);
              ResultSet rs = ps.executeQuery()) {
             while (rs.next()) {
                 out.add(mapRoadmap(rs));
@@ -66,6 +82,103 @@ public class JdbcRoadmapRepository implements RoadmapRepository {
         }
     }
 
+    /**
+     * Plain COUNT(*), which InnoDB answers from the smallest index.
+     */
+    @Override
+    public long count() {
+        try (ConnectionScope scope = openScope();
+             PreparedStatement ps = scope.connection().prepareStatement("SELECT COUNT(*) FROM roadmaps");
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0L;
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("No se pudo contar los roadmaps", e);
+        }
+    }
+
+    /**
+     * Seeks on {@code idx_roadmaps_created (created_at, id)}; the summary
+     * projection cuts {@code descripcion} in SQL so LONGTEXT values are not
+     * transferred. A query is matched with {@code LIKE} under the table
+     * collation, so it ignores case and accents; the scan still walks the
+     * index in page order and stops after {@code limit} matches.
+     */
+    @Override
+    public List<Roadmap> findPage(RoadmapPage.Position after, int limit, RoadmapProjection projection, String query) {
+        String description = projection == RoadmapProjection.FULL
+            ? "descripcion"
+            : "LEFT(descripcion, " + RoadmapProjection.SUMMARY_DESCRIPTION_LENGTH + ") AS descripcion";
+        StringBuilder sql = new StringBuilder("SELECT id, titulo, ").append(description).append(", created_at FROM roadmaps WHERE 1 = 1");
+        if (query != null) {
+            sql.append(" AND (titulo LIKE ? ESCAPE '!' OR descripcion LIKE ? ESCAPE '!')");
+        }
+        if (after != null) {
+            sql.append(" AND (created_at < ? OR (created_at = ? AND id < ?))");
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+
+        List<Roadmap> out = new ArrayList<>();
+        try (ConnectionScope scope = openScope();
+             PreparedStatement ps = scope.connection().prepareStatement(sql.toString())) {
+            int index = 1;
+            if (query != null) {
+                String pattern = "%" + JdbcExpedienteCatalogRepository.escapeLike(query) + "%";
+                ps.setString(index++, pattern);
+                ps.setString(index++, pattern);
+            }
+            if (after != null) {
+                Timestamp createdAt = Timestamp.from(after.getCreatedAt());
+                ps.setTimestamp(index++, createdAt);
+                ps.setTimestamp(index++, createdAt);
+                ps.setString(index++, after.getId());
+            }
+            ps.setInt(index, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    out.add(mapRoadmap(rs));
+                }
+            }
+            return out;
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("No se pudo listar roadmaps", e);
+        }
+    }
+
+    /**
+     * Answered from indexes only: COUNT(*) walks the smallest index and both
+     * MAX() read one end of {@code idx_roadmaps_updated_at} and
+     * {@code idx_roadmaps_created}. {@code updated_at} has microsecond
+     * precision and every write sets it, so an edit always moves the maximum;
+     * roadmaps are never deleted, so the count covers the rest.
+     */
+    @Override
+    public RoadmapListVersion findListVersion() {
+        String sql = "SELECT COUNT(*) AS total, MAX(updated_at) AS last_updated, MAX(created_at) AS last_created FROM roadmaps";
+        try (ConnectionScope scope = openScope();
+             PreparedStatement ps = scope.connection().prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            if (!rs.next()) {
+                return new RoadmapListVersion(0, Instant.EPOCH);
+            }
+            Instant lastModified = latest(rs.getTimestamp("last_updated"), rs.getTimestamp("last_created"));
+            return new RoadmapListVersion(rs.getLong("total"), lastModified);
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("No se pudo leer la versión del listado de roadmaps", e);
+        }
+    }
+
+    private Instant latest(Timestamp first, Timestamp second) {
+        Instant a = first == null ? Instant.EPOCH : first.toInstant();
+        Instant b = second == null ? Instant.EPOCH : second.toInstant();
+        return a.isAfter(b) ? a : b;
+    }
+
     private Roadmap mapRoadmap(ResultSet rs) throws Exception {
         String id = rs.getString("id");
         String title = rs.getString("titulo");
@@ -75,11 +188,11 @@ public class JdbcRoadmapRepository implements RoadmapRepository {
         return new Roadmap(id, title, description, createdAt);
     }
 
-    private Connection requireConnection() {
-        Connection connection = DatabaseConnection.getConnection();
-        if (connection == null || !DatabaseConnection.isConnected()) {
-            throw new IllegalStateException("No hay conexión activa con la base de datos.");
+    private ConnectionScope openScope() {
+        try {
+            return dbConnectionManager.open(OWNER);
+        } catch (SQLException e) {
+            throw new IllegalStateException("No hay conexión activa con la base de datos.", e);
         }
-        return connection;
     }
 }
@@ -0,0 +1,119 @@
+package com.example.roadmap.adapters.out.persistence;
+
+import com.example.roadmap.domain.SearchDocument;
+import com.example.roadmap.domain.SearchDocumentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * JDBC adapter reading the searchable columns of roadmap tables.
+ *
+ * <p>
+ * Only the indexed text columns are selected; JSON columns are never read.
+ * Full scans use forward-only streaming result sets, one table at a time,
+ * so a rebuild holds a single row in memory on the driver side.
+ * </p>
+ *
+ * @since 1.2
+ */
+@Repository
+public class JdbcSearchDocumentRepository implements SearchDocumentRepository {
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcSearchDocumentRepository.class);
+    private static final String OWNER = "JdbcSearchDocumentRepository";
+
+    private final DbConnectionManager dbConnectionManager;
+
+    public JdbcSearchDocumentRepository(DbConnectionManager dbConnectionManager) {
+        this.dbConnectionManager = dbConnectionManager;
+    }
+
+    @Override
+    public void streamAll(Consumer<SearchDocument> consumer) {
+        try (ConnectionScope scope = openScope()) {
+            Connection connection = scope.connection();
+            stream(connection, "SELECT id, id AS roadmap_id, titulo, descripcion FROM roadmaps",
+                SearchDocument.Tipo.ROADMAP, null, consumer);
+            stream(connection, "SELECT id, roadmap_id, nombre, NULL FROM iniciativas",
+                SearchDocument.Tipo.INICIATIVA, null, consumer);
+            stream(connection, "SELECT id, roadmap_id, descripcion, actor FROM compromisos",
+                SearchDocument.Tipo.COMPROMISO, null, consumer);
+            if (SchemaCapabilities.hasTable(connection, "expedientes")) {
+                stream(connection, "SELECT id, NULL, expediente, empresa FROM expedientes",
+                    SearchDocument.Tipo.EXPEDIENTE, null, consumer);
+            }
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("Error leyendo documentos para el índice de búsqueda", e);
+            throw new RuntimeException("No se pudieron leer los documentos de búsqueda", e);
+        }
+    }
+
+    @Override
+    public List<SearchDocument> findByRoadmap(String roadmapId) {
+        List<SearchDocument> out = new ArrayList<>();
+        try (ConnectionScope scope = openScope()) {
+            Connection connection = scope.connection();
+            stream(connection, "SELECT id, id AS roadmap_id, titulo, descripcion FROM roadmaps WHERE id = ?",
+                SearchDocument.Tipo.ROADMAP, roadmapId, out::add);
+            if (out.isEmpty()) {
+                return out;
+            }
+            stream(connection, "SELECT id, roadmap_id, nombre, NULL FROM iniciativas WHERE roadmap_id = ?",
+                SearchDocument.Tipo.INICIATIVA, roadmapId, out::add);
+            stream(connection, "SELECT id, roadmap_id, descripcion, actor FROM compromisos WHERE roadmap_id = ?",
+                SearchDocument.Tipo.COMPROMISO, roadmapId, out::add);
+            if (SchemaCapabilities.hasTable(connection, "iniciativa_expediente")) {
+                stream(connection, """
+                    SELECT DISTINCT e.id, NULL, e.expediente, e.empresa
+                    FROM iniciativa_expediente ie
+                    INNER JOIN iniciativas i ON i.id = ie.iniciativa_id
+                    INNER JOIN expedientes e ON e.id = ie.expediente_id
+                    WHERE i.roadmap_id = ?
+                    """, SearchDocument.Tipo.EXPEDIENTE, roadmapId, out::add);
+            }
+            return out;
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("Error leyendo documentos de búsqueda del roadmap [{}]", roadmapId, e);
+            throw new RuntimeException("No se pudieron leer los documentos de búsqueda del roadmap", e);
+        }
+    }
+
+    /**
+     * Runs a query returning (id, roadmap_id, titulo, texto) and hands each
+     * row to the consumer.
+     */
+    private void stream(Connection connection, String sql, SearchDocument.Tipo tipo, String roadmapId,
+                        Consumer<SearchDocument> consumer) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(Integer.MIN_VALUE);
+            if (roadmapId != null) {
+                ps.setString(1, roadmapId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(new SearchDocument(tipo, rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4)));
+                }
+            }
+        }
+    }
+
+    private ConnectionScope openScope() {
+        try {
+            return dbConnectionManager.open(OWNER);
+        } catch (SQLException e) {
+            throw new IllegalStateException("No hay conexión activa con la base de datos.", e);
+        }
+    }
+}
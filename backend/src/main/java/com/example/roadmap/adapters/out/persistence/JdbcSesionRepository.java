@@ -1,42 +1,90 @@
 package com.example.roadmap.adapters.out.persistence;
 
 import com.example.roadmap.domain.Sesion;
+import com.example.roadmap.domain.SesionFilter;
+import com.example.roadmap.domain.SesionPage;
 import com.example.roadmap.domain.SesionRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
-import java.sql.Connection;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Implementación JDBC del repositorio de Sesiones.
  *
+ * Las sesiones se buscan por {@code token_sha256}, el SHA-256 del JWT en un
+ * BINARY(32) con índice único, en lugar de comparar el token completo. Con
+ * {@code auth.sessions.dual-read=true} (solo durante un despliegue con nodos
+ * de la versión anterior), si no hay coincidencia se prueba también el token
+ * en claro en filas aún sin digest. La segunda consulta deja de hacerse en
+ * cuanto no quedan filas vigentes sin digest; se comprueba cada
+ * {@value #LEGACY_CHECK_MILLIS} ms. Con {@code auth.sessions.store-raw-token=false}
+ * el token en claro deja de guardarse.
+ *
  * @since 1.0
  */
 @Repository
 public class JdbcSesionRepository implements SesionRepository {
 
+    private static final String OWNER = "JdbcSesionRepository";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+    private static final long LEGACY_CHECK_MILLIS = 300_000L;
+    private static final long PARTITION_CHECK_MILLIS = 900_000L;
+    private static final String PARTITION_LOCK = "roadmap.sesiones.particiones";
+
     private final DbConnectionManager dbConnectionManager;
+    private final boolean storeRawToken;
+    private final boolean dualRead;
+    private volatile boolean legacyRows = true;
+    private volatile long legacyCheckedAt;
+    private volatile List<LocalDate> partitionDays;
+    private volatile long partitionsCheckedAt;
 
-    public JdbcSesionRepository(DbConnectionManager dbConnectionManager) {
+    public JdbcSesionRepository(
+        DbConnectionManager dbConnectionManager,
+        @Value("${auth.sessions.store-raw-token:true}") boolean storeRawToken,
+        @Value("${auth.sessions.dual-read:false}") boolean dualRead
+    ) {
         this.dbConnectionManager = dbConnectionManager;
+        this.storeRawToken = storeRawToken;
+        this.dualRead = dualRead;
     }
 
     @Override
     public Optional<Sesion> findByToken(String token) {
-        String sql = "SELECT * FROM sesiones WHERE token = ? AND estado = 'ACTIVA' AND expires_at > NOW()";
-        try (Connection conn = dbConnectionManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, token);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return Optional.of(mapResultSetToSesion(rs));
+        String sql = "SELECT * FROM sesiones WHERE token_sha256 = ? AND estado = 'ACTIVA' AND expires_at > NOW()";
+        String legacySql = "SELECT * FROM sesiones WHERE token = ? AND token_sha256 IS NULL AND estado = 'ACTIVA' AND expires_at > NOW()";
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER)) {
+            try (PreparedStatement ps = scope.connection().prepareStatement(sql)) {
+                ps.setBytes(1, sha256(token));
+                ResultSet rs = ps.executeQuery();
+                if (rs.next()) {
+                    return Optional.of(mapResultSetToSesion(rs));
+                }
+            }
+            if (dualReadActive(scope)) {
+                try (PreparedStatement ps = scope.connection().prepareStatement(legacySql)) {
+                    ps.setString(1, token);
+                    ResultSet rs = ps.executeQuery();
+                    if (rs.next()) {
+                        return Optional.of(mapResultSetToSesion(rs));
+                    }
+                }
             }
         } catch (SQLException e) {
             // Log error
@@ -47,8 +95,8 @@ public class JdbcSesionRepository implements SesionRepository {
     @Override
     public Optional<Sesion> findById(Integer id) {
         String sql = "SELECT * FROM sesiones WHERE id = ?";
-        try (Connection conn = dbConnectionManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
@@ -64,8 +112,8 @@ public class JdbcSesionRepository implements SesionRepository {
     public List<Sesion> findActiveByUsuarioId(Integer usuarioId) {
         String sql = "SELECT * FROM sesiones WHERE usuario_id = ? AND estado = 'ACTIVA' AND expires_at > NOW()";
         List<Sesion> sesiones = new ArrayList<>();
-        try (Connection conn = dbConnectionManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
             ps.setInt(1, usuarioId);
             ResultSet rs = ps.executeQuery();
             while (rs.next()) {
@@ -79,16 +127,19 @@ public class JdbcSesionRepository implements SesionRepository {
 
     @Override
     public Sesion save(Sesion sesion) {
-        String sql = "INSERT INTO sesiones (usuario_id, token, ip_address, user_agent, expires_at, estado) " +
-                     "VALUES (?, ?, ?, ?, ?, ?)";
-        try (Connection conn = dbConnectionManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        String sql = "INSERT INTO sesiones (usuario_id, token, token_sha256, ip_address, user_agent, expires_at, estado, jti) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        byte[] digest = sha256(sesion.getToken());
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             ps.setInt(1, sesion.getUsuarioId());
-            ps.setString(2, sesion.getToken());
-            ps.setString(3, sesion.getIpAddress());
-            ps.setString(4, sesion.getUserAgent());
-            ps.setTimestamp(5, java.sql.Timestamp.valueOf(sesion.getExpiresAt()));
-            ps.setString(6, sesion.getEstado().name());
+            ps.setString(2, storeRawToken ? sesion.getToken() : null);
+            ps.setBytes(3, digest);
+            ps.setString(4, sesion.getIpAddress());
+            ps.setString(5, sesion.getUserAgent());
+            ps.setTimestamp(6, java.sql.Timestamp.valueOf(sesion.getExpiresAt()));
+            ps.setString(7, sesion.getEstado().name());
+            ps.setString(8, sesion.getJti());
 
             int rows = ps.executeUpdate();
             if (rows == 0) {
@@ -98,6 +149,7 @@ public class JdbcSesionRepository implements SesionRepository {
             if (keys.next()) {
                 sesion.setId(keys.getInt(1));
                 sesion.setCreatedAt(LocalDateTime.now());
+                sesion.setTokenDigest(HexFormat.of().formatHex(digest));
             } else {
                 throw new SQLException("No se devolvió ID generado para la sesión");
             }
@@ -109,11 +161,13 @@ public class JdbcSesionRepository implements SesionRepository {
 
     @Override
     public boolean updateEstado(Integer sesionId, Sesion.Estado estado) {
-        String sql = "UPDATE sesiones SET estado = ? WHERE id = ?";
-        try (Connection conn = dbConnectionManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        String sql = "UPDATE sesiones SET estado = ?, " +
+                     "revoked_at = IF(? = 'REVOCADA', COALESCE(revoked_at, NOW(3)), NULL) WHERE id = ?";
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
             ps.setString(1, estado.name());
-            ps.setInt(2, sesionId);
+            ps.setString(2, estado.name());
+            ps.setInt(3, sesionId);
 
             int rows = ps.executeUpdate();
             return rows > 0;
@@ -125,13 +179,23 @@ public class JdbcSesionRepository implements SesionRepository {
 
     @Override
     public boolean revokeByToken(String token) {
-        String sql = "UPDATE sesiones SET estado = 'REVOCADA' WHERE token = ? AND estado != 'REVOCADA'";
-        try (Connection conn = dbConnectionManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, token);
-
-            int rows = ps.executeUpdate();
-            return rows > 0;
+        String sql = "UPDATE sesiones SET estado = 'REVOCADA', revoked_at = NOW(3) WHERE token_sha256 = ? AND estado != 'REVOCADA'";
+        String legacySql = "UPDATE sesiones SET estado = 'REVOCADA', revoked_at = NOW(3) " +
+                           "WHERE token = ? AND token_sha256 IS NULL AND estado != 'REVOCADA'";
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER)) {
+            try (PreparedStatement ps = scope.connection().prepareStatement(sql)) {
+                ps.setBytes(1, sha256(token));
+                if (ps.executeUpdate() > 0) {
+                    return true;
+                }
+            }
+            if (!dualReadActive(scope)) {
+                return false;
+            }
+            try (PreparedStatement ps = scope.connection().prepareStatement(legacySql)) {
+                ps.setString(1, token);
+                return ps.executeUpdate() > 0;
+            }
         } catch (SQLException e) {
             // Log error
             return false;
@@ -140,9 +204,9 @@ public class JdbcSesionRepository implements SesionRepository {
 
     @Override
     public int revokeAllByUsuarioId(Integer usuarioId) {
-        String sql = "UPDATE sesiones SET estado = 'REVOCADA' WHERE usuario_id = ? AND estado != 'REVOCADA'";
-        try (Connection conn = dbConnectionManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        String sql = "UPDATE sesiones SET estado = 'REVOCADA', revoked_at = NOW(3) WHERE usuario_id = ? AND estado != 'REVOCADA'";
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
             ps.setInt(1, usuarioId);
 
             return ps.executeUpdate();
@@ -155,8 +219,8 @@ public class JdbcSesionRepository implements SesionRepository {
     @Override
     public int deleteExpired() {
         String sql = "DELETE FROM sesiones WHERE expires_at < NOW()";
-        try (Connection conn = dbConnectionManager.getConnection();
-             Statement st = conn.createStatement()) {
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             Statement st = scope.connection().createStatement()) {
             return st.executeUpdate(sql);
         } catch (SQLException e) {
             // Log error
@@ -166,13 +230,22 @@ public class JdbcSesionRepository implements SesionRepository {
 
     @Override
     public boolean isTokenActive(String token) {
-        String sql = "SELECT COUNT(*) FROM sesiones WHERE token = ? AND estado = 'ACTIVA' AND expires_at > NOW()";
-        try (Connection conn = dbConnectionManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, token);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return rs.getInt(1) > 0;
+        String sql = "SELECT COUNT(*) FROM sesiones WHERE token_sha256 = ? AND estado = 'ACTIVA' AND expires_at > NOW()";
+        String legacySql = "SELECT COUNT(*) FROM sesiones WHERE token = ? AND token_sha256 IS NULL AND estado = 'ACTIVA' AND expires_at > NOW()";
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER)) {
+            try (PreparedStatement ps = scope.connection().prepareStatement(sql)) {
+                ps.setBytes(1, sha256(token));
+                ResultSet rs = ps.executeQuery();
+                if (rs.next() && rs.getInt(1) > 0) {
+                    return true;
+                }
+            }
+            if (dualReadActive(scope)) {
+                try (PreparedStatement ps = scope.connection().prepareStatement(legacySql)) {
+                    ps.setString(1, token);
+                    ResultSet rs = ps.executeQuery();
+                    return rs.next() && rs.getInt(1) > 0;
+                }
             }
         } catch (SQLException e) {
             // Log error
@@ -180,6 +253,359 @@ public class JdbcSesionRepository implements SesionRepository {
         return false;
     }
 
+    @Override
+    public int deleteExpiredBatch(LocalDateTime expiredBefore, int limit) {
+        // ORDER BY + LIMIT recorre idx_expires_at y bloquea solo las filas del lote.
+        String sql = "DELETE FROM sesiones WHERE expires_at < ? ORDER BY expires_at LIMIT ?";
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
+            ps.setTimestamp(1, java.sql.Timestamp.valueOf(expiredBefore));
+            ps.setInt(2, limit);
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error eliminando sesiones expiradas", e);
+        }
+    }
+
+    @Override
+    public int deleteRevokedBatch(LocalDateTime revokedBefore, int limit) {
+        String sql = "DELETE FROM sesiones WHERE revoked_at < ? AND estado = 'REVOCADA' ORDER BY revoked_at LIMIT ?";
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
+            ps.setTimestamp(1, java.sql.Timestamp.valueOf(revokedBefore));
+            ps.setInt(2, limit);
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error eliminando sesiones revocadas", e);
+        }
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestExpiredBefore(LocalDateTime expiredBefore) {
+        String sql = "SELECT MIN(expires_at) FROM sesiones WHERE expires_at < ?";
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
+            ps.setTimestamp(1, java.sql.Timestamp.valueOf(expiredBefore));
+            ResultSet rs = ps.executeQuery();
+            if (rs.next() && rs.getTimestamp(1) != null) {
+                return Optional.of(rs.getTimestamp(1).toLocalDateTime());
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error consultando sesiones expiradas", e);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Usa la lista de particiones en caché, que se relee de
+     * INFORMATION_SCHEMA cada {@value #PARTITION_CHECK_MILLIS} ms como mucho.
+     */
+    @Override
+    public boolean isPartitioned() {
+        return !cachedDailyPartitions().isEmpty();
+    }
+
+    @Override
+    public int dropPartitionsBefore(LocalDate day) {
+        List<LocalDate> cached = cachedDailyPartitions();
+        if (cached.isEmpty() || !cached.get(0).isBefore(day)) {
+            return 0;
+        }
+        return withPartitionLock(scope -> {
+            List<String> expired = new ArrayList<>();
+            for (LocalDate partitionDay : listDailyPartitions(scope)) {
+                if (partitionDay.isBefore(day)) {
+                    expired.add(PARTITION_NAME.format(partitionDay));
+                }
+            }
+            if (expired.isEmpty()) {
+                return 0;
+            }
+            executeDdl(scope, "ALTER TABLE sesiones DROP PARTITION " + String.join(", ", expired));
+            return expired.size();
+        });
+    }
+
+    @Override
+    public int ensurePartitionsUntil(LocalDate day) {
+        List<LocalDate> cached = cachedDailyPartitions();
+        if (cached.isEmpty() || !cached.get(cached.size() - 1).isBefore(day)) {
+            return 0;
+        }
+        return withPartitionLock(scope -> {
+            List<LocalDate> existing = listDailyPartitions(scope);
+            if (existing.isEmpty()) {
+                return 0;
+            }
+            LocalDate next = existing.get(existing.size() - 1).plusDays(1);
+            List<String> definitions = new ArrayList<>();
+            for (LocalDate current = next; !current.isAfter(day); current = current.plusDays(1)) {
+                definitions.add("PARTITION " + PARTITION_NAME.format(current)
+                    + " VALUES LESS THAN (TO_DAYS('" + current.plusDays(1) + "'))");
+            }
+            if (definitions.isEmpty()) {
+                return 0;
+            }
+            definitions.add("PARTITION pmax VALUES LESS THAN MAXVALUE");
+            executeDdl(scope, "ALTER TABLE sesiones REORGANIZE PARTITION pmax INTO (" + String.join(", ", definitions) + ")");
+            return definitions.size() - 1;
+        });
+    }
+
+    /**
+     * Ejecuta mantenimiento de particiones con el lock {@code GET_LOCK} de
+     * MySQL, para que un solo nodo haga DDL a la vez. Si otro nodo lo tiene,
+     * no espera: se devuelve 0 y se reintenta en la siguiente pasada. Al
+     * terminar se relee la lista de particiones en caché.
+     */
+    private int withPartitionLock(PartitionTask task) {
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER)) {
+            try (PreparedStatement ps = scope.connection().prepareStatement("SELECT GET_LOCK(?, 0)")) {
+                ps.setString(1, PARTITION_LOCK);
+                ResultSet rs = ps.executeQuery();
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    return 0;
+                }
+            }
+            try {
+                return task.run(scope);
+            } finally {
+                try (PreparedStatement ps = scope.connection().prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                    ps.setString(1, PARTITION_LOCK);
+                    ps.executeQuery();
+                }
+                partitionDays = listDailyPartitions(scope);
+                partitionsCheckedAt = System.currentTimeMillis();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error manteniendo particiones de sesiones", e);
+        }
+    }
+
+    private List<LocalDate> cachedDailyPartitions() {
+        long now = System.currentTimeMillis();
+        List<LocalDate> days = partitionDays;
+        if (days == null || now - partitionsCheckedAt >= PARTITION_CHECK_MILLIS) {
+            try (ConnectionScope scope = dbConnectionManager.open(OWNER)) {
+                days = listDailyPartitions(scope);
+            } catch (SQLException e) {
+                throw new RuntimeException("Error consultando particiones de sesiones", e);
+            }
+            partitionDays = days;
+            partitionsCheckedAt = now;
+        }
+        return days;
+    }
+
+    /**
+     * Días con partición propia ({@code pYYYYMMDD}), en orden. Vacío si la
+     * tabla no está particionada.
+     */
+    private List<LocalDate> listDailyPartitions(ConnectionScope scope) throws SQLException {
+        String sql = "SELECT PARTITION_NAME FROM INFORMATION_SCHEMA.PARTITIONS " +
+                     "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'sesiones' AND PARTITION_NAME IS NOT NULL " +
+                     "ORDER BY PARTITION_ORDINAL_POSITION";
+        List<LocalDate> days = new ArrayList<>();
+        try (PreparedStatement ps = scope.connection().prepareStatement(sql)) {
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                String name = rs.getString(1);
+                if (name != null && name.matches("p\\d{8}")) {
+                    days.add(LocalDate.parse(name, PARTITION_NAME));
+                }
+            }
+        }
+        return List.copyOf(days);
+    }
+
+    private void executeDdl(ConnectionScope scope, String ddl) throws SQLException {
+        try (Statement st = scope.connection().createStatement()) {
+            st.execute(ddl);
+        }
+    }
+
+    /** Mantenimiento de particiones sobre la conexión que tiene el lock. */
+    private interface PartitionTask {
+        int run(ConnectionScope scope) throws SQLException;
+    }
+
+    /**
+     * Indica si hay que probar también el token en claro: dual-read activo y
+     * filas vigentes sin digest en la última comprobación.
+     */
+    private boolean dualReadActive(ConnectionScope scope) throws SQLException {
+        if (!dualRead) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (now - legacyCheckedAt >= LEGACY_CHECK_MILLIS) {
+            String sql = "SELECT 1 FROM sesiones WHERE token_sha256 IS NULL AND token IS NOT NULL AND expires_at > NOW() LIMIT 1";
+            try (PreparedStatement ps = scope.connection().prepareStatement(sql);
+                 ResultSet rs = ps.executeQuery()) {
+                legacyRows = rs.next();
+            }
+            legacyCheckedAt = now;
+        }
+        return legacyRows;
+    }
+
+    /**
+     * SHA-256 del token, clave de búsqueda de {@code token_sha256}.
+     */
+    static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    @Override
+    public List<Sesion> findRevokedAfter(LocalDateTime afterRevokedAt, int afterId, int limit) {
+        // Usa idx_sesiones_revoked_at: solo las filas revocadas tienen revoked_at.
+        String sql = "SELECT * FROM sesiones " +
+                     "WHERE revoked_at IS NOT NULL AND estado = 'REVOCADA' AND expires_at > NOW() " +
+                     "AND (revoked_at > ? OR (revoked_at = ? AND id > ?)) " +
+                     "ORDER BY revoked_at ASC, id ASC LIMIT ?";
+        List<Sesion> sesiones = new ArrayList<>();
+        java.sql.Timestamp after = java.sql.Timestamp.valueOf(afterRevokedAt == null ? LocalDateTime.of(1970, 1, 2, 0, 0) : afterRevokedAt);
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
+            ps.setTimestamp(1, after);
+            ps.setTimestamp(2, after);
+            ps.setInt(3, afterId);
+            ps.setInt(4, limit);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                sesiones.add(mapResultSetToSesion(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error leyendo sesiones revocadas", e);
+        }
+        return sesiones;
+    }
+
+    @Override
+    public SesionPage findActive(SesionFilter filter, String cursor, int limit) {
+        Integer beforeId = decodeCursor(cursor);
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT s.* FROM ").append(activeSelection(filter, params));
+        if (beforeId != null) {
+            sql.append(" AND s.id < ?");
+            params.add(beforeId);
+        }
+        sql.append(" ORDER BY s.id DESC LIMIT ?");
+        params.add(limit + 1);
+
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql.toString())) {
+            bind(ps, params);
+            List<Sesion> sesiones = new ArrayList<>();
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                sesiones.add(mapResultSetToSesion(rs));
+            }
+            String nextCursor = null;
+            if (sesiones.size() > limit) {
+                sesiones = new ArrayList<>(sesiones.subList(0, limit));
+                nextCursor = encodeCursor(sesiones.get(sesiones.size() - 1).getId());
+            }
+            return new SesionPage(sesiones, nextCursor);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error listando sesiones activas", e);
+        }
+    }
+
+    @Override
+    public List<Sesion> revokeMatching(SesionFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            throw new IllegalArgumentException("Indica al menos un criterio para revocar sesiones");
+        }
+        // Misma selección en las dos sentencias: el SELECT ... FOR UPDATE
+        // bloquea las filas (y los huecos del rango) y devuelve lo necesario
+        // para vaciar cachés; el UPDATE las revoca todas de una vez.
+        List<Object> params = new ArrayList<>();
+        String selection = activeSelection(filter, params);
+        String selectSql = "SELECT s.* FROM " + selection + " FOR UPDATE";
+        String updateSql = "UPDATE " + selection.replace(" WHERE ", " SET s.estado = 'REVOCADA', s.revoked_at = NOW(3) WHERE ");
+        List<Sesion> revoked = new ArrayList<>();
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER)) {
+            scope.begin();
+            try (PreparedStatement ps = scope.connection().prepareStatement(selectSql)) {
+                bind(ps, params);
+                ResultSet rs = ps.executeQuery();
+                while (rs.next()) {
+                    revoked.add(mapResultSetToSesion(rs));
+                }
+            }
+            if (!revoked.isEmpty()) {
+                try (PreparedStatement ps = scope.connection().prepareStatement(updateSql)) {
+                    bind(ps, params);
+                    ps.executeUpdate();
+                }
+            }
+            scope.commit();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error revocando sesiones", e);
+        }
+        return revoked;
+    }
+
+    /**
+     * Tablas y condiciones de las sesiones activas que cumplen el filtro,
+     * desde {@code sesiones s} hasta el final del WHERE.
+     */
+    private static String activeSelection(SesionFilter filter, List<Object> params) {
+        SesionFilter criteria = filter == null ? new SesionFilter() : filter;
+        StringBuilder sql = new StringBuilder("sesiones s");
+        if (criteria.getRol() != null) {
+            sql.append(" JOIN usuarios u ON u.id = s.usuario_id");
+        }
+        sql.append(" WHERE s.estado = 'ACTIVA' AND s.expires_at > NOW()");
+        if (criteria.getUsuarioId() != null) {
+            sql.append(" AND s.usuario_id = ?");
+            params.add(criteria.getUsuarioId());
+        }
+        if (criteria.getRol() != null) {
+            sql.append(" AND u.rol = ?");
+            params.add(criteria.getRol().name());
+        }
+        if (criteria.getIpAddress() != null) {
+            sql.append(" AND s.ip_address = ?");
+            params.add(criteria.getIpAddress());
+        }
+        if (criteria.getCreatedBefore() != null) {
+            sql.append(" AND s.created_at < ?");
+            params.add(Timestamp.valueOf(criteria.getCreatedBefore()));
+        }
+        if (criteria.getExcludeTokenDigest() != null) {
+            sql.append(" AND (s.token_sha256 IS NULL OR s.token_sha256 <> ?)");
+            params.add(HexFormat.of().parseHex(criteria.getExcludeTokenDigest()));
+        }
+        return sql.toString();
+    }
+
+    private static void bind(PreparedStatement ps, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            ps.setObject(i + 1, params.get(i));
+        }
+    }
+
+    static String encodeCursor(Integer id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Integer decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de sesiones inválido.", e);
+        }
+    }
+
     private Sesion mapResultSetToSesion(ResultSet rs) throws SQLException {
         Sesion sesion = new Sesion();
         sesion.setId(rs.getInt("id"));
@@ -199,6 +625,17 @@ public class JdbcSesionRepository implements SesionRepository {
         }
 
         sesion.setEstado(Sesion.Estado.valueOf(rs.getString("estado")));
+        sesion.setJti(rs.getString("jti"));
+
+        byte[] tokenDigest = rs.getBytes("token_sha256");
+        if (tokenDigest != null) {
+            sesion.setTokenDigest(HexFormat.of().formatHex(tokenDigest));
+        }
+
+        java.sql.Timestamp revokedAt = rs.getTimestamp("revoked_at");
+        if (revokedAt != null) {
+            sesion.setRevokedAt(revokedAt.toLocalDateTime());
+        }
 
         return sesion;
     }
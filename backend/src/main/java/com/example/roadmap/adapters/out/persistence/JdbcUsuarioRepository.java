@@ -1,29 +1,54 @@
 package com.example.roadmap.adapters.out.persistence;
 
 import com.example.roadmap.domain.Usuario;
+import com.example.roadmap.domain.UsuarioPage;
+import com.example.roadmap.domain.UsuarioPrincipal;
 import com.example.roadmap.domain.UsuarioRepository;
 import org.springframework.stereotype.Repository;
 
-import java.sql.Connection;
+import java.nio.charset.StandardCharsets;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
 import java.sql.Types;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementación JDBC del repositorio de Usuarios.
  *
+ * Las operaciones que podrían dejar el sistema sin ADMIN activo comprueban el
+ * invariante en la misma sentencia que modifican: el recuento de ADMIN
+ * activos va en una tabla derivada unida al UPDATE/DELETE. InnoDB lee esa
+ * tabla derivada con bloqueos compartidos, así que dos degradaciones
+ * simultáneas de los dos últimos ADMIN no pueden confirmarse ambas.
+ *
  * @since 1.0
  */
 @Repository
 public class JdbcUsuarioRepository implements UsuarioRepository {
 
+    private static final String OWNER = "JdbcUsuarioRepository";
+    private static final String ACTIVE_ADMINS =
+        "JOIN (SELECT COUNT(*) AS admins FROM usuarios WHERE rol = 'ADMIN' AND activo = TRUE) a ";
+    private static final int LOOKUP_CHUNK = 500;
+    private static final String INSERT_USUARIO_SQL =
+        "INSERT INTO usuarios (username, password_hash, rol, activo, must_change_password, created_by, updated_by) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String KEEPS_ACTIVE_ADMIN = "(u.rol <> 'ADMIN' OR u.activo = FALSE OR a.admins > 1)";
+
     private final DbConnectionManager dbConnectionManager;
 
     public JdbcUsuarioRepository(DbConnectionManager dbConnectionManager) {
@@ -33,8 +58,8 @@ public class JdbcUsuarioRepository implements UsuarioRepository {
     @Override
     public Optional<Usuario> findByUsername(String username) {
         String sql = "SELECT * FROM usuarios WHERE username = ?";
-        try (Connection conn = dbConnectionManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
             ps.setString(1, username);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
@@ -49,8 +74,8 @@ public class JdbcUsuarioRepository implements UsuarioRepository {
     @Override
     public Optional<Usuario> findById(Integer id) {
         String sql = "SELECT * FROM usuarios WHERE id = ?";
-        try (Connection conn = dbConnectionManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
@@ -62,12 +87,33 @@ public class JdbcUsuarioRepository implements UsuarioRepository {
         return Optional.empty();
     }
 
+    @Override
+    public Optional<UsuarioPrincipal> findPrincipalById(Integer id) {
+        String sql = "SELECT id, username, rol, activo FROM usuarios WHERE id = ?";
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
+            ps.setInt(1, id);
+            ResultSet rs = ps.executeQuery();
+            if (rs.next()) {
+                return Optional.of(new UsuarioPrincipal(
+                    rs.getInt("id"),
+                    rs.getString("username"),
+                    Usuario.Role.valueOf(rs.getString("rol")),
+                    rs.getBoolean("activo")
+                ));
+            }
+        } catch (SQLException e) {
+            // Log error
+        }
+        return Optional.empty();
+    }
+
     @Override
     public List<Usuario> findAll() {
         String sql = "SELECT * FROM usuarios ORDER BY username ASC";
         List<Usuario> usuarios = new ArrayList<>();
-        try (Connection conn = dbConnectionManager.getConnection();
-             Statement st = conn.createStatement();
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             Statement st = scope.connection().createStatement();
              ResultSet rs = st.executeQuery(sql)) {
             while (rs.next()) {
                 usuarios.add(mapResultSetToUsuario(rs));
@@ -90,8 +136,8 @@ public class JdbcUsuarioRepository implements UsuarioRepository {
     private Usuario insert(Usuario usuario) {
         String sql = "INSERT INTO usuarios (username, password_hash, rol, activo, must_change_password, created_by, updated_by) " +
                      "VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = dbConnectionManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             ps.setString(1, usuario.getUsername());
             ps.setString(2, usuario.getPasswordHash());
             ps.setString(3, usuario.getRol().name());
@@ -116,8 +162,8 @@ public class JdbcUsuarioRepository implements UsuarioRepository {
     private Usuario update(Usuario usuario) {
         String sql = "UPDATE usuarios SET password_hash = ?, rol = ?, activo = ?, must_change_password = ?, updated_by = ? " +
                      "WHERE id = ?";
-        try (Connection conn = dbConnectionManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
             ps.setString(1, usuario.getPasswordHash());
             ps.setString(2, usuario.getRol().name());
             ps.setBoolean(3, usuario.getActivo() != null ? usuario.getActivo() : true);
@@ -136,8 +182,8 @@ public class JdbcUsuarioRepository implements UsuarioRepository {
     @Override
     public boolean updatePassword(Integer usuarioId, String passwordHash) {
         String sql = "UPDATE usuarios SET password_hash = ?, must_change_password = FALSE, updated_by = ? WHERE id = ?";
-        try (Connection conn = dbConnectionManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
             ps.setString(1, passwordHash);
             ps.setString(2, "SYSTEM");
             ps.setInt(3, usuarioId);
@@ -150,11 +196,26 @@ public class JdbcUsuarioRepository implements UsuarioRepository {
         }
     }
 
+    @Override
+    public boolean replacePasswordHash(Integer usuarioId, String currentHash, String newHash) {
+        String sql = "UPDATE usuarios SET password_hash = ? WHERE id = ? AND password_hash = ?";
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
+            ps.setString(1, newHash);
+            ps.setInt(2, usuarioId);
+            ps.setString(3, currentHash);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            // Se reintentará en el próximo login
+            return false;
+        }
+    }
+
     @Override
     public boolean updateRol(Integer usuarioId, Usuario.Role rol) {
         String sql = "UPDATE usuarios SET rol = ?, updated_by = ? WHERE id = ?";
-        try (Connection conn = dbConnectionManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
             ps.setString(1, rol.name());
             ps.setString(2, "ADMIN");
             ps.setInt(3, usuarioId);
@@ -170,8 +231,8 @@ public class JdbcUsuarioRepository implements UsuarioRepository {
     @Override
     public boolean updateActivo(Integer usuarioId, Boolean activo) {
         String sql = "UPDATE usuarios SET activo = ?, updated_by = ? WHERE id = ?";
-        try (Connection conn = dbConnectionManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
             ps.setBoolean(1, activo != null ? activo : true);
             ps.setString(2, "ADMIN");
             ps.setInt(3, usuarioId);
@@ -186,9 +247,14 @@ public class JdbcUsuarioRepository implements UsuarioRepository {
 
     @Override
     public boolean delete(Integer usuarioId) {
+        // Las sesiones se borran explícitamente: con sesiones particionada no hay FK en cascada.
+        String sesionesSql = "DELETE FROM sesiones WHERE usuario_id = ?";
         String sql = "DELETE FROM usuarios WHERE id = ?";
-        try (Connection conn = dbConnectionManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement sesiones = scope.connection().prepareStatement(sesionesSql);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
+            sesiones.setInt(1, usuarioId);
+            sesiones.executeUpdate();
             ps.setInt(1, usuarioId);
 
             int rows = ps.executeUpdate();
@@ -199,11 +265,314 @@ public class JdbcUsuarioRepository implements UsuarioRepository {
         }
     }
 
+    @Override
+    public boolean updateRolKeepingActiveAdmin(Integer usuarioId, Usuario.Role rol) {
+        String sql = "UPDATE usuarios u " + ACTIVE_ADMINS +
+                     "SET u.rol = ?, u.updated_by = ? " +
+                     "WHERE u.id = ? AND (? = 'ADMIN' OR " + KEEPS_ACTIVE_ADMIN + ")";
+        return retryOnDeadlock("Error actualizando rol de usuario", () -> {
+            try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+                 PreparedStatement ps = scope.connection().prepareStatement(sql)) {
+                ps.setString(1, rol.name());
+                ps.setString(2, "ADMIN");
+                ps.setInt(3, usuarioId);
+                ps.setString(4, rol.name());
+                return ps.executeUpdate() > 0;
+            }
+        });
+    }
+
+    @Override
+    public boolean updateActivoKeepingActiveAdmin(Integer usuarioId, Boolean activo) {
+        boolean value = activo != null ? activo : true;
+        String sql = "UPDATE usuarios u " + ACTIVE_ADMINS +
+                     "SET u.activo = ?, u.updated_by = ? " +
+                     "WHERE u.id = ? AND (? OR " + KEEPS_ACTIVE_ADMIN + ")";
+        return retryOnDeadlock("Error actualizando estado de usuario", () -> {
+            try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+                 PreparedStatement ps = scope.connection().prepareStatement(sql)) {
+                ps.setBoolean(1, value);
+                ps.setString(2, "ADMIN");
+                ps.setInt(3, usuarioId);
+                ps.setBoolean(4, value);
+                return ps.executeUpdate() > 0;
+            }
+        });
+    }
+
+    @Override
+    public boolean deleteKeepingActiveAdmin(Integer usuarioId) {
+        String sql = "DELETE u FROM usuarios u " + ACTIVE_ADMINS +
+                     "WHERE u.id = ? AND " + KEEPS_ACTIVE_ADMIN;
+        // Las sesiones se borran explícitamente: con sesiones particionada no hay FK en cascada.
+        String sesionesSql = "DELETE FROM sesiones WHERE usuario_id = ?";
+        // En una transacción, para que un reintento repita ambos borrados
+        return retryOnDeadlock("Error eliminando usuario", () -> {
+            try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+                 PreparedStatement ps = scope.connection().prepareStatement(sql);
+                 PreparedStatement sesiones = scope.connection().prepareStatement(sesionesSql)) {
+                scope.begin();
+                ps.setInt(1, usuarioId);
+                if (ps.executeUpdate() == 0) {
+                    return false;
+                }
+                sesiones.setInt(1, usuarioId);
+                sesiones.executeUpdate();
+                scope.commit();
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Ejecuta una sentencia de los cambios que protegen al último ADMIN y la
+     * repite una vez si MySQL la aborta por deadlock: el recuento de ADMIN
+     * activos bloquea filas compartidas, así que dos cambios simultáneos
+     * pueden cruzarse.
+     *
+     * @throws IllegalStateException Si el reintento también acaba en deadlock.
+     */
+    private boolean retryOnDeadlock(String errorMessage, SqlOperation operation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return operation.run();
+            } catch (SQLException e) {
+                if (!isDeadlock(e)) {
+                    throw new RuntimeException(errorMessage, e);
+                }
+                if (attempt >= 2) {
+                    throw new IllegalStateException("Otro cambio simultáneo sobre usuarios lo ha impedido. Vuelva a intentarlo.", e);
+                }
+            }
+        }
+    }
+
+    private static boolean isDeadlock(SQLException e) {
+        return e instanceof SQLTransactionRollbackException || "40001".equals(e.getSQLState()) || e.getErrorCode() == 1213;
+    }
+
+    /** Sentencia JDBC que devuelve si afectó a alguna fila. */
+    private interface SqlOperation {
+        boolean run() throws SQLException;
+    }
+
+    @Override
+    public Map<Usuario.Role, Integer> countByRol(Boolean activo) {
+        // Cubierto por idx_usuarios_rol_activo_username: no lee filas.
+        String sql = "SELECT rol, COUNT(*) FROM usuarios" +
+                     (activo == null ? "" : " WHERE activo = ?") +
+                     " GROUP BY rol";
+        Map<Usuario.Role, Integer> counts = new EnumMap<>(Usuario.Role.class);
+        for (Usuario.Role rol : Usuario.Role.values()) {
+            counts.put(rol, 0);
+        }
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
+            if (activo != null) {
+                ps.setBoolean(1, activo);
+            }
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                counts.put(Usuario.Role.valueOf(rs.getString(1)), rs.getInt(2));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error contando usuarios", e);
+        }
+        return counts;
+    }
+
+    @Override
+    public UsuarioPage search(String usernamePrefix, Usuario.Role rol, Boolean activo, String cursor, int limit) {
+        String after = decodeCursor(cursor);
+        boolean filtered = usernamePrefix != null && !usernamePrefix.isBlank();
+
+        // Solo las columnas del listado: password_hash no sale de la base de datos.
+        StringBuilder sql = new StringBuilder("SELECT id, username, rol, activo, must_change_password FROM usuarios WHERE 1 = 1");
+        if (rol != null) {
+            sql.append(" AND rol = ?");
+        }
+        if (activo != null) {
+            sql.append(" AND activo = ?");
+        }
+        if (filtered) {
+            sql.append(" AND username LIKE ? ESCAPE '!'");
+        }
+        if (after != null) {
+            sql.append(" AND username > ?");
+        }
+        sql.append(" ORDER BY username ASC LIMIT ?");
+
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql.toString())) {
+            int index = 1;
+            if (rol != null) {
+                ps.setString(index++, rol.name());
+            }
+            if (activo != null) {
+                ps.setBoolean(index++, activo);
+            }
+            if (filtered) {
+                ps.setString(index++, escapeLike(usernamePrefix.trim()) + "%");
+            }
+            if (after != null) {
+                ps.setString(index++, after);
+            }
+            ps.setInt(index, limit + 1);
+
+            List<Usuario> usuarios = new ArrayList<>();
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                usuarios.add(mapResultSetToListado(rs));
+            }
+            String nextCursor = null;
+            if (usuarios.size() > limit) {
+                usuarios = new ArrayList<>(usuarios.subList(0, limit));
+                nextCursor = encodeCursor(usuarios.get(usuarios.size() - 1).getUsername());
+            }
+            return new UsuarioPage(usuarios, nextCursor);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error buscando usuarios", e);
+        }
+    }
+
+    @Override
+    public Set<String> findExistingUsernames(Collection<String> usernames) {
+        // Los candidatos van en una tabla derivada unida a usuarios: la
+        // comparación usa la colación de la columna y devuelve el username
+        // tal como se pidió.
+        List<String> pending = new ArrayList<>(usernames);
+        Set<String> existing = new HashSet<>();
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER)) {
+            for (int from = 0; from < pending.size(); from += LOOKUP_CHUNK) {
+                List<String> chunk = pending.subList(from, Math.min(pending.size(), from + LOOKUP_CHUNK));
+                StringBuilder sql = new StringBuilder("SELECT r.username FROM (SELECT ? AS username");
+                for (int i = 1; i < chunk.size(); i++) {
+                    sql.append(" UNION ALL SELECT ?");
+                }
+                sql.append(") r JOIN usuarios u ON u.username = r.username");
+                try (PreparedStatement ps = scope.connection().prepareStatement(sql.toString())) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        ps.setString(i + 1, chunk.get(i));
+                    }
+                    ResultSet rs = ps.executeQuery();
+                    while (rs.next()) {
+                        existing.add(rs.getString(1));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error comprobando usernames existentes", e);
+        }
+        return existing;
+    }
+
+    @Override
+    public Map<String, Integer> insertAll(List<Usuario> usuarios, int batchSize) {
+        // INSERT en lote con las claves generadas, una transacción por lote.
+        // Si un username se creó entre la comprobación y el lote, la clave
+        // duplicada deshace ese lote y se repite fila a fila, omitiendo solo
+        // los duplicados. Cualquier otro error (truncado, valor no válido)
+        // aborta la carga en vez de quedar como aviso.
+        int size = Math.max(1, batchSize);
+        Map<String, Integer> ids = new HashMap<>();
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER)) {
+            for (int from = 0; from < usuarios.size(); from += size) {
+                List<Usuario> chunk = usuarios.subList(from, Math.min(usuarios.size(), from + size));
+                scope.begin();
+                Map<String, Integer> inserted;
+                try {
+                    inserted = insertBatch(scope, chunk);
+                } catch (SQLException e) {
+                    if (!isDuplicateKey(e)) {
+                        throw e;
+                    }
+                    scope.connection().rollback();
+                    inserted = insertEach(scope, chunk);
+                }
+                scope.commit();
+                ids.putAll(inserted);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error insertando usuarios", e);
+        }
+        return ids;
+    }
+
+    private Map<String, Integer> insertBatch(ConnectionScope scope, List<Usuario> chunk) throws SQLException {
+        Map<String, Integer> ids = new HashMap<>();
+        try (PreparedStatement ps = scope.connection().prepareStatement(INSERT_USUARIO_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (Usuario usuario : chunk) {
+                bindInsert(ps, usuario);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            ResultSet keys = ps.getGeneratedKeys();
+            for (Usuario usuario : chunk) {
+                if (!keys.next()) {
+                    throw new SQLException("El lote no devolvió el ID de " + usuario.getUsername());
+                }
+                ids.put(usuario.getUsername(), keys.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    private Map<String, Integer> insertEach(ConnectionScope scope, List<Usuario> chunk) throws SQLException {
+        Map<String, Integer> ids = new HashMap<>();
+        try (PreparedStatement ps = scope.connection().prepareStatement(INSERT_USUARIO_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (Usuario usuario : chunk) {
+                bindInsert(ps, usuario);
+                try {
+                    ps.executeUpdate();
+                } catch (SQLException e) {
+                    // MySQL deshace solo la sentencia fallida; la transacción sigue
+                    if (isDuplicateKey(e)) {
+                        continue;
+                    }
+                    throw e;
+                }
+                ResultSet keys = ps.getGeneratedKeys();
+                if (keys.next()) {
+                    ids.put(usuario.getUsername(), keys.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private void bindInsert(PreparedStatement ps, Usuario usuario) throws SQLException {
+        ps.setString(1, usuario.getUsername());
+        ps.setString(2, usuario.getPasswordHash());
+        ps.setString(3, usuario.getRol().name());
+        ps.setBoolean(4, usuario.getActivo() != null ? usuario.getActivo() : true);
+        ps.setBoolean(5, usuario.getMustChangePassword() != null ? usuario.getMustChangePassword() : true);
+        ps.setString(6, usuario.getCreatedBy() != null ? usuario.getCreatedBy() : "SYSTEM");
+        ps.setString(7, usuario.getUpdatedBy() != null ? usuario.getUpdatedBy() : "SYSTEM");
+    }
+
+    /**
+     * Clave duplicada (error 1062) en la excepción o en las que encadena,
+     * como hace el driver con los fallos de un lote.
+     */
+    private static boolean isDuplicateKey(SQLException e) {
+        for (Throwable current = e; current != null; current = current.getCause()) {
+            if (current instanceof SQLException sql && sql.getErrorCode() == 1062) {
+                return true;
+            }
+        }
+        for (SQLException next = e.getNextException(); next != null; next = next.getNextException()) {
+            if (next.getErrorCode() == 1062) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean existsByUsername(String username) {
         String sql = "SELECT COUNT(*) FROM usuarios WHERE username = ?";
-        try (Connection conn = dbConnectionManager.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (ConnectionScope scope = dbConnectionManager.open(OWNER);
+             PreparedStatement ps = scope.connection().prepareStatement(sql)) {
             ps.setString(1, username);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
@@ -215,6 +584,35 @@ public class JdbcUsuarioRepository implements UsuarioRepository {
         return false;
     }
 
+    static String encodeCursor(String username) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(username.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de usuarios inválido.", e);
+        }
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private Usuario mapResultSetToListado(ResultSet rs) throws SQLException {
+        Usuario usuario = new Usuario();
+        usuario.setId(rs.getInt("id"));
+        usuario.setUsername(rs.getString("username"));
+        usuario.setRol(Usuario.Role.valueOf(rs.getString("rol")));
+        usuario.setActivo(rs.getBoolean("activo"));
+        usuario.setMustChangePassword(rs.getBoolean("must_change_password"));
+        return usuario;
+    }
+
     private Usuario mapResultSetToUsuario(ResultSet rs) throws SQLException {
         Usuario usuario = new Usuario();
         usuario.setId(rs.getInt("id"));
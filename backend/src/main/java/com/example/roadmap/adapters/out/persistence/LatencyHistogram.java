@@ -0,0 +1,101 @@
+package com.example.roadmap.adapters.out.persistence;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe fixed-bucket latency histogram.
+ *
+ * Buckets use millisecond upper bounds so snapshots can be rendered directly
+ * as JSON by REST endpoints without an external metrics library.
+ *
+ * @since 1.2
+ */
+public final class LatencyHistogram {
+    private static final long[] BOUNDS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records one observation.
+     *
+     * @param nanos Elapsed time in nanoseconds.
+     */
+    public void record(long nanos) {
+        long safeNanos = Math.max(0L, nanos);
+        long millis = TimeUnit.NANOSECONDS.toMillis(safeNanos);
+        int index = BOUNDS_MS.length;
+        for (int i = 0; i < BOUNDS_MS.length; i++) {
+            if (millis < BOUNDS_MS[i]) {
+                index = i;
+                break;
+            }
+        }
+        buckets[index].increment();
+        count.increment();
+        totalNanos.add(safeNanos);
+        maxNanos.accumulate(safeNanos);
+    }
+
+    /** @return Number of recorded observations. */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns an approximate percentile using bucket upper bounds.
+     *
+     * @param percentile Value between 0 and 1.
+     * @return Upper bound in milliseconds of the bucket holding the percentile.
+     */
+    public long percentileMillis(double percentile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS_MS.length; i++) {
+            seen += buckets[i].sum();
+            if (seen >= target) {
+                return BOUNDS_MS[i];
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+    }
+
+    /**
+     * Builds a JSON-friendly view of the histogram.
+     *
+     * @return Map with count, mean, max, percentiles and bucket counts.
+     */
+    public Map<String, Object> snapshot() {
+        long total = count.sum();
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("count", total);
+        out.put("meanMs", total == 0 ? 0.0 : totalNanos.sum() / (double) total / 1_000_000.0);
+        out.put("maxMs", TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+        out.put("p50Ms", percentileMillis(0.50));
+        out.put("p95Ms", percentileMillis(0.95));
+        out.put("p99Ms", percentileMillis(0.99));
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < BOUNDS_MS.length; i++) {
+            histogram.put("lt_" + BOUNDS_MS[i] + "ms", buckets[i].sum());
+        }
+        histogram.put("gte_" + BOUNDS_MS[BOUNDS_MS.length - 1] + "ms", buckets[BOUNDS_MS.length].sum());
+        out.put("buckets", histogram);
+        return out;
+    }
+}
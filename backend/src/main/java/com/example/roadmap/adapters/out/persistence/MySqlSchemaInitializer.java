@@ -1,10 +1,18 @@
 package com.example.roadmap.adapters.out.persistence;
 
+import com.example.roadmap.domain.RoadmapDates;
+
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -16,12 +24,17 @@ import java.util.Set;
  * @since 1.0
  */
 public final class MySqlSchemaInitializer {
+    /** Ids per UPDATE when filling session digests. */
+    private static final int SESSION_DIGEST_BATCH = 5000;
+
     private MySqlSchemaInitializer() {
     }
 
     /**
      * Creates or updates roadmap tables required by the backend.
      *
+     * Also refreshes the {@link SchemaCapabilities} registry used by repositories.
+     *
      * @param connection Active MySQL connection.
      */
     public static String ensureSchema(Connection connection) {
@@ -35,8 +48,12 @@ public final class MySqlSchemaInitializer {
                     organizacion VARCHAR(255),
                     horizonte_inicio VARCHAR(20),
                     horizonte_fin VARCHAR(20),
+                    horizonte_inicio_date DATE NULL,
+                    horizonte_fin_date DATE NULL,
                     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+                    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+                    INDEX idx_roadmaps_updated_at (updated_at),
+                    INDEX idx_roadmaps_created (created_at, id)
                 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
                 """);
 
@@ -63,6 +80,8 @@ public final class MySqlSchemaInitializer {
                     nombre VARCHAR(255) NOT NULL,
                     inicio VARCHAR(20),
                     fin VARCHAR(20),
+                    inicio_date DATE NULL,
+                    fin_date DATE NULL,
                     certeza VARCHAR(50),
                     dependencias JSON,
                     informacion_adicional JSON,
@@ -73,7 +92,8 @@ public final class MySqlSchemaInitializer {
                     FOREIGN KEY (roadmap_id) REFERENCES roadmaps(id) ON DELETE CASCADE,
                     FOREIGN KEY (eje_id) REFERENCES ejes_estrategicos(id) ON DELETE SET NULL,
                     INDEX idx_iniciativas_roadmap (roadmap_id),
-                    INDEX idx_iniciativas_eje (eje_id)
+                    INDEX idx_iniciativas_eje (eje_id),
+                    INDEX idx_iniciativas_roadmap_fechas (roadmap_id, inicio_date, fin_date)
                 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
                 """);
 
@@ -83,6 +103,7 @@ public final class MySqlSchemaInitializer {
                     roadmap_id VARCHAR(50) NOT NULL,
                     descripcion LONGTEXT,
                     fecha_comprometido VARCHAR(20),
+                    fecha_comprometido_date DATE NULL,
                     actor VARCHAR(255),
                     quien_compromete VARCHAR(255),
                     informacion_adicional JSON,
@@ -90,7 +111,8 @@ public final class MySqlSchemaInitializer {
                     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
                     FOREIGN KEY (roadmap_id) REFERENCES roadmaps(id) ON DELETE CASCADE,
-                    INDEX idx_compromisos_roadmap (roadmap_id)
+                    INDEX idx_compromisos_roadmap (roadmap_id),
+                    INDEX idx_compromisos_roadmap_fecha (roadmap_id, fecha_comprometido_date)
                 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
                 """);
 
@@ -104,12 +126,15 @@ public final class MySqlSchemaInitializer {
                     precio_licitacion VARCHAR(255),
                     precio_adjudicacion VARCHAR(255),
                     fecha_fin_expediente VARCHAR(20),
+                    fecha_fin_expediente_date DATE NULL,
                     informacion_adicional JSON,
                     huella_negocio VARCHAR(512),
                     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
                     INDEX idx_expedientes_huella (huella_negocio),
-                    INDEX idx_expedientes_codigo (expediente)
+                    INDEX idx_expedientes_codigo (expediente),
+                    INDEX idx_expedientes_empresa (empresa),
+                    INDEX idx_expedientes_fecha_fin (fecha_fin_expediente_date)
                 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
                 """);
 
@@ -126,6 +151,29 @@ public final class MySqlSchemaInitializer {
                 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
                 """);
 
+            // Copia relacional de iniciativas.dependencias para consultas de impacto
+            st.execute("""
+                CREATE TABLE IF NOT EXISTS iniciativa_dependencia (
+                    roadmap_id VARCHAR(50) NOT NULL,
+                    iniciativa_id VARCHAR(50) NOT NULL,
+                    depende_de_id VARCHAR(50) NOT NULL,
+                    tipo VARCHAR(255),
+                    posicion INT DEFAULT 0,
+                    PRIMARY KEY (iniciativa_id, depende_de_id),
+                    FOREIGN KEY (roadmap_id) REFERENCES roadmaps(id) ON DELETE CASCADE,
+                    FOREIGN KEY (iniciativa_id) REFERENCES iniciativas(id) ON DELETE CASCADE,
+                    INDEX idx_iniciativa_dependencia_inversa (roadmap_id, depende_de_id, iniciativa_id)
+                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+                """);
+
+            // Última ejecución de las tareas de relleno, para no repetirlas en cada conexión
+            st.execute("""
+                CREATE TABLE IF NOT EXISTS schema_tareas (
+                    nombre VARCHAR(100) PRIMARY KEY,
+                    ejecutada_at TIMESTAMP NOT NULL
+                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+                """);
+
             // Tablas de autenticación y autorización
             st.execute("""
                 CREATE TABLE IF NOT EXISTS usuarios (
@@ -141,7 +189,8 @@ public final class MySqlSchemaInitializer {
                     updated_by VARCHAR(100),
                     INDEX idx_username (username),
                     INDEX idx_rol (rol),
-                    INDEX idx_activo (activo)
+                    INDEX idx_activo (activo),
+                    INDEX idx_usuarios_rol_activo_username (rol, activo, username)
                 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
                 """);
 
@@ -149,17 +198,23 @@ public final class MySqlSchemaInitializer {
                 CREATE TABLE IF NOT EXISTS sesiones (
                     id INT AUTO_INCREMENT PRIMARY KEY,
                     usuario_id INT NOT NULL,
-                    token VARCHAR(500) NOT NULL UNIQUE,
+                    token VARCHAR(500) NULL,
+                    token_sha256 BINARY(32) NULL,
                     ip_address VARCHAR(45),
                     user_agent VARCHAR(500),
                     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                     expires_at TIMESTAMP NOT NULL,
                     estado ENUM('ACTIVA', 'EXPIRADA', 'REVOCADA') NOT NULL DEFAULT 'ACTIVA',
+                    jti VARCHAR(64) NULL,
+                    revoked_at TIMESTAMP(3) NULL,
                     FOREIGN KEY (usuario_id) REFERENCES usuarios(id) ON DELETE CASCADE,
                     INDEX idx_usuario_id (usuario_id),
-                    INDEX idx_token (token),
+                    UNIQUE INDEX uk_sesiones_token_sha256 (token_sha256),
+                    INDEX idx_sesiones_token (token(100)),
                     INDEX idx_estado (estado),
-                    INDEX idx_expires_at (expires_at)
+                    INDEX idx_expires_at (expires_at),
+                    INDEX idx_sesiones_revoked_at (revoked_at),
+                    INDEX idx_sesiones_ip_address (ip_address)
                 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
                 """);
 
@@ -174,6 +229,52 @@ public final class MySqlSchemaInitializer {
                     updated_by = 'SYSTEM'
                 """);
 
+            // Columnas añadidas después de la creación inicial de las tablas
+            ensureColumn(connection, "sesiones", "jti", "VARCHAR(64) NULL");
+            ensureColumn(connection, "sesiones", "revoked_at", "TIMESTAMP(3) NULL");
+            ensureColumn(connection, "sesiones", "token_sha256", "BINARY(32) NULL");
+            ensureNullable(connection, "sesiones", "token", "VARCHAR(500) NULL");
+            // updated_at es la versión de la configuración: dos guardados en el mismo segundo deben distinguirse
+            ensureTimestampPrecision(connection, "roadmaps", "updated_at", 6,
+                "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)");
+            // Fechas tipadas junto al texto original (p.ej. 2026-T1), que se conserva
+            ensureColumn(connection, "roadmaps", "horizonte_inicio_date", "DATE NULL");
+            ensureColumn(connection, "roadmaps", "horizonte_fin_date", "DATE NULL");
+            ensureColumn(connection, "iniciativas", "inicio_date", "DATE NULL");
+            ensureColumn(connection, "iniciativas", "fin_date", "DATE NULL");
+            ensureColumn(connection, "compromisos", "fecha_comprometido_date", "DATE NULL");
+            ensureColumn(connection, "expedientes", "fecha_fin_expediente_date", "DATE NULL");
+
+            // Índices añadidos después de la creación inicial de las tablas
+            ensureIndex(connection, "expedientes", "idx_expedientes_empresa", "empresa");
+            ensureIndex(connection, "roadmaps", "idx_roadmaps_updated_at", "updated_at");
+            ensureIndex(connection, "roadmaps", "idx_roadmaps_created", "created_at, id");
+            ensureIndex(connection, "sesiones", "idx_sesiones_revoked_at", "revoked_at");
+            ensureIndex(connection, "sesiones", "uk_sesiones_token_sha256", "token_sha256", true);
+            // Las sesiones se buscan por digest; el token en claro solo necesita un índice de prefijo
+            dropUniqueIndexes(connection, "sesiones", "token");
+            ensureIndex(connection, "sesiones", "idx_sesiones_token", "token(100)");
+            ensureIndex(connection, "sesiones", "idx_sesiones_ip_address", "ip_address");
+            ensureIndex(connection, "usuarios", "idx_usuarios_rol_activo_username", "rol, activo, username");
+            ensureIndex(connection, "iniciativas", "idx_iniciativas_roadmap_fechas", "roadmap_id, inicio_date, fin_date");
+            ensureIndex(connection, "compromisos", "idx_compromisos_roadmap_fecha", "roadmap_id, fecha_comprometido_date");
+            ensureIndex(connection, "expedientes", "idx_expedientes_fecha_fin", "fecha_fin_expediente_date");
+
+            // Digest de sesiones escritas por versiones anteriores: la búsqueda por token en claro deja de hacer falta
+            backfillSessionDigests(connection);
+
+            // Rellena las fechas tipadas de filas anteriores o escritas por otras versiones
+            backfillDates(connection, "roadmaps", "horizonte_inicio", "horizonte_inicio_date", false);
+            backfillDates(connection, "roadmaps", "horizonte_fin", "horizonte_fin_date", true);
+            backfillDates(connection, "iniciativas", "inicio", "inicio_date", false);
+            backfillDates(connection, "iniciativas", "fin", "fin_date", true);
+            backfillDates(connection, "compromisos", "fecha_comprometido", "fecha_comprometido_date", true);
+            backfillDates(connection, "expedientes", "fecha_fin_expediente", "fecha_fin_expediente_date", true);
+            backfillDependencyEdges(connection);
+
+            // Una sola lectura de INFORMATION_SCHEMA para todas las validaciones
+            SchemaCapabilities.refresh(connection);
+
             Set<String> missingIniciativas = findMissingColumns(
                 connection,
                 "iniciativas",
@@ -219,6 +320,17 @@ public final class MySqlSchemaInitializer {
                     + ". Ejecuta migración SQL en Database/migrations antes de continuar.";
             }
 
+            Set<String> missingIniciativaDependencia = findMissingColumns(
+                connection,
+                "iniciativa_dependencia",
+                Set.of("roadmap_id", "iniciativa_id", "depende_de_id", "tipo", "posicion")
+            );
+            if (!missingIniciativaDependencia.isEmpty()) {
+                return "Esquema de dependencias entre iniciativas desactualizado. Faltan columnas: "
+                    + String.join(", ", missingIniciativaDependencia)
+                    + ". Ejecuta migración SQL en Database/migrations antes de continuar.";
+            }
+
             // Validar esquema de autenticación y autorización
             Set<String> missingUsuarios = findMissingColumns(
                 connection,
@@ -234,7 +346,7 @@ public final class MySqlSchemaInitializer {
             Set<String> missingSesiones = findMissingColumns(
                 connection,
                 "sesiones",
-                Set.of("id", "usuario_id", "token", "ip_address", "user_agent", "created_at", "expires_at", "estado")
+                Set.of("id", "usuario_id", "token", "token_sha256", "ip_address", "user_agent", "created_at", "expires_at", "estado", "jti", "revoked_at")
             );
             if (!missingSesiones.isEmpty()) {
                 return "Esquema de sesiones desactualizado. Faltan columnas: "
@@ -248,38 +360,369 @@ public final class MySqlSchemaInitializer {
     }
 
     /**
-     * Returns missing expected columns for one table in current database schema.
+     * Adds a nullable column when it does not exist yet.
      *
      * @param connection Active MySQL connection.
-     * @param tableName Table to inspect.
-     * @param expectedColumns Required column names.
-     * @return Set<String> missing columns.
+     * @param tableName Table owning the column.
+     * @param columnName Column name.
+     * @param definition Column type and nullability.
+     * @throws SQLException When the column cannot be inspected or created.
      */
-    private static Set<String> findMissingColumns(
-        Connection connection,
-        String tableName,
-        Set<String> expectedColumns
-    ) {
-        Set<String> existing = new HashSet<>();
+    private static void ensureColumn(Connection connection, String tableName, String columnName, String definition) throws SQLException {
         String sql = """
-            SELECT COLUMN_NAME
+            SELECT COUNT(*)
             FROM INFORMATION_SCHEMA.COLUMNS
             WHERE TABLE_SCHEMA = DATABASE()
               AND TABLE_NAME = ?
+              AND COLUMN_NAME = ?
+            """;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, tableName);
+            ps.setString(2, columnName);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                if (rs.getInt(1) > 0) {
+                    return;
+                }
+            }
+        }
+        try (Statement st = connection.createStatement()) {
+            st.execute("ALTER TABLE " + tableName + " ADD COLUMN " + columnName + " " + definition);
+        }
+    }
+
+    /**
+     * Drops a NOT NULL constraint when the column still has it.
+     *
+     * @param connection Active MySQL connection.
+     * @param tableName Table owning the column.
+     * @param columnName Column name.
+     * @param definition Full nullable column definition.
+     * @throws SQLException When the column cannot be inspected or altered.
+     */
+    private static void ensureNullable(Connection connection, String tableName, String columnName, String definition) throws SQLException {
+        String sql = """
+            SELECT IS_NULLABLE
+            FROM INFORMATION_SCHEMA.COLUMNS
+            WHERE TABLE_SCHEMA = DATABASE()
+              AND TABLE_NAME = ?
+              AND COLUMN_NAME = ?
+            """;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, tableName);
+            ps.setString(2, columnName);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next() || "YES".equalsIgnoreCase(rs.getString(1))) {
+                    return;
+                }
+            }
+        }
+        try (Statement st = connection.createStatement()) {
+            st.execute("ALTER TABLE " + tableName + " MODIFY COLUMN " + columnName + " " + definition);
+        }
+    }
+
+    /**
+     * Widens the fractional seconds of a TIMESTAMP column created by an
+     * earlier version.
+     *
+     * @param connection Active MySQL connection.
+     * @param tableName Table name.
+     * @param columnName Column name.
+     * @param precision Required fractional digits.
+     * @param definition Full column definition applied when it is narrower.
+     * @throws SQLException When metadata cannot be read or the column cannot be changed.
+     */
+    private static void ensureTimestampPrecision(Connection connection, String tableName, String columnName,
+                                                 int precision, String definition) throws SQLException {
+        String sql = """
+            SELECT DATETIME_PRECISION
+            FROM INFORMATION_SCHEMA.COLUMNS
+            WHERE TABLE_SCHEMA = DATABASE()
+              AND TABLE_NAME = ?
+              AND COLUMN_NAME = ?
+            """;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, tableName);
+            ps.setString(2, columnName);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) >= precision) {
+                    return;
+                }
+            }
+        }
+        try (Statement st = connection.createStatement()) {
+            st.execute("ALTER TABLE " + tableName + " MODIFY COLUMN " + columnName + " " + definition);
+        }
+    }
+
+    /**
+     * Fills a typed DATE column from its legacy text column with
+     * {@link RoadmapDates}, for rows where the DATE is still null.
+     *
+     * Only rows changed since the previous run, recorded in
+     * {@code schema_tareas}, are read: values that cannot be parsed stay null
+     * and are not parsed again until their row is edited.
+     *
+     * @param connection Active MySQL connection.
+     * @param tableName Table with a VARCHAR {@code id} primary key and {@code updated_at}.
+     * @param textColumn Legacy text column.
+     * @param dateColumn Typed DATE column.
+     * @param periodEnd Whether to store the last day of the period instead of the first.
+     * @throws SQLException When rows cannot be read or updated.
+     */
+    private static void backfillDates(Connection connection, String tableName, String textColumn, String dateColumn, boolean periodEnd) throws SQLException {
+        String task = "fechas:" + tableName + "." + dateColumn;
+        Timestamp since = lastRun(connection, task);
+        // Margen de un minuto para escrituras confirmadas durante la ejecución
+        Timestamp startedAt = dbNow(connection, 60);
+        String select = "SELECT id, " + textColumn + " FROM " + tableName
+            + " WHERE " + dateColumn + " IS NULL AND " + textColumn + " IS NOT NULL AND " + textColumn + " <> ''"
+            + (since == null ? "" : " AND updated_at >= ?");
+        // updated_at se conserva: rellenar la fecha no es una edición y no debe cambiar versiones ni ETags
+        String update = "UPDATE " + tableName + " SET " + dateColumn + " = ?, updated_at = updated_at WHERE id = ?";
+        try (PreparedStatement query = connection.prepareStatement(select);
+             PreparedStatement ps = connection.prepareStatement(update)) {
+            if (since != null) {
+                query.setTimestamp(1, since);
+            }
+            try (ResultSet rs = query.executeQuery()) {
+                int pending = 0;
+                while (rs.next()) {
+                    String text = rs.getString(2);
+                    Optional<LocalDate> date = periodEnd ? RoadmapDates.periodEnd(text) : RoadmapDates.periodStart(text);
+                    if (date.isEmpty()) {
+                        continue;
+                    }
+                    ps.setObject(1, date.get());
+                    ps.setString(2, rs.getString(1));
+                    ps.addBatch();
+                    if (++pending == 500) {
+                        ps.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    ps.executeBatch();
+                }
+            }
+        }
+        recordRun(connection, task, startedAt);
+    }
+
+    /**
+     * Returns when a maintenance task last completed.
+     *
+     * @param connection Active MySQL connection.
+     * @param task Task name in {@code schema_tareas}.
+     * @return Timestamp recorded by {@link #recordRun}, or null when it never ran.
+     * @throws SQLException When the marker table cannot be read.
+     */
+    private static Timestamp lastRun(Connection connection, String task) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT ejecutada_at FROM schema_tareas WHERE nombre = ?")) {
+            ps.setString(1, task);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getTimestamp(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Records that a maintenance task completed.
+     *
+     * @param connection Active MySQL connection.
+     * @param task Task name in {@code schema_tareas}.
+     * @param at Point from which the next run has to look again.
+     * @throws SQLException When the marker cannot be written.
+     */
+    private static void recordRun(Connection connection, String task, Timestamp at) throws SQLException {
+        String sql = "INSERT INTO schema_tareas (nombre, ejecutada_at) VALUES (?, ?) "
+            + "ON DUPLICATE KEY UPDATE ejecutada_at = VALUES(ejecutada_at)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, task);
+            ps.setTimestamp(2, at);
+            ps.executeUpdate();
+        }
+    }
+
+    private static Timestamp dbNow(Connection connection, int minusSeconds) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT NOW() - INTERVAL ? SECOND")) {
+            ps.setInt(1, minusSeconds);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getTimestamp(1);
+            }
+        }
+    }
+
+    /**
+     * Fills {@code sesiones.token_sha256} for rows written by versions that
+     * only stored the plain token. It runs once, recorded in
+     * {@code schema_tareas}, and walks the primary key in fixed ranges so each
+     * UPDATE locks a bounded number of rows. Sessions written later by an
+     * older node are still found through the dual read of
+     * {@link JdbcSesionRepository}.
+     *
+     * @param connection Active MySQL connection.
+     * @throws SQLException When the sessions cannot be read or updated.
+     */
+    private static void backfillSessionDigests(Connection connection) throws SQLException {
+        String task = "digest:sesiones";
+        if (lastRun(connection, task) != null) {
+            return;
+        }
+        Timestamp startedAt = dbNow(connection, 0);
+        long minId;
+        long maxId;
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT MIN(id), MAX(id) FROM sesiones")) {
+            rs.next();
+            minId = rs.getLong(1);
+            maxId = rs.getLong(2);
+        }
+        String update = "UPDATE sesiones SET token_sha256 = UNHEX(SHA2(token, 256)) "
+            + "WHERE id BETWEEN ? AND ? AND token_sha256 IS NULL AND token IS NOT NULL";
+        try (PreparedStatement ps = connection.prepareStatement(update)) {
+            for (long from = minId; from <= maxId; from += SESSION_DIGEST_BATCH) {
+                ps.setLong(1, from);
+                ps.setLong(2, from + SESSION_DIGEST_BATCH - 1);
+                ps.executeUpdate();
+            }
+        }
+        recordRun(connection, task, startedAt);
+    }
+
+    /**
+     * Fills {@code iniciativa_dependencia} from the {@code dependencias} JSON
+     * column once, in one set-based statement, when the table is empty. Later
+     * saves keep both in sync. The run is recorded in {@code schema_tareas},
+     * so a roadmap set without any dependency is not scanned again on every
+     * connection.
+     *
+     * @param connection Active MySQL connection.
+     * @throws SQLException When the edge table cannot be read or filled.
+     */
+    private static void backfillDependencyEdges(Connection connection) throws SQLException {
+        String task = "dependencias:iniciativa_dependencia";
+        if (lastRun(connection, task) != null) {
+            return;
+        }
+        Timestamp startedAt = dbNow(connection, 0);
+        try (Statement st = connection.createStatement()) {
+            try (ResultSet rs = st.executeQuery("SELECT 1 FROM iniciativa_dependencia LIMIT 1")) {
+                if (rs.next()) {
+                    recordRun(connection, task, startedAt);
+                    return;
+                }
+            }
+            st.executeUpdate("""
+                INSERT IGNORE INTO iniciativa_dependencia (roadmap_id, iniciativa_id, depende_de_id, tipo, posicion)
+                SELECT i.roadmap_id, i.id, TRIM(d.iniciativa), COALESCE(d.tipo, ''), d.ord - 1
+                FROM iniciativas i,
+                     JSON_TABLE(i.dependencias, '$[*]' COLUMNS (
+                         ord FOR ORDINALITY,
+                         iniciativa VARCHAR(50) PATH '$.iniciativa',
+                         tipo VARCHAR(255) PATH '$.tipo'
+                     )) d
+                WHERE JSON_LENGTH(i.dependencias) > 0
+                  AND TRIM(d.iniciativa) <> ''
+                  AND TRIM(d.iniciativa) <> i.id
+                """);
+        }
+        recordRun(connection, task, startedAt);
+    }
+
+    /**
+     * Drops every UNIQUE index that covers the given column.
+     *
+     * @param connection Active MySQL connection.
+     * @param tableName Table owning the indexes.
+     * @param columnName Indexed column.
+     * @throws SQLException When the indexes cannot be inspected or dropped.
+     */
+    private static void dropUniqueIndexes(Connection connection, String tableName, String columnName) throws SQLException {
+        String sql = """
+            SELECT DISTINCT INDEX_NAME
+            FROM INFORMATION_SCHEMA.STATISTICS
+            WHERE TABLE_SCHEMA = DATABASE()
+              AND TABLE_NAME = ?
+              AND COLUMN_NAME = ?
+              AND NON_UNIQUE = 0
+              AND INDEX_NAME <> 'PRIMARY'
             """;
+        List<String> indexes = new ArrayList<>();
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, tableName);
+            ps.setString(2, columnName);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    existing.add(rs.getString("COLUMN_NAME"));
+                    indexes.add(rs.getString(1));
                 }
             }
+        }
+        try (Statement st = connection.createStatement()) {
+            for (String index : indexes) {
+                st.execute("ALTER TABLE " + tableName + " DROP INDEX `" + index + "`");
+            }
+        }
+    }
+
+    private static void ensureIndex(Connection connection, String tableName, String indexName, String columns) throws SQLException {
+        ensureIndex(connection, tableName, indexName, columns, false);
+    }
+
+    /**
+     * Adds a secondary index when it does not exist yet.
+     *
+     * @param connection Active MySQL connection.
+     * @param tableName Table owning the index.
+     * @param indexName Index name.
+     * @param columns Comma-separated indexed columns.
+     * @param unique Whether to create a UNIQUE index.
+     * @throws SQLException When the index cannot be inspected or created.
+     */
+    private static void ensureIndex(Connection connection, String tableName, String indexName, String columns, boolean unique) throws SQLException {
+        String sql = """
+            SELECT COUNT(*)
+            FROM INFORMATION_SCHEMA.STATISTICS
+            WHERE TABLE_SCHEMA = DATABASE()
+              AND TABLE_NAME = ?
+              AND INDEX_NAME = ?
+            """;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, tableName);
+            ps.setString(2, indexName);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                if (rs.getInt(1) > 0) {
+                    return;
+                }
+            }
+        }
+        try (Statement st = connection.createStatement()) {
+            st.execute("ALTER TABLE " + tableName + (unique ? " ADD UNIQUE INDEX " : " ADD INDEX ") + indexName + " (" + columns + ")");
+        }
+    }
+
+    /**
+     * Returns missing expected columns for one table in current database schema.
+     *
+     * Reads the {@link SchemaCapabilities} snapshot refreshed by ensureSchema.
+     *
+     * @param connection Active MySQL connection.
+     * @param tableName Table to inspect.
+     * @param expectedColumns Required column names.
+     * @return Set<String> missing columns.
+     */
+    private static Set<String> findMissingColumns(
+        Connection connection,
+        String tableName,
+        Set<String> expectedColumns
+    ) {
+        try {
+            return SchemaCapabilities.missingColumns(connection, tableName, expectedColumns);
         } catch (Exception e) {
             return new HashSet<>(expectedColumns);
         }
-
-        Set<String> missing = new HashSet<>(expectedColumns);
-        missing.removeAll(existing);
-        return missing;
     }
 }
@@ -0,0 +1,116 @@
+package com.example.roadmap.adapters.out.persistence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Difference between the rows stored for a roadmap and the rows a save wants.
+ *
+ * <p>
+ * Rows are keyed by their stable id. A row whose column values changed is an
+ * update; a row whose only change is its {@code posicion} is a move, which is
+ * written with a single-column UPDATE so JSON columns are not re-serialised.
+ * </p>
+ *
+ * @param <K> Row key type.
+ * @since 1.2
+ */
+final class RowDiff<K> {
+    private final Map<K, Row> desired;
+    private final List<K> inserts = new ArrayList<>();
+    private final List<K> updates = new ArrayList<>();
+    private final List<K> moves = new ArrayList<>();
+    private final List<K> deletes = new ArrayList<>();
+
+    private RowDiff(Map<K, Row> desired) {
+        this.desired = desired;
+    }
+
+    /**
+     * Compares stored rows against desired rows.
+     *
+     * @param stored Rows currently in the database.
+     * @param desired Rows to persist, in target order.
+     * @param <K> Row key type.
+     * @return Computed difference.
+     */
+    static <K> RowDiff<K> compute(Map<K, Row> stored, Map<K, Row> desired) {
+        RowDiff<K> diff = new RowDiff<>(desired);
+        for (Map.Entry<K, Row> entry : desired.entrySet()) {
+            Row current = stored.get(entry.getKey());
+            if (current == null) {
+                diff.inserts.add(entry.getKey());
+            } else if (!current.values.equals(entry.getValue().values)) {
+                diff.updates.add(entry.getKey());
+            } else if (current.position != entry.getValue().position) {
+                diff.moves.add(entry.getKey());
+            }
+        }
+        for (K key : stored.keySet()) {
+            if (!desired.containsKey(key)) {
+                diff.deletes.add(key);
+            }
+        }
+        return diff;
+    }
+
+    Row desired(K key) {
+        return desired.get(key);
+    }
+
+    List<K> getInserts() {
+        return Collections.unmodifiableList(inserts);
+    }
+
+    List<K> getUpdates() {
+        return Collections.unmodifiableList(updates);
+    }
+
+    List<K> getMoves() {
+        return Collections.unmodifiableList(moves);
+    }
+
+    List<K> getDeletes() {
+        return Collections.unmodifiableList(deletes);
+    }
+
+    boolean isEmpty() {
+        return inserts.isEmpty() && updates.isEmpty() && moves.isEmpty() && deletes.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "+" + inserts.size() + " ~" + updates.size() + " >" + moves.size() + " -" + deletes.size();
+    }
+
+    /**
+     * Column values of one row, excluding its key and position.
+     *
+     * Values are compared with {@link Object#equals(Object)}; JSON columns are
+     * held as parsed trees so formatting differences do not count as changes.
+     */
+    static final class Row {
+        private final List<Object> values;
+        private final int position;
+
+        Row(List<Object> values, int position) {
+            this.values = values;
+            this.position = position;
+        }
+
+        List<Object> getValues() {
+            return values;
+        }
+
+        int getPosition() {
+            return position;
+        }
+    }
+
+    static Row row(int position, Object... values) {
+        return new Row(Arrays.asList(values), position);
+    }
+}
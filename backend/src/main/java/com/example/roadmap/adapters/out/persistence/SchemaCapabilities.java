@@ -0,0 +1,172 @@
+package com.example.roadmap.adapters.out.persistence;
+
+import com.example.roadmap.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Process-wide registry of the tables and columns present in the active schema.
+ *
+ * <p>
+ * Loaded with a single INFORMATION_SCHEMA query right after
+ * {@link MySqlSchemaInitializer#ensureSchema(Connection)} and bound to the pool
+ * generation it was read from. Recreating or closing the pool makes the
+ * snapshot stale; it is then reloaded once on next use, so regular reads and
+ * writes run no metadata queries.
+ * </p>
+ *
+ * @since 1.2
+ */
+public final class SchemaCapabilities {
+    private static final String COLUMNS_SQL = """
+        SELECT TABLE_NAME, COLUMN_NAME
+        FROM INFORMATION_SCHEMA.COLUMNS
+        WHERE TABLE_SCHEMA = DATABASE()
+        """;
+
+    private static volatile Snapshot current;
+
+    private SchemaCapabilities() {
+    }
+
+    /**
+     * Reads every table and column of the current schema and replaces the snapshot.
+     *
+     * @param connection Active MySQL connection.
+     * @throws SQLException When INFORMATION_SCHEMA cannot be read.
+     */
+    public static void refresh(Connection connection) throws SQLException {
+        long generation = DatabaseConnection.getPoolGeneration();
+        Map<String, Set<String>> columns = new HashMap<>();
+        try (PreparedStatement ps = connection.prepareStatement(COLUMNS_SQL);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                columns.computeIfAbsent(normalize(rs.getString("TABLE_NAME")), key -> new HashSet<>())
+                    .add(normalize(rs.getString("COLUMN_NAME")));
+            }
+        }
+        install(columns, generation);
+    }
+
+    static void install(Map<String, Set<String>> columns, long generation) {
+        Map<String, Set<String>> copy = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : columns.entrySet()) {
+            copy.put(normalize(entry.getKey()), Collections.unmodifiableSet(new HashSet<>(entry.getValue())));
+        }
+        current = new Snapshot(Collections.unmodifiableMap(copy), generation);
+    }
+
+    /** Drops the snapshot; the next check reloads it. */
+    public static void invalidate() {
+        current = null;
+    }
+
+    /**
+     * Checks whether a table exists, loading the snapshot through the given
+     * connection only when it is missing or stale.
+     *
+     * @param connection Connection used only if a reload is needed.
+     * @param table Table name.
+     * @return true when the table exists.
+     * @throws SQLException When a reload is needed and fails.
+     */
+    public static boolean hasTable(Connection connection, String table) throws SQLException {
+        return snapshot(connection).columns.containsKey(normalize(table));
+    }
+
+    /**
+     * Checks whether a table exists with all the given columns.
+     *
+     * @param connection Connection used only if a reload is needed.
+     * @param table Table name.
+     * @param columns Required columns.
+     * @return true when every column exists.
+     * @throws SQLException When a reload is needed and fails.
+     */
+    public static boolean hasColumns(Connection connection, String table, String... columns) throws SQLException {
+        Set<String> existing = snapshot(connection).columns.get(normalize(table));
+        if (existing == null) {
+            return false;
+        }
+        for (String column : columns) {
+            if (!existing.contains(normalize(column))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the expected columns missing from a table in the loaded snapshot.
+     *
+     * @param connection Connection used only if a reload is needed.
+     * @param table Table name.
+     * @param expectedColumns Required columns.
+     * @return Missing columns, sorted.
+     * @throws SQLException When a reload is needed and fails.
+     */
+    public static Set<String> missingColumns(Connection connection, String table, Set<String> expectedColumns) throws SQLException {
+        Set<String> existing = snapshot(connection).columns.getOrDefault(normalize(table), Set.of());
+        Set<String> missing = new TreeSet<>();
+        for (String column : expectedColumns) {
+            if (!existing.contains(normalize(column))) {
+                missing.add(column);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Describes the loaded snapshot for diagnostics.
+     *
+     * @return Map with load state, pool generation and column count per table.
+     */
+    public static Map<String, Object> describe() {
+        Snapshot snapshot = current;
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("loaded", snapshot != null);
+        out.put("stale", snapshot == null || snapshot.generation != DatabaseConnection.getPoolGeneration());
+        if (snapshot != null) {
+            out.put("poolGeneration", snapshot.generation);
+            Map<String, Integer> tables = new TreeMap<>();
+            snapshot.columns.forEach((table, columns) -> tables.put(table, columns.size()));
+            out.put("tables", tables);
+        }
+        return out;
+    }
+
+    private static Snapshot snapshot(Connection connection) throws SQLException {
+        Snapshot snapshot = current;
+        if (snapshot == null || snapshot.generation != DatabaseConnection.getPoolGeneration()) {
+            refresh(connection);
+            snapshot = current;
+        }
+        return snapshot;
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Snapshot {
+        private final Map<String, Set<String>> columns;
+        private final long generation;
+
+        private Snapshot(Map<String, Set<String>> columns, long generation) {
+            this.columns = columns;
+            this.generation = generation;
+        }
+    }
+}
@@ -1,40 +1,123 @@
 package com.example.roadmap.application;
 
 import com.example.roadmap.domain.Sesion;
+import com.example.roadmap.domain.SesionFilter;
 import com.example.roadmap.domain.SesionRepository;
 import com.example.roadmap.domain.Usuario;
+import com.example.roadmap.domain.UsuarioPrincipal;
 import com.example.roadmap.domain.UsuarioRepository;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Servicio de autenticación del sistema.
  *
  * Maneja login, primer acceso, logout, y gestión de sesiones.
- * Usa BCrypt para encriptación de contraseñas.
+ * Usa BCrypt para encriptación de contraseñas a través de
+ * {@link PasswordHashingService}, que lo ejecuta en un pool acotado y rechaza
+ * con {@link PasswordHashingService.RejectedException} cuando está saturado.
+ * Los tokens ya verificados se
+ * guardan en un {@link TokenAuthenticationCache} para que las peticiones
+ * repetidas no vuelvan a consultar la base de datos. El rol y el estado del
+ * usuario se leen de un {@link UsuarioPrincipalCache} con TTL corto, que
+ * carga solo las columnas necesarias y se invalida al cambiar rol o estado.
+ *
+ * Con {@code auth.session-validation=stateless} la tabla de sesiones sale del
+ * camino de cada petición: basta la firma y la expiración del JWT más una
+ * consulta a {@link SessionRevocationList} por su {@code jti}. Las
+ * revocaciones hechas en otro nodo se aplican al siguiente refresco. Los
+ * tokens sin {@code jti}, o una lista sin refrescar, vuelven a la consulta
+ * en base de datos.
  *
  * @since 1.0
  */
 @Service
 public class AuthenticationService {
 
+    /** Longitud mínima de una contraseña, también en las altas masivas. */
+    public static final int MIN_PASSWORD_LENGTH = 8;
+
     private final UsuarioRepository usuarioRepository;
     private final SesionRepository sesionRepository;
     private final JwtTokenProvider jwtTokenProvider;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final TokenAuthenticationCache tokenCache;
+    private final SessionRevocationList revocationList;
+    private final UsuarioPrincipalCache principalCache;
+    private final long cacheSweepMillis;
+    private ScheduledExecutorService cacheSweeper;
 
     public AuthenticationService(
         UsuarioRepository usuarioRepository,
         SesionRepository sesionRepository,
-        JwtTokenProvider jwtTokenProvider
+        JwtTokenProvider jwtTokenProvider,
+        PasswordHashingService passwordHashingService,
+        @Value("${auth.token-cache.max-entries:10000}") int tokenCacheMaxEntries,
+        @Value("${auth.token-cache.ttl-seconds:300}") long tokenCacheTtlSeconds,
+        @Value("${auth.session-validation:database}") String sessionValidation,
+        @Value("${auth.stateless.refresh-ms:5000}") long revocationRefreshMs,
+        @Value("${auth.stateless.expected-revocations:100000}") int expectedRevocations,
+        @Value("${auth.principal-cache.max-entries:10000}") int principalCacheMaxEntries,
+        @Value("${auth.principal-cache.ttl-seconds:30}") long principalCacheTtlSeconds,
+        @Value("${auth.cache-sweep-ms:60000}") long cacheSweepMillis
     ) {
         this.usuarioRepository = usuarioRepository;
         this.sesionRepository = sesionRepository;
         this.jwtTokenProvider = jwtTokenProvider;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.passwordHashingService = passwordHashingService;
+        this.tokenCache = new TokenAuthenticationCache(tokenCacheMaxEntries, tokenCacheTtlSeconds * 1000L);
+        this.principalCache = new UsuarioPrincipalCache(principalCacheMaxEntries, principalCacheTtlSeconds * 1000L);
+        this.cacheSweepMillis = Math.max(1000L, cacheSweepMillis);
+        this.revocationList = "stateless".equalsIgnoreCase(sessionValidation)
+            ? new SessionRevocationList(sesionRepository, revoked -> {
+                if (revoked.getTokenDigest() != null) {
+                    tokenCache.invalidateDigest(revoked.getTokenDigest());
+                } else if (revoked.getToken() != null) {
+                    tokenCache.invalidateToken(revoked.getToken());
+                }
+            }, revocationRefreshMs, expectedRevocations)
+            : null;
+    }
+
+    @PostConstruct
+    void start() {
+        if (revocationList != null) {
+            revocationList.start();
+        }
+        // Las entradas caducadas se purgan aquí, fuera del camino de cada petición.
+        cacheSweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auth-cache-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cacheSweeper.scheduleWithFixedDelay(() -> {
+            tokenCache.sweepExpired();
+            principalCache.sweepExpired();
+        }, cacheSweepMillis, cacheSweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (revocationList != null) {
+            revocationList.stop();
+        }
+        if (cacheSweeper != null) {
+            cacheSweeper.shutdownNow();
+        }
     }
 
     /**
@@ -44,6 +127,7 @@ public class AuthenticationService {
      * @param password Contraseña en plano.
      * @return Sesión creada si login es exitoso.
      * @throws AuthenticationException Si las credenciales son inválidas.
+     * @throws PasswordHashingService.RejectedException Si el servicio de contraseñas está saturado.
      */
     public Sesion login(String username, String password, String ipAddress, String userAgent) throws AuthenticationException {
         Usuario usuario = usuarioRepository.findByUsername(username)
@@ -64,16 +148,19 @@ public class AuthenticationService {
             if (password == null || password.isEmpty()) {
                 throw new AuthenticationException("Usuario o contraseña incorrectos");
             }
-            if (!passwordEncoder.matches(password, usuario.getPasswordHash())) {
+            if (!passwordHashingService.matches(password, usuario.getPasswordHash(), usuario.getUsername(), ipAddress)) {
                 throw new AuthenticationException("Usuario o contraseña incorrectos");
             }
+            rehashIfNeeded(usuario, password);
         }
 
         // Crear sesión
-        String token = jwtTokenProvider.generateToken(usuario.getId(), usuario.getUsername(), usuario.getRol().name());
+        String jti = UUID.randomUUID().toString();
+        String token = jwtTokenProvider.generateToken(usuario.getId(), usuario.getUsername(), usuario.getRol().name(), jti);
         LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(jwtTokenProvider.getExpirationTime() / 1000);
 
         Sesion sesion = new Sesion(usuario.getId(), token, expiresAt);
+        sesion.setJti(jti);
         sesion.setIpAddress(ipAddress);
         sesion.setUserAgent(userAgent);
         sesion.setEstado(Sesion.Estado.ACTIVA);
@@ -81,6 +168,26 @@ public class AuthenticationService {
         return sesionRepository.save(sesion);
     }
 
+    /**
+     * Recalcula en segundo plano el hash de coste menor tras un login
+     * correcto, sin alargar la respuesta. Si el pool está ocupado se deja para
+     * el siguiente login. El hash solo se sustituye si sigue siendo el mismo,
+     * para no pisar un cambio de contraseña hecho mientras tanto. No se toca a
+     * usuarios pendientes de cambiar contraseña.
+     */
+    private void rehashIfNeeded(Usuario usuario, String password) {
+        if (Boolean.TRUE.equals(usuario.getMustChangePassword()) || !passwordHashingService.needsRehash(usuario.getPasswordHash())) {
+            return;
+        }
+        Integer usuarioId = usuario.getId();
+        String currentHash = usuario.getPasswordHash();
+        passwordHashingService.encodeInBackground(password, upgraded -> {
+            if (usuarioRepository.replacePasswordHash(usuarioId, currentHash, upgraded)) {
+                passwordHashingService.recordRehash();
+            }
+        });
+    }
+
     /**
      * Maneja el primer login: usuario establece su contraseña.
      *
@@ -91,6 +198,7 @@ public class AuthenticationService {
      * @param userAgent User-Agent del cliente.
      * @return Sesión creada si el establecimiento es exitoso.
      * @throws AuthenticationException Si hay error en el proceso.
+     * @throws PasswordHashingService.RejectedException Si el servicio de contraseñas está saturado.
      */
     public Sesion firstPasswordSet(
         String username,
@@ -104,8 +212,8 @@ public class AuthenticationService {
             throw new AuthenticationException("Las contraseñas no coinciden");
         }
 
-        if (newPassword.length() < 8) {
-            throw new AuthenticationException("La contraseña debe tener al menos 8 caracteres");
+        if (newPassword.length() < MIN_PASSWORD_LENGTH) {
+            throw new AuthenticationException("La contraseña debe tener al menos " + MIN_PASSWORD_LENGTH + " caracteres");
         }
 
         Usuario usuario = usuarioRepository.findByUsername(username)
@@ -120,7 +228,7 @@ public class AuthenticationService {
         }
 
         // Encriptar y guardar nueva contraseña
-        String encryptedPassword = passwordEncoder.encode(newPassword);
+        String encryptedPassword = passwordHashingService.encode(newPassword, usuario.getUsername(), ipAddress);
         boolean updated = usuarioRepository.updatePassword(usuario.getId(), encryptedPassword);
         if (!updated) {
             throw new AuthenticationException("No se pudo guardar la nueva contraseña");
@@ -129,10 +237,12 @@ public class AuthenticationService {
         usuario.setMustChangePassword(false);
 
         // Crear sesión
-        String token = jwtTokenProvider.generateToken(usuario.getId(), usuario.getUsername(), usuario.getRol().name());
+        String jti = UUID.randomUUID().toString();
+        String token = jwtTokenProvider.generateToken(usuario.getId(), usuario.getUsername(), usuario.getRol().name(), jti);
         LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(jwtTokenProvider.getExpirationTime() / 1000);
 
         Sesion sesion = new Sesion(usuario.getId(), token, expiresAt);
+        sesion.setJti(jti);
         sesion.setIpAddress(ipAddress);
         sesion.setUserAgent(userAgent);
         sesion.setEstado(Sesion.Estado.ACTIVA);
@@ -147,9 +257,116 @@ public class AuthenticationService {
      * @return true si se revocó correctamente.
      */
     public boolean logout(String token) {
+        tokenCache.invalidateToken(token);
+        if (revocationList != null) {
+            // Un token inválido o expirado ya no autentica.
+            jwtTokenProvider.verify(token)
+                .filter(verified -> verified.getJti() != null)
+                .ifPresent(verified -> revocationList.revoke(verified.getJti(), verified.getExpiresAtMillis()));
+        }
         return sesionRepository.revokeByToken(token);
     }
 
+    /**
+     * Revoca todas las sesiones de un usuario y las expulsa de la caché.
+     *
+     * @param usuarioId ID del usuario.
+     * @return Número de sesiones revocadas.
+     */
+    public int revokeAllSessions(Integer usuarioId) {
+        tokenCache.invalidateUsuario(usuarioId);
+        int revoked = sesionRepository.revokeAllByUsuarioId(usuarioId);
+        if (revocationList != null && revoked > 0) {
+            try {
+                revocationList.refresh();
+            } catch (RuntimeException e) {
+                // El refresco periódico lo recogerá.
+            }
+        }
+        return revoked;
+    }
+
+    /**
+     * Revoca de una vez todas las sesiones activas que cumplen el filtro y las
+     * expulsa de la caché de tokens y, en modo stateless, de la lista de
+     * revocaciones local. Los demás nodos las recogen en su siguiente refresco.
+     *
+     * @param filter Criterios de selección; al menos uno.
+     * @return Número de sesiones revocadas.
+     */
+    public int revokeSessions(SesionFilter filter) {
+        List<Sesion> revoked = sesionRepository.revokeMatching(filter);
+        List<String> digests = new ArrayList<>(revoked.size());
+        for (Sesion sesion : revoked) {
+            if (sesion.getTokenDigest() != null) {
+                digests.add(sesion.getTokenDigest());
+            } else if (sesion.getToken() != null) {
+                digests.add(TokenAuthenticationCache.digest(sesion.getToken()));
+            }
+            if (revocationList != null && sesion.getJti() != null && sesion.getExpiresAt() != null) {
+                revocationList.revoke(sesion.getJti(),
+                    sesion.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+        }
+        tokenCache.invalidateDigests(digests);
+        return revoked.size();
+    }
+
+    /**
+     * Descarta el principal cacheado de un usuario tras cambiar su rol o
+     * estado, o eliminarlo. Sus tokens cacheados siguen siendo válidos, pero
+     * la siguiente petición relee rol y estado.
+     *
+     * @param usuarioId ID del usuario.
+     */
+    public void invalidateCachedUsuario(Integer usuarioId) {
+        principalCache.invalidate(usuarioId);
+    }
+
+    /**
+     * Resuelve el usuario de una petición autenticada.
+     *
+     * En caliente solo consulta las cachés; en frío valida la firma y
+     * comprueba que la sesión siga activa. Los usuarios desactivados o
+     * eliminados no se autentican.
+     *
+     * @param token Token JWT.
+     * @return Principal del usuario si el token y la sesión son válidos.
+     */
+    public Optional<UsuarioPrincipal> authenticate(String token) {
+        Integer cachedId = tokenCache.get(token);
+        if (cachedId != null) {
+            return activePrincipal(cachedId);
+        }
+
+        long epoch = tokenCache.currentEpoch();
+        Optional<JwtTokenProvider.VerifiedToken> verified = jwtTokenProvider.verify(token);
+        if (verified.isEmpty() || verified.get().getUsuarioId() == null || !isSessionActive(token, verified.get())) {
+            return Optional.empty();
+        }
+        Integer usuarioId = verified.get().getUsuarioId();
+        Optional<UsuarioPrincipal> principal = activePrincipal(usuarioId);
+        if (principal.isPresent()) {
+            tokenCache.put(token, usuarioId, verified.get().getExpiresAtMillis(), epoch);
+        }
+        return principal;
+    }
+
+    /**
+     * Métricas de la caché de tokens verificados.
+     *
+     * @return Aciertos, fallos, invalidaciones y tamaño.
+     */
+    public Map<String, Object> getTokenCacheStats() {
+        Map<String, Object> out = new LinkedHashMap<>(tokenCache.stats());
+        out.put("sessionValidation", revocationList == null ? "database" : "stateless");
+        out.put("principals", principalCache.stats());
+        if (revocationList != null) {
+            out.put("revocations", revocationList.stats());
+        }
+        return out;
+    }
+
     /**
      * Obtiene la información del usuario desde un token.
      *
@@ -158,13 +375,11 @@ public class AuthenticationService {
      * @throws AuthenticationException Si el token es inválido.
      */
     public Usuario getUserFromToken(String token) throws AuthenticationException {
-        if (!jwtTokenProvider.validateToken(token)) {
-            throw new AuthenticationException("Token inválido o expirado");
-        }
+        JwtTokenProvider.VerifiedToken verified = jwtTokenProvider.verify(token)
+            .orElseThrow(() -> new AuthenticationException("Token inválido o expirado"));
 
         try {
-            Integer usuarioId = jwtTokenProvider.getUsuarioIdFromToken(token);
-            return usuarioRepository.findById(usuarioId)
+            return usuarioRepository.findById(verified.getUsuarioId())
                 .orElseThrow(() -> new AuthenticationException("Usuario no encontrado"));
         } catch (Exception e) {
             throw new AuthenticationException("Error al validar token: " + e.getMessage());
@@ -178,7 +393,24 @@ public class AuthenticationService {
      * @return true si la sesión es válida y activa.
      */
     public boolean isSessionValid(String token) {
-        return sesionRepository.isTokenActive(token) && jwtTokenProvider.validateToken(token);
+        return jwtTokenProvider.verify(token)
+            .map(verified -> isSessionActive(token, verified))
+            .orElse(false);
+    }
+
+    private Optional<UsuarioPrincipal> activePrincipal(Integer usuarioId) {
+        return principalCache.get(usuarioId, usuarioRepository::findPrincipalById)
+            .filter(UsuarioPrincipal::isActivo);
+    }
+
+    /**
+     * Comprueba que la sesión de un token con firma válida no esté revocada.
+     */
+    private boolean isSessionActive(String token, JwtTokenProvider.VerifiedToken verified) {
+        if (revocationList == null || !revocationList.isFresh() || verified.getJti() == null) {
+            return sesionRepository.isTokenActive(token);
+        }
+        return !revocationList.isRevoked(verified.getJti());
     }
 
     /**
@@ -0,0 +1,149 @@
+package com.example.roadmap.application;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Concurrent map with a per-entry expiry and a size bound, shared by the
+ * in-process authentication caches.
+ *
+ * <p>
+ * A read drops the entry it finds expired. When a put finds the map full,
+ * one thread evicts a batch of entries in iteration order, down to 90% of
+ * the capacity, so eviction costs O(1) amortized per put instead of a scan
+ * on every miss. Concurrent puts meanwhile may overshoot the bound by a few
+ * entries. Other expired entries are removed by {@link #sweepExpired(long)},
+ * which owners run periodically off the request path.
+ * </p>
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 1.2
+ */
+final class BoundedTtlMap<K, V> {
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final int lowWatermark;
+    private final ReentrantLock evictLock = new ReentrantLock();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    BoundedTtlMap(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.lowWatermark = this.maxEntries - Math.max(1, this.maxEntries / 10);
+    }
+
+    /**
+     * @return Live value, or null when absent or expired at {@code now}.
+     */
+    V get(K key, long now) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis <= now) {
+            if (entries.remove(key, entry)) {
+                expirations.increment();
+            }
+            return null;
+        }
+        return entry.value;
+    }
+
+    void put(K key, V value, long expiresAtMillis) {
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            evictBatch();
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+    }
+
+    /** @return true when an entry was removed. */
+    boolean remove(K key) {
+        return entries.remove(key) != null;
+    }
+
+    /** @return Number of entries whose value matched. */
+    int removeIf(Predicate<V> predicate) {
+        int removed = 0;
+        Iterator<Entry<V>> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (predicate.test(it.next().value)) {
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes entries expired at {@code now}.
+     *
+     * @return Number of removed entries.
+     */
+    int sweepExpired(long now) {
+        int removed = 0;
+        Iterator<Entry<V>> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAtMillis <= now) {
+                it.remove();
+                removed++;
+            }
+        }
+        expirations.add(removed);
+        return removed;
+    }
+
+    /** @return Number of entries dropped. */
+    int clear() {
+        int size = entries.size();
+        entries.clear();
+        return size;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    int maxEntries() {
+        return maxEntries;
+    }
+
+    long expirations() {
+        return expirations.sum();
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    private void evictBatch() {
+        // A thread already making room is enough; the others just insert.
+        if (!evictLock.tryLock()) {
+            return;
+        }
+        try {
+            Iterator<K> it = entries.keySet().iterator();
+            while (entries.size() > lowWatermark && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.increment();
+            }
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAtMillis;
+
+        private Entry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
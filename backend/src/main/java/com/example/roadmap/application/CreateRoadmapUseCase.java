@@ -1,8 +1,12 @@
 package com.example.roadmap.application;
 
 import com.example.roadmap.domain.Roadmap;
+import com.example.roadmap.domain.RoadmapListVersion;
+import com.example.roadmap.domain.RoadmapPage;
+import com.example.roadmap.domain.RoadmapProjection;
 import com.example.roadmap.domain.RoadmapRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +19,10 @@ import java.util.Optional;
  * @since 1.0
  */
 public class CreateRoadmapUseCase {
+    static final int DEFAULT_PAGE_LIMIT = 50;
+    static final int MAX_PAGE_LIMIT = 200;
+    static final int MAX_QUERY_LENGTH = 100;
+
     private final RoadmapRepository repository;
 
     /**
@@ -52,4 +60,55 @@ public class CreateRoadmapUseCase {
      * @return List of roadmaps.
      */
     public List<Roadmap> list() { return repository.findAll(); }
+
+    /**
+     * Returns one page of roadmaps, newest first.
+     *
+     * @param cursor Cursor from the previous page, or null for the first one.
+     * @param limit Requested page size; null or out-of-range values are clamped.
+     * @param fields "summary" (default) or "full".
+     * @return Page with the next cursor; the total hint is only set on the first page.
+     * @throws IllegalArgumentException When the cursor or projection is malformed.
+     */
+    public RoadmapPage listPage(String cursor, Integer limit, String fields) {
+        return listPage(cursor, limit, fields, null);
+    }
+
+    /**
+     * Returns one page of the roadmaps whose title or description contains
+     * {@code query}, newest first. Cursors are only valid with the same query.
+     *
+     * @param cursor Cursor from the previous page, or null for the first one.
+     * @param limit Requested page size; null or out-of-range values are clamped.
+     * @param fields "summary" (default) or "full".
+     * @param query Text to look for; blank lists every roadmap.
+     * @return Page with the next cursor; the total hint is only set on the
+     *         first page of an unfiltered listing.
+     * @throws IllegalArgumentException When the cursor or projection is malformed or the query too long.
+     */
+    public RoadmapPage listPage(String cursor, Integer limit, String fields, String query) {
+        String term = query == null || query.isBlank() ? null : query.trim();
+        if (term != null && term.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("La búsqueda no puede superar " + MAX_QUERY_LENGTH + " caracteres.");
+        }
+        int pageSize = (limit == null || limit <= 0) ? DEFAULT_PAGE_LIMIT : Math.min(limit, MAX_PAGE_LIMIT);
+        RoadmapProjection projection = RoadmapProjection.parse(fields);
+        RoadmapPage.Position after = RoadmapPage.decodeCursor(cursor);
+
+        List<Roadmap> items = repository.findPage(after, pageSize + 1, projection, term);
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = new ArrayList<>(items.subList(0, pageSize));
+            nextCursor = RoadmapPage.cursorAfter(items.get(items.size() - 1));
+        }
+        Long totalHint = after == null && term == null ? repository.count() : null;
+        return new RoadmapPage(items, nextCursor, totalHint);
+    }
+
+    /**
+     * Returns a version marker of the roadmap list, used for HTTP validators.
+     *
+     * @return Count and latest modification time of stored roadmaps.
+     */
+    public RoadmapListVersion listVersion() { return repository.findListVersion(); }
 }
\ No newline at end of file
@@ -0,0 +1,342 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.Initiative;
+import com.example.roadmap.domain.InitiativeDependency;
+import com.example.roadmap.domain.RoadmapConfig;
+import com.example.roadmap.domain.RoadmapDates;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable dependency graph of the initiatives of one roadmap.
+ *
+ * <p>
+ * Initiatives are numbered in config order and edges are kept in compressed
+ * arrays (successors and predecessors of node {@code v} are the slices
+ * {@code [start[v], start[v + 1])}). An initiative listing {@code B} in its
+ * {@code dependencias} gets the edge {@code B -> A}: {@code A} cannot finish
+ * before {@code B}. Links to unknown initiatives, self links and repeated
+ * links are dropped and reported.
+ * </p>
+ *
+ * <p>
+ * {@link #analyze()} runs in O(V + E): Kahn's algorithm for the topological
+ * order, iterative Tarjan for cycles, and a forward and a backward pass over
+ * the order for earliest/latest dates and slack. Durations are the days
+ * covered by {@code inicio}..{@code fin} as read by {@link RoadmapDates}; an
+ * initiative without readable dates counts as zero days. Initiatives inside
+ * or behind a cycle have no order, so they get no schedule.
+ * </p>
+ *
+ * @since 1.2
+ */
+public final class DependencyGraph {
+    private final String[] ids;
+    private final int[] durations;
+    private final int[] succStart;
+    private final int[] succ;
+    private final int[] predStart;
+    private final int[] pred;
+    private final List<DependencyGraphAnalysis.Link> dropped;
+
+    private DependencyGraph(String[] ids, int[] durations, int[] succStart, int[] succ,
+                            int[] predStart, int[] pred, List<DependencyGraphAnalysis.Link> dropped) {
+        this.ids = ids;
+        this.durations = durations;
+        this.succStart = succStart;
+        this.succ = succ;
+        this.predStart = predStart;
+        this.pred = pred;
+        this.dropped = dropped;
+    }
+
+    /**
+     * Builds the graph of a roadmap configuration.
+     *
+     * @param config Roadmap configuration.
+     * @return Graph over the initiatives with a non-blank id.
+     */
+    public static DependencyGraph of(RoadmapConfig config) {
+        List<Initiative> initiatives = config == null || config.getIniciativas() == null
+            ? List.of() : config.getIniciativas();
+        Map<String, Integer> index = new HashMap<>();
+        List<Initiative> nodes = new ArrayList<>();
+        for (Initiative initiative : initiatives) {
+            String id = initiative.getId();
+            if (id != null && !id.isBlank() && index.putIfAbsent(id, nodes.size()) == null) {
+                nodes.add(initiative);
+            }
+        }
+
+        int n = nodes.size();
+        String[] ids = new String[n];
+        int[] durations = new int[n];
+        List<DependencyGraphAnalysis.Link> dropped = new ArrayList<>();
+        // Edge list as two parallel int arrays, grown on demand.
+        int[] from = new int[Math.max(4, n)];
+        int[] to = new int[from.length];
+        int edges = 0;
+        for (int v = 0; v < n; v++) {
+            Initiative initiative = nodes.get(v);
+            ids[v] = initiative.getId();
+            durations[v] = durationDays(initiative);
+            if (initiative.getDependencias() == null) {
+                continue;
+            }
+            Set<Integer> seen = new HashSet<>();
+            for (InitiativeDependency dependency : initiative.getDependencias()) {
+                String target = dependency == null ? null : dependency.getIniciativa();
+                Integer u = target == null ? null : index.get(target.trim());
+                if (u == null || u == v || !seen.add(u)) {
+                    dropped.add(new DependencyGraphAnalysis.Link(target, ids[v],
+                        u == null ? "desconocida" : (u == v ? "autodependencia" : "repetida")));
+                    continue;
+                }
+                if (edges == from.length) {
+                    from = Arrays.copyOf(from, edges * 2);
+                    to = Arrays.copyOf(to, edges * 2);
+                }
+                from[edges] = u;
+                to[edges] = v;
+                edges++;
+            }
+        }
+
+        int[] succStart = new int[n + 1];
+        int[] predStart = new int[n + 1];
+        for (int e = 0; e < edges; e++) {
+            succStart[from[e] + 1]++;
+            predStart[to[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            succStart[v + 1] += succStart[v];
+            predStart[v + 1] += predStart[v];
+        }
+        int[] succ = new int[edges];
+        int[] pred = new int[edges];
+        int[] succFill = Arrays.copyOf(succStart, n);
+        int[] predFill = Arrays.copyOf(predStart, n);
+        for (int e = 0; e < edges; e++) {
+            succ[succFill[from[e]]++] = to[e];
+            pred[predFill[to[e]]++] = from[e];
+        }
+        return new DependencyGraph(ids, durations, succStart, succ, predStart, pred, dropped);
+    }
+
+    /** @return Number of initiatives. */
+    public int size() {
+        return ids.length;
+    }
+
+    /** @return Number of dependency edges kept. */
+    public int edgeCount() {
+        return succ.length;
+    }
+
+    /**
+     * Computes order, cycles, schedule, slack and critical path.
+     *
+     * @return Analysis result.
+     */
+    public DependencyGraphAnalysis analyze() {
+        int n = ids.length;
+        int[] order = topologicalOrder();
+        List<List<String>> cycles = cycles();
+
+        // Forward pass: earliest start is the latest earliest finish of the predecessors.
+        int[] earliestStart = new int[n];
+        boolean[] scheduled = new boolean[n];
+        int projectDays = 0;
+        for (int v : order) {
+            scheduled[v] = true;
+            int es = 0;
+            for (int i = predStart[v]; i < predStart[v + 1]; i++) {
+                es = Math.max(es, earliestStart[pred[i]] + durations[pred[i]]);
+            }
+            earliestStart[v] = es;
+            projectDays = Math.max(projectDays, es + durations[v]);
+        }
+
+        // Backward pass: latest finish is the earliest latest start of the successors.
+        // Successors in or behind a cycle have no schedule and do not constrain it.
+        int[] latestStart = new int[n];
+        for (int k = order.length - 1; k >= 0; k--) {
+            int v = order[k];
+            int lf = projectDays;
+            for (int i = succStart[v]; i < succStart[v + 1]; i++) {
+                if (scheduled[succ[i]]) {
+                    lf = Math.min(lf, latestStart[succ[i]]);
+                }
+            }
+            latestStart[v] = lf - durations[v];
+        }
+
+        List<DependencyGraphAnalysis.Node> nodes = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) {
+            if (!scheduled[v]) {
+                nodes.add(new DependencyGraphAnalysis.Node(ids[v], durations[v], null, null, null, null, null, false));
+                continue;
+            }
+            int slack = latestStart[v] - earliestStart[v];
+            nodes.add(new DependencyGraphAnalysis.Node(ids[v], durations[v],
+                earliestStart[v], earliestStart[v] + durations[v],
+                latestStart[v], latestStart[v] + durations[v], slack, slack == 0));
+        }
+
+        List<String> topological = new ArrayList<>(order.length);
+        for (int v : order) {
+            topological.add(ids[v]);
+        }
+        return new DependencyGraphAnalysis(n, succ.length, order.length == n, topological, cycles,
+            criticalPath(order, earliestStart, latestStart, scheduled, projectDays), projectDays, nodes, dropped);
+    }
+
+    /**
+     * Kahn's algorithm. Nodes in or downstream of a cycle never reach
+     * in-degree zero and are left out.
+     */
+    private int[] topologicalOrder() {
+        int n = ids.length;
+        int[] inDegree = new int[n];
+        for (int v = 0; v < n; v++) {
+            inDegree[v] = predStart[v + 1] - predStart[v];
+        }
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) {
+                queue[tail++] = v;
+            }
+        }
+        while (head < tail) {
+            int v = queue[head++];
+            for (int i = succStart[v]; i < succStart[v + 1]; i++) {
+                if (--inDegree[succ[i]] == 0) {
+                    queue[tail++] = succ[i];
+                }
+            }
+        }
+        return Arrays.copyOf(queue, tail);
+    }
+
+    /**
+     * Strongly connected components with more than one node (self links are
+     * dropped at build time), found with an iterative Tarjan so that long
+     * chains cannot overflow the stack.
+     */
+    private List<List<String>> cycles() {
+        int n = ids.length;
+        int[] indexOf = new int[n];
+        int[] lowLink = new int[n];
+        boolean[] onStack = new boolean[n];
+        Arrays.fill(indexOf, -1);
+        int[] stack = new int[n];
+        int stackSize = 0;
+        int[] callNode = new int[n];
+        int[] callEdge = new int[n];
+        int counter = 0;
+        List<List<String>> out = new ArrayList<>();
+
+        for (int root = 0; root < n; root++) {
+            if (indexOf[root] >= 0) {
+                continue;
+            }
+            int depth = 0;
+            callNode[0] = root;
+            callEdge[0] = succStart[root];
+            indexOf[root] = lowLink[root] = counter++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            while (depth >= 0) {
+                int v = callNode[depth];
+                if (callEdge[depth] < succStart[v + 1]) {
+                    int w = succ[callEdge[depth]++];
+                    if (indexOf[w] < 0) {
+                        indexOf[w] = lowLink[w] = counter++;
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        depth++;
+                        callNode[depth] = w;
+                        callEdge[depth] = succStart[w];
+                    } else if (onStack[w]) {
+                        lowLink[v] = Math.min(lowLink[v], indexOf[w]);
+                    }
+                    continue;
+                }
+                if (lowLink[v] == indexOf[v]) {
+                    List<String> component = new ArrayList<>();
+                    int w;
+                    do {
+                        w = stack[--stackSize];
+                        onStack[w] = false;
+                        component.add(ids[w]);
+                    } while (w != v);
+                    if (component.size() > 1) {
+                        out.add(component);
+                    }
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callNode[depth];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Follows zero-slack nodes whose earliest start equals a critical
+     * predecessor's earliest finish, from the start to the project end.
+     */
+    private List<String> criticalPath(int[] order, int[] earliestStart, int[] latestStart, boolean[] scheduled, int projectDays) {
+        int end = -1;
+        for (int k = order.length - 1; k >= 0; k--) {
+            int v = order[k];
+            if (earliestStart[v] + durations[v] == projectDays && latestStart[v] == earliestStart[v]) {
+                end = v;
+                break;
+            }
+        }
+        if (end < 0) {
+            return List.of();
+        }
+        List<String> path = new ArrayList<>();
+        int v = end;
+        while (v >= 0) {
+            path.add(ids[v]);
+            int next = -1;
+            for (int i = predStart[v]; i < predStart[v + 1]; i++) {
+                int p = pred[i];
+                if (scheduled[p] && latestStart[p] == earliestStart[p]
+                    && earliestStart[p] + durations[p] == earliestStart[v]) {
+                    next = p;
+                    break;
+                }
+            }
+            v = next;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private static int durationDays(Initiative initiative) {
+        Optional<LocalDate> start = RoadmapDates.periodStart(initiative.getInicio());
+        Optional<LocalDate> end = RoadmapDates.periodEnd(initiative.getFin());
+        if (start.isEmpty() || end.isEmpty() || end.get().isBefore(start.get())) {
+            return 0;
+        }
+        return (int) ChronoUnit.DAYS.between(start.get(), end.get()) + 1;
+    }
+}
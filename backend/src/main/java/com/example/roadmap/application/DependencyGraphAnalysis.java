@@ -0,0 +1,169 @@
+package com.example.roadmap.application;
+
+import java.util.List;
+
+/**
+ * Immutable result of {@link DependencyGraph#analyze()}.
+ *
+ * <p>
+ * Days are counted from the start of the earliest initiative without
+ * dependencies, so {@code earliestStart = 0} means "can start right away".
+ * Schedule fields of a node are null when it is inside or behind a cycle.
+ * </p>
+ *
+ * @since 1.2
+ */
+public final class DependencyGraphAnalysis {
+    private final int nodeCount;
+    private final int edgeCount;
+    private final boolean acyclic;
+    private final List<String> topologicalOrder;
+    private final List<List<String>> cycles;
+    private final List<String> criticalPath;
+    private final int projectDurationDays;
+    private final List<Node> nodes;
+    private final List<Link> ignoredLinks;
+
+    DependencyGraphAnalysis(int nodeCount, int edgeCount, boolean acyclic, List<String> topologicalOrder,
+                            List<List<String>> cycles, List<String> criticalPath, int projectDurationDays,
+                            List<Node> nodes, List<Link> ignoredLinks) {
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+        this.acyclic = acyclic;
+        this.topologicalOrder = List.copyOf(topologicalOrder);
+        this.cycles = List.copyOf(cycles);
+        this.criticalPath = List.copyOf(criticalPath);
+        this.projectDurationDays = projectDurationDays;
+        this.nodes = List.copyOf(nodes);
+        this.ignoredLinks = List.copyOf(ignoredLinks);
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /** @return true when every initiative got a place in the topological order. */
+    public boolean isAcyclic() {
+        return acyclic;
+    }
+
+    /** @return Initiative ids, every dependency before its dependents. */
+    public List<String> getTopologicalOrder() {
+        return topologicalOrder;
+    }
+
+    /** @return Groups of initiatives that depend on each other in a loop. */
+    public List<List<String>> getCycles() {
+        return cycles;
+    }
+
+    /** @return Zero-slack chain ending at the project end, first to last. */
+    public List<String> getCriticalPath() {
+        return criticalPath;
+    }
+
+    public int getProjectDurationDays() {
+        return projectDurationDays;
+    }
+
+    /** @return One entry per initiative, in config order. */
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    /** @return Dependency links left out of the graph and why. */
+    public List<Link> getIgnoredLinks() {
+        return ignoredLinks;
+    }
+
+    /**
+     * Schedule of one initiative, in days from the project start.
+     */
+    public static final class Node {
+        private final String id;
+        private final int durationDays;
+        private final Integer earliestStart;
+        private final Integer earliestFinish;
+        private final Integer latestStart;
+        private final Integer latestFinish;
+        private final Integer slack;
+        private final boolean critical;
+
+        Node(String id, int durationDays, Integer earliestStart, Integer earliestFinish,
+             Integer latestStart, Integer latestFinish, Integer slack, boolean critical) {
+            this.id = id;
+            this.durationDays = durationDays;
+            this.earliestStart = earliestStart;
+            this.earliestFinish = earliestFinish;
+            this.latestStart = latestStart;
+            this.latestFinish = latestFinish;
+            this.slack = slack;
+            this.critical = critical;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public int getDurationDays() {
+            return durationDays;
+        }
+
+        public Integer getEarliestStart() {
+            return earliestStart;
+        }
+
+        public Integer getEarliestFinish() {
+            return earliestFinish;
+        }
+
+        public Integer getLatestStart() {
+            return latestStart;
+        }
+
+        public Integer getLatestFinish() {
+            return latestFinish;
+        }
+
+        /** @return Days the initiative can slip without moving the project end. */
+        public Integer getSlack() {
+            return slack;
+        }
+
+        public boolean isCritical() {
+            return critical;
+        }
+    }
+
+    /**
+     * Dependency link that was not added to the graph.
+     * {@code reason} is {@code desconocida}, {@code autodependencia} or {@code repetida}.
+     */
+    public static final class Link {
+        private final String dependsOn;
+        private final String initiative;
+        private final String reason;
+
+        Link(String dependsOn, String initiative, String reason) {
+            this.dependsOn = dependsOn;
+            this.initiative = initiative;
+            this.reason = reason;
+        }
+
+        public String getDependsOn() {
+            return dependsOn;
+        }
+
+        public String getInitiative() {
+            return initiative;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.roadmap.application;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Dependency analysis of roadmap initiatives, cached per configuration version.
+ *
+ * <p>
+ * The configuration is read through {@link RoadmapConfigUseCase#getSnapshot},
+ * so the common case costs no extra query, and the analysis is keyed by the
+ * snapshot content hash: any saved change produces a new hash and a fresh
+ * analysis, while repeated reads of the same version reuse the result.
+ * </p>
+ *
+ * @since 1.2
+ */
+public class DependencyGraphService {
+    private final RoadmapConfigUseCase configUseCase;
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries;
+    private long hits;
+    private long misses;
+
+    public DependencyGraphService(RoadmapConfigUseCase configUseCase, int maxEntries) {
+        this.configUseCase = configUseCase;
+        this.maxEntries = Math.max(0, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > DependencyGraphService.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the dependency analysis of a roadmap.
+     *
+     * @param roadmapId Roadmap identifier.
+     * @return Optional<DependencyGraphAnalysis> analysis when the roadmap exists.
+     */
+    public Optional<DependencyGraphAnalysis> analyze(String roadmapId) {
+        Optional<RoadmapConfigSnapshot> snapshot = configUseCase.getSnapshot(roadmapId);
+        if (snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+        String version = snapshot.get().getContentHash();
+        synchronized (this) {
+            Entry entry = entries.get(roadmapId);
+            if (entry != null && entry.version.equals(version)) {
+                hits++;
+                return Optional.of(entry.analysis);
+            }
+            misses++;
+        }
+
+        // Built outside the lock: two readers of a new version may both compute it.
+        DependencyGraphAnalysis analysis = DependencyGraph.of(configUseCase.readSnapshot(snapshot.get())).analyze();
+        if (maxEntries > 0) {
+            synchronized (this) {
+                entries.put(roadmapId, new Entry(version, analysis));
+            }
+        }
+        return Optional.of(analysis);
+    }
+
+    /**
+     * Drops the cached analysis of a roadmap whose configuration changed.
+     * The next read would rebuild it anyway, since the snapshot hash moved;
+     * this only frees the stale entry early.
+     *
+     * @param roadmapId Roadmap identifier.
+     */
+    public synchronized void roadmapChanged(String roadmapId) {
+        entries.remove(roadmapId);
+    }
+
+    /**
+     * Returns cache counters.
+     *
+     * @return Map ready to be serialized as JSON.
+     */
+    public synchronized Map<String, Object> stats() {
+        return Map.of(
+            "entries", entries.size(),
+            "maxEntries", maxEntries,
+            "hits", hits,
+            "misses", misses
+        );
+    }
+
+    private static final class Entry {
+        private final String version;
+        private final DependencyGraphAnalysis analysis;
+
+        private Entry(String version, DependencyGraphAnalysis analysis) {
+            this.version = version;
+            this.analysis = analysis;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.ExpedienteCatalogPage;
+import com.example.roadmap.domain.ExpedienteCatalogRepository;
+
+/**
+ * Application service for browsing the global expedientes catalog.
+ *
+ * @since 1.2
+ */
+public class ExpedienteCatalogUseCase {
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 200;
+
+    private final ExpedienteCatalogRepository repository;
+
+    public ExpedienteCatalogUseCase(ExpedienteCatalogRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Returns one catalog page.
+     *
+     * @param query Prefix over expediente code or company; blank for no filter.
+     * @param cursor Cursor from the previous page, or null.
+     * @param limit Requested page size; null or out-of-range values are clamped.
+     * @return Requested page.
+     */
+    public ExpedienteCatalogPage search(String query, String cursor, Integer limit) {
+        int pageSize = (limit == null || limit <= 0) ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        String prefix = query == null ? "" : query.trim();
+        String start = (cursor == null || cursor.isBlank()) ? null : cursor.trim();
+        return repository.search(prefix, start, pageSize);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.roadmap.application;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -11,6 +12,8 @@ import org.springframework.stereotype.Service;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Servicio para generar, validar y extraer información de tokens JWT.
@@ -18,16 +21,31 @@ import java.util.Date;
  * Se configura mediante propiedades de Spring.
  * Usa HS256 para la firma.
  *
+ * La clave y el parser se construyen una sola vez al arrancar; el parser de
+ * jjwt es inmutable y seguro entre hilos, así que todas las peticiones lo
+ * comparten. {@link #verify(String)} valida la firma una vez y devuelve todos
+ * los claims que usa la autenticación; los métodos {@code get...FromToken}
+ * se mantienen para usos puntuales.
+ *
  * @since 1.0
  */
 @Service
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret:your-secret-key-change-in-production-must-be-at-least-256-bits}")
-    private String secretKey;
+    private final long expirationTime;
+
+    private final Key signingKey;
 
-    @Value("${jwt.expiration:28800000}") // 8 horas por defecto
-    private long expirationTime;
+    private final JwtParser parser;
+
+    public JwtTokenProvider(
+        @Value("${jwt.secret:your-secret-key-change-in-production-must-be-at-least-256-bits}") String secretKey,
+        @Value("${jwt.expiration:28800000}") long expirationTime // 8 horas por defecto
+    ) {
+        this.expirationTime = expirationTime;
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
 
     /**
      * Genera un token JWT para un usuario.
@@ -37,29 +55,57 @@ public class JwtTokenProvider {
      * @param rol Rol del usuario.
      * @return Token JWT.
      */
-    private Key signingKey;
-
-    private Key getSigningKey() {
-        if (signingKey == null) {
-            signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
-        }
-        return signingKey;
+    public String generateToken(Integer usuarioId, String username, String rol) {
+        return generateToken(usuarioId, username, rol, UUID.randomUUID().toString());
     }
 
-    public String generateToken(Integer usuarioId, String username, String rol) {
+    /**
+     * Genera un token JWT con un identificador ({@code jti}) dado.
+     *
+     * @param usuarioId ID del usuario.
+     * @param username Username del usuario.
+     * @param rol Rol del usuario.
+     * @param jti Identificador único del token, usado para revocarlo.
+     * @return Token JWT.
+     */
+    public String generateToken(Integer usuarioId, String username, String rol, String jti) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expirationTime);
 
         return Jwts.builder()
+            .setId(jti)
             .setSubject(username)
             .claim("usuarioId", usuarioId)
             .claim("rol", rol)
             .setIssuedAt(now)
             .setExpiration(expiryDate)
-            .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+            .signWith(signingKey, SignatureAlgorithm.HS256)
             .compact();
     }
 
+    /**
+     * Valida la firma y la expiración una sola vez y devuelve los claims
+     * que necesita la autenticación.
+     *
+     * @param token Token JWT.
+     * @return Claims del token, o vacío si está expirado o es inválido.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Date expiration = claims.getExpiration();
+            return Optional.of(new VerifiedToken(
+                toUsuarioId(claims.get("usuarioId")),
+                claims.getSubject(),
+                claims.get("rol", String.class),
+                claims.getId(),
+                expiration == null ? Long.MAX_VALUE : expiration.getTime()
+            ));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * Valida un token JWT.
      *
@@ -68,7 +114,7 @@ public class JwtTokenProvider {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
+            parser.parseClaimsJws(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
@@ -83,7 +129,7 @@ public class JwtTokenProvider {
      * @throws JwtException Si el token es inválido.
      */
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
+        Claims claims = parser.parseClaimsJws(token).getBody();
         return claims.getSubject();
     }
 
@@ -95,18 +141,8 @@ public class JwtTokenProvider {
      * @throws JwtException Si el token es inválido.
      */
     public Integer getUsuarioIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
-        Object value = claims.get("usuarioId");
-        if (value instanceof Integer) {
-            return (Integer) value;
-        }
-        if (value instanceof Long) {
-            return ((Long) value).intValue();
-        }
-        if (value instanceof String) {
-            return Integer.valueOf((String) value);
-        }
-        return null;
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        return toUsuarioId(claims.get("usuarioId"));
     }
 
     /**
@@ -117,10 +153,34 @@ public class JwtTokenProvider {
      * @throws JwtException Si el token es inválido.
      */
     public String getRolFromToken(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
+        Claims claims = parser.parseClaimsJws(token).getBody();
         return claims.get("rol", String.class);
     }
 
+    /**
+     * Extrae la fecha de expiración del token.
+     *
+     * @param token Token JWT.
+     * @return Expiración si el token es válido.
+     * @throws JwtException Si el token es inválido.
+     */
+    public Date getExpirationFromToken(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        return claims.getExpiration();
+    }
+
+    /**
+     * Extrae el identificador ({@code jti}) del token.
+     *
+     * @param token Token JWT.
+     * @return jti, o null en tokens emitidos antes de incluirlo.
+     * @throws JwtException Si el token es inválido.
+     */
+    public String getJtiFromToken(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        return claims.getId();
+    }
+
     /**
      * Retorna el tiempo de expiración configurado en ms.
      *
@@ -129,4 +189,59 @@ public class JwtTokenProvider {
     public long getExpirationTime() {
         return expirationTime;
     }
+
+    private static Integer toUsuarioId(Object value) {
+        if (value instanceof Integer) {
+            return (Integer) value;
+        }
+        if (value instanceof Long) {
+            return ((Long) value).intValue();
+        }
+        if (value instanceof String) {
+            return Integer.valueOf((String) value);
+        }
+        return null;
+    }
+
+    /**
+     * Claims de un token con firma y expiración ya verificadas.
+     */
+    public static final class VerifiedToken {
+        private final Integer usuarioId;
+        private final String username;
+        private final String rol;
+        private final String jti;
+        private final long expiresAtMillis;
+
+        VerifiedToken(Integer usuarioId, String username, String rol, String jti, long expiresAtMillis) {
+            this.usuarioId = usuarioId;
+            this.username = username;
+            this.rol = rol;
+            this.jti = jti;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public Integer getUsuarioId() {
+            return usuarioId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getRol() {
+            return rol;
+        }
+
+        /**
+         * @return jti, o null en tokens emitidos antes de incluirlo.
+         */
+        public String getJti() {
+            return jti;
+        }
+
+        public long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+    }
 }
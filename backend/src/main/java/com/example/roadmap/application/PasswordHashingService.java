@@ -0,0 +1,464 @@
+package com.example.roadmap.application;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Servicio que cifra y verifica contraseñas BCrypt fuera de los hilos de Tomcat.
+ *
+ * <p>
+ * Cada operación BCrypt consume del orden de 100 ms de CPU, así que se
+ * ejecutan en un pool de tamaño fijo con cola acotada. Antes de encolar se
+ * aplica control de admisión: un máximo de operaciones simultáneas por
+ * username y por IP. Si la cola está llena, se supera un límite o la espera
+ * excede {@code max-wait-ms}, se lanza {@link RejectedException} enseguida y el
+ * controlador responde 429, de modo que una ráfaga de logins no deja sin CPU
+ * a las lecturas de roadmaps.
+ * </p>
+ *
+ * <p>
+ * El coste BCrypt se fija con {@code auth.hashing.cost} o, si vale 0, con una
+ * calibración al arrancar: se mide un hash de coste bajo y se elige el mayor
+ * coste cuyo tiempo estimado no supera {@code auth.hashing.target-ms}, dentro
+ * de {@code [min-cost, max-cost]}. Los hashes de coste menor se recalculan en
+ * segundo plano tras el siguiente login correcto (ver {@link #needsRehash(String)}
+ * y {@link #encodeInBackground}). Nunca se rebaja el coste: con costes
+ * calibrados distintos en cada nodo, los hashes convergen al mayor en vez de
+ * reescribirse de un nodo a otro. Para bajar el coste en todo el clúster hay
+ * que fijar {@code auth.hashing.cost}.
+ * </p>
+ *
+ * @since 1.2
+ */
+@Service
+public class PasswordHashingService {
+    private static final Logger LOG = LoggerFactory.getLogger(PasswordHashingService.class);
+    private static final int PROBE_COST = 8;
+    private static final int PROBE_ROUNDS = 3;
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final int cost;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+    private final int maxPerUsername;
+    private final int maxPerIp;
+    private final Map<String, Integer> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejectedQueueFull = new LongAdder();
+    private final LongAdder rejectedUsername = new LongAdder();
+    private final LongAdder rejectedIp = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder rehashes = new LongAdder();
+
+    public PasswordHashingService(
+        @Value("${auth.hashing.cost:0}") int configuredCost,
+        @Value("${auth.hashing.target-ms:100}") long targetMillis,
+        @Value("${auth.hashing.min-cost:10}") int minCost,
+        @Value("${auth.hashing.max-cost:14}") int maxCost,
+        @Value("${auth.hashing.threads:0}") int threads,
+        @Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+        @Value("${auth.hashing.max-wait-ms:3000}") long maxWaitMillis,
+        @Value("${auth.hashing.max-per-username:2}") int maxPerUsername,
+        @Value("${auth.hashing.max-per-ip:8}") int maxPerIp
+    ) {
+        this(resolveCost(configuredCost, targetMillis, minCost, maxCost),
+            threads, queueCapacity, maxWaitMillis, maxPerUsername, maxPerIp);
+    }
+
+    private PasswordHashingService(int cost, int threads, int queueCapacity, long maxWaitMillis, int maxPerUsername, int maxPerIp) {
+        this(new BCryptPasswordEncoder(cost), cost, threads, queueCapacity, maxWaitMillis, maxPerUsername, maxPerIp);
+    }
+
+    PasswordHashingService(
+        BCryptPasswordEncoder passwordEncoder,
+        int cost,
+        int threads,
+        int queueCapacity,
+        long maxWaitMillis,
+        int maxPerUsername,
+        int maxPerIp
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.cost = cost;
+        // Por defecto la mitad de los núcleos: el resto queda para servir peticiones.
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.maxWaitMillis = Math.max(1L, maxWaitMillis);
+        this.maxPerUsername = Math.max(1, maxPerUsername);
+        this.maxPerIp = Math.max(1, maxPerIp);
+    }
+
+    /**
+     * Verifica una contraseña contra su hash BCrypt.
+     *
+     * @param rawPassword Contraseña en plano.
+     * @param passwordHash Hash almacenado.
+     * @param username Username que intenta autenticarse (clave de admisión).
+     * @param ipAddress IP de origen (clave de admisión), puede ser null.
+     * @return true si la contraseña coincide.
+     * @throws RejectedException Si la petición no se admite o no se atiende a tiempo.
+     */
+    public boolean matches(String rawPassword, String passwordHash, String username, String ipAddress) {
+        return run(() -> passwordEncoder.matches(rawPassword, passwordHash), username, ipAddress);
+    }
+
+    /**
+     * Cifra una contraseña con BCrypt.
+     *
+     * @param rawPassword Contraseña en plano.
+     * @param username Username del propietario (clave de admisión).
+     * @param ipAddress IP de origen (clave de admisión), puede ser null.
+     * @return Hash BCrypt.
+     * @throws RejectedException Si la petición no se admite o no se atiende a tiempo.
+     */
+    public String encode(String rawPassword, String username, String ipAddress) {
+        return run(() -> passwordEncoder.encode(rawPassword), username, ipAddress);
+    }
+
+    /**
+     * Cifra muchas contraseñas en paralelo para cargas masivas.
+     *
+     * <p>
+     * Nunca hay más de {@code parallelism} tareas de esta llamada en el pool
+     * (por defecto, tantas como hilos), así que un login que llegue durante la
+     * carga espera como mucho un hash por hilo. Si la cola está llena se
+     * espera a la tarea más antigua en vez de fallar; solo se rechaza cuando
+     * el pool no acepta trabajo durante más de {@code max-wait-ms}.
+     * </p>
+     *
+     * @param rawPasswords Contraseñas en plano; las posiciones null se devuelven null.
+     * @param parallelism Tareas simultáneas como máximo; 0 usa el número de hilos.
+     * @return Hashes en el mismo orden.
+     * @throws RejectedException Si el pool sigue saturado tras la espera máxima.
+     */
+    public List<String> encodeAll(List<String> rawPasswords, int parallelism) {
+        int poolSize = executor.getMaximumPoolSize();
+        int window = parallelism > 0 ? Math.min(parallelism, poolSize) : poolSize;
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        Deque<Future<String>> pending = new ArrayDeque<>();
+        Deque<Integer> pendingIndexes = new ArrayDeque<>();
+        for (int i = 0; i < rawPasswords.size(); i++) {
+            hashes.add(null);
+        }
+        try {
+            for (int i = 0; i < rawPasswords.size(); i++) {
+                String raw = rawPasswords.get(i);
+                if (raw == null) {
+                    continue;
+                }
+                if (pending.size() >= window) {
+                    hashes.set(pendingIndexes.poll(), collect(pending.poll()));
+                }
+                long deadline = System.nanoTime() + maxWaitMillis * 1_000_000L;
+                while (true) {
+                    try {
+                        pending.add(executor.submit(() -> passwordEncoder.encode(raw)));
+                        pendingIndexes.add(i);
+                        break;
+                    } catch (RejectedExecutionException e) {
+                        if (!pending.isEmpty()) {
+                            hashes.set(pendingIndexes.poll(), collect(pending.poll()));
+                        } else if (System.nanoTime() > deadline) {
+                            rejectedQueueFull.increment();
+                            throw new RejectedException("Servidor ocupado procesando contraseñas. Inténtelo más tarde.", retryAfterSeconds());
+                        } else {
+                            Thread.sleep(10L);
+                        }
+                    }
+                }
+            }
+            while (!pending.isEmpty()) {
+                hashes.set(pendingIndexes.poll(), collect(pending.poll()));
+            }
+            return hashes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Operación de contraseña interrumpida", e);
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Indica si un hash se generó con un coste menor que el de este nodo. Un
+     * coste mayor no se rebaja: otro nodo con más CPU pudo calibrarlo así.
+     *
+     * @param passwordHash Hash almacenado.
+     * @return true si conviene recalcularlo.
+     */
+    public boolean needsRehash(String passwordHash) {
+        int hashCost = costOf(passwordHash);
+        return hashCost > 0 && hashCost < cost;
+    }
+
+    /**
+     * Cifra una contraseña en el pool sin esperar el resultado, para
+     * recalcular hashes fuera de la respuesta del login. Solo se encola si la
+     * cola está por debajo de la mitad, para no quitar sitio a los logins.
+     *
+     * @param rawPassword Contraseña en plano.
+     * @param onEncoded Recibe el hash en un hilo del pool.
+     * @return true si se encoló; false si se deja para otra ocasión.
+     */
+    public boolean encodeInBackground(String rawPassword, Consumer<String> onEncoded) {
+        if (executor.getQueue().size() >= executor.getQueue().remainingCapacity()) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    String hash = passwordEncoder.encode(rawPassword);
+                    completed.increment();
+                    onEncoded.accept(hash);
+                } catch (RuntimeException e) {
+                    LOG.warn("No se pudo recalcular un hash en segundo plano: {}", e.getMessage());
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Registra un hash recalculado tras un login, para las métricas.
+     */
+    public void recordRehash() {
+        rehashes.increment();
+    }
+
+    /** @return Coste BCrypt con el que se generan los hashes nuevos. */
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * Métricas del pool y del control de admisión.
+     *
+     * @return Mapa listo para serializar como JSON.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("cost", cost);
+        out.put("threads", executor.getMaximumPoolSize());
+        out.put("active", executor.getActiveCount());
+        out.put("queued", executor.getQueue().size());
+        out.put("queueCapacity", executor.getQueue().size() + executor.getQueue().remainingCapacity());
+        out.put("completed", completed.sum());
+        out.put("rejectedQueueFull", rejectedQueueFull.sum());
+        out.put("rejectedUsername", rejectedUsername.sum());
+        out.put("rejectedIp", rejectedIp.sum());
+        out.put("timeouts", timeouts.sum());
+        out.put("rehashes", rehashes.sum());
+        return out;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task, String username, String ipAddress) {
+        String userKey = username == null ? null : "u:" + username.trim().toLowerCase(Locale.ROOT);
+        String ipKey = ipAddress == null || ipAddress.isBlank() ? null : "ip:" + ipAddress.trim();
+        if (!acquire(userKey, maxPerUsername)) {
+            rejectedUsername.increment();
+            throw new RejectedException("Demasiados intentos simultáneos para este usuario. Inténtelo más tarde.", 1);
+        }
+        try {
+            if (!acquire(ipKey, maxPerIp)) {
+                rejectedIp.increment();
+                throw new RejectedException("Demasiados intentos simultáneos desde esta IP. Inténtelo más tarde.", 1);
+            }
+            try {
+                return await(task);
+            } finally {
+                release(ipKey);
+            }
+        } finally {
+            release(userKey);
+        }
+    }
+
+    private <T> T await(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedQueueFull.increment();
+            throw new RejectedException("Servidor ocupado procesando inicios de sesión. Inténtelo más tarde.", retryAfterSeconds());
+        }
+        try {
+            T result = future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+            completed.increment();
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeouts.increment();
+            throw new RejectedException("Servidor ocupado procesando inicios de sesión. Inténtelo más tarde.", retryAfterSeconds());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Operación de contraseña interrumpida", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Error procesando la contraseña", cause);
+        }
+    }
+
+    private String collect(Future<String> future) throws InterruptedException {
+        try {
+            String result = future.get();
+            completed.increment();
+            return result;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Error procesando la contraseña", cause);
+        }
+    }
+
+    private boolean acquire(String key, int limit) {
+        if (key == null) {
+            return true;
+        }
+        boolean[] admitted = {false};
+        inFlight.compute(key, (ignored, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= limit) {
+                return count;
+            }
+            admitted[0] = true;
+            return current + 1;
+        });
+        return admitted[0];
+    }
+
+    private void release(String key) {
+        if (key == null) {
+            return;
+        }
+        inFlight.computeIfPresent(key, (ignored, count) -> count <= 1 ? null : count - 1);
+    }
+
+    /**
+     * Extrae el coste de un hash con formato {@code $2a$NN$...}.
+     *
+     * @return Coste, o -1 si el hash no es BCrypt.
+     */
+    static int costOf(String passwordHash) {
+        if (passwordHash == null || passwordHash.length() < 7 || passwordHash.charAt(0) != '$' || passwordHash.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(passwordHash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static int resolveCost(int configuredCost, long targetMillis, int minCost, int maxCost) {
+        int low = Math.max(4, Math.min(minCost, maxCost));
+        int high = Math.min(31, Math.max(minCost, maxCost));
+        if (configuredCost > 0) {
+            return Math.max(4, Math.min(31, configuredCost));
+        }
+        long probeNanos = measureProbe();
+        int calibrated = calibrate(probeNanos, targetMillis, low, high);
+        LOG.info("Coste BCrypt calibrado: {} (hash de coste {} en {} µs, objetivo {} ms)",
+            calibrated, PROBE_COST, probeNanos / 1000L, targetMillis);
+        return calibrated;
+    }
+
+    /**
+     * Elige el mayor coste cuyo tiempo estimado cabe en el objetivo. Cada punto
+     * de coste dobla el trabajo de BCrypt.
+     */
+    static int calibrate(long probeNanos, long targetMillis, int minCost, int maxCost) {
+        long targetNanos = Math.max(1L, targetMillis) * 1_000_000L;
+        long estimate = Math.max(1L, probeNanos);
+        int chosen = PROBE_COST;
+        while (chosen < maxCost && estimate * 2L <= targetNanos) {
+            estimate *= 2L;
+            chosen++;
+        }
+        while (chosen > PROBE_COST && estimate > targetNanos) {
+            estimate /= 2L;
+            chosen--;
+        }
+        return Math.max(minCost, Math.min(maxCost, chosen));
+    }
+
+    private static long measureProbe() {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_COST);
+        probe.encode("calibracion");
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibracion");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /**
+     * Estimación del tiempo hasta que se vacíe la cola, redondeada hacia arriba.
+     */
+    private long retryAfterSeconds() {
+        long waitMillis = (executor.getQueue().size() + 1L) * 100L / executor.getMaximumPoolSize();
+        return Math.max(1L, (waitMillis + 999L) / 1000L);
+    }
+
+    /**
+     * Petición rechazada por saturación; los controladores la traducen a 429.
+     */
+    public static class RejectedException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public RejectedException(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        /** @return Segundos sugeridos para la cabecera Retry-After. */
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.PortfolioAmounts;
+import com.example.roadmap.domain.PortfolioRoadmapStats;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable portfolio view across all roadmaps.
+ *
+ * <p>
+ * Initiatives per axis are summed by axis name, since every roadmap has its
+ * own axes. Expediente totals count each expediente once even when it is
+ * linked from several roadmaps, so they can be lower than the sum of the
+ * per-roadmap figures.
+ * </p>
+ *
+ * @since 1.2
+ */
+public final class PortfolioSummary {
+    private final Instant generatedAt;
+    private final int roadmaps;
+    private final int iniciativas;
+    private final int compromisos;
+    private final PortfolioAmounts expedientes;
+    private final Map<String, Integer> iniciativasPorEje;
+    private final Map<String, Integer> compromisosPorMes;
+    private final List<PortfolioRoadmapStats> porRoadmap;
+
+    private PortfolioSummary(Instant generatedAt, int iniciativas, int compromisos, PortfolioAmounts expedientes,
+                             Map<String, Integer> iniciativasPorEje, Map<String, Integer> compromisosPorMes,
+                             List<PortfolioRoadmapStats> porRoadmap) {
+        this.generatedAt = generatedAt;
+        this.roadmaps = porRoadmap.size();
+        this.iniciativas = iniciativas;
+        this.compromisos = compromisos;
+        this.expedientes = expedientes;
+        this.iniciativasPorEje = iniciativasPorEje;
+        this.compromisosPorMes = compromisosPorMes;
+        this.porRoadmap = porRoadmap;
+    }
+
+    /**
+     * Sums per-roadmap figures into a portfolio view.
+     *
+     * @param stats Figures of every roadmap.
+     * @param expedientes Portfolio-wide expediente totals.
+     * @param generatedAt When the oldest figure was read.
+     * @return Summary with roadmaps ordered by title.
+     */
+    static PortfolioSummary of(Collection<PortfolioRoadmapStats> stats, PortfolioAmounts expedientes, Instant generatedAt) {
+        int iniciativas = 0;
+        int compromisos = 0;
+        Map<String, Integer> byAxis = new TreeMap<>();
+        Map<String, Integer> byMonth = new TreeMap<>();
+        for (PortfolioRoadmapStats entry : stats) {
+            iniciativas += entry.getIniciativas();
+            compromisos += entry.getCompromisos();
+            entry.getIniciativasPorEje().forEach((axis, count) -> byAxis.merge(axis, count, Integer::sum));
+            entry.getCompromisosPorMes().forEach((month, count) -> byMonth.merge(month, count, Integer::sum));
+        }
+        List<PortfolioRoadmapStats> ordered = new ArrayList<>(stats);
+        ordered.sort(Comparator.comparing((PortfolioRoadmapStats entry) -> String.valueOf(entry.getTitulo()),
+            String.CASE_INSENSITIVE_ORDER).thenComparing(PortfolioRoadmapStats::getRoadmapId));
+        return new PortfolioSummary(generatedAt, iniciativas, compromisos, expedientes,
+            byAxis, byMonth, List.copyOf(ordered));
+    }
+
+    public Instant getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public int getRoadmaps() {
+        return roadmaps;
+    }
+
+    public int getIniciativas() {
+        return iniciativas;
+    }
+
+    public int getCompromisos() {
+        return compromisos;
+    }
+
+    public PortfolioAmounts getExpedientes() {
+        return expedientes;
+    }
+
+    /** @return Initiative count per strategic axis name, alphabetical. */
+    public Map<String, Integer> getIniciativasPorEje() {
+        return iniciativasPorEje;
+    }
+
+    /** @return Commitments due per {@code yyyy-MM}, chronological. */
+    public Map<String, Integer> getCompromisosPorMes() {
+        return compromisosPorMes;
+    }
+
+    public List<PortfolioRoadmapStats> getPorRoadmap() {
+        return porRoadmap;
+    }
+}
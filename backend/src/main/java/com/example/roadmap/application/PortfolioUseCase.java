@@ -0,0 +1,154 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.PortfolioAmounts;
+import com.example.roadmap.domain.PortfolioRepository;
+import com.example.roadmap.domain.PortfolioRoadmapStats;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Portfolio aggregates across all roadmaps, cached and refreshed per roadmap.
+ *
+ * <p>
+ * The first request aggregates every roadmap with a handful of GROUP BY
+ * queries. Writes report the roadmaps they touched through
+ * {@link #roadmapChanged(String)}; the next request re-aggregates only those
+ * roadmaps, in one set of queries restricted to their ids, and sums the
+ * cached figures again in memory. The whole cache is reloaded once it is
+ * older than {@code maxAgeMillis}, which also picks up changes made outside
+ * this service.
+ * </p>
+ *
+ * @since 1.2
+ */
+public class PortfolioUseCase {
+    private final PortfolioRepository repository;
+    private final long maxAgeNanos;
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final Map<String, PortfolioRoadmapStats> stats = new HashMap<>();
+    private PortfolioAmounts amounts = PortfolioAmounts.EMPTY;
+    private PortfolioSummary summary;
+    private boolean loaded;
+    private long loadedAtNanos;
+    private Instant loadedAt;
+    private long hits;
+    private long fullLoads;
+    private long refreshes;
+    private long refreshedRoadmaps;
+
+    /**
+     * @param repository Aggregate queries.
+     * @param maxAgeMillis Age after which everything is reloaded; 0 disables the cache.
+     */
+    public PortfolioUseCase(PortfolioRepository repository, long maxAgeMillis) {
+        this.repository = repository;
+        this.maxAgeNanos = Math.max(0L, maxAgeMillis) * 1_000_000L;
+    }
+
+    /**
+     * Returns the portfolio view, re-aggregating only roadmaps changed since
+     * the previous call.
+     *
+     * @return PortfolioSummary current figures.
+     * @throws IllegalStateException When there is no database connection.
+     */
+    public synchronized PortfolioSummary getSummary() {
+        long now = System.nanoTime();
+        if (!loaded || maxAgeNanos == 0 || now - loadedAtNanos > maxAgeNanos) {
+            reload(now);
+        } else if (!dirty.isEmpty()) {
+            refreshDirty();
+        } else if (summary != null) {
+            hits++;
+            return summary;
+        }
+        summary = PortfolioSummary.of(stats.values(), amounts, loadedAt);
+        return summary;
+    }
+
+    /**
+     * Marks a roadmap as changed, e.g. after its configuration was saved, it
+     * was created or imported. Cheap; the work happens on the next read.
+     *
+     * @param roadmapId Roadmap identifier.
+     */
+    public void roadmapChanged(String roadmapId) {
+        if (roadmapId != null) {
+            dirty.add(roadmapId);
+        }
+    }
+
+    /**
+     * Returns cache counters.
+     *
+     * @return Map ready to be serialized as JSON.
+     */
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", maxAgeNanos > 0);
+        out.put("maxAgeMs", maxAgeNanos / 1_000_000L);
+        out.put("roadmaps", stats.size());
+        out.put("pendingRoadmaps", dirty.size());
+        out.put("loadedAt", loadedAt);
+        out.put("hits", hits);
+        out.put("fullLoads", fullLoads);
+        out.put("refreshes", refreshes);
+        out.put("refreshedRoadmaps", refreshedRoadmaps);
+        return out;
+    }
+
+    private void reload(long now) {
+        // Cleared first: roadmaps reported while the queries run stay dirty.
+        List<String> pending = new ArrayList<>(dirty);
+        dirty.removeAll(pending);
+        List<PortfolioRoadmapStats> all;
+        PortfolioAmounts totals;
+        try {
+            all = repository.findStats(null);
+            totals = repository.findLinkedExpedienteAmounts();
+        } catch (RuntimeException e) {
+            dirty.addAll(pending);
+            throw e;
+        }
+        stats.clear();
+        for (PortfolioRoadmapStats entry : all) {
+            stats.put(entry.getRoadmapId(), entry);
+        }
+        amounts = totals;
+        loaded = true;
+        loadedAtNanos = now;
+        loadedAt = Instant.now();
+        fullLoads++;
+    }
+
+    private void refreshDirty() {
+        List<String> ids = new ArrayList<>(dirty);
+        dirty.removeAll(ids);
+        List<PortfolioRoadmapStats> changed;
+        PortfolioAmounts totals;
+        try {
+            changed = repository.findStats(ids);
+            totals = repository.findLinkedExpedienteAmounts();
+        } catch (RuntimeException e) {
+            dirty.addAll(ids);
+            throw e;
+        }
+        // Ids missing from the result were deleted.
+        for (String id : ids) {
+            stats.remove(id);
+        }
+        for (PortfolioRoadmapStats entry : changed) {
+            stats.put(entry.getRoadmapId(), entry);
+        }
+        amounts = totals;
+        refreshes++;
+        refreshedRoadmaps += ids.size();
+    }
+}
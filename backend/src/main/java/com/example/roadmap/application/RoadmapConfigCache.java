@@ -0,0 +1,162 @@
+package com.example.roadmap.application;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Weight-bounded LRU cache of serialised roadmap configurations.
+ *
+ * <p>
+ * Entries are keyed by roadmap id and remember the {@code updated_at} they were
+ * read at. Within the revalidation window an entry is served without any
+ * database access; after it, callers compare the stored version with a single
+ * primary-key lookup. Local writes invalidate entries directly, and an
+ * invalidation epoch keeps a load that raced with a write from being cached.
+ * </p>
+ *
+ * @since 1.2
+ */
+public class RoadmapConfigCache {
+    private final long maxWeightBytes;
+    private final long revalidateMillis;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long epoch;
+    private long hits;
+    private long revalidations;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public RoadmapConfigCache(long maxWeightBytes, long revalidateMillis) {
+        this(maxWeightBytes, revalidateMillis, System::currentTimeMillis);
+    }
+
+    RoadmapConfigCache(long maxWeightBytes, long revalidateMillis, LongSupplier clock) {
+        this.maxWeightBytes = Math.max(0L, maxWeightBytes);
+        this.revalidateMillis = Math.max(0L, revalidateMillis);
+        this.clock = clock;
+    }
+
+    /** @return true when the cache can hold entries. */
+    public boolean isEnabled() {
+        return maxWeightBytes > 0L;
+    }
+
+    /**
+     * Returns an entry that is still inside its revalidation window.
+     *
+     * @param roadmapId Roadmap identifier.
+     * @return Snapshot, or null when absent or due for revalidation.
+     */
+    public synchronized RoadmapConfigSnapshot getFresh(String roadmapId) {
+        Entry entry = entries.get(roadmapId);
+        if (entry == null || clock.getAsLong() - entry.validatedAtMillis >= revalidateMillis) {
+            return null;
+        }
+        hits++;
+        return entry.snapshot;
+    }
+
+    /**
+     * Returns an entry when it matches the current database version and
+     * restarts its revalidation window.
+     *
+     * @param roadmapId Roadmap identifier.
+     * @param updatedAt Current {@code roadmaps.updated_at}.
+     * @return Snapshot, or null on miss or version mismatch.
+     */
+    public synchronized RoadmapConfigSnapshot getIfVersion(String roadmapId, Instant updatedAt) {
+        Entry entry = entries.get(roadmapId);
+        if (entry == null || !Objects.equals(entry.snapshot.getUpdatedAt(), updatedAt)) {
+            misses++;
+            return null;
+        }
+        entry.validatedAtMillis = clock.getAsLong();
+        revalidations++;
+        return entry.snapshot;
+    }
+
+    /**
+     * Current invalidation epoch, read before loading a value to cache.
+     *
+     * @return Epoch value.
+     */
+    public synchronized long currentEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Stores a snapshot unless an invalidation happened since {@code epochAtStart}
+     * or the snapshot alone exceeds the maximum weight.
+     *
+     * @param roadmapId Roadmap identifier.
+     * @param snapshot Loaded snapshot.
+     * @param epochAtStart Epoch read before loading.
+     */
+    public synchronized void put(String roadmapId, RoadmapConfigSnapshot snapshot, long epochAtStart) {
+        if (epoch != epochAtStart || snapshot.weight() > maxWeightBytes) {
+            return;
+        }
+        Entry previous = entries.put(roadmapId, new Entry(snapshot, clock.getAsLong()));
+        if (previous != null) {
+            weight -= previous.snapshot.weight();
+        }
+        weight += snapshot.weight();
+        Iterator<Entry> it = entries.values().iterator();
+        while (weight > maxWeightBytes && it.hasNext()) {
+            Entry eldest = it.next();
+            it.remove();
+            weight -= eldest.snapshot.weight();
+            evictions++;
+        }
+    }
+
+    /**
+     * Drops the entry of one roadmap, e.g. after saving its configuration.
+     *
+     * @param roadmapId Roadmap identifier.
+     */
+    public synchronized void invalidate(String roadmapId) {
+        epoch++;
+        Entry removed = entries.remove(roadmapId);
+        if (removed != null) {
+            weight -= removed.snapshot.weight();
+            invalidations++;
+        }
+    }
+
+    /**
+     * Returns hit/miss counters and current weight.
+     *
+     * @return Map ready to be serialized as JSON.
+     */
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("entries", entries.size());
+        out.put("weightBytes", weight);
+        out.put("maxWeightBytes", maxWeightBytes);
+        out.put("revalidateMs", revalidateMillis);
+        out.put("hits", hits);
+        out.put("revalidatedHits", revalidations);
+        out.put("misses", misses);
+        out.put("evictions", evictions);
+        out.put("invalidations", invalidations);
+        return out;
+    }
+
+    private static final class Entry {
+        private final RoadmapConfigSnapshot snapshot;
+        private long validatedAtMillis;
+
+        private Entry(RoadmapConfigSnapshot snapshot, long validatedAtMillis) {
+            this.snapshot = snapshot;
+            this.validatedAtMillis = validatedAtMillis;
+        }
+    }
+}
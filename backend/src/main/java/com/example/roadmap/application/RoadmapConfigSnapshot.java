@@ -0,0 +1,43 @@
+package com.example.roadmap.application;
+
+import java.time.Instant;
+
+/**
+ * Immutable serialised view of one roadmap configuration.
+ *
+ * Holds the JSON body exactly as it is sent to clients, the roadmap
+ * {@code updated_at} it was read at and a SHA-256 hash of the body.
+ *
+ * @since 1.2
+ */
+public final class RoadmapConfigSnapshot {
+    private final byte[] json;
+    private final Instant updatedAt;
+    private final String contentHash;
+
+    RoadmapConfigSnapshot(byte[] json, Instant updatedAt, String contentHash) {
+        this.json = json;
+        this.updatedAt = updatedAt;
+        this.contentHash = contentHash;
+    }
+
+    /** @return Serialised configuration. Callers must not modify the array. */
+    public byte[] getJson() {
+        return json;
+    }
+
+    /** @return Roadmap last update time, or null when unknown. */
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /** @return Lowercase hex SHA-256 of {@link #getJson()}. */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /** @return Approximate heap cost in bytes, used as cache weight. */
+    long weight() {
+        return json.length + contentHash.length() * 2L + 64L;
+    }
+}
@@ -1,25 +1,72 @@
 package com.example.roadmap.application;
 
+import com.example.roadmap.domain.ExpedienteCatalogRepository;
+import com.example.roadmap.domain.Initiative;
+import com.example.roadmap.domain.InitiativeImpact;
 import com.example.roadmap.domain.Roadmap;
 import com.example.roadmap.domain.RoadmapConfig;
 import com.example.roadmap.domain.RoadmapConfigRepository;
 import com.example.roadmap.domain.RoadmapHorizon;
 import com.example.roadmap.domain.RoadmapRepository;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Application service for roadmap configuration read/write operations.
  *
+ * <p>
+ * When built with a {@link RoadmapConfigCache}, assembled configurations are
+ * kept serialised and keyed by roadmap id and {@code updated_at}; saves
+ * through this service invalidate the cached entry, and those of the
+ * roadmaps sharing a changed expediente.
+ * </p>
+ *
  * @since 1.0
  */
 public class RoadmapConfigUseCase {
+    /** Longest dependency chain followed by {@link #getDependencyClosure}. */
+    public static final int MAX_DEPENDENCY_DEPTH = 50;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
     private final RoadmapRepository roadmapRepository;
     private final RoadmapConfigRepository configRepository;
+    private final ExpedienteCatalogRepository catalogRepository;
+    private final RoadmapConfigCache cache;
 
     public RoadmapConfigUseCase(RoadmapRepository roadmapRepository, RoadmapConfigRepository configRepository) {
+        this(roadmapRepository, configRepository, null, null);
+    }
+
+    public RoadmapConfigUseCase(
+        RoadmapRepository roadmapRepository,
+        RoadmapConfigRepository configRepository,
+        ExpedienteCatalogRepository catalogRepository
+    ) {
+        this(roadmapRepository, configRepository, catalogRepository, null);
+    }
+
+    public RoadmapConfigUseCase(
+        RoadmapRepository roadmapRepository,
+        RoadmapConfigRepository configRepository,
+        ExpedienteCatalogRepository catalogRepository,
+        RoadmapConfigCache cache
+    ) {
         this.roadmapRepository = roadmapRepository;
         this.configRepository = configRepository;
+        this.catalogRepository = catalogRepository;
+        this.cache = (cache != null && cache.isEnabled()) ? cache : null;
     }
 
     /**
@@ -29,11 +76,112 @@ public class RoadmapConfigUseCase {
      * @return Optional<RoadmapConfig> existing or default config when roadmap exists.
      */
     public Optional<RoadmapConfig> getByRoadmapId(String roadmapId) {
-        Optional<RoadmapConfig> existing = configRepository.findByRoadmapId(roadmapId);
-        if (existing.isPresent()) {
-            return existing;
+        if (cache == null) {
+            return load(roadmapId);
         }
-        return roadmapRepository.findById(roadmapId).map(this::buildDefaultConfig);
+        return getSnapshot(roadmapId).map(this::readSnapshot);
+    }
+
+    /**
+     * Returns roadmap configuration, optionally embedding the full global
+     * expedientes catalog for clients that still expect it inline.
+     *
+     * @param roadmapId Roadmap identifier.
+     * @param includeCatalog Whether to fill {@code expedientes_catalogo} with the whole catalog.
+     * @return Optional<RoadmapConfig> existing or default config when roadmap exists.
+     */
+    public Optional<RoadmapConfig> getByRoadmapId(String roadmapId, boolean includeCatalog) {
+        Optional<RoadmapConfig> config = getByRoadmapId(roadmapId);
+        if (includeCatalog && catalogRepository != null) {
+            config.ifPresent(value -> value.setExpedientes_catalogo(catalogRepository.findAll()));
+        }
+        return config;
+    }
+
+    /**
+     * Returns the serialised configuration of a roadmap, from cache when the
+     * cached version is still current.
+     *
+     * @param roadmapId Roadmap identifier.
+     * @return Optional<RoadmapConfigSnapshot> serialised config when the roadmap exists.
+     */
+    public Optional<RoadmapConfigSnapshot> getSnapshot(String roadmapId) {
+        if (cache != null) {
+            RoadmapConfigSnapshot fresh = cache.getFresh(roadmapId);
+            if (fresh != null) {
+                return Optional.of(fresh);
+            }
+        }
+
+        long epoch = cache == null ? 0L : cache.currentEpoch();
+        Optional<Instant> updatedAt = configRepository.findUpdatedAt(roadmapId);
+        if (cache != null && updatedAt.isPresent()) {
+            RoadmapConfigSnapshot current = cache.getIfVersion(roadmapId, updatedAt.get());
+            if (current != null) {
+                return Optional.of(current);
+            }
+        }
+
+        Optional<RoadmapConfigSnapshot> loaded = load(roadmapId)
+            .map(config -> toSnapshot(config, updatedAt.orElse(null)));
+        if (cache != null && updatedAt.isPresent()) {
+            loaded.ifPresent(snapshot -> cache.put(roadmapId, snapshot, epoch));
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the initiatives of a roadmap active in a date window. The filter
+     * runs in SQL; the cached full configuration is not involved. Initiatives
+     * without a readable start date are not included.
+     *
+     * @param roadmapId Roadmap identifier.
+     * @param from First day of the window, or null.
+     * @param to Last day of the window, or null.
+     * @return Optional<List<Initiative>> matching initiatives when the roadmap exists.
+     * @throws IllegalArgumentException When {@code from} is after {@code to}.
+     */
+    public Optional<List<Initiative>> getInitiativesInWindow(String roadmapId, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("La fecha inicial es posterior a la final.");
+        }
+        if (roadmapRepository.findById(roadmapId).isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(configRepository.findInitiativesInWindow(roadmapId, from, to));
+    }
+
+    /**
+     * Counts the initiatives that {@link #getInitiativesInWindow} leaves out
+     * because their start date is empty or could not be read.
+     *
+     * @param roadmapId Roadmap identifier.
+     * @return int initiatives without a typed start date.
+     */
+    public int countUndatedInitiatives(String roadmapId) {
+        return configRepository.countInitiativesWithoutStartDate(roadmapId);
+    }
+
+    /**
+     * Returns the initiatives reached from one initiative through dependency
+     * links. The walk runs in the database; initiatives are not loaded.
+     *
+     * @param roadmapId Roadmap identifier.
+     * @param initiativeId Starting initiative.
+     * @param dependents true for initiatives affected when this one slips,
+     *                   false for the initiatives it waits for.
+     * @param maxDepth Maximum chain length, 1 to {@link #MAX_DEPENDENCY_DEPTH}.
+     * @return Optional<List<InitiativeImpact>> reached initiatives when the roadmap exists.
+     * @throws IllegalArgumentException When {@code maxDepth} is out of range.
+     */
+    public Optional<List<InitiativeImpact>> getDependencyClosure(String roadmapId, String initiativeId, boolean dependents, int maxDepth) {
+        if (maxDepth < 1 || maxDepth > MAX_DEPENDENCY_DEPTH) {
+            throw new IllegalArgumentException("La profundidad debe estar entre 1 y " + MAX_DEPENDENCY_DEPTH + ".");
+        }
+        if (roadmapRepository.findById(roadmapId).isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(configRepository.findDependencyClosure(roadmapId, initiativeId, dependents, maxDepth));
     }
 
     /**
@@ -41,9 +189,57 @@ public class RoadmapConfigUseCase {
      *
      * @param roadmapId Roadmap identifier.
      * @param config Configuration payload.
+     * @return Set<String> other roadmaps whose configuration changed through shared expedientes.
      */
-    public void saveForRoadmap(String roadmapId, RoadmapConfig config) {
-        configRepository.saveForRoadmap(roadmapId, config);
+    public Set<String> saveForRoadmap(String roadmapId, RoadmapConfig config) {
+        Set<String> linkedRoadmaps = Set.of();
+        try {
+            linkedRoadmaps = configRepository.saveForRoadmap(roadmapId, config);
+            return linkedRoadmaps;
+        } finally {
+            if (cache != null) {
+                cache.invalidate(roadmapId);
+                linkedRoadmaps.forEach(cache::invalidate);
+            }
+        }
+    }
+
+    /**
+     * Returns configuration cache counters, or an empty map when caching is off.
+     *
+     * @return Map ready to be serialized as JSON.
+     */
+    public Map<String, Object> getCacheStats() {
+        return cache == null ? Map.of("enabled", false) : cache.stats();
+    }
+
+    private Optional<RoadmapConfig> load(String roadmapId) {
+        Optional<RoadmapConfig> existing = configRepository.findByRoadmapId(roadmapId);
+        if (existing.isPresent()) {
+            return existing;
+        }
+        return roadmapRepository.findById(roadmapId).map(this::buildDefaultConfig);
+    }
+
+    private RoadmapConfigSnapshot toSnapshot(RoadmapConfig config, Instant updatedAt) {
+        try {
+            byte[] json = OBJECT_MAPPER.writeValueAsBytes(config);
+            return new RoadmapConfigSnapshot(json, updatedAt, sha256(json));
+        } catch (Exception e) {
+            throw new RuntimeException("No se pudo serializar la configuración del roadmap", e);
+        }
+    }
+
+    RoadmapConfig readSnapshot(RoadmapConfigSnapshot snapshot) {
+        try {
+            return OBJECT_MAPPER.readValue(snapshot.getJson(), RoadmapConfig.class);
+        } catch (Exception e) {
+            throw new RuntimeException("No se pudo leer la configuración cacheada", e);
+        }
+    }
+
+    private static String sha256(byte[] data) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
     }
 
     private RoadmapConfig buildDefaultConfig(Roadmap roadmap) {
@@ -0,0 +1,171 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.Initiative;
+import com.example.roadmap.domain.Roadmap;
+import com.example.roadmap.domain.RoadmapCommitment;
+import com.example.roadmap.domain.RoadmapConfig;
+import com.example.roadmap.domain.RoadmapExportRepository;
+import com.example.roadmap.domain.RoadmapExportSink;
+import com.example.roadmap.domain.StrategicAxis;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Application service writing one roadmap as import-compatible JSON.
+ *
+ * <p>
+ * Rows are written to the output as the repository reads them, so memory use
+ * does not depend on roadmap size. The document has the shape accepted by
+ * {@code POST /api/roadmaps/import}: header fields, then
+ * {@code ejes_estrategicos}, {@code iniciativas} and {@code compromisos}.
+ * </p>
+ *
+ * <p>
+ * HTTP downloads go through {@link #exportToFile}: the database read, which
+ * holds a pooled connection and a read transaction, writes to a local
+ * temporary file at disk speed and ends before the response starts, so a
+ * slow client only holds a file. At most {@code maxConcurrent} database
+ * reads run at once.
+ * </p>
+ *
+ * @since 1.2
+ */
+public class RoadmapExportUseCase {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final RoadmapExportRepository repository;
+    private final Semaphore reads;
+
+    public RoadmapExportUseCase(RoadmapExportRepository repository) {
+        this(repository, 4);
+    }
+
+    /**
+     * @param repository Streaming roadmap reader.
+     * @param maxConcurrent Database reads of {@link #exportToFile} running at the same time.
+     */
+    public RoadmapExportUseCase(RoadmapExportRepository repository, int maxConcurrent) {
+        this.repository = repository;
+        this.reads = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    /**
+     * Writes a roadmap to a new temporary file, gzip-compressed when asked.
+     * The caller streams the file to the client and deletes it.
+     *
+     * @param roadmapId Roadmap identifier.
+     * @param gzip Whether to compress the file.
+     * @return Optional<Path> file, empty when the roadmap does not exist.
+     * @throws IllegalStateException When {@code maxConcurrent} exports are already reading.
+     * @throws IOException When the temporary file cannot be written.
+     */
+    public Optional<Path> exportToFile(String roadmapId, boolean gzip) throws IOException {
+        if (!reads.tryAcquire()) {
+            throw new IllegalStateException("Hay demasiadas exportaciones en curso. Inténtelo más tarde.");
+        }
+        Path file = null;
+        boolean exported = false;
+        try {
+            file = Files.createTempFile("roadmap-export-", gzip ? ".json.gz" : ".json");
+            try (OutputStream fileOut = Files.newOutputStream(file);
+                 OutputStream out = gzip ? new GZIPOutputStream(fileOut, 64 * 1024) : fileOut) {
+                exported = export(roadmapId, out);
+            }
+            return exported ? Optional.of(file) : Optional.empty();
+        } finally {
+            reads.release();
+            if (!exported && file != null) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Writes a roadmap to {@code out}. The stream is flushed but not closed.
+     *
+     * @param roadmapId Roadmap identifier.
+     * @param out Destination stream.
+     * @return false when the roadmap does not exist; nothing is written then.
+     * @throws IOException When the destination fails.
+     */
+    public boolean export(String roadmapId, OutputStream out) throws IOException {
+        try (JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            return repository.exportRoadmap(roadmapId, new JsonExportSink(generator));
+        }
+    }
+
+    /**
+     * Opens each list when its first row arrives and closes the previous one,
+     * so every list is present even when empty.
+     */
+    private static final class JsonExportSink implements RoadmapExportSink {
+        private static final String[] SECTIONS = {null, "ejes_estrategicos", "iniciativas", "compromisos"};
+
+        private final JsonGenerator generator;
+        private int section;
+
+        private JsonExportSink(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void begin(Roadmap roadmap, RoadmapConfig header) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("id", roadmap.getId());
+            generator.writeStringField("title", roadmap.getTitle());
+            generator.writeStringField("description", roadmap.getDescription());
+            generator.writeStringField("createdAt", roadmap.getCreatedAt() == null ? null : roadmap.getCreatedAt().toString());
+            generator.writeStringField("producto", header.getProducto());
+            generator.writeStringField("organizacion", header.getOrganizacion());
+            generator.writeObjectField("horizonte_base", header.getHorizonte_base());
+            enter(1);
+        }
+
+        @Override
+        public void axis(StrategicAxis axis) throws IOException {
+            enter(1);
+            generator.writeObject(axis);
+        }
+
+        @Override
+        public void initiative(Initiative initiative) throws IOException {
+            enter(2);
+            generator.writeObject(initiative);
+        }
+
+        @Override
+        public void commitment(RoadmapCommitment commitment) throws IOException {
+            enter(3);
+            generator.writeObject(commitment);
+        }
+
+        @Override
+        public void end() throws IOException {
+            enter(SECTIONS.length);
+            generator.writeEndObject();
+            generator.flush();
+        }
+
+        private void enter(int target) throws IOException {
+            while (section < target) {
+                if (section > 0) {
+                    generator.writeEndArray();
+                }
+                section++;
+                if (section < SECTIONS.length) {
+                    generator.writeArrayFieldStart(SECTIONS[section]);
+                }
+            }
+        }
+    }
+}
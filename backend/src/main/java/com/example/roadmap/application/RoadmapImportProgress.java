@@ -0,0 +1,125 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.Roadmap;
+
+import java.time.Instant;
+
+/**
+ * Progress of one roadmap import, readable while the import runs.
+ *
+ * Written by the importing thread only; getters may be called from any thread.
+ *
+ * @since 1.2
+ */
+public class RoadmapImportProgress {
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final long totalBytes;
+    private final Instant startedAt = Instant.now();
+    private volatile State state = State.RUNNING;
+    private volatile long bytesRead;
+    private volatile long axes;
+    private volatile long initiatives;
+    private volatile long expedientes;
+    private volatile long commitments;
+    private volatile Roadmap roadmap;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    RoadmapImportProgress(String id, long totalBytes) {
+        this.id = id;
+        this.totalBytes = totalBytes;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /** @return Share of the payload already imported, 0-100. */
+    public int getPercent() {
+        if (state == State.COMPLETED) {
+            return 100;
+        }
+        return totalBytes <= 0 ? 0 : (int) Math.min(99L, bytesRead * 100L / totalBytes);
+    }
+
+    public long getAxes() {
+        return axes;
+    }
+
+    public long getInitiatives() {
+        return initiatives;
+    }
+
+    public long getExpedientes() {
+        return expedientes;
+    }
+
+    public long getCommitments() {
+        return commitments;
+    }
+
+    /** @return Created roadmap once the import is committed, otherwise null. */
+    public Roadmap getRoadmap() {
+        return roadmap;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    boolean isFinished() {
+        return state != State.RUNNING;
+    }
+
+    void bytesRead(long value) {
+        this.bytesRead = value;
+    }
+
+    void addAxes(long count) {
+        this.axes += count;
+    }
+
+    void addInitiatives(long count, long distinctExpedientes) {
+        this.initiatives += count;
+        this.expedientes += distinctExpedientes;
+    }
+
+    void addCommitments(long count) {
+        this.commitments += count;
+    }
+
+    void completed(Roadmap created) {
+        this.roadmap = created;
+        this.bytesRead = totalBytes;
+        this.finishedAt = Instant.now();
+        this.state = State.COMPLETED;
+    }
+
+    void failed(String message) {
+        this.error = message;
+        this.finishedAt = Instant.now();
+        this.state = State.FAILED;
+    }
+}
@@ -0,0 +1,386 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.Initiative;
+import com.example.roadmap.domain.Roadmap;
+import com.example.roadmap.domain.RoadmapCommitment;
+import com.example.roadmap.domain.RoadmapConfig;
+import com.example.roadmap.domain.RoadmapHorizon;
+import com.example.roadmap.domain.RoadmapImportRepository;
+import com.example.roadmap.domain.RoadmapImportSession;
+import com.example.roadmap.domain.StrategicAxis;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Application service importing full roadmap JSON payloads.
+ *
+ * <p>
+ * The request body is spooled to a temporary file and read twice with a
+ * Jackson streaming parser: the first pass keeps only the header fields and
+ * the strategic axes, the second one hands initiatives and commitments to the
+ * repository in batches of {@code batchSize}. Only one batch is held in memory
+ * at a time, whatever the payload size or field order, and the whole import
+ * is written in a single transaction that also creates the roadmap row.
+ * </p>
+ *
+ * @since 1.2
+ */
+public class RoadmapImportUseCase {
+    private static final Logger LOG = LoggerFactory.getLogger(RoadmapImportUseCase.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final int MAX_TRACKED_IMPORTS = 100;
+    /** Default upper bound of a spooled payload. */
+    public static final long DEFAULT_MAX_BYTES = 200L * 1024 * 1024;
+    private static final String TOO_MANY = "Hay demasiadas importaciones en curso. Inténtelo más tarde.";
+
+    private final RoadmapImportRepository repository;
+    private final int batchSize;
+    private final long maxBytes;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore running;
+    private final Consumer<Roadmap> onImported;
+    private final Map<String, RoadmapImportProgress> imports = new LinkedHashMap<>();
+
+    /**
+     * @param repository Transactional import writer.
+     * @param batchSize Initiatives or commitments per batch.
+     * @param maxConcurrent Background imports running at the same time.
+     */
+    public RoadmapImportUseCase(RoadmapImportRepository repository, int batchSize, int maxConcurrent) {
+        this(repository, batchSize, maxConcurrent, DEFAULT_MAX_BYTES, roadmap -> { });
+    }
+
+    /**
+     * @param repository Transactional import writer.
+     * @param batchSize Initiatives or commitments per batch.
+     * @param maxConcurrent Imports running at the same time, blocking and
+     *                      background ones together.
+     * @param maxBytes Largest payload accepted; bigger bodies are rejected while spooling.
+     * @param onImported Called with each roadmap once its import is committed.
+     */
+    public RoadmapImportUseCase(RoadmapImportRepository repository, int batchSize, int maxConcurrent,
+                                long maxBytes, Consumer<Roadmap> onImported) {
+        this.repository = repository;
+        this.onImported = onImported;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBytes = maxBytes > 0 ? maxBytes : DEFAULT_MAX_BYTES;
+        int threads = Math.max(1, maxConcurrent);
+        this.running = new Semaphore(threads);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(threads * 4), runnable -> {
+                Thread thread = new Thread(runnable, "roadmap-import-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Imports a payload in the calling thread. Takes one of the
+     * {@code maxConcurrent} slots shared with background imports, so
+     * blocking imports cannot hold more connections and transactions than
+     * that either.
+     *
+     * @param body JSON payload.
+     * @return Completed progress holding the created roadmap.
+     * @throws IllegalArgumentException When the payload is malformed, too large or lacks a title.
+     * @throws IllegalStateException When every import slot is busy.
+     */
+    public RoadmapImportProgress importNow(InputStream body) {
+        if (!running.tryAcquire()) {
+            throw new IllegalStateException(TOO_MANY);
+        }
+        try {
+            Path file = spool(body);
+            RoadmapImportProgress progress = register(file);
+            run(progress, file);
+            return progress;
+        } finally {
+            running.release();
+        }
+    }
+
+    /**
+     * Spools a payload and imports it in the background.
+     *
+     * @param body JSON payload.
+     * @return Running progress; poll it with {@link #getProgress(String)}.
+     * @throws IllegalArgumentException When the payload is too large.
+     * @throws IllegalStateException When too many imports are queued.
+     */
+    public RoadmapImportProgress submit(InputStream body) {
+        Path file = spool(body);
+        RoadmapImportProgress progress = register(file);
+        try {
+            executor.execute(() -> {
+                // Waits while blocking imports hold the slots.
+                running.acquireUninterruptibly();
+                try {
+                    run(progress, file);
+                } catch (RuntimeException e) {
+                    // Already recorded in progress.
+                } finally {
+                    running.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            progress.failed("Hay demasiadas importaciones en curso.");
+            deleteQuietly(file);
+            throw new IllegalStateException(TOO_MANY, e);
+        }
+        return progress;
+    }
+
+    /**
+     * Returns the progress of a recent import.
+     *
+     * @param importId Identifier returned by {@link #submit(InputStream)}.
+     * @return Progress when still tracked.
+     */
+    public Optional<RoadmapImportProgress> getProgress(String importId) {
+        synchronized (imports) {
+            return Optional.ofNullable(imports.get(importId));
+        }
+    }
+
+    private void run(RoadmapImportProgress progress, Path file) {
+        try {
+            Header header = readHeader(file);
+            Roadmap roadmap = new Roadmap(header.title(), header.description == null ? "" : header.description.trim());
+            try (RoadmapImportSession session = repository.openImport(roadmap, header.toConfig())) {
+                session.writeAxes(header.axes);
+                progress.addAxes(header.axes.size());
+                readBody(file, session, progress);
+                session.commit();
+            }
+            progress.completed(roadmap);
+            onImported.accept(roadmap);
+            LOG.info("Roadmap importado [{}]: ejes {}, iniciativas {}, expedientes {}, compromisos {}",
+                roadmap.getId(), progress.getAxes(), progress.getInitiatives(), progress.getExpedientes(), progress.getCommitments());
+        } catch (RuntimeException e) {
+            progress.failed(e.getMessage());
+            throw e;
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    private Header readHeader(Path file) {
+        Header header = new Header();
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(file.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("El JSON de importación debe ser un objeto.");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "title" -> header.title = readText(parser);
+                    case "description" -> header.description = readText(parser);
+                    case "producto" -> header.producto = readText(parser);
+                    case "organizacion" -> header.organizacion = readText(parser);
+                    case "horizonte_base" -> header.horizonte = OBJECT_MAPPER.readValue(parser, RoadmapHorizon.class);
+                    case "ejes_estrategicos" -> readArray(parser, StrategicAxis.class, header.axes::addAll, Integer.MAX_VALUE);
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON de importación inválido: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new RuntimeException("No se pudo leer el fichero de importación", e);
+        }
+        if (header.title().isBlank()) {
+            throw new IllegalArgumentException("El título o producto es obligatorio.");
+        }
+        return header;
+    }
+
+    private void readBody(Path file, RoadmapImportSession session, RoadmapImportProgress progress) {
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(file.toFile())) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("iniciativas".equals(field)) {
+                    int[] position = {0};
+                    readArray(parser, Initiative.class, batch -> {
+                        int expedientes = session.writeInitiatives(batch, position[0]);
+                        position[0] += batch.size();
+                        progress.addInitiatives(batch.size(), expedientes);
+                        progress.bytesRead(parser.getCurrentLocation().getByteOffset());
+                    }, batchSize);
+                } else if ("compromisos".equals(field)) {
+                    int[] position = {0};
+                    readArray(parser, RoadmapCommitment.class, batch -> {
+                        session.writeCommitments(batch, position[0]);
+                        position[0] += batch.size();
+                        progress.addCommitments(batch.size());
+                        progress.bytesRead(parser.getCurrentLocation().getByteOffset());
+                    }, batchSize);
+                } else {
+                    parser.skipChildren();
+                }
+                progress.bytesRead(parser.getCurrentLocation().getByteOffset());
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON de importación inválido: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new RuntimeException("No se pudo leer el fichero de importación", e);
+        }
+    }
+
+    /**
+     * Binds array elements one by one and hands them over in batches.
+     * A JSON null is treated as an empty array.
+     */
+    private <T> void readArray(JsonParser parser, Class<T> type, Consumer<List<T>> sink, int limit) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Se esperaba una lista en '" + parser.getCurrentName() + "'.");
+        }
+        List<T> batch = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            batch.add(OBJECT_MAPPER.readValue(parser, type));
+            if (batch.size() >= limit) {
+                sink.accept(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            sink.accept(batch);
+        }
+    }
+
+    private String readText(JsonParser parser) throws IOException {
+        if (parser.currentToken().isScalarValue()) {
+            return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * Copies the body to a temporary file, stopping as soon as it exceeds
+     * {@code maxBytes}. The file is deleted on any failure.
+     */
+    private Path spool(InputStream body) {
+        Path file = null;
+        boolean spooled = false;
+        try {
+            file = Files.createTempFile("roadmap-import-", ".json");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                byte[] buffer = new byte[64 * 1024];
+                long total = 0;
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    total += read;
+                    if (total > maxBytes) {
+                        throw new IllegalArgumentException("El fichero de importación supera el tamaño máximo de "
+                            + (maxBytes / (1024 * 1024)) + " MB.");
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            spooled = true;
+            return file;
+        } catch (IOException e) {
+            throw new RuntimeException("No se pudo recibir el fichero de importación", e);
+        } finally {
+            if (!spooled) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    /**
+     * Tracks a new import. Deletes the spooled file when it cannot be tracked.
+     */
+    private RoadmapImportProgress register(Path file) {
+        long size;
+        try {
+            size = Files.size(file);
+        } catch (IOException e) {
+            size = -1L;
+        }
+        RoadmapImportProgress progress = new RoadmapImportProgress(UUID.randomUUID().toString(), size);
+        synchronized (imports) {
+            Iterator<RoadmapImportProgress> oldest = imports.values().iterator();
+            while (imports.size() >= MAX_TRACKED_IMPORTS && oldest.hasNext()) {
+                if (oldest.next().isFinished()) {
+                    oldest.remove();
+                }
+            }
+            if (imports.size() >= MAX_TRACKED_IMPORTS) {
+                deleteQuietly(file);
+                throw new IllegalStateException(TOO_MANY);
+            }
+            imports.put(progress.getId(), progress);
+        }
+        return progress;
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("No se pudo borrar el fichero temporal de importación {}", file);
+        }
+    }
+
+    private static final class Header {
+        private String title;
+        private String description;
+        private String producto;
+        private String organizacion;
+        private RoadmapHorizon horizonte;
+        private final List<StrategicAxis> axes = new ArrayList<>();
+
+        private String title() {
+            String value = title == null ? "" : title.trim();
+            if (value.isBlank()) {
+                value = producto == null ? "" : producto.trim();
+            }
+            return value;
+        }
+
+        private RoadmapConfig toConfig() {
+            RoadmapConfig config = new RoadmapConfig();
+            config.setProducto(producto == null || producto.isBlank() ? title() : producto);
+            config.setOrganizacion(organizacion == null ? "" : organizacion);
+            config.setHorizonte_base(horizonte == null ? new RoadmapHorizon("", "") : horizonte);
+            return config;
+        }
+    }
+}
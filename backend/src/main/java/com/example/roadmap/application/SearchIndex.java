@@ -0,0 +1,573 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.SearchDocument;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over {@link SearchDocument}s.
+ *
+ * <p>
+ * Text is folded to lowercase without accents (so {@code "Gestión"} and
+ * {@code "gestion"} are the same term) and split on anything that is not a
+ * letter or digit; Spanish stop words and one-letter tokens are dropped.
+ * Each term keeps a posting list of document slots and weighted frequencies,
+ * with title occurrences counting {@value #TITLE_WEIGHT} times.
+ * </p>
+ *
+ * <p>
+ * A query matches documents containing every query term; the last term also
+ * matches as a prefix (up to {@value #MAX_PREFIX_TERMS} expansions) unless
+ * the query ends with a blank. Matches are ranked with BM25, rarest term
+ * first, touching only the posting lists of the query terms; scores are kept
+ * only for documents of the rarest term, so a query allocates in proportion
+ * to its matches, not to the index size.
+ * </p>
+ *
+ * <p>
+ * Updates replace documents in place: the old slot is tombstoned and skipped
+ * by queries, and posting lists are compacted once tombstones exceed a
+ * quarter of the live documents. Reads share a read lock; writes are
+ * exclusive.
+ * </p>
+ *
+ * @since 1.2
+ */
+public class SearchIndex {
+    static final int TITLE_WEIGHT = 3;
+    static final int MAX_PREFIX_TERMS = 64;
+    static final int MAX_QUERY_TERMS = 16;
+    private static final int MAX_TOKEN_LENGTH = 40;
+    private static final int MIN_COMPACTION = 1024;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final Set<String> STOP_WORDS = Set.of(
+        "al", "como", "con", "de", "del", "el", "en", "entre", "es", "la", "las", "lo", "los", "mas",
+        "no", "para", "pero", "por", "que", "se", "sin", "sobre", "su", "sus", "un", "una", "unas", "unos"
+    );
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<String, Integer> slotByKey = new HashMap<>();
+    private final Map<String, Set<Integer>> slotsByRoadmap = new HashMap<>();
+    private SearchDocument[] docs = new SearchDocument[1024];
+    private int[] lengths = new int[1024];
+    private int slots;
+    private int live;
+    private int dead;
+    private long totalLength;
+
+    /**
+     * Adds a document, replacing any document with the same type and id.
+     *
+     * @param document Document to index.
+     */
+    public void put(SearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            putLocked(document);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the initiatives and commitments of a roadmap and upserts the
+     * given documents in one step. The roadmap document itself and
+     * expedientes are only replaced when present in {@code documents}.
+     *
+     * @param roadmapId Roadmap identifier.
+     * @param documents New documents of the roadmap.
+     */
+    public void replaceRoadmap(String roadmapId, Collection<SearchDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            Set<Integer> owned = slotsByRoadmap.get(roadmapId);
+            if (owned != null) {
+                for (Integer slot : new ArrayList<>(owned)) {
+                    if (docs[slot].getTipo() != SearchDocument.Tipo.ROADMAP) {
+                        removeLocked(slot);
+                    }
+                }
+            }
+            for (SearchDocument document : documents) {
+                putLocked(document);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a ranked query.
+     *
+     * @param query Free text.
+     * @param tipo Only documents of this type, or null for all.
+     * @param roadmapId Only documents of this roadmap, or null for all.
+     * @param offset Hits to skip.
+     * @param limit Hits to return.
+     * @return Requested page and the total number of matches.
+     */
+    public Page search(String query, SearchDocument.Tipo tipo, String roadmapId, int offset, int limit) {
+        List<String> tokens = tokens(query);
+        if (tokens.size() > MAX_QUERY_TERMS) {
+            tokens = tokens.subList(0, MAX_QUERY_TERMS);
+        }
+        boolean prefixLast = query != null && !query.isEmpty()
+            && Character.isLetterOrDigit(query.charAt(query.length() - 1));
+        if (tokens.isEmpty()) {
+            return new Page(0, offset, limit, List.of());
+        }
+        // Repeated terms count once; the last one stays last for prefix matching.
+        String last = tokens.get(tokens.size() - 1);
+        Set<String> distinct = new LinkedHashSet<>(tokens);
+        distinct.remove(last);
+        List<String> unique = new ArrayList<>(distinct);
+        unique.add(last);
+
+        lock.readLock().lock();
+        try {
+            List<Postings[]> groups = new ArrayList<>();
+            for (int i = 0; i < unique.size(); i++) {
+                Postings[] group = lookup(unique.get(i), prefixLast && i == unique.size() - 1);
+                if (group.length == 0) {
+                    return new Page(0, offset, limit, List.of());
+                }
+                groups.add(group);
+            }
+            groups.sort(Comparator.comparingLong(SearchIndex::postingCount));
+            return rank(groups, tipo, roadmapId, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** @return Number of indexed documents. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns index counters.
+     *
+     * @return Map ready to be serialized as JSON.
+     */
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            long postings = 0;
+            for (Postings p : terms.values()) {
+                postings += p.size;
+            }
+            return Map.of("documents", live, "tombstones", dead, "terms", terms.size(), "postings", postings);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Folds and splits text into index terms.
+     *
+     * @param text Raw text, may be null.
+     * @return Terms in text order, with repetitions.
+     */
+    static List<String> tokens(String text) {
+        List<String> out = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return out;
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+            .replaceAll("\\p{M}", "")
+            .toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean word = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                String token = folded.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH));
+                if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                    out.add(token);
+                }
+                start = -1;
+            }
+        }
+        return out;
+    }
+
+    private void putLocked(SearchDocument document) {
+        String key = key(document.getTipo(), document.getId());
+        Integer previous = slotByKey.get(key);
+        if (previous != null) {
+            removeLocked(previous);
+        }
+
+        Map<String, Integer> freqs = new HashMap<>();
+        int length = 0;
+        for (String token : tokens(document.getTitulo())) {
+            freqs.merge(token, TITLE_WEIGHT, Integer::sum);
+            length += TITLE_WEIGHT;
+        }
+        for (String token : tokens(document.getTexto())) {
+            freqs.merge(token, 1, Integer::sum);
+            length++;
+        }
+
+        if (slots == docs.length) {
+            docs = Arrays.copyOf(docs, slots * 2);
+            lengths = Arrays.copyOf(lengths, slots * 2);
+        }
+        int slot = slots++;
+        docs[slot] = document;
+        lengths[slot] = length;
+        live++;
+        totalLength += length;
+        for (Map.Entry<String, Integer> entry : freqs.entrySet()) {
+            terms.computeIfAbsent(entry.getKey(), t -> new Postings()).add(slot, entry.getValue());
+        }
+        slotByKey.put(key, slot);
+        if (ownedByRoadmap(document)) {
+            slotsByRoadmap.computeIfAbsent(document.getRoadmapId(), r -> new HashSet<>()).add(slot);
+        }
+    }
+
+    private void removeLocked(int slot) {
+        SearchDocument document = docs[slot];
+        docs[slot] = null;
+        live--;
+        dead++;
+        totalLength -= lengths[slot];
+        slotByKey.remove(key(document.getTipo(), document.getId()));
+        if (ownedByRoadmap(document)) {
+            Set<Integer> owned = slotsByRoadmap.get(document.getRoadmapId());
+            owned.remove(slot);
+            if (owned.isEmpty()) {
+                slotsByRoadmap.remove(document.getRoadmapId());
+            }
+        }
+    }
+
+    /**
+     * Drops tombstoned slots from every posting list and renumbers the live
+     * documents densely. Linear in the number of postings.
+     */
+    private void compactIfNeeded() {
+        if (dead < MIN_COMPACTION || dead * 4 < live) {
+            return;
+        }
+        int[] remap = new int[slots];
+        SearchDocument[] newDocs = new SearchDocument[Math.max(1024, live * 2)];
+        int[] newLengths = new int[newDocs.length];
+        int next = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            if (docs[slot] == null) {
+                remap[slot] = -1;
+            } else {
+                remap[slot] = next;
+                newDocs[next] = docs[slot];
+                newLengths[next] = lengths[slot];
+                next++;
+            }
+        }
+        for (Iterator<Postings> it = terms.values().iterator(); it.hasNext(); ) {
+            Postings postings = it.next();
+            int kept = 0;
+            for (int i = 0; i < postings.size; i++) {
+                int target = remap[postings.slots[i]];
+                if (target >= 0) {
+                    postings.slots[kept] = target;
+                    postings.freqs[kept] = postings.freqs[i];
+                    kept++;
+                }
+            }
+            postings.size = kept;
+            if (kept == 0) {
+                it.remove();
+            }
+        }
+        docs = newDocs;
+        lengths = newLengths;
+        slots = next;
+        dead = 0;
+        slotByKey.clear();
+        slotsByRoadmap.clear();
+        for (int slot = 0; slot < slots; slot++) {
+            SearchDocument document = docs[slot];
+            slotByKey.put(key(document.getTipo(), document.getId()), slot);
+            if (ownedByRoadmap(document)) {
+                slotsByRoadmap.computeIfAbsent(document.getRoadmapId(), r -> new HashSet<>()).add(slot);
+            }
+        }
+    }
+
+    private Postings[] lookup(String term, boolean prefix) {
+        if (!prefix) {
+            Postings exact = terms.get(term);
+            return exact == null ? new Postings[0] : new Postings[] {exact};
+        }
+        List<Postings> out = new ArrayList<>();
+        for (Postings postings : terms.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+            out.add(postings);
+            if (out.size() == MAX_PREFIX_TERMS) {
+                break;
+            }
+        }
+        return out.toArray(new Postings[0]);
+    }
+
+    /**
+     * Scores documents group by group. Only documents of the first, rarest
+     * group can match, so scores live in an {@link Accumulator} sized for that
+     * group rather than in arrays over every slot. {@code matched} counts the
+     * groups a document has matched so far; a document missing from one group
+     * can no longer reach the end and is ignored from then on.
+     */
+    private Page rank(List<Postings[]> groups, SearchDocument.Tipo tipo, String roadmapId, int offset, int limit) {
+        Accumulator acc = new Accumulator((int) Math.min(live, postingCount(groups.get(0))));
+        float avgLength = live == 0 ? 1f : Math.max(1f, (float) totalLength / live);
+
+        for (int g = 0; g < groups.size(); g++) {
+            for (Postings postings : groups.get(g)) {
+                float idf = (float) Math.log(1.0 + (live - postings.size + 0.5) / (postings.size + 0.5));
+                for (int i = 0; i < postings.size; i++) {
+                    int slot = postings.slots[i];
+                    if (docs[slot] == null) {
+                        continue;
+                    }
+                    int entry = acc.find(slot);
+                    if (entry < 0) {
+                        if (g > 0) {
+                            continue;
+                        }
+                        SearchDocument document = docs[slot];
+                        if ((tipo != null && document.getTipo() != tipo)
+                            || (roadmapId != null && !roadmapId.equals(document.getRoadmapId()))) {
+                            continue;
+                        }
+                        entry = acc.add(slot);
+                    } else if (acc.matched[entry] < g) {
+                        continue;
+                    }
+                    acc.matched[entry] = (byte) (g + 1);
+                    int tf = postings.freqs[i];
+                    float norm = K1 * (1f - B + B * lengths[slot] / avgLength);
+                    acc.score[entry] += idf * tf * (K1 + 1f) / (tf + norm);
+                }
+            }
+        }
+
+        int wanted = offset + limit;
+        Comparator<Integer> byScore = Comparator.<Integer>comparingDouble(e -> acc.score[e])
+            .thenComparing(e -> acc.keys[e], Comparator.reverseOrder());
+        PriorityQueue<Integer> top = new PriorityQueue<>(Math.max(1, wanted + 1), byScore);
+        int total = 0;
+        for (int i = 0; i < acc.size; i++) {
+            int entry = acc.order[i];
+            if (acc.matched[entry] != groups.size()) {
+                continue;
+            }
+            total++;
+            if (wanted == 0) {
+                continue;
+            }
+            top.add(entry);
+            if (top.size() > wanted) {
+                top.poll();
+            }
+        }
+        List<Integer> ordered = new ArrayList<>(top);
+        ordered.sort(byScore.reversed());
+        List<Hit> hits = new ArrayList<>();
+        for (int i = offset; i < ordered.size(); i++) {
+            int entry = ordered.get(i);
+            hits.add(new Hit(docs[acc.keys[entry]], acc.score[entry]));
+        }
+        return new Page(total, offset, limit, hits);
+    }
+
+    private static long postingCount(Postings[] group) {
+        long count = 0;
+        for (Postings postings : group) {
+            count += postings.size;
+        }
+        return count;
+    }
+
+    private static boolean ownedByRoadmap(SearchDocument document) {
+        return document.getRoadmapId() != null && document.getTipo() != SearchDocument.Tipo.EXPEDIENTE;
+    }
+
+    private static String key(SearchDocument.Tipo tipo, String id) {
+        return tipo.name() + ':' + id;
+    }
+
+    /**
+     * Per-query scores keyed by slot: an open-addressing table with linear
+     * probing, sized for the candidates of the first group.
+     */
+    private static final class Accumulator {
+        private final int[] keys;
+        private final float[] score;
+        private final byte[] matched;
+        private final int[] order;
+        private final int mask;
+        private int size;
+
+        private Accumulator(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(8, expected) * 2 - 1) << 1;
+            keys = new int[capacity];
+            Arrays.fill(keys, -1);
+            score = new float[capacity];
+            matched = new byte[capacity];
+            order = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        /** @return Table position of the slot, or -1 when absent. */
+        private int find(int slot) {
+            for (int p = mix(slot) & mask; ; p = (p + 1) & mask) {
+                if (keys[p] == slot) {
+                    return p;
+                }
+                if (keys[p] < 0) {
+                    return -1;
+                }
+            }
+        }
+
+        /** Adds an absent slot; callers add at most {@code expected} of them. */
+        private int add(int slot) {
+            int p = mix(slot) & mask;
+            while (keys[p] >= 0) {
+                p = (p + 1) & mask;
+            }
+            keys[p] = slot;
+            order[size++] = p;
+            return p;
+        }
+
+        private static int mix(int slot) {
+            return slot * 0x9E3779B9;
+        }
+    }
+
+    /**
+     * Posting list of one term: slots in increasing order and the weighted
+     * frequency of the term in each.
+     */
+    private static final class Postings {
+        private int[] slots = new int[2];
+        private int[] freqs = new int[2];
+        private int size;
+
+        private void add(int slot, int freq) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            slots[size] = slot;
+            freqs[size] = freq;
+            size++;
+        }
+    }
+
+    /**
+     * One ranked match.
+     */
+    public static final class Hit {
+        private final SearchDocument.Tipo tipo;
+        private final String id;
+        private final String roadmapId;
+        private final String titulo;
+        private final String texto;
+        private final float score;
+
+        Hit(SearchDocument document, float score) {
+            this.tipo = document.getTipo();
+            this.id = document.getId();
+            this.roadmapId = document.getRoadmapId();
+            this.titulo = document.getTitulo();
+            this.texto = document.getTexto();
+            this.score = score;
+        }
+
+        public SearchDocument.Tipo getTipo() {
+            return tipo;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getRoadmapId() {
+            return roadmapId;
+        }
+
+        public String getTitulo() {
+            return titulo;
+        }
+
+        public String getTexto() {
+            return texto;
+        }
+
+        public float getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * One page of ranked matches.
+     */
+    public static final class Page {
+        private final int total;
+        private final int offset;
+        private final int limit;
+        private final List<Hit> items;
+
+        Page(int total, int offset, int limit, List<Hit> items) {
+            this.total = total;
+            this.offset = offset;
+            this.limit = limit;
+            this.items = items;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+
+        public int getLimit() {
+            return limit;
+        }
+
+        public List<Hit> getItems() {
+            return items;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.Roadmap;
+import com.example.roadmap.domain.SearchDocument;
+import com.example.roadmap.domain.SearchDocumentRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Full-text search over roadmaps, initiatives, commitments and expedientes.
+ *
+ * <p>
+ * Holds one {@link SearchIndex} for the whole application. The index is
+ * rebuilt from the database on the indexing thread when a connection is
+ * configured. A search that arrives before the index exists starts that
+ * rebuild and fails with "indexando" (503) instead of waiting for it on the
+ * request thread. Writes report the roadmaps
+ * they touched; a background thread re-reads only the text columns of
+ * those roadmaps and replaces their documents, so the request that wrote
+ * never waits for indexing. Changes reported during a rebuild are applied
+ * once the new index is in place.
+ * </p>
+ *
+ * @since 1.2
+ */
+@Service
+public class SearchService {
+    private static final Logger LOG = LoggerFactory.getLogger(SearchService.class);
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+    static final int MAX_OFFSET = 1000;
+
+    private final SearchDocumentRepository repository;
+    private final boolean enabled;
+    private final ExecutorService executor;
+    private final Object rebuildLock = new Object();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private volatile SearchIndex index;
+    private volatile boolean rebuilding;
+    private volatile Instant lastRebuildAt;
+    private volatile long lastRebuildMillis;
+
+    public SearchService(
+        SearchDocumentRepository repository,
+        @Value("${search.enabled:true}") boolean enabled
+    ) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs a ranked search.
+     *
+     * @param query Free text; the last word also matches as a prefix.
+     * @param tipo ROADMAP, INICIATIVA, COMPROMISO or EXPEDIENTE; blank for all.
+     * @param roadmapId Restricts results to one roadmap; blank for all.
+     * @param offset Hits to skip, 0 to {@value #MAX_OFFSET}; null for 0.
+     * @param limit Page size; null or out-of-range values are clamped.
+     * @return Requested page.
+     * @throws IllegalArgumentException When the query is blank or a parameter is invalid.
+     * @throws IllegalStateException When search is disabled or the index is still being built.
+     */
+    public SearchIndex.Page search(String query, String tipo, String roadmapId, Integer offset, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("El texto de búsqueda es obligatorio.");
+        }
+        int start = offset == null ? 0 : offset;
+        if (start < 0 || start > MAX_OFFSET) {
+            throw new IllegalArgumentException("offset debe estar entre 0 y " + MAX_OFFSET + ".");
+        }
+        int pageSize = (limit == null || limit <= 0) ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        SearchDocument.Tipo type = parseTipo(tipo);
+        String roadmap = roadmapId == null || roadmapId.isBlank() ? null : roadmapId.trim();
+        return currentIndex().search(query, type, roadmap, start, pageSize);
+    }
+
+    /**
+     * Rebuilds the index from the database in the calling thread and swaps
+     * it in when complete. Searches keep using the previous index meanwhile.
+     *
+     * @throws IllegalStateException When there is no database connection.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            long started = System.nanoTime();
+            rebuilding = true;
+            try {
+                SearchIndex fresh = new SearchIndex();
+                repository.streamAll(fresh::put);
+                index = fresh;
+            } finally {
+                rebuilding = false;
+            }
+            lastRebuildMillis = (System.nanoTime() - started) / 1_000_000L;
+            lastRebuildAt = Instant.now();
+            LOG.info("Índice de búsqueda reconstruido: {} documentos en {} ms", index.size(), lastRebuildMillis);
+        }
+        applyPending();
+    }
+
+    /**
+     * Schedules a rebuild on the indexing thread. Calls made while a rebuild
+     * is queued and has not started yet share it.
+     */
+    public void rebuildAsync() {
+        if (!enabled || !rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            rebuildQueued.set(false);
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                LOG.warn("No se pudo reconstruir el índice de búsqueda: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Indexes a newly created roadmap.
+     *
+     * @param roadmap Created roadmap.
+     */
+    public void roadmapCreated(Roadmap roadmap) {
+        if (!enabled) {
+            return;
+        }
+        if (rebuilding) {
+            // The rebuild may already have read the roadmaps table.
+            pending.add(roadmap.getId());
+        }
+        SearchIndex current = index;
+        if (current != null) {
+            current.put(new SearchDocument(SearchDocument.Tipo.ROADMAP, roadmap.getId(), roadmap.getId(),
+                roadmap.getTitle(), roadmap.getDescription()));
+        }
+    }
+
+    /**
+     * Queues a roadmap whose initiatives, commitments or expedientes changed
+     * to be re-read and re-indexed in the background.
+     *
+     * @param roadmapId Roadmap identifier.
+     */
+    public void roadmapChanged(String roadmapId) {
+        if (!enabled || roadmapId == null) {
+            return;
+        }
+        pending.add(roadmapId);
+        executor.execute(this::applyPending);
+    }
+
+    /**
+     * Returns index state and counters.
+     *
+     * @return Map ready to be serialized as JSON.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        SearchIndex current = index;
+        out.put("enabled", enabled);
+        out.put("ready", current != null);
+        out.put("rebuilding", rebuilding);
+        out.put("pendingRoadmaps", pending.size());
+        out.put("lastRebuildAt", lastRebuildAt);
+        out.put("lastRebuildMillis", lastRebuildMillis);
+        if (current != null) {
+            out.putAll(current.stats());
+        }
+        return out;
+    }
+
+    private SearchIndex currentIndex() {
+        if (!enabled) {
+            throw new IllegalStateException("La búsqueda está desactivada.");
+        }
+        SearchIndex current = index;
+        if (current == null) {
+            rebuildAsync();
+            throw new IllegalStateException("Índice de búsqueda indexando. Inténtelo de nuevo en unos segundos.");
+        }
+        return current;
+    }
+
+    /**
+     * Re-indexes queued roadmaps. Left queued while a rebuild runs; the
+     * rebuild applies them to the new index when it finishes.
+     */
+    private void applyPending() {
+        SearchIndex current = index;
+        if (current == null || rebuilding) {
+            return;
+        }
+        for (String roadmapId : new ArrayList<>(pending)) {
+            pending.remove(roadmapId);
+            try {
+                List<SearchDocument> documents = repository.findByRoadmap(roadmapId);
+                current.replaceRoadmap(roadmapId, documents);
+            } catch (RuntimeException e) {
+                LOG.warn("No se pudo reindexar el roadmap [{}]: {}", roadmapId, e.getMessage());
+            }
+        }
+    }
+
+    private static SearchDocument.Tipo parseTipo(String tipo) {
+        if (tipo == null || tipo.isBlank()) {
+            return null;
+        }
+        try {
+            return SearchDocument.Tipo.valueOf(tipo.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Tipo desconocido: " + tipo.trim());
+        }
+    }
+}
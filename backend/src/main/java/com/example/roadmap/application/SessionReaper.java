@@ -0,0 +1,214 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.SesionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Limpieza periódica de la tabla {@code sesiones}.
+ *
+ * <p>
+ * Cada pasada borra sesiones expiradas hace más de {@code expired-grace-minutes}
+ * en lotes de {@code batch-size} filas ({@code DELETE ... ORDER BY ... LIMIT}),
+ * con una pausa entre lotes para no retener bloqueos ni saturar el redo log.
+ * Las revocadas se borran tras {@code revoked-retention-hours}, salvo en modo
+ * de validación stateless: allí la lista de revocaciones se reconstruye desde
+ * esas filas y deben vivir hasta que su token expire.
+ * </p>
+ *
+ * <p>
+ * Si la tabla está particionada por día de expiración (migración opcional
+ * {@code 2026-10-18_sesiones_particionado_opcional.sql}) se crean las
+ * particiones de los próximos días y se borran enteras las ya expiradas,
+ * que es mucho más barato que borrar fila a fila. El repositorio cachea la
+ * lista de particiones y solo un nodo a la vez ejecuta el DDL.
+ * </p>
+ *
+ * @since 1.2
+ */
+@Service
+public class SessionReaper {
+    private static final Logger LOG = LoggerFactory.getLogger(SessionReaper.class);
+    private static final int FUTURE_PARTITION_DAYS = 7;
+
+    private final SesionRepository sesionRepository;
+    private final boolean enabled;
+    private final long intervalMillis;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final int maxBatchesPerRun;
+    private final Duration expiredGrace;
+    private final Duration revokedRetention;
+    private final Supplier<LocalDateTime> clock;
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong expiredReaped = new AtomicLong();
+    private final AtomicLong revokedReaped = new AtomicLong();
+    private final AtomicLong partitionsDropped = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile LocalDateTime lastRunAt;
+    private volatile long lastRunMillis;
+    private volatile long lagSeconds;
+    private ScheduledExecutorService scheduler;
+
+    public SessionReaper(
+        SesionRepository sesionRepository,
+        @Value("${auth.session-reaper.enabled:true}") boolean enabled,
+        @Value("${auth.session-reaper.interval-ms:60000}") long intervalMillis,
+        @Value("${auth.session-reaper.batch-size:500}") int batchSize,
+        @Value("${auth.session-reaper.pause-ms:100}") long pauseMillis,
+        @Value("${auth.session-reaper.max-batches-per-run:200}") int maxBatchesPerRun,
+        @Value("${auth.session-reaper.expired-grace-minutes:60}") long expiredGraceMinutes,
+        @Value("${auth.session-reaper.revoked-retention-hours:24}") long revokedRetentionHours,
+        @Value("${auth.session-validation:database}") String sessionValidation
+    ) {
+        this(sesionRepository, enabled, intervalMillis, batchSize, pauseMillis, maxBatchesPerRun,
+            Duration.ofMinutes(Math.max(0L, expiredGraceMinutes)),
+            "stateless".equalsIgnoreCase(sessionValidation) ? null : Duration.ofHours(Math.max(1L, revokedRetentionHours)),
+            LocalDateTime::now);
+    }
+
+    SessionReaper(
+        SesionRepository sesionRepository,
+        boolean enabled,
+        long intervalMillis,
+        int batchSize,
+        long pauseMillis,
+        int maxBatchesPerRun,
+        Duration expiredGrace,
+        Duration revokedRetention,
+        Supplier<LocalDateTime> clock
+    ) {
+        this.sesionRepository = sesionRepository;
+        this.enabled = enabled;
+        this.intervalMillis = Math.max(1000L, intervalMillis);
+        this.batchSize = Math.max(1, batchSize);
+        this.pauseMillis = Math.max(0L, pauseMillis);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.expiredGrace = expiredGrace;
+        this.revokedRetention = revokedRetention;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    synchronized void start() {
+        if (!enabled || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Ejecuta una pasada completa de limpieza.
+     *
+     * @return Filas eliminadas en esta pasada.
+     */
+    public synchronized int runOnce() {
+        long started = System.nanoTime();
+        LocalDateTime now = clock.get();
+        LocalDateTime expiredBefore = now.minus(expiredGrace);
+        int reaped = 0;
+
+        if (sesionRepository.isPartitioned()) {
+            sesionRepository.ensurePartitionsUntil(now.toLocalDate().plusDays(FUTURE_PARTITION_DAYS));
+            // La partición de un día guarda sesiones que expiran ese día; solo se
+            // borra cuando el día entero queda fuera del margen.
+            partitionsDropped.addAndGet(sesionRepository.dropPartitionsBefore(expiredBefore.toLocalDate()));
+        }
+
+        int batches = 0;
+        int deleted;
+        do {
+            deleted = sesionRepository.deleteExpiredBatch(expiredBefore, batchSize);
+            reaped += deleted;
+            expiredReaped.addAndGet(deleted);
+        } while (deleted == batchSize && ++batches < maxBatchesPerRun && pause());
+
+        if (revokedRetention != null) {
+            LocalDateTime revokedBefore = now.minus(revokedRetention);
+            do {
+                deleted = sesionRepository.deleteRevokedBatch(revokedBefore, batchSize);
+                reaped += deleted;
+                revokedReaped.addAndGet(deleted);
+            } while (deleted == batchSize && ++batches < maxBatchesPerRun && pause());
+        }
+
+        Optional<LocalDateTime> oldest = sesionRepository.findOldestExpiredBefore(expiredBefore);
+        lagSeconds = oldest.map(value -> Math.max(0L, Duration.between(value, expiredBefore).getSeconds())).orElse(0L);
+        lastRunAt = now;
+        lastRunMillis = (System.nanoTime() - started) / 1_000_000L;
+        runs.incrementAndGet();
+        if (reaped > 0) {
+            LOG.info("Sesiones eliminadas: {} en {} ms (retraso {} s)", reaped, lastRunMillis, lagSeconds);
+        }
+        return reaped;
+    }
+
+    /**
+     * Métricas de la limpieza de sesiones.
+     *
+     * @return Mapa listo para serializar como JSON.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", enabled);
+        out.put("runs", runs.get());
+        out.put("expiredReaped", expiredReaped.get());
+        out.put("revokedReaped", revokedReaped.get());
+        out.put("partitionsDropped", partitionsDropped.get());
+        out.put("failures", failures.get());
+        out.put("lastRunAt", lastRunAt == null ? null : lastRunAt.toString());
+        out.put("lastRunMs", lastRunMillis);
+        out.put("lagSeconds", lagSeconds);
+        return out;
+    }
+
+    private void runQuietly() {
+        try {
+            runOnce();
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            LOG.warn("Fallo en la limpieza de sesiones: {}", e.getMessage());
+        }
+    }
+
+    private boolean pause() {
+        if (pauseMillis == 0L) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.Sesion;
+import com.example.roadmap.domain.SesionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory set of revoked session ids ({@code jti}) for stateless validation.
+ *
+ * <p>
+ * Lookups first ask a bloom filter; only a positive answer reaches the exact
+ * set, so the common "not revoked" case costs a few bit reads. The set is
+ * filled from {@code sesiones} rows with {@code estado = 'REVOCADA'}, read
+ * incrementally by {@code (revoked_at, id)} from a background thread. Each
+ * refresh starts a little before the last position so rows committed late
+ * are not missed. Entries leave the set once their token has expired; the
+ * filter is then rebuilt because bloom filters cannot delete. Local revokes
+ * and the rebuild share {@code filterLock}, so a jti revoked while the filter
+ * is being rebuilt is always in the filter that gets published.
+ * </p>
+ *
+ * @since 1.2
+ */
+public class SessionRevocationList {
+    private static final Logger LOG = LoggerFactory.getLogger(SessionRevocationList.class);
+    private static final int PAGE_SIZE = 1000;
+    private static final long OVERLAP_SECONDS = 5L;
+
+    private final SesionRepository sesionRepository;
+    private final Consumer<Sesion> onRevoked;
+    private final long refreshMillis;
+    private final int expectedRevocations;
+    private final LongSupplier clock;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder filterPositives = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final Object filterLock = new Object();
+    private volatile BloomFilter filter;
+    private volatile long lastRefreshMillis;
+    private LocalDateTime lastRevokedAt;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param sesionRepository Source of revoked sessions.
+     * @param onRevoked Called once per newly seen revocation, e.g. to drop cached tokens.
+     * @param refreshMillis Interval between incremental refreshes.
+     * @param expectedRevocations Live revocations the filter is sized for.
+     */
+    public SessionRevocationList(SesionRepository sesionRepository, Consumer<Sesion> onRevoked, long refreshMillis, int expectedRevocations) {
+        this(sesionRepository, onRevoked, refreshMillis, expectedRevocations, System::currentTimeMillis);
+    }
+
+    SessionRevocationList(
+        SesionRepository sesionRepository,
+        Consumer<Sesion> onRevoked,
+        long refreshMillis,
+        int expectedRevocations,
+        LongSupplier clock
+    ) {
+        this.sesionRepository = sesionRepository;
+        this.onRevoked = onRevoked;
+        this.refreshMillis = Math.max(100L, refreshMillis);
+        this.expectedRevocations = Math.max(1000, expectedRevocations);
+        this.clock = clock;
+        this.filter = new BloomFilter(this.expectedRevocations);
+    }
+
+    /**
+     * Loads current revocations and schedules the periodic refresh.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        refreshQuietly();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-revocations");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Stops the periodic refresh. */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * @param jti Token id.
+     * @return true when the token is known to be revoked.
+     */
+    public boolean isRevoked(String jti) {
+        lookups.increment();
+        if (!filter.mightContain(jti)) {
+            return false;
+        }
+        filterPositives.increment();
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > clock.getAsLong();
+    }
+
+    /**
+     * Whether the list reflects the database recently enough to be trusted.
+     * Callers fall back to a database check otherwise.
+     *
+     * @return true when the last successful refresh is within three intervals.
+     */
+    public boolean isFresh() {
+        return clock.getAsLong() - lastRefreshMillis <= refreshMillis * 3L;
+    }
+
+    /**
+     * Records a revocation made by this node without waiting for the refresh.
+     *
+     * @param jti Token id.
+     * @param expiresAtMillis Token expiry; the entry is dropped afterwards.
+     */
+    public void revoke(String jti, long expiresAtMillis) {
+        if (jti == null || expiresAtMillis <= clock.getAsLong()) {
+            return;
+        }
+        synchronized (filterLock) {
+            revoked.put(jti, expiresAtMillis);
+            filter.put(jti);
+        }
+    }
+
+    /**
+     * Pulls revocations newer than the last refresh.
+     *
+     * @return Number of newly seen revocations.
+     */
+    public synchronized int refresh() {
+        long now = clock.getAsLong();
+        pruneExpired(now);
+        LocalDateTime afterRevokedAt = lastRevokedAt == null ? null : lastRevokedAt.minusSeconds(OVERLAP_SECONDS);
+        int afterId = 0;
+        int added = 0;
+        LocalDateTime newest = lastRevokedAt;
+        while (true) {
+            List<Sesion> page = sesionRepository.findRevokedAfter(afterRevokedAt, afterId, PAGE_SIZE);
+            for (Sesion sesion : page) {
+                if (sesion.getJti() != null && sesion.getExpiresAt() != null) {
+                    long expiresAt = sesion.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                    if (expiresAt > now && revoked.put(sesion.getJti(), expiresAt) == null) {
+                        filter.put(sesion.getJti());
+                        added++;
+                        if (onRevoked != null) {
+                            onRevoked.accept(sesion);
+                        }
+                    }
+                }
+                afterRevokedAt = sesion.getRevokedAt();
+                afterId = sesion.getId() == null ? 0 : sesion.getId();
+                if (afterRevokedAt != null && (newest == null || afterRevokedAt.isAfter(newest))) {
+                    newest = afterRevokedAt;
+                }
+            }
+            if (page.size() < PAGE_SIZE || afterRevokedAt == null) {
+                break;
+            }
+        }
+        lastRevokedAt = newest;
+        lastRefreshMillis = now;
+        return added;
+    }
+
+    /**
+     * Returns size and lookup counters.
+     *
+     * @return Map ready to be serialized as JSON.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("revoked", revoked.size());
+        out.put("filterBits", filter.bitCount());
+        out.put("lookups", lookups.sum());
+        out.put("filterPositives", filterPositives.sum());
+        out.put("refreshFailures", refreshFailures.sum());
+        out.put("fresh", isFresh());
+        return out;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            refreshFailures.increment();
+            LOG.warn("No se pudo refrescar la lista de sesiones revocadas: {}", e.getMessage());
+        }
+    }
+
+    private void pruneExpired(long now) {
+        synchronized (filterLock) {
+            int before = revoked.size();
+            revoked.values().removeIf(expiresAt -> expiresAt <= now);
+            if (revoked.size() < before) {
+                BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2));
+                revoked.keySet().forEach(rebuilt::put);
+                filter = rebuilt;
+            }
+        }
+    }
+
+    /**
+     * Fixed-size bloom filter with a 1% false positive rate at capacity.
+     * Bit positions come from two 64-bit FNV-1a hashes (double hashing).
+     */
+    static final class BloomFilter {
+        private static final int HASHES = 7;
+
+        private final AtomicLongArray bits;
+        private final long size;
+
+        BloomFilter(int expectedEntries) {
+            // m = -n ln(0.01) / (ln 2)^2 ≈ 9.6 bits per entry.
+            long wanted = Math.max(64L, (long) Math.ceil(expectedEntries * 9.6));
+            int words = (int) Math.min(Integer.MAX_VALUE, (wanted + 63L) / 64L);
+            this.bits = new AtomicLongArray(words);
+            this.size = words * 64L;
+        }
+
+        void put(String value) {
+            long h1 = hash(value, 0xcbf29ce484222325L);
+            long h2 = hash(value, 0x84222325cbf29ce4L) | 1L;
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << (bit & 63);
+                long current;
+                do {
+                    current = bits.get(word);
+                } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            if (value == null) {
+                return false;
+            }
+            long h1 = hash(value, 0xcbf29ce484222325L);
+            long h2 = hash(value, 0x84222325cbf29ce4L) | 1L;
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                if ((bits.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long bitCount() {
+            return size;
+        }
+
+        private static long hash(String value, long seed) {
+            long hash = seed;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            // Final avalanche so nearby inputs spread over the whole table.
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.roadmap.application;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process cache of already verified session tokens.
+ *
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the token, so a hit means the
+ * exact same signed token was verified before and neither the signature nor
+ * the session table needs to be checked again. Only the user id is kept;
+ * role and status come from {@link UsuarioPrincipalCache}, so a role change
+ * applies to cached tokens too. Entry lifetime is bounded by
+ * the token expiry and by a maximum TTL. Logout and session revocation remove
+ * entries immediately; an invalidation epoch prevents a request that started
+ * before the invalidation from re-populating a stale entry. Size and expiry
+ * are handled by {@link BoundedTtlMap}; the owner calls
+ * {@link #sweepExpired()} periodically.
+ * </p>
+ *
+ * @since 1.2
+ */
+public class TokenAuthenticationCache {
+    private final BoundedTtlMap<String, Integer> entries;
+    private final long maxTtlMillis;
+    private final LongSupplier clock;
+    private final AtomicLong epoch = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public TokenAuthenticationCache(int maxEntries, long maxTtlMillis) {
+        this(maxEntries, maxTtlMillis, System::currentTimeMillis);
+    }
+
+    TokenAuthenticationCache(int maxEntries, long maxTtlMillis, LongSupplier clock) {
+        this.entries = new BoundedTtlMap<>(maxEntries);
+        this.maxTtlMillis = Math.max(0L, maxTtlMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the user id of a token when a live entry exists.
+     *
+     * @param token Raw JWT.
+     * @return Cached user id, or null on miss.
+     */
+    public Integer get(String token) {
+        if (maxTtlMillis == 0L) {
+            misses.increment();
+            return null;
+        }
+        Integer usuarioId = entries.get(digest(token), clock.getAsLong());
+        if (usuarioId == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return usuarioId;
+    }
+
+    /**
+     * Current invalidation epoch. Callers read it before verifying a token and
+     * pass it back to {@link #put(String, Integer, long, long)}.
+     *
+     * @return Monotonic epoch value.
+     */
+    public long currentEpoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Stores a verified token unless an invalidation happened after {@code epochAtStart}.
+     *
+     * @param token Raw JWT.
+     * @param usuarioId User the token belongs to.
+     * @param tokenExpiresAtMillis Token expiry (epoch millis).
+     * @param epochAtStart Epoch read before the token was verified.
+     */
+    public void put(String token, Integer usuarioId, long tokenExpiresAtMillis, long epochAtStart) {
+        if (maxTtlMillis == 0L || usuarioId == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        long expiresAt = Math.min(tokenExpiresAtMillis, now + maxTtlMillis);
+        if (expiresAt <= now || epoch.get() != epochAtStart) {
+            return;
+        }
+        String key = digest(token);
+        entries.put(key, usuarioId, expiresAt);
+        if (epoch.get() != epochAtStart) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Removes one token, e.g. on logout.
+     *
+     * @param token Raw JWT.
+     */
+    public void invalidateToken(String token) {
+        invalidateDigest(digest(token));
+    }
+
+    /**
+     * Removes one token known only by its digest, e.g. a session revoked on
+     * another node whose raw token is not stored.
+     *
+     * @param tokenDigest Hex SHA-256 of the token, as returned by {@link #digest(String)}.
+     */
+    public void invalidateDigest(String tokenDigest) {
+        epoch.incrementAndGet();
+        if (entries.remove(tokenDigest)) {
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * Removes many tokens known by their digests with a single epoch bump,
+     * e.g. after a bulk revocation.
+     *
+     * @param tokenDigests Hex SHA-256 digests.
+     * @return Number of removed entries.
+     */
+    public int invalidateDigests(Collection<String> tokenDigests) {
+        epoch.incrementAndGet();
+        int removed = 0;
+        for (String tokenDigest : tokenDigests) {
+            if (tokenDigest != null && entries.remove(tokenDigest)) {
+                removed++;
+            }
+        }
+        invalidations.add(removed);
+        return removed;
+    }
+
+    /**
+     * Removes every cached token of a user, e.g. after revoking all sessions.
+     *
+     * @param usuarioId User identifier.
+     * @return Number of removed entries.
+     */
+    public int invalidateUsuario(Integer usuarioId) {
+        epoch.incrementAndGet();
+        int removed = entries.removeIf(cached -> Objects.equals(cached, usuarioId));
+        invalidations.add(removed);
+        return removed;
+    }
+
+    /** Drops every cached entry. */
+    public void clear() {
+        epoch.incrementAndGet();
+        invalidations.add(entries.clear());
+    }
+
+    /**
+     * Drops entries whose lifetime has ended. Called periodically; lookups
+     * already ignore them.
+     *
+     * @return Number of removed entries.
+     */
+    public int sweepExpired() {
+        return entries.sweepExpired(clock.getAsLong());
+    }
+
+    /**
+     * Returns hit/miss counters and current size.
+     *
+     * @return Map ready to be serialized as JSON.
+     */
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("size", entries.size());
+        out.put("maxEntries", entries.maxEntries());
+        out.put("maxTtlMs", maxTtlMillis);
+        out.put("hits", hitCount);
+        out.put("misses", missCount);
+        out.put("hitRatio", total == 0 ? 0.0 : hitCount / (double) total);
+        out.put("expirations", entries.expirations());
+        out.put("invalidations", invalidations.sum());
+        out.put("evictions", entries.evictions());
+        return out;
+    }
+
+    /**
+     * Hex SHA-256 digest of a token.
+     *
+     * @param token Raw token.
+     * @return 64-character lowercase hex digest.
+     */
+    public static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
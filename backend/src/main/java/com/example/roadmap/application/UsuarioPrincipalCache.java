@@ -0,0 +1,123 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.UsuarioPrincipal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process cache of {@link UsuarioPrincipal} snapshots keyed by user id.
+ *
+ * <p>
+ * Tokens of the same user share one entry, so a user with several sessions
+ * (or a token evicted from {@link TokenAuthenticationCache}) costs at most one
+ * narrow {@code usuarios} read per TTL. Entries are immutable and handed out
+ * as-is. Role, status and delete changes invalidate the entry; as in the
+ * token cache, an invalidation epoch keeps a load that started earlier from
+ * storing the stale snapshot. Missing users are not cached. Size and expiry
+ * are handled by {@link BoundedTtlMap}; the owner calls
+ * {@link #sweepExpired()} periodically.
+ * </p>
+ *
+ * @since 1.2
+ */
+public class UsuarioPrincipalCache {
+    private final BoundedTtlMap<Integer, UsuarioPrincipal> entries;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final AtomicLong epoch = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public UsuarioPrincipalCache(int maxEntries, long ttlMillis) {
+        this(maxEntries, ttlMillis, System::currentTimeMillis);
+    }
+
+    UsuarioPrincipalCache(int maxEntries, long ttlMillis, LongSupplier clock) {
+        this.entries = new BoundedTtlMap<>(maxEntries);
+        this.ttlMillis = Math.max(0L, ttlMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached principal, loading it on miss or expiry.
+     *
+     * @param usuarioId User identifier.
+     * @param loader Reads the principal from the database.
+     * @return Principal, or empty when the user does not exist.
+     */
+    public Optional<UsuarioPrincipal> get(Integer usuarioId, Function<Integer, Optional<UsuarioPrincipal>> loader) {
+        long now = clock.getAsLong();
+        UsuarioPrincipal cached = entries.get(usuarioId, now);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+        long epochAtStart = epoch.get();
+        Optional<UsuarioPrincipal> loaded = loader.apply(usuarioId);
+        if (ttlMillis > 0L && loaded.isPresent() && epoch.get() == epochAtStart) {
+            entries.put(usuarioId, loaded.get(), now + ttlMillis);
+            if (epoch.get() != epochAtStart) {
+                entries.remove(usuarioId);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the snapshot of one user after a role, status or delete change.
+     *
+     * @param usuarioId User identifier.
+     */
+    public void invalidate(Integer usuarioId) {
+        epoch.incrementAndGet();
+        if (entries.remove(usuarioId)) {
+            invalidations.increment();
+        }
+    }
+
+    /** Drops every cached snapshot. */
+    public void clear() {
+        epoch.incrementAndGet();
+        invalidations.add(entries.clear());
+    }
+
+    /**
+     * Drops entries whose TTL has ended. Called periodically; lookups
+     * already ignore them.
+     *
+     * @return Number of removed entries.
+     */
+    public int sweepExpired() {
+        return entries.sweepExpired(clock.getAsLong());
+    }
+
+    /**
+     * Returns hit/miss counters and current size.
+     *
+     * @return Map ready to be serialized as JSON.
+     */
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("size", entries.size());
+        out.put("maxEntries", entries.maxEntries());
+        out.put("ttlMs", ttlMillis);
+        out.put("hits", hitCount);
+        out.put("misses", missCount);
+        out.put("hitRatio", total == 0 ? 0.0 : hitCount / (double) total);
+        out.put("expirations", entries.expirations());
+        out.put("invalidations", invalidations.sum());
+        out.put("evictions", entries.evictions());
+        return out;
+    }
+}
@@ -0,0 +1,339 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.Usuario;
+import com.example.roadmap.domain.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Alta masiva de usuarios.
+ *
+ * <p>
+ * Valida todas las filas antes de tocar la base de datos, comprueba con una
+ * sola consulta por bloque qué usernames existen ya, cifra las contraseñas
+ * en paralelo en el pool de {@link PasswordHashingService} e inserta con
+ * sentencias por lotes. Cada fila recibe su propio resultado: una fila
+ * inválida o repetida no impide crear las demás.
+ * </p>
+ *
+ * @since 1.2
+ */
+@Service
+public class UsuarioProvisioningUseCase {
+    private static final Logger LOG = LoggerFactory.getLogger(UsuarioProvisioningUseCase.class);
+
+    private final UsuarioRepository usuarioRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final int maxRows;
+    private final int batchSize;
+    private final int hashParallelism;
+
+    public UsuarioProvisioningUseCase(
+        UsuarioRepository usuarioRepository,
+        PasswordHashingService passwordHashingService,
+        @Value("${auth.provisioning.max-rows:5000}") int maxRows,
+        @Value("${auth.provisioning.batch-size:500}") int batchSize,
+        @Value("${auth.provisioning.hash-parallelism:0}") int hashParallelism
+    ) {
+        this.usuarioRepository = usuarioRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.maxRows = Math.max(1, maxRows);
+        this.batchSize = Math.max(1, batchSize);
+        this.hashParallelism = Math.max(0, hashParallelism);
+    }
+
+    /**
+     * Da de alta un lote de usuarios.
+     *
+     * @param rows Filas a crear, en el orden recibido.
+     * @param createdBy Usuario que realiza la carga (auditoría).
+     * @return Resultado por fila y totales.
+     * @throws IllegalArgumentException Si el lote está vacío o supera el máximo.
+     * @throws PasswordHashingService.RejectedException Si el pool de cifrado sigue saturado.
+     */
+    public ProvisioningResult provision(List<ProvisionRow> rows, String createdBy) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("La carga no contiene usuarios");
+        }
+        if (rows.size() > maxRows) {
+            throw new IllegalArgumentException("La carga supera el máximo de " + maxRows + " usuarios");
+        }
+
+        List<RowResult> results = new ArrayList<>(rows.size());
+        Map<String, Integer> seen = new HashMap<>();
+        List<Integer> candidates = new ArrayList<>();
+        List<Usuario.Role> roles = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ProvisionRow row = rows.get(i);
+            String username = row.getUsername() == null ? null : row.getUsername().trim();
+            RowResult result = new RowResult(i + 1, username);
+            results.add(result);
+            Usuario.Role rol = parseRol(row.getRol());
+            roles.add(rol);
+
+            if (username == null || username.isEmpty()) {
+                result.reject(Estado.INVALIDO, "Username es requerido");
+            } else if (username.length() < 3 || username.length() > 100) {
+                result.reject(Estado.INVALIDO, "Username debe tener entre 3 y 100 caracteres");
+            } else if (rol == null) {
+                result.reject(Estado.INVALIDO, row.getRol() == null || row.getRol().isBlank()
+                    ? "Rol es requerido" : "Rol desconocido: " + row.getRol().trim());
+            } else if (row.getPassword() != null && !row.getPassword().isBlank()
+                && row.getPassword().length() < AuthenticationService.MIN_PASSWORD_LENGTH) {
+                result.reject(Estado.INVALIDO,
+                    "La contraseña debe tener al menos " + AuthenticationService.MIN_PASSWORD_LENGTH + " caracteres");
+            } else {
+                Integer previous = seen.putIfAbsent(fold(username), i + 1);
+                if (previous != null) {
+                    result.reject(Estado.DUPLICADO, "Username repetido en la fila " + previous);
+                } else {
+                    candidates.add(i);
+                }
+            }
+        }
+
+        Set<String> usernames = new LinkedHashSet<>();
+        candidates.forEach(i -> usernames.add(results.get(i).getUsername()));
+        Set<String> existing = usernames.isEmpty() ? Set.of() : usuarioRepository.findExistingUsernames(usernames);
+
+        List<Integer> toCreate = new ArrayList<>();
+        List<String> passwords = new ArrayList<>();
+        for (Integer i : candidates) {
+            if (existing.contains(results.get(i).getUsername())) {
+                results.get(i).reject(Estado.YA_EXISTE, "El username ya existe");
+            } else {
+                String password = rows.get(i).getPassword();
+                toCreate.add(i);
+                passwords.add(password == null || password.isBlank() ? null : password);
+            }
+        }
+
+        List<String> hashes = passwordHashingService.encodeAll(passwords, hashParallelism);
+        List<Usuario> usuarios = new ArrayList<>(toCreate.size());
+        for (int k = 0; k < toCreate.size(); k++) {
+            int i = toCreate.get(k);
+            Usuario usuario = new Usuario(results.get(i).getUsername(), hashes.get(k), roles.get(i));
+            usuario.setMustChangePassword(hashes.get(k) == null);
+            usuario.setCreatedBy(createdBy);
+            usuario.setUpdatedBy(createdBy);
+            usuarios.add(usuario);
+        }
+
+        Map<String, Integer> ids = usuarios.isEmpty() ? Map.of() : usuarioRepository.insertAll(usuarios, batchSize);
+        int created = 0;
+        for (Integer i : toCreate) {
+            RowResult result = results.get(i);
+            Integer id = ids.get(result.getUsername());
+            if (id != null) {
+                result.created(id);
+                created++;
+            } else {
+                // Creado por otra petición entre la comprobación y el lote.
+                result.reject(Estado.YA_EXISTE, "El username ya existe");
+            }
+        }
+        LOG.info("Alta masiva de usuarios: {} creados de {} filas", created, rows.size());
+        return new ProvisioningResult(created, rows.size() - created, results);
+    }
+
+    /**
+     * Lee filas CSV {@code username,rol,password}. La cabecera es opcional y
+     * el separador puede ser coma o punto y coma; admite campos entre comillas.
+     *
+     * @param csv Contenido del fichero.
+     * @return Filas en el orden del fichero, sin líneas vacías.
+     */
+    public static List<ProvisionRow> parseCsv(String csv) {
+        List<ProvisionRow> rows = new ArrayList<>();
+        if (csv == null) {
+            return rows;
+        }
+        String[] lines = csv.replace("\uFEFF", "").split("\r?\n");
+        char separator = 0;
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (separator == 0) {
+                separator = line.indexOf(';') >= 0 && line.indexOf(',') < 0 ? ';' : ',';
+                List<String> header = splitCsvLine(line, separator);
+                if (!header.isEmpty() && "username".equalsIgnoreCase(header.get(0).trim())) {
+                    continue;
+                }
+            }
+            List<String> fields = splitCsvLine(line, separator);
+            rows.add(new ProvisionRow(
+                fields.size() > 0 ? fields.get(0) : null,
+                fields.size() > 1 ? fields.get(1) : null,
+                fields.size() > 2 ? fields.get(2) : null
+            ));
+        }
+        return rows;
+    }
+
+    private static List<String> splitCsvLine(String line, char separator) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static Usuario.Role parseRol(String rol) {
+        if (rol == null || rol.isBlank()) {
+            return null;
+        }
+        try {
+            return Usuario.Role.valueOf(rol.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Aproxima la colación de {@code usuarios.username} (sin mayúsculas ni
+     * acentos) para detectar repetidos dentro de la misma carga.
+     */
+    static String fold(String username) {
+        String decomposed = Normalizer.normalize(username, Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Estado final de una fila.
+     */
+    public enum Estado {
+        CREADO, YA_EXISTE, DUPLICADO, INVALIDO
+    }
+
+    /**
+     * Fila de entrada de la carga.
+     */
+    public static class ProvisionRow {
+        private final String username;
+        private final String rol;
+        private final String password;
+
+        public ProvisionRow(String username, String rol, String password) {
+            this.username = username;
+            this.rol = rol;
+            this.password = password;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getRol() {
+            return rol;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+    }
+
+    /**
+     * Resultado de una fila: número de fila (desde 1), estado, ID creado o motivo.
+     */
+    public static class RowResult {
+        private final int row;
+        private final String username;
+        private Estado estado;
+        private Integer id;
+        private String message;
+
+        RowResult(int row, String username) {
+            this.row = row;
+            this.username = username;
+        }
+
+        void created(Integer id) {
+            this.estado = Estado.CREADO;
+            this.id = id;
+        }
+
+        void reject(Estado estado, String message) {
+            this.estado = estado;
+            this.message = message;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public Estado getEstado() {
+            return estado;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * Resultado de la carga completa.
+     */
+    public static class ProvisioningResult {
+        private final int created;
+        private final int failed;
+        private final List<RowResult> results;
+
+        ProvisioningResult(int created, int failed, List<RowResult> results) {
+            this.created = created;
+            this.failed = failed;
+            this.results = results;
+        }
+
+        public int getCreated() {
+            return created;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        public List<RowResult> getResults() {
+            return results;
+        }
+    }
+}
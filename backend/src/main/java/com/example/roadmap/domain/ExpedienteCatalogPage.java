@@ -0,0 +1,40 @@
+package com.example.roadmap.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of the global expedientes catalog.
+ *
+ * {@code nextCursor} is an opaque keyset token; null means there are no more pages.
+ *
+ * @since 1.2
+ */
+public class ExpedienteCatalogPage {
+    private List<InitiativeExpediente> items = new ArrayList<>();
+    private String nextCursor;
+
+    public ExpedienteCatalogPage() {
+    }
+
+    public ExpedienteCatalogPage(List<InitiativeExpediente> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<InitiativeExpediente> getItems() {
+        return items;
+    }
+
+    public void setItems(List<InitiativeExpediente> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.roadmap.domain;
+
+import java.util.List;
+
+/**
+ * Port interface for reading the global expedientes catalog.
+ *
+ * @since 1.2
+ */
+public interface ExpedienteCatalogRepository {
+
+    /**
+     * Returns one page of expedientes ordered by code, optionally filtered by a
+     * prefix of the expediente code or the company name.
+     *
+     * @param prefix Search prefix, or null/blank for no filter.
+     * @param cursor Cursor returned by the previous page, or null for the first page.
+     * @param limit Maximum number of items.
+     * @return Page of expedientes with the cursor of the next page.
+     * @throws IllegalArgumentException When the cursor is malformed.
+     */
+    ExpedienteCatalogPage search(String prefix, String cursor, int limit);
+
+    /**
+     * Returns the whole catalog. Only used when a client explicitly asks for it.
+     *
+     * @return List of all expedientes.
+     */
+    List<InitiativeExpediente> findAll();
+}
@@ -0,0 +1,69 @@
+package com.example.roadmap.domain;
+
+/**
+ * Initiative reached from another one through dependency links.
+ *
+ * {@code depth} is the length of the shortest chain of links between both;
+ * {@code nombre}, {@code inicio} and {@code fin} are null when the link
+ * points to an initiative that does not exist in the roadmap.
+ *
+ * @since 1.2
+ */
+public class InitiativeImpact {
+    private String id;
+    private String nombre;
+    private String inicio;
+    private String fin;
+    private int depth;
+
+    public InitiativeImpact() {
+    }
+
+    public InitiativeImpact(String id, String nombre, String inicio, String fin, int depth) {
+        this.id = id;
+        this.nombre = nombre;
+        this.inicio = inicio;
+        this.fin = fin;
+        this.depth = depth;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(String inicio) {
+        this.inicio = inicio;
+    }
+
+    public String getFin() {
+        return fin;
+    }
+
+    public void setFin(String fin) {
+        this.fin = fin;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+}
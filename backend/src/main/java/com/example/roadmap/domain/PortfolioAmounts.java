@@ -0,0 +1,37 @@
+package com.example.roadmap.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * Number of expedientes and the sum of their tender and award prices.
+ *
+ * Prices are stored as free text; amounts that cannot be read as a number
+ * count as zero, the same rule the roadmap view applies.
+ *
+ * @since 1.2
+ */
+public class PortfolioAmounts {
+    public static final PortfolioAmounts EMPTY = new PortfolioAmounts(0, BigDecimal.ZERO, BigDecimal.ZERO);
+
+    private final int total;
+    private final BigDecimal precioLicitacion;
+    private final BigDecimal precioAdjudicacion;
+
+    public PortfolioAmounts(int total, BigDecimal precioLicitacion, BigDecimal precioAdjudicacion) {
+        this.total = total;
+        this.precioLicitacion = precioLicitacion == null ? BigDecimal.ZERO : precioLicitacion;
+        this.precioAdjudicacion = precioAdjudicacion == null ? BigDecimal.ZERO : precioAdjudicacion;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public BigDecimal getPrecioLicitacion() {
+        return precioLicitacion;
+    }
+
+    public BigDecimal getPrecioAdjudicacion() {
+        return precioAdjudicacion;
+    }
+}
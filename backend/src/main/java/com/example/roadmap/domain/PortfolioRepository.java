@@ -0,0 +1,29 @@
+package com.example.roadmap.domain;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Port computing portfolio aggregates directly in the database.
+ *
+ * @since 1.2
+ */
+public interface PortfolioRepository {
+
+    /**
+     * Returns the aggregated figures of the given roadmaps.
+     *
+     * @param roadmapIds Roadmaps to aggregate, or null for all of them.
+     * @return List<PortfolioRoadmapStats> one entry per existing roadmap; ids
+     *         that no longer exist are absent.
+     */
+    List<PortfolioRoadmapStats> findStats(Collection<String> roadmapIds);
+
+    /**
+     * Returns the totals of the expedientes linked to any initiative, each
+     * expediente counted once even when several roadmaps share it.
+     *
+     * @return PortfolioAmounts totals.
+     */
+    PortfolioAmounts findLinkedExpedienteAmounts();
+}
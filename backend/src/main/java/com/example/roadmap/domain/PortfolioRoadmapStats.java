@@ -0,0 +1,90 @@
+package com.example.roadmap.domain;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aggregated figures of one roadmap for the portfolio view.
+ *
+ * {@code iniciativasPorEje} is keyed by strategic axis name, with
+ * {@value #SIN_EJE} for initiatives without an axis; {@code compromisosPorMes}
+ * is keyed by {@code yyyy-MM} and only counts commitments with a readable date.
+ *
+ * @since 1.2
+ */
+public class PortfolioRoadmapStats {
+    public static final String SIN_EJE = "Sin eje";
+
+    private String roadmapId;
+    private String titulo;
+    private int iniciativas;
+    private int compromisos;
+    private PortfolioAmounts expedientes = PortfolioAmounts.EMPTY;
+    private Map<String, Integer> iniciativasPorEje = new LinkedHashMap<>();
+    private Map<String, Integer> compromisosPorMes = new TreeMap<>();
+
+    public PortfolioRoadmapStats() {
+    }
+
+    public PortfolioRoadmapStats(String roadmapId, String titulo) {
+        this.roadmapId = roadmapId;
+        this.titulo = titulo;
+    }
+
+    public String getRoadmapId() {
+        return roadmapId;
+    }
+
+    public void setRoadmapId(String roadmapId) {
+        this.roadmapId = roadmapId;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public void setTitulo(String titulo) {
+        this.titulo = titulo;
+    }
+
+    public int getIniciativas() {
+        return iniciativas;
+    }
+
+    public void setIniciativas(int iniciativas) {
+        this.iniciativas = iniciativas;
+    }
+
+    public int getCompromisos() {
+        return compromisos;
+    }
+
+    public void setCompromisos(int compromisos) {
+        this.compromisos = compromisos;
+    }
+
+    public PortfolioAmounts getExpedientes() {
+        return expedientes;
+    }
+
+    public void setExpedientes(PortfolioAmounts expedientes) {
+        this.expedientes = expedientes;
+    }
+
+    public Map<String, Integer> getIniciativasPorEje() {
+        return iniciativasPorEje;
+    }
+
+    public void setIniciativasPorEje(Map<String, Integer> iniciativasPorEje) {
+        this.iniciativasPorEje = iniciativasPorEje;
+    }
+
+    public Map<String, Integer> getCompromisosPorMes() {
+        return compromisosPorMes;
+    }
+
+    public void setCompromisosPorMes(Map<String, Integer> compromisosPorMes) {
+        this.compromisosPorMes = compromisosPorMes;
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.roadmap.domain;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Port interface for roadmap configuration persistence.
@@ -17,11 +21,68 @@ public interface RoadmapConfigRepository {
      */
     Optional<RoadmapConfig> findByRoadmapId(String roadmapId);
 
+    /**
+     * Returns the last update time of a roadmap with a single key lookup.
+     *
+     * Used as version of cached configurations.
+     *
+     * @param roadmapId Roadmap identifier.
+     * @return Optional<Instant> update time when the roadmap exists.
+     */
+    Optional<Instant> findUpdatedAt(String roadmapId);
+
+    /**
+     * Returns the initiatives of a roadmap whose period overlaps a date window,
+     * ordered by start date.
+     *
+     * Initiatives without a recognisable start date (empty, or text such as
+     * {@code por definir}) cannot be placed in a window and are not returned;
+     * {@link #countInitiativesWithoutStartDate(String)} reports how many were
+     * left out. A missing end date is treated as open-ended.
+     *
+     * @param roadmapId Roadmap identifier.
+     * @param from First day of the window, or null for no lower bound.
+     * @param to Last day of the window, or null for no upper bound.
+     * @return List<Initiative> matching initiatives with their expedientes.
+     */
+    List<Initiative> findInitiativesInWindow(String roadmapId, LocalDate from, LocalDate to);
+
+    /**
+     * Counts the initiatives of a roadmap that window queries leave out
+     * because their start date could not be read.
+     *
+     * @param roadmapId Roadmap identifier.
+     * @return int initiatives without a typed start date.
+     */
+    int countInitiativesWithoutStartDate(String roadmapId);
+
+    /**
+     * Returns the initiatives reachable from one initiative through its
+     * dependency links, up to a maximum chain length.
+     *
+     * With {@code dependents} the links are followed backwards ("what is
+     * affected if this initiative slips"); otherwise forwards ("what this
+     * initiative waits for"). The starting initiative is never included,
+     * even when it is part of a cycle.
+     *
+     * @param roadmapId Roadmap identifier.
+     * @param initiativeId Starting initiative.
+     * @param dependents Whether to follow links towards dependent initiatives.
+     * @param maxDepth Maximum chain length, at least 1.
+     * @return List<InitiativeImpact> reached initiatives ordered by depth.
+     */
+    List<InitiativeImpact> findDependencyClosure(String roadmapId, String initiativeId, boolean dependents, int maxDepth);
+
     /**
      * Persists full roadmap configuration.
      *
+     * Expedientes are shared between roadmaps: when the save changes one,
+     * every other roadmap linking it gets a new version in the same
+     * transaction.
+     *
      * @param roadmapId Roadmap identifier owning the config.
      * @param config Configuration payload to persist.
+     * @return Set<String> ids of the other roadmaps whose configuration changed through shared expedientes.
      */
-    void saveForRoadmap(String roadmapId, RoadmapConfig config);
+    Set<String> saveForRoadmap(String roadmapId, RoadmapConfig config);
 }
@@ -0,0 +1,130 @@
+package com.example.roadmap.domain;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lenient parser for the free-text dates stored in roadmap fields.
+ *
+ * <p>
+ * Roadmap dates are periods rather than days: the editor writes quarters such
+ * as {@code 2026-T1}, and older data also contains months, years, semesters
+ * and full dates in ISO or Spanish order. Each value is read as the period it
+ * names, so a start date maps to the first day of the period and an end date
+ * to the last day. Values that cannot be read return empty instead of failing.
+ * </p>
+ *
+ * <p>Accepted forms (case-insensitive, surrounding blanks ignored):</p>
+ * <ul>
+ *   <li>{@code 2026-03-15}, {@code 2026/03/15}, {@code 2026-03-15T10:00:00}</li>
+ *   <li>{@code 15/03/2026}, {@code 15-03-2026}, {@code 15.03.2026}</li>
+ *   <li>{@code 2026-03}, {@code 2026/03}, {@code 03/2026}, {@code 03-2026}</li>
+ *   <li>{@code 2026-T1}, {@code 2026-Q1}, {@code 2026 T1}, {@code T1-2026}, {@code Q1 2026}</li>
+ *   <li>{@code 2026-S1}, {@code 2026-H2}, {@code S1-2026}</li>
+ *   <li>{@code 2026}</li>
+ * </ul>
+ *
+ * @since 1.2
+ */
+public final class RoadmapDates {
+    private static final Pattern ISO_DATE = Pattern.compile("(\\d{4})[-/](\\d{1,2})[-/](\\d{1,2})(?:[T ].*)?");
+    private static final Pattern DAY_FIRST_DATE = Pattern.compile("(\\d{1,2})[-/.](\\d{1,2})[-/.](\\d{4})");
+    private static final Pattern YEAR_MONTH = Pattern.compile("(\\d{4})[-/](\\d{1,2})");
+    private static final Pattern MONTH_YEAR = Pattern.compile("(\\d{1,2})[-/](\\d{4})");
+    private static final Pattern YEAR_PERIOD = Pattern.compile("(\\d{4})\\s*[-/ ]?\\s*([TQSH])\\s*([1-4])");
+    private static final Pattern PERIOD_YEAR = Pattern.compile("([TQSH])\\s*([1-4])\\s*[-/ ]?\\s*(\\d{4})");
+    private static final Pattern YEAR = Pattern.compile("(\\d{4})");
+
+    private RoadmapDates() {
+    }
+
+    /**
+     * Returns the first day of the period named by a roadmap date.
+     *
+     * @param value Stored text value.
+     * @return First day, or empty when the value is blank or not recognised.
+     */
+    public static Optional<LocalDate> periodStart(String value) {
+        return parse(value).map(period -> period[0]);
+    }
+
+    /**
+     * Returns the last day of the period named by a roadmap date.
+     *
+     * @param value Stored text value.
+     * @return Last day, or empty when the value is blank or not recognised.
+     */
+    public static Optional<LocalDate> periodEnd(String value) {
+        return parse(value).map(period -> period[1]);
+    }
+
+    private static Optional<LocalDate[]> parse(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        String text = value.trim().toUpperCase(Locale.ROOT);
+        try {
+            Matcher m = ISO_DATE.matcher(text);
+            if (m.matches()) {
+                return day(LocalDate.of(number(m, 1), number(m, 2), number(m, 3)));
+            }
+            m = DAY_FIRST_DATE.matcher(text);
+            if (m.matches()) {
+                return day(LocalDate.of(number(m, 3), number(m, 2), number(m, 1)));
+            }
+            m = YEAR_MONTH.matcher(text);
+            if (m.matches()) {
+                return month(YearMonth.of(number(m, 1), number(m, 2)));
+            }
+            m = MONTH_YEAR.matcher(text);
+            if (m.matches()) {
+                return month(YearMonth.of(number(m, 2), number(m, 1)));
+            }
+            m = YEAR_PERIOD.matcher(text);
+            if (m.matches()) {
+                return period(number(m, 1), m.group(2).charAt(0), number(m, 3));
+            }
+            m = PERIOD_YEAR.matcher(text);
+            if (m.matches()) {
+                return period(number(m, 3), m.group(1).charAt(0), number(m, 2));
+            }
+            m = YEAR.matcher(text);
+            if (m.matches()) {
+                int year = number(m, 1);
+                return Optional.of(new LocalDate[] {LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31)});
+            }
+        } catch (DateTimeException e) {
+            // 2026-13, 31/02/2026...: not a real date.
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<LocalDate[]> day(LocalDate date) {
+        return Optional.of(new LocalDate[] {date, date});
+    }
+
+    private static Optional<LocalDate[]> month(YearMonth month) {
+        return Optional.of(new LocalDate[] {month.atDay(1), month.atEndOfMonth()});
+    }
+
+    /**
+     * Quarters (T/Q) span three months; semesters (S/H) six and only 1-2 exist.
+     */
+    private static Optional<LocalDate[]> period(int year, char unit, int index) {
+        int months = (unit == 'S' || unit == 'H') ? 6 : 3;
+        if (index > 12 / months) {
+            return Optional.empty();
+        }
+        YearMonth first = YearMonth.of(year, (index - 1) * months + 1);
+        return Optional.of(new LocalDate[] {first.atDay(1), first.plusMonths(months - 1L).atEndOfMonth()});
+    }
+
+    private static int number(Matcher m, int group) {
+        return Integer.parseInt(m.group(group));
+    }
+}
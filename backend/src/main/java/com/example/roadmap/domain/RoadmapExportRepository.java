@@ -0,0 +1,21 @@
+package com.example.roadmap.domain;
+
+import java.io.IOException;
+
+/**
+ * Port interface for reading one roadmap as a stream of rows.
+ *
+ * @since 1.2
+ */
+public interface RoadmapExportRepository {
+
+    /**
+     * Streams a roadmap into the sink from a single consistent read.
+     *
+     * @param roadmapId Roadmap identifier.
+     * @param sink Receiver of the rows.
+     * @return false when the roadmap does not exist; the sink is not called then.
+     * @throws IOException When the sink fails, e.g. the client went away.
+     */
+    boolean exportRoadmap(String roadmapId, RoadmapExportSink sink) throws IOException;
+}
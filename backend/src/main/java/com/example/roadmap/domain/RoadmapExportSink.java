@@ -0,0 +1,28 @@
+package com.example.roadmap.domain;
+
+import java.io.IOException;
+
+/**
+ * Receives one roadmap row by row while it is exported.
+ *
+ * Calls arrive in this order: {@link #begin}, every axis, every initiative,
+ * every commitment, {@link #end}. Implementations must not keep the rows.
+ *
+ * @since 1.2
+ */
+public interface RoadmapExportSink {
+
+    /**
+     * @param roadmap Roadmap row (id, title, description, creation time).
+     * @param header Header fields (producto, organizacion, horizonte_base); lists are empty.
+     */
+    void begin(Roadmap roadmap, RoadmapConfig header) throws IOException;
+
+    void axis(StrategicAxis axis) throws IOException;
+
+    void initiative(Initiative initiative) throws IOException;
+
+    void commitment(RoadmapCommitment commitment) throws IOException;
+
+    void end() throws IOException;
+}
@@ -0,0 +1,18 @@
+package com.example.roadmap.domain;
+
+/**
+ * Port interface for writing one imported roadmap in a single transaction.
+ *
+ * @since 1.2
+ */
+public interface RoadmapImportRepository {
+
+    /**
+     * Starts a transaction and inserts the roadmap row.
+     *
+     * @param roadmap Roadmap being imported.
+     * @param config Header fields (producto, organizacion, horizonte_base); lists are ignored.
+     * @return Open session; nothing is visible until {@link RoadmapImportSession#commit()}.
+     */
+    RoadmapImportSession openImport(Roadmap roadmap, RoadmapConfig config);
+}
@@ -0,0 +1,45 @@
+package com.example.roadmap.domain;
+
+import java.util.List;
+
+/**
+ * Transactional writer receiving an imported roadmap in bounded batches.
+ *
+ * Axes must be written before initiatives. Closing a session that was not
+ * committed rolls everything back, including the roadmap row.
+ *
+ * @since 1.2
+ */
+public interface RoadmapImportSession extends AutoCloseable {
+
+    /**
+     * Inserts all strategic axes of the roadmap.
+     *
+     * @param axes Axes in display order.
+     */
+    void writeAxes(List<StrategicAxis> axes);
+
+    /**
+     * Inserts one batch of initiatives with their expedientes and links.
+     *
+     * @param initiatives Batch in display order.
+     * @param firstPosition Position of the first initiative of the batch.
+     * @return Number of distinct expedientes written for the batch.
+     */
+    int writeInitiatives(List<Initiative> initiatives, int firstPosition);
+
+    /**
+     * Inserts one batch of commitments.
+     *
+     * @param commitments Batch in display order.
+     * @param firstPosition Position of the first commitment of the batch.
+     */
+    void writeCommitments(List<RoadmapCommitment> commitments, int firstPosition);
+
+    /** Makes the whole import visible. */
+    void commit();
+
+    /** Releases the connection, rolling back when not committed. */
+    @Override
+    void close();
+}
@@ -0,0 +1,43 @@
+package com.example.roadmap.domain;
+
+import java.time.Instant;
+
+/**
+ * Cheap version marker of the roadmap collection.
+ *
+ * Changes whenever a roadmap is added, removed or updated, so it can back
+ * HTTP validators for the roadmap list without shipping the rows.
+ * Adapters with a microsecond {@code updated_at} set on every write need
+ * only the count and latest modification. {@code contentHash} is for
+ * adapters that cannot tell edits apart by time, such as the default
+ * {@link RoadmapRepository#findListVersion()}; it stays 0 otherwise.
+ *
+ * @since 1.2
+ */
+public class RoadmapListVersion {
+    private final long count;
+    private final Instant lastModified;
+    private final long contentHash;
+
+    public RoadmapListVersion(long count, Instant lastModified) {
+        this(count, lastModified, 0L);
+    }
+
+    public RoadmapListVersion(long count, Instant lastModified, long contentHash) {
+        this.count = count;
+        this.lastModified = lastModified == null ? Instant.EPOCH : lastModified;
+        this.contentHash = contentHash;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public long getContentHash() {
+        return contentHash;
+    }
+}
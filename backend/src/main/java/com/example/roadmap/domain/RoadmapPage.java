@@ -0,0 +1,126 @@
+package com.example.roadmap.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One page of the roadmap listing, newest first.
+ *
+ * {@code nextCursor} is an opaque keyset token over {@code (created_at, id)};
+ * null means there are no more pages. {@code totalHint} is only filled on the
+ * first page.
+ *
+ * @since 1.2
+ */
+public class RoadmapPage {
+    private static final String INVALID_CURSOR = "Cursor de roadmaps inválido.";
+
+    private List<Roadmap> items = new ArrayList<>();
+    private String nextCursor;
+    private Long totalHint;
+
+    public RoadmapPage() {
+    }
+
+    public RoadmapPage(List<Roadmap> items, String nextCursor, Long totalHint) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.totalHint = totalHint;
+    }
+
+    public List<Roadmap> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Roadmap> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Long getTotalHint() {
+        return totalHint;
+    }
+
+    public void setTotalHint(Long totalHint) {
+        this.totalHint = totalHint;
+    }
+
+    /**
+     * Builds the cursor pointing after the given roadmap.
+     *
+     * @param last Last roadmap of the current page.
+     * @return Opaque cursor.
+     */
+    public static String cursorAfter(Roadmap last) {
+        String raw = last.getCreatedAt().toEpochMilli() + "\n" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #cursorAfter(Roadmap)}.
+     *
+     * @param cursor Opaque cursor, or null/blank for the first page.
+     * @return Position after which the next page starts, or null.
+     * @throws IllegalArgumentException When the cursor is malformed.
+     */
+    public static Position decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR, e);
+        }
+        int separator = raw.indexOf('\n');
+        if (separator <= 0) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+        try {
+            return new Position(Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator))), raw.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR, e);
+        }
+    }
+
+    /**
+     * Keyset position: creation time and id of the last row already returned.
+     */
+    public static class Position {
+        private final Instant createdAt;
+        private final String id;
+
+        public Position(Instant createdAt, String id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+
+        public Instant getCreatedAt() {
+            return createdAt;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * @param roadmap Candidate row.
+         * @return true when the row sorts after this position (created_at DESC, id DESC).
+         */
+        public boolean precedes(Roadmap roadmap) {
+            int byDate = roadmap.getCreatedAt().compareTo(createdAt);
+            return byDate < 0 || (byDate == 0 && roadmap.getId().compareTo(id) < 0);
+        }
+    }
+}
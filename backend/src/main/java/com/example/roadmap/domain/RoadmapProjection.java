@@ -0,0 +1,53 @@
+package com.example.roadmap.domain;
+
+import java.util.Locale;
+
+/**
+ * Field projection of roadmap listings.
+ *
+ * {@code SUMMARY} ships the description cut to {@link #SUMMARY_DESCRIPTION_LENGTH}
+ * characters so list pages never carry full LONGTEXT values; {@code FULL}
+ * ships it complete.
+ *
+ * @since 1.2
+ */
+public enum RoadmapProjection {
+    SUMMARY,
+    FULL;
+
+    public static final int SUMMARY_DESCRIPTION_LENGTH = 280;
+
+    /**
+     * Parses the {@code fields} request parameter.
+     *
+     * @param value "summary", "full", or null/blank for summary.
+     * @return Projection.
+     * @throws IllegalArgumentException When the value is not recognised.
+     */
+    public static RoadmapProjection parse(String value) {
+        if (value == null || value.isBlank()) {
+            return SUMMARY;
+        }
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "summary":
+                return SUMMARY;
+            case "full":
+                return FULL;
+            default:
+                throw new IllegalArgumentException("Proyección de campos no soportada: " + value);
+        }
+    }
+
+    /**
+     * Applies the projection to a description value.
+     *
+     * @param description Stored description.
+     * @return Description as shipped by this projection.
+     */
+    public String project(String description) {
+        if (this == FULL || description == null || description.length() <= SUMMARY_DESCRIPTION_LENGTH) {
+            return description;
+        }
+        return description.substring(0, SUMMARY_DESCRIPTION_LENGTH);
+    }
+}
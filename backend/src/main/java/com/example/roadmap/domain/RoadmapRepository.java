@@ -1,6 +1,11 @@
 package com.example.roadmap.domain;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -34,4 +39,58 @@ public interface RoadmapRepository {
      * @return List of roadmaps.
      */
     List<Roadmap> findAll();
+
+    /**
+     * Returns how many roadmaps are stored.
+     * Adapters backed by a database should count on an index.
+     *
+     * @return Number of roadmaps.
+     */
+    default long count() {
+        return findAll().size();
+    }
+
+    /**
+     * Returns one page of roadmaps ordered by {@code (created_at, id)} descending.
+     * Adapters backed by a database should seek on an index instead of
+     * reading every row.
+     *
+     * @param after Position of the last row of the previous page, or null for the first page.
+     * @param limit Maximum number of items.
+     * @param projection Fields to ship.
+     * @param query Text the title or description must contain, case-insensitive; null for all.
+     * @return Up to {@code limit} roadmaps.
+     */
+    default List<Roadmap> findPage(RoadmapPage.Position after, int limit, RoadmapProjection projection, String query) {
+        String term = query == null ? null : query.toLowerCase(Locale.ROOT);
+        List<Roadmap> out = new ArrayList<>();
+        findAll().stream()
+            .sorted(Comparator.comparing(Roadmap::getCreatedAt).thenComparing(Roadmap::getId).reversed())
+            .filter(roadmap -> after == null || after.precedes(roadmap))
+            .filter(roadmap -> term == null
+                || (roadmap.getTitle() + " " + roadmap.getDescription()).toLowerCase(Locale.ROOT).contains(term))
+            .limit(limit)
+            .forEach(roadmap -> out.add(new Roadmap(
+                roadmap.getId(), roadmap.getTitle(), projection.project(roadmap.getDescription()), roadmap.getCreatedAt())));
+        return out;
+    }
+
+    /**
+     * Returns a version marker of the whole roadmap collection.
+     * Adapters backed by a database should answer it without reading every row.
+     *
+     * @return Count, latest modification time and content hash of stored roadmaps.
+     */
+    default RoadmapListVersion findListVersion() {
+        List<Roadmap> roadmaps = findAll();
+        Instant lastModified = Instant.EPOCH;
+        long contentHash = 0L;
+        for (Roadmap roadmap : roadmaps) {
+            if (roadmap.getCreatedAt() != null && roadmap.getCreatedAt().isAfter(lastModified)) {
+                lastModified = roadmap.getCreatedAt();
+            }
+            contentHash ^= Objects.hash(roadmap.getId(), roadmap.getTitle(), roadmap.getDescription(), roadmap.getCreatedAt());
+        }
+        return new RoadmapListVersion(roadmaps.size(), lastModified, contentHash);
+    }
 }
\ No newline at end of file
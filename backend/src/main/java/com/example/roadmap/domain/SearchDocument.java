@@ -0,0 +1,54 @@
+package com.example.roadmap.domain;
+
+/**
+ * Searchable text of one roadmap, initiative, commitment or expediente.
+ *
+ * {@code titulo} is the main field (roadmap title, initiative name,
+ * commitment description, expediente code) and ranks higher than
+ * {@code texto} (description, actor, company). Expedientes belong to the
+ * global catalog, so their {@code roadmapId} is null.
+ *
+ * @since 1.2
+ */
+public class SearchDocument {
+    /**
+     * Kind of indexed entity.
+     */
+    public enum Tipo {
+        ROADMAP, INICIATIVA, COMPROMISO, EXPEDIENTE
+    }
+
+    private final Tipo tipo;
+    private final String id;
+    private final String roadmapId;
+    private final String titulo;
+    private final String texto;
+
+    public SearchDocument(Tipo tipo, String id, String roadmapId, String titulo, String texto) {
+        this.tipo = tipo;
+        this.id = id;
+        this.roadmapId = roadmapId;
+        this.titulo = titulo;
+        this.texto = texto;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getRoadmapId() {
+        return roadmapId;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+}
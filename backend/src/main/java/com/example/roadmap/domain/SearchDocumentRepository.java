@@ -0,0 +1,29 @@
+package com.example.roadmap.domain;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Port reading the searchable text of stored roadmaps.
+ *
+ * @since 1.2
+ */
+public interface SearchDocumentRepository {
+
+    /**
+     * Streams every searchable document: roadmaps, initiatives, commitments
+     * and the expedientes catalog.
+     *
+     * @param consumer Receives each document once, in no particular order.
+     */
+    void streamAll(Consumer<SearchDocument> consumer);
+
+    /**
+     * Returns the documents of one roadmap: the roadmap itself, its
+     * initiatives and commitments, and the expedientes linked to them.
+     *
+     * @param roadmapId Roadmap identifier.
+     * @return List<SearchDocument> documents; empty when the roadmap does not exist.
+     */
+    List<SearchDocument> findByRoadmap(String roadmapId);
+}
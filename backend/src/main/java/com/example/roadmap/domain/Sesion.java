@@ -19,6 +19,9 @@ public class Sesion {
     private LocalDateTime createdAt;
     private LocalDateTime expiresAt;
     private Estado estado;
+    private String jti;
+    private String tokenDigest;
+    private LocalDateTime revokedAt;
 
     public Sesion() {
     }
@@ -95,6 +98,33 @@ public class Sesion {
         this.estado = estado;
     }
 
+    /** @return Claim {@code jti} del token, o null en sesiones anteriores a su introducción. */
+    public String getJti() {
+        return jti;
+    }
+
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+
+    /** @return SHA-256 del token en hexadecimal; identifica la sesión aunque no se guarde el token. */
+    public String getTokenDigest() {
+        return tokenDigest;
+    }
+
+    public void setTokenDigest(String tokenDigest) {
+        this.tokenDigest = tokenDigest;
+    }
+
+    /** @return Momento de la revocación, o null si la sesión no está revocada. */
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(LocalDateTime revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+
     /**
      * Estado de la sesión.
      * - ACTIVA: Sesión en vigor y válida.
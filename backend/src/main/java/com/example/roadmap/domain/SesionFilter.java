@@ -0,0 +1,79 @@
+package com.example.roadmap.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criterios para listar o revocar sesiones activas en bloque.
+ *
+ * Los criterios informados se combinan con AND; los null no filtran.
+ *
+ * @since 1.2
+ */
+public class SesionFilter {
+    private Integer usuarioId;
+    private Usuario.Role rol;
+    private String ipAddress;
+    private LocalDateTime createdBefore;
+    private String excludeTokenDigest;
+
+    public SesionFilter() {
+    }
+
+    public SesionFilter(Integer usuarioId, Usuario.Role rol, String ipAddress, LocalDateTime createdBefore) {
+        this.usuarioId = usuarioId;
+        this.rol = rol;
+        this.ipAddress = ipAddress;
+        this.createdBefore = createdBefore;
+    }
+
+    /**
+     * @return true si no hay ningún criterio de selección (la exclusión no cuenta).
+     */
+    public boolean isEmpty() {
+        return usuarioId == null && rol == null && ipAddress == null && createdBefore == null;
+    }
+
+    public Integer getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Integer usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public Usuario.Role getRol() {
+        return rol;
+    }
+
+    public void setRol(Usuario.Role rol) {
+        this.rol = rol;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public void setIpAddress(String ipAddress) {
+        this.ipAddress = ipAddress;
+    }
+
+    public LocalDateTime getCreatedBefore() {
+        return createdBefore;
+    }
+
+    public void setCreatedBefore(LocalDateTime createdBefore) {
+        this.createdBefore = createdBefore;
+    }
+
+    /**
+     * @return Digest hex SHA-256 de un token que nunca se selecciona, p. ej. la
+     *         sesión del propio administrador.
+     */
+    public String getExcludeTokenDigest() {
+        return excludeTokenDigest;
+    }
+
+    public void setExcludeTokenDigest(String excludeTokenDigest) {
+        this.excludeTokenDigest = excludeTokenDigest;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.roadmap.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Página de sesiones activas, de la más reciente a la más antigua.
+ *
+ * {@code nextCursor} es un cursor keyset opaco; null si no hay más páginas.
+ *
+ * @since 1.2
+ */
+public class SesionPage {
+    private List<Sesion> items = new ArrayList<>();
+    private String nextCursor;
+
+    public SesionPage() {
+    }
+
+    public SesionPage(List<Sesion> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Sesion> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Sesion> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.roadmap.domain;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.List;
 
@@ -72,4 +74,82 @@ public interface SesionRepository {
      * @return true si el token existe y está activo.
      */
     boolean isTokenActive(String token);
+
+    /**
+     * Lista sesiones revocadas y aún no expiradas, en orden de revocación,
+     * a partir de una posición (revoked_at, id) exclusiva.
+     * @param afterRevokedAt Marca de revocación de partida, o null para empezar desde el principio.
+     * @param afterId ID de la última sesión leída con esa marca.
+     * @param limit Máximo de filas.
+     * @return Sesiones con jti, token, expiración y revoked_at.
+     */
+    List<Sesion> findRevokedAfter(LocalDateTime afterRevokedAt, int afterId, int limit);
+
+    /**
+     * Lista sesiones activas que cumplen el filtro, de la más reciente a la
+     * más antigua, paginando por ID.
+     * @param filter Criterios de selección.
+     * @param cursor Cursor de la página anterior o null.
+     * @param limit Tamaño de página.
+     * @return Página de sesiones activas.
+     */
+    SesionPage findActive(SesionFilter filter, String cursor, int limit);
+
+    /**
+     * Revoca en una sola sentencia todas las sesiones activas que cumplen el
+     * filtro.
+     * @param filter Criterios de selección; no puede estar vacío.
+     * @return Sesiones revocadas, con jti, digest del token y expiración.
+     */
+    List<Sesion> revokeMatching(SesionFilter filter);
+
+    /**
+     * Elimina como mucho {@code limit} sesiones expiradas antes de una fecha,
+     * empezando por las más antiguas.
+     * @param expiredBefore Límite de expiración.
+     * @param limit Tamaño del lote.
+     * @return Número de sesiones eliminadas.
+     */
+    int deleteExpiredBatch(LocalDateTime expiredBefore, int limit);
+
+    /**
+     * Elimina como mucho {@code limit} sesiones revocadas antes de una fecha.
+     * @param revokedBefore Límite de revocación.
+     * @param limit Tamaño del lote.
+     * @return Número de sesiones eliminadas.
+     */
+    int deleteRevokedBatch(LocalDateTime revokedBefore, int limit);
+
+    /**
+     * Expiración más antigua entre las sesiones que ya deberían haberse eliminado.
+     * @param expiredBefore Límite de expiración.
+     * @return Fecha de expiración, vacía si no queda ninguna.
+     */
+    Optional<LocalDateTime> findOldestExpiredBefore(LocalDateTime expiredBefore);
+
+    /**
+     * Indica si la tabla de sesiones está particionada por fecha de expiración.
+     * @return true si hay particiones por rango.
+     */
+    default boolean isPartitioned() {
+        return false;
+    }
+
+    /**
+     * Borra las particiones cuyas sesiones expiran todas antes de un día.
+     * @param day Primer día que se conserva.
+     * @return Número de particiones borradas.
+     */
+    default int dropPartitionsBefore(LocalDate day) {
+        return 0;
+    }
+
+    /**
+     * Crea particiones diarias hasta un día incluido.
+     * @param day Último día que debe tener partición propia.
+     * @return Número de particiones creadas.
+     */
+    default int ensurePartitionsUntil(LocalDate day) {
+        return 0;
+    }
 }
@@ -0,0 +1,40 @@
+package com.example.roadmap.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Página de la búsqueda de usuarios, ordenada por username.
+ *
+ * {@code nextCursor} es un cursor keyset opaco; null si no hay más páginas.
+ *
+ * @since 1.2
+ */
+public class UsuarioPage {
+    private List<Usuario> items = new ArrayList<>();
+    private String nextCursor;
+
+    public UsuarioPage() {
+    }
+
+    public UsuarioPage(List<Usuario> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Usuario> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Usuario> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.roadmap.domain;
+
+/**
+ * Vista inmutable y mínima de un usuario autenticado.
+ *
+ * Es lo que el filtro JWT adjunta a cada petición y lo que consulta
+ * la autorización por rol: sin hash de contraseña ni auditoría, de modo que
+ * puede cachearse y compartirse entre hilos.
+ *
+ * @since 1.2
+ */
+public final class UsuarioPrincipal {
+    private final Integer id;
+    private final String username;
+    private final Usuario.Role rol;
+    private final boolean activo;
+
+    public UsuarioPrincipal(Integer id, String username, Usuario.Role rol, boolean activo) {
+        this.id = id;
+        this.username = username;
+        this.rol = rol;
+        this.activo = activo;
+    }
+
+    /**
+     * Crea la vista a partir de un usuario completo.
+     *
+     * @param usuario Usuario cargado.
+     * @return Principal con sus datos actuales.
+     */
+    public static UsuarioPrincipal from(Usuario usuario) {
+        return new UsuarioPrincipal(
+            usuario.getId(),
+            usuario.getUsername(),
+            usuario.getRol(),
+            Boolean.TRUE.equals(usuario.getActivo())
+        );
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Usuario.Role getRol() {
+        return rol;
+    }
+
+    public boolean isActivo() {
+        return activo;
+    }
+}
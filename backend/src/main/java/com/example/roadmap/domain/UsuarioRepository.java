@@ -1,7 +1,10 @@
 package com.example.roadmap.domain;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repositorio para acceso a datos de Usuarios.
@@ -24,6 +27,14 @@ public interface UsuarioRepository {
      */
     Optional<Usuario> findById(Integer id);
 
+    /**
+     * Carga solo id, username, rol y estado de un usuario, sin hash de
+     * contraseña ni auditoría. Lo usa la autenticación de cada petición.
+     * @param id El ID del usuario.
+     * @return Optional con el principal si existe.
+     */
+    Optional<UsuarioPrincipal> findPrincipalById(Integer id);
+
     /**
      * Lista todos los usuarios.
      * @return Lista de usuarios.
@@ -45,6 +56,16 @@ public interface UsuarioRepository {
      */
     boolean updatePassword(Integer usuarioId, String passwordHash);
 
+    /**
+     * Sustituye el hash de contraseña solo si sigue siendo el esperado, p.ej.
+     * al recalcularlo con otro coste. No cambia must_change_password.
+     * @param usuarioId El ID del usuario.
+     * @param currentHash Hash que se leyó antes de recalcular.
+     * @param newHash El nuevo hash de la misma contraseña.
+     * @return true si se sustituyó; false si el hash cambió entretanto.
+     */
+    boolean replacePasswordHash(Integer usuarioId, String currentHash, String newHash);
+
     /**
      * Actualiza el rol de un usuario.
      * @param usuarioId El ID del usuario.
@@ -68,6 +89,74 @@ public interface UsuarioRepository {
      */
     boolean delete(Integer usuarioId);
 
+    /**
+     * Cambia el rol salvo que deje el sistema sin ningún ADMIN activo.
+     * La comprobación y el cambio son una única sentencia UPDATE.
+     * @param usuarioId El ID del usuario.
+     * @param rol El nuevo rol.
+     * @return true si se actualizó; false si no existe o es el último ADMIN activo.
+     * @throws IllegalStateException Si un cambio simultáneo lo impide tras reintentarlo.
+     */
+    boolean updateRolKeepingActiveAdmin(Integer usuarioId, Usuario.Role rol);
+
+    /**
+     * Activa o desactiva salvo que deje el sistema sin ningún ADMIN activo.
+     * La comprobación y el cambio son una única sentencia UPDATE.
+     * @param usuarioId El ID del usuario.
+     * @param activo true para activar, false para desactivar.
+     * @return true si se actualizó; false si no existe o es el último ADMIN activo.
+     * @throws IllegalStateException Si un cambio simultáneo lo impide tras reintentarlo.
+     */
+    boolean updateActivoKeepingActiveAdmin(Integer usuarioId, Boolean activo);
+
+    /**
+     * Elimina un usuario salvo que sea el último ADMIN activo.
+     * La comprobación y el borrado son una única sentencia DELETE.
+     * @param usuarioId El ID del usuario.
+     * @return true si se eliminó; false si no existe o es el último ADMIN activo.
+     * @throws IllegalStateException Si un cambio simultáneo lo impide tras reintentarlo.
+     */
+    boolean deleteKeepingActiveAdmin(Integer usuarioId);
+
+    /**
+     * Cuenta usuarios por rol.
+     * @param activo Filtra por estado; null cuenta todos.
+     * @return Número de usuarios de cada rol (0 si no hay ninguno).
+     */
+    Map<Usuario.Role, Integer> countByRol(Boolean activo);
+
+    /**
+     * Busca usuarios por prefijo de username, rol y estado, paginando por username.
+     * Los usuarios devueltos solo traen id, username, rol, activo y
+     * mustChangePassword (sin hash de contraseña ni auditoría).
+     * @param usernamePrefix Prefijo del username; vacío para no filtrar.
+     * @param rol Rol exacto o null.
+     * @param activo Estado exacto o null.
+     * @param cursor Cursor de la página anterior o null.
+     * @param limit Tamaño de página.
+     * @return Página de usuarios.
+     */
+    UsuarioPage search(String usernamePrefix, Usuario.Role rol, Boolean activo, String cursor, int limit);
+
+    /**
+     * Comprueba de una vez qué usernames existen ya, con la misma comparación
+     * que el índice único (sin distinguir mayúsculas ni acentos).
+     * @param usernames Usernames a comprobar.
+     * @return Los usernames recibidos que ya existen, tal como se recibieron.
+     */
+    Set<String> findExistingUsernames(Collection<String> usernames);
+
+    /**
+     * Inserta usuarios nuevos en lotes. Los que choquen con un username
+     * existente se omiten sin abortar el resto, también si ese usuario lo ha
+     * creado otra petición durante la carga.
+     * @param usuarios Usuarios a insertar.
+     * @param batchSize Filas por sentencia de lote.
+     * @return ID asignado a cada username insertado por esta llamada; los
+     *         omitidos no aparecen.
+     */
+    Map<String, Integer> insertAll(List<Usuario> usuarios, int batchSize);
+
     /**
      * Verifica si un username ya existe.
      * @param username El username a verificar.
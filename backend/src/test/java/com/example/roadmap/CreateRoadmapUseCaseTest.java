@@ -3,8 +3,12 @@ package com.example.roadmap;
 import com.example.roadmap.adapters.out.persistence.InMemoryRoadmapRepository;
 import com.example.roadmap.application.CreateRoadmapUseCase;
 import com.example.roadmap.domain.Roadmap;
+import com.example.roadmap.domain.RoadmapPage;
+import com.example.roadmap.domain.RoadmapProjection;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class CreateRoadmapUseCaseTest {
@@ -20,4 +24,55 @@ public class CreateRoadmapUseCaseTest {
         assertEquals("Test", r.getTitle());
         assertEquals(1, repo.findAll().size());
     }
+
+    @Test
+    public void listPageWalksAllRoadmapsNewestFirst() {
+        InMemoryRoadmapRepository repo = new InMemoryRoadmapRepository();
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+        repo.save(new Roadmap("a", "A", "x".repeat(400), base));
+        repo.save(new Roadmap("b", "B", "", base.plusSeconds(10)));
+        repo.save(new Roadmap("c", "C", "", base.plusSeconds(10)));
+        CreateRoadmapUseCase useCase = new CreateRoadmapUseCase(repo);
+
+        RoadmapPage first = useCase.listPage(null, 2, null);
+        assertEquals(3L, first.getTotalHint());
+        assertEquals("c", first.getItems().get(0).getId());
+        assertEquals("b", first.getItems().get(1).getId());
+        assertNotNull(first.getNextCursor());
+
+        RoadmapPage second = useCase.listPage(first.getNextCursor(), 2, "summary");
+        assertNull(second.getTotalHint());
+        assertNull(second.getNextCursor());
+        assertEquals(1, second.getItems().size());
+        assertEquals(RoadmapProjection.SUMMARY_DESCRIPTION_LENGTH, second.getItems().get(0).getDescription().length());
+
+        RoadmapPage full = useCase.listPage(first.getNextCursor(), 2, "full");
+        assertEquals(400, full.getItems().get(0).getDescription().length());
+    }
+
+    @Test
+    public void listPageFiltersByQueryBeforePaging() {
+        InMemoryRoadmapRepository repo = new InMemoryRoadmapRepository();
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+        repo.save(new Roadmap("a", "Portal", "Sede electrónica", base));
+        repo.save(new Roadmap("b", "Datos", "", base.plusSeconds(10)));
+        repo.save(new Roadmap("c", "Archivo", "portal interno", base.plusSeconds(20)));
+        CreateRoadmapUseCase useCase = new CreateRoadmapUseCase(repo);
+
+        RoadmapPage first = useCase.listPage(null, 1, null, " PORTAL ");
+        assertNull(first.getTotalHint());
+        assertEquals("c", first.getItems().get(0).getId());
+
+        RoadmapPage second = useCase.listPage(first.getNextCursor(), 1, null, "portal");
+        assertEquals("a", second.getItems().get(0).getId());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    public void listPageRejectsMalformedCursorAndProjection() {
+        CreateRoadmapUseCase useCase = new CreateRoadmapUseCase(new InMemoryRoadmapRepository());
+
+        assertThrows(IllegalArgumentException.class, () -> useCase.listPage("%%%", null, null));
+        assertThrows(IllegalArgumentException.class, () -> useCase.listPage(null, null, "todo"));
+    }
 }
@@ -0,0 +1,81 @@
+package com.example.roadmap.adapters.in.web;
+
+import com.example.roadmap.domain.RoadmapListVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConditionalResponsesTest {
+    private static final Instant MODIFIED = Instant.parse("2026-10-18T10:15:30Z");
+
+    @Test
+    void matchingEtagAnswers304WithoutBuildingBody() {
+        String etag = ConditionalResponses.listEtag(new RoadmapListVersion(3, MODIFIED));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/roadmaps");
+        request.addHeader("If-None-Match", etag);
+        AtomicInteger bodyCalls = new AtomicInteger();
+
+        ResponseEntity<?> response = ConditionalResponses.respond(
+            webRequest(request), etag, MODIFIED, () -> bodyCalls.incrementAndGet());
+
+        assertEquals(304, response.getStatusCode().value());
+        assertNull(response.getBody());
+        assertEquals(0, bodyCalls.get());
+        assertEquals(etag, response.getHeaders().getETag());
+    }
+
+    @Test
+    void staleEtagAnswers200WithValidators() {
+        String etag = ConditionalResponses.listEtag(new RoadmapListVersion(4, MODIFIED));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/roadmaps");
+        request.addHeader("If-None-Match", ConditionalResponses.listEtag(new RoadmapListVersion(3, MODIFIED)));
+        byte[] json = "{}".getBytes(StandardCharsets.UTF_8);
+
+        ResponseEntity<?> response = ConditionalResponses.respondJson(webRequest(request), etag, MODIFIED, json);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(etag, response.getHeaders().getETag());
+        assertEquals(MODIFIED.toEpochMilli(), response.getHeaders().getLastModified());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void sameSecondEditChangesListEtag() {
+        String before = ConditionalResponses.listEtag(new RoadmapListVersion(3, MODIFIED, 42L));
+        String after = ConditionalResponses.listEtag(new RoadmapListVersion(3, MODIFIED, -7L));
+
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void subMillisecondEditChangesListEtag() {
+        String before = ConditionalResponses.listEtag(new RoadmapListVersion(3, MODIFIED.plusNanos(1_000)));
+        String after = ConditionalResponses.listEtag(new RoadmapListVersion(3, MODIFIED.plusNanos(2_000)));
+
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void ifModifiedSinceAnswers304WhenNotChanged() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/roadmaps");
+        request.addHeader("If-Modified-Since", MODIFIED.toEpochMilli());
+
+        ResponseEntity<?> response = ConditionalResponses.respond(webRequest(request), "\"l-1-x\"", MODIFIED, () -> "body");
+
+        assertEquals(304, response.getStatusCode().value());
+    }
+
+    private ServletWebRequest webRequest(MockHttpServletRequest request) {
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.roadmap.adapters.out.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConnectionScopeTest {
+
+    @Test
+    void closeRollsBackUncommittedTransactionAndReturnsConnection() throws Exception {
+        List<String> calls = new ArrayList<>();
+        ConnectionScope scope = new ConnectionScope(1L, "test", recordingConnection(calls));
+
+        scope.begin();
+        scope.close();
+
+        assertEquals(List.of("setAutoCommit:false", "rollback", "setAutoCommit:true", "close"), calls);
+    }
+
+    @Test
+    void closeAfterCommitDoesNotRollBack() throws Exception {
+        List<String> calls = new ArrayList<>();
+        ConnectionScope scope = new ConnectionScope(2L, "test", recordingConnection(calls));
+
+        scope.begin();
+        scope.commit();
+        scope.close();
+        scope.close();
+
+        assertEquals(List.of("setAutoCommit:false", "commit", "setAutoCommit:true", "close"), calls);
+    }
+
+    @Test
+    void connectionIsNotUsableAfterClose() {
+        ConnectionScope scope = new ConnectionScope(3L, "test", recordingConnection(new ArrayList<>()));
+        scope.close();
+
+        assertThrows(IllegalStateException.class, scope::connection);
+    }
+
+    @Test
+    void histogramReportsPercentilesFromBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(500_000L);
+        }
+        histogram.record(700_000_000L);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(1, histogram.percentileMillis(0.50));
+        assertEquals(1000, histogram.percentileMillis(1.0));
+    }
+
+    private Connection recordingConnection(List<String> calls) {
+        return (Connection) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                String name = method.getName();
+                calls.add(args != null && args.length == 1 ? name + ":" + args[0] : name);
+                return null;
+            }
+        );
+    }
+}
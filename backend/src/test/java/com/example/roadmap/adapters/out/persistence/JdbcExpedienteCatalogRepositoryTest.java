@@ -0,0 +1,29 @@
+package com.example.roadmap.adapters.out.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JdbcExpedienteCatalogRepositoryTest {
+
+    @Test
+    void cursorRoundTripsCodeAndId() {
+        String cursor = JdbcExpedienteCatalogRepository.encodeCursor("DNA-100/ñ", "EXP-1");
+
+        assertArrayEquals(new String[]{"DNA-100/ñ", "EXP-1"}, JdbcExpedienteCatalogRepository.decodeCursor(cursor));
+        assertNull(JdbcExpedienteCatalogRepository.decodeCursor(" "));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> JdbcExpedienteCatalogRepository.decodeCursor("%%%"));
+    }
+
+    @Test
+    void likeWildcardsAreEscaped() {
+        assertEquals("50!%!_a!!", JdbcExpedienteCatalogRepository.escapeLike("50%_a!"));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.roadmap.adapters.out.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RowDiffTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    void classifiesInsertsUpdatesMovesAndDeletes() {
+        Map<String, RowDiff.Row> stored = new HashMap<>();
+        stored.put("A", RowDiff.row(0, "alpha"));
+        stored.put("B", RowDiff.row(1, "beta"));
+        stored.put("C", RowDiff.row(2, "gamma"));
+
+        Map<String, RowDiff.Row> desired = new LinkedHashMap<>();
+        desired.put("B", RowDiff.row(0, "beta"));
+        desired.put("C", RowDiff.row(1, "gamma-2"));
+        desired.put("D", RowDiff.row(2, "delta"));
+
+        RowDiff<String> diff = RowDiff.compute(stored, desired);
+
+        assertEquals(List.of("D"), diff.getInserts());
+        assertEquals(List.of("C"), diff.getUpdates());
+        assertEquals(List.of("B"), diff.getMoves());
+        assertEquals(List.of("A"), diff.getDeletes());
+    }
+
+    @Test
+    void jsonColumnsCompareByContentNotFormatting() throws Exception {
+        Map<String, RowDiff.Row> stored = Map.of("A", RowDiff.row(0,
+            OBJECT_MAPPER.readTree("{\"b\": \"2\", \"a\": \"1\"}"), null));
+        Map<String, RowDiff.Row> desired = Map.of("A", RowDiff.row(0,
+            OBJECT_MAPPER.valueToTree(Map.of("a", "1", "b", "2")), null));
+
+        assertTrue(RowDiff.compute(stored, desired).isEmpty());
+    }
+}
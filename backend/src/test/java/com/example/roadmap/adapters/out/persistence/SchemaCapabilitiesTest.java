@@ -0,0 +1,41 @@
+package com.example.roadmap.adapters.out.persistence;
+
+import com.example.roadmap.DatabaseConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaCapabilitiesTest {
+
+    @AfterEach
+    void reset() {
+        SchemaCapabilities.invalidate();
+    }
+
+    @Test
+    void answersFromSnapshotWithoutTouchingTheConnection() throws Exception {
+        SchemaCapabilities.install(Map.of(
+            "EXPEDIENTES", Set.of("id", "huella_negocio"),
+            "iniciativas", Set.of("id", "posicion")
+        ), DatabaseConnection.getPoolGeneration());
+
+        assertTrue(SchemaCapabilities.hasTable(null, "expedientes"));
+        assertFalse(SchemaCapabilities.hasTable(null, "iniciativa_expediente"));
+        assertTrue(SchemaCapabilities.hasColumns(null, "iniciativas", "ID", "posicion"));
+        assertFalse(SchemaCapabilities.hasColumns(null, "iniciativas", "eje_id"));
+        assertEquals(Set.of("eje_id"), SchemaCapabilities.missingColumns(null, "iniciativas", Set.of("id", "eje_id")));
+    }
+
+    @Test
+    void snapshotFromAnotherPoolGenerationIsStale() {
+        SchemaCapabilities.install(Map.of("roadmaps", Set.of("id")), DatabaseConnection.getPoolGeneration() - 1);
+
+        assertEquals(true, SchemaCapabilities.describe().get("stale"));
+    }
+}
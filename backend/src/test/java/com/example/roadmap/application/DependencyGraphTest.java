@@ -0,0 +1,102 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.Initiative;
+import com.example.roadmap.domain.InitiativeDependency;
+import com.example.roadmap.domain.RoadmapConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DependencyGraphTest {
+
+    @Test
+    void computesScheduleSlackAndCriticalPath() {
+        DependencyGraphAnalysis analysis = DependencyGraph.of(config(
+            initiative("D", "2026-02-01", "2026-02-01", "B", "C", "zzz", "D"),
+            initiative("A", "2026-01-01", "2026-01-10"),
+            initiative("B", "2026-01-01", "2026-01-05", "A"),
+            initiative("C", "2026-01-01", "2026-01-20", "A", "A")
+        )).analyze();
+
+        assertTrue(analysis.isAcyclic());
+        assertEquals(4, analysis.getNodeCount());
+        assertEquals(4, analysis.getEdgeCount());
+        assertEquals("A", analysis.getTopologicalOrder().get(0));
+        assertEquals("D", analysis.getTopologicalOrder().get(3));
+        assertEquals(31, analysis.getProjectDurationDays());
+        assertEquals(List.of("A", "C", "D"), analysis.getCriticalPath());
+
+        DependencyGraphAnalysis.Node b = analysis.getNodes().get(2);
+        assertEquals("B", b.getId());
+        assertEquals(10, b.getEarliestStart());
+        assertEquals(15, b.getSlack());
+        assertFalse(b.isCritical());
+
+        assertEquals(3, analysis.getIgnoredLinks().size());
+        assertEquals(Set.of("desconocida", "autodependencia", "repetida"),
+            Set.of(analysis.getIgnoredLinks().get(0).getReason(),
+                analysis.getIgnoredLinks().get(1).getReason(),
+                analysis.getIgnoredLinks().get(2).getReason()));
+    }
+
+    @Test
+    void reportsCyclesAndLeavesTheirDependentsUnscheduled() {
+        DependencyGraphAnalysis analysis = DependencyGraph.of(config(
+            initiative("E", "2026-T1", "2026-T1", "F"),
+            initiative("F", "2026-T2", "2026-T2", "E"),
+            initiative("G", "2026-T3", "2026-T3", "E"),
+            initiative("H", "2026-T1", "2026-T4")
+        )).analyze();
+
+        assertFalse(analysis.isAcyclic());
+        assertEquals(1, analysis.getCycles().size());
+        assertEquals(Set.of("E", "F"), Set.copyOf(analysis.getCycles().get(0)));
+        assertEquals(List.of("H"), analysis.getTopologicalOrder());
+        assertEquals(List.of("H"), analysis.getCriticalPath());
+        assertNull(analysis.getNodes().get(2).getEarliestStart());
+    }
+
+    @Test
+    void unscheduledSuccessorsDoNotConstrainTheBackwardPass() {
+        DependencyGraphAnalysis analysis = DependencyGraph.of(config(
+            initiative("A", "2026-01-01", "2026-01-10"),
+            initiative("B", "2026-01-11", "2026-01-20", "A", "C"),
+            initiative("C", "2026-01-21", "2026-01-30", "B")
+        )).analyze();
+
+        assertFalse(analysis.isAcyclic());
+        assertEquals(List.of("A"), analysis.getTopologicalOrder());
+        DependencyGraphAnalysis.Node a = analysis.getNodes().get(0);
+        assertEquals(0, a.getLatestStart());
+        assertEquals(0, a.getSlack());
+        assertTrue(a.isCritical());
+        assertEquals(List.of("A"), analysis.getCriticalPath());
+        assertNull(analysis.getNodes().get(1).getSlack());
+    }
+
+    private static RoadmapConfig config(Initiative... initiatives) {
+        RoadmapConfig config = new RoadmapConfig();
+        config.setIniciativas(new ArrayList<>(List.of(initiatives)));
+        return config;
+    }
+
+    private static Initiative initiative(String id, String inicio, String fin, String... dependsOn) {
+        Initiative initiative = new Initiative();
+        initiative.setId(id);
+        initiative.setInicio(inicio);
+        initiative.setFin(fin);
+        List<InitiativeDependency> dependencias = new ArrayList<>();
+        for (String target : dependsOn) {
+            dependencias.add(new InitiativeDependency(target, "funcional"));
+        }
+        initiative.setDependencias(dependencias);
+        return initiative;
+    }
+}
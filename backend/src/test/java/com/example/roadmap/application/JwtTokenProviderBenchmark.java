@@ -0,0 +1,59 @@
+package com.example.roadmap.application;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+
+/**
+ * Coste por petición de verificar un token.
+ *
+ * Compara el camino anterior (un parser nuevo por cada claim, cuatro
+ * verificaciones de firma por petición) con {@link JwtTokenProvider#verify}.
+ * Se ejecuta a mano: {@code java ... JwtTokenProviderBenchmark [iteraciones]}.
+ */
+public class JwtTokenProviderBenchmark {
+    private static final String SECRET = "benchmark-secret-key-must-be-at-least-256-bits-long-for-hs256";
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 3_600_000L);
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        String token = provider.generateToken(42, "benchmark", "ADMIN");
+
+        for (int round = 1; round <= 3; round++) {
+            long before = run(iterations, () -> perClaimParsers(key, token));
+            long after = run(iterations, () -> provider.verify(token).orElseThrow().getUsuarioId());
+            System.out.printf("Ronda %d: antes %.2f us/petición, después %.2f us/petición%n",
+                round, before / 1000.0 / iterations, after / 1000.0 / iterations);
+        }
+    }
+
+    private static Integer perClaimParsers(Key key, String token) {
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getExpiration();
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getId();
+        return ((Number) claims.get("usuarioId")).intValue();
+    }
+
+    private static long run(int iterations, Step step) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += step.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink != 42L * iterations) {
+            throw new IllegalStateException("Resultado inesperado: " + sink);
+        }
+        return elapsed;
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        Integer run();
+    }
+}
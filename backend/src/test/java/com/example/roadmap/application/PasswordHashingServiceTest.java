@@ -0,0 +1,116 @@
+package com.example.roadmap.application;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingServiceTest {
+
+    @Test
+    void encodesAndMatchesOnThePool() {
+        PasswordHashingService service = new PasswordHashingService(new BCryptPasswordEncoder(4), 4, 1, 4, 5000, 2, 8);
+
+        String hash = service.encode("secreto123", "ana", "10.0.0.1");
+
+        assertTrue(service.matches("secreto123", hash, "ana", "10.0.0.1"));
+        assertEquals(2L, service.stats().get("completed"));
+        service.shutdown();
+    }
+
+    @Test
+    void rejectsConcurrentAttemptsForSameUsernameAndFullQueue() throws Exception {
+        BlockingEncoder encoder = new BlockingEncoder();
+        PasswordHashingService service = new PasswordHashingService(encoder, 10, 1, 1, 5000, 1, 8);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> service.matches("x", "h", "ana", "ip1"));
+        assertTrue(encoder.started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(PasswordHashingService.RejectedException.class, () -> service.matches("x", "h", "ANA", "ip2"));
+
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> service.matches("x", "h", "bea", "ip1"));
+        waitUntilQueued(service);
+        PasswordHashingService.RejectedException full = assertThrows(PasswordHashingService.RejectedException.class,
+            () -> service.matches("x", "h", "carla", "ip3"));
+        assertTrue(full.getRetryAfterSeconds() >= 1);
+
+        encoder.release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(1L, service.stats().get("rejectedUsername"));
+        assertEquals(1L, service.stats().get("rejectedQueueFull"));
+        service.shutdown();
+    }
+
+    @Test
+    void slowHashingIsRejectedAfterMaxWait() {
+        BlockingEncoder encoder = new BlockingEncoder();
+        PasswordHashingService service = new PasswordHashingService(encoder, 10, 1, 1, 50, 2, 8);
+
+        assertThrows(PasswordHashingService.RejectedException.class, () -> service.matches("x", "h", "ana", null));
+        assertEquals(1L, service.stats().get("timeouts"));
+        encoder.release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void calibrationPicksLargestCostWithinTarget() {
+        // 2 ms at cost 8 -> 16 ms at 11, 32 ms at 12.
+        assertEquals(11, PasswordHashingService.calibrate(2_000_000L, 20, 4, 14));
+        assertEquals(10, PasswordHashingService.calibrate(50_000_000L, 20, 10, 14));
+        assertEquals(14, PasswordHashingService.calibrate(10_000L, 1000, 10, 14));
+    }
+
+    @Test
+    void onlyHashesWithLowerCostNeedRehash() {
+        PasswordHashingService service = new PasswordHashingService(new BCryptPasswordEncoder(12), 12, 1, 4, 5000, 2, 8);
+
+        assertTrue(service.needsRehash("$2a$10$abcdefghijklmnopqrstuv"));
+        // A node calibrated higher wrote it; lowering it would make nodes rewrite each other's hashes.
+        assertFalse(service.needsRehash("$2b$13$abcdefghijklmnopqrstuv"));
+        assertFalse(service.needsRehash("$2a$12$abcdefghijklmnopqrstuv"));
+        assertFalse(service.needsRehash("texto-plano"));
+        service.shutdown();
+    }
+
+    @Test
+    void encodeInBackgroundHandsTheHashToTheCallback() throws Exception {
+        PasswordHashingService service = new PasswordHashingService(new BCryptPasswordEncoder(4), 4, 1, 4, 5000, 2, 8);
+        CompletableFuture<String> hashed = new CompletableFuture<>();
+
+        assertTrue(service.encodeInBackground("secreto123", hashed::complete));
+
+        assertTrue(service.matches("secreto123", hashed.get(5, TimeUnit.SECONDS), "ana", null));
+        service.shutdown();
+    }
+
+    private static void waitUntilQueued(PasswordHashingService service) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (((Number) service.stats().get("queued")).intValue() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static final class BlockingEncoder extends BCryptPasswordEncoder {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        }
+    }
+}
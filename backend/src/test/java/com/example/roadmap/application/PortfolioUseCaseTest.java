@@ -0,0 +1,81 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.PortfolioAmounts;
+import com.example.roadmap.domain.PortfolioRepository;
+import com.example.roadmap.domain.PortfolioRoadmapStats;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PortfolioUseCaseTest {
+
+    @Test
+    void sumsRoadmapsAndRefreshesOnlyChangedOnes() {
+        StubPortfolioRepository repository = new StubPortfolioRepository();
+        repository.rows.put("r1", stats("r1", "Beta", 3, Map.of("Eje A", 2, "Sin eje", 1), Map.of("2026-01", 2)));
+        repository.rows.put("r2", stats("r2", "Alfa", 2, Map.of("Eje A", 2), Map.of("2026-01", 1, "2026-03", 4)));
+        PortfolioUseCase useCase = new PortfolioUseCase(repository, 60_000L);
+
+        PortfolioSummary first = useCase.getSummary();
+        assertEquals(2, first.getRoadmaps());
+        assertEquals(5, first.getIniciativas());
+        assertEquals(Map.of("Eje A", 4, "Sin eje", 1), first.getIniciativasPorEje());
+        assertEquals(List.of("2026-01", "2026-03"), new ArrayList<>(first.getCompromisosPorMes().keySet()));
+        assertEquals(3, first.getCompromisosPorMes().get("2026-01"));
+        assertEquals("r2", first.getPorRoadmap().get(0).getRoadmapId());
+        assertSame(first, useCase.getSummary());
+
+        repository.rows.put("r1", stats("r1", "Beta", 1, Map.of("Eje B", 1), Map.of()));
+        repository.rows.remove("r2");
+        useCase.roadmapChanged("r1");
+        useCase.roadmapChanged("r2");
+        PortfolioSummary second = useCase.getSummary();
+
+        assertEquals(Arrays.asList(null, List.of("r1", "r2")), repository.requests);
+        assertEquals(1, second.getRoadmaps());
+        assertEquals(Map.of("Eje B", 1), second.getIniciativasPorEje());
+        assertEquals(0, second.getCompromisosPorMes().size());
+        assertEquals(1L, useCase.stats().get("refreshes"));
+    }
+
+    private static PortfolioRoadmapStats stats(String id, String titulo, int iniciativas,
+                                               Map<String, Integer> byAxis, Map<String, Integer> byMonth) {
+        PortfolioRoadmapStats entry = new PortfolioRoadmapStats(id, titulo);
+        entry.setIniciativas(iniciativas);
+        entry.getIniciativasPorEje().putAll(byAxis);
+        entry.getCompromisosPorMes().putAll(byMonth);
+        entry.setExpedientes(new PortfolioAmounts(1, BigDecimal.TEN, BigDecimal.ONE));
+        return entry;
+    }
+
+    private static final class StubPortfolioRepository implements PortfolioRepository {
+        private final Map<String, PortfolioRoadmapStats> rows = new LinkedHashMap<>();
+        private final List<Collection<String>> requests = new ArrayList<>();
+
+        @Override
+        public List<PortfolioRoadmapStats> findStats(Collection<String> roadmapIds) {
+            requests.add(roadmapIds == null ? null : roadmapIds.stream().sorted().toList());
+            List<PortfolioRoadmapStats> out = new ArrayList<>();
+            rows.forEach((id, entry) -> {
+                if (roadmapIds == null || roadmapIds.contains(id)) {
+                    out.add(entry);
+                }
+            });
+            return out;
+        }
+
+        @Override
+        public PortfolioAmounts findLinkedExpedienteAmounts() {
+            return new PortfolioAmounts(rows.size(), BigDecimal.TEN, BigDecimal.ONE);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.roadmap.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RoadmapConfigCacheTest {
+
+    @Test
+    void freshEntryIsServedUntilRevalidationWindowEnds() {
+        AtomicLong now = new AtomicLong(0L);
+        RoadmapConfigCache cache = new RoadmapConfigCache(10_000L, 1_000L, now::get);
+        RoadmapConfigSnapshot snapshot = snapshot("{}", 10L);
+        cache.put("rm-1", snapshot, cache.currentEpoch());
+
+        assertSame(snapshot, cache.getFresh("rm-1"));
+        now.set(1_000L);
+        assertNull(cache.getFresh("rm-1"));
+
+        assertSame(snapshot, cache.getIfVersion("rm-1", Instant.ofEpochMilli(10L)));
+        assertSame(snapshot, cache.getFresh("rm-1"));
+    }
+
+    @Test
+    void versionMismatchIsAMiss() {
+        RoadmapConfigCache cache = new RoadmapConfigCache(10_000L, 0L, () -> 0L);
+        cache.put("rm-1", snapshot("{}", 10L), cache.currentEpoch());
+
+        assertNull(cache.getIfVersion("rm-1", Instant.ofEpochMilli(11L)));
+        assertEquals(1L, cache.stats().get("misses"));
+    }
+
+    @Test
+    void eldestEntriesAreEvictedWhenWeightIsExceeded() {
+        RoadmapConfigSnapshot first = snapshot("x".repeat(100), 1L);
+        long limit = first.weight() * 2;
+        RoadmapConfigCache cache = new RoadmapConfigCache(limit, 60_000L, () -> 0L);
+
+        cache.put("rm-1", first, cache.currentEpoch());
+        cache.put("rm-2", snapshot("y".repeat(100), 1L), cache.currentEpoch());
+        cache.getFresh("rm-1");
+        cache.put("rm-3", snapshot("z".repeat(100), 1L), cache.currentEpoch());
+
+        assertNotNull(cache.getFresh("rm-1"));
+        assertNull(cache.getFresh("rm-2"));
+        assertNotNull(cache.getFresh("rm-3"));
+        assertEquals(1L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    void putIsDiscardedWhenSaveRacedWithLoad() {
+        RoadmapConfigCache cache = new RoadmapConfigCache(10_000L, 60_000L, () -> 0L);
+        long epoch = cache.currentEpoch();
+
+        cache.invalidate("rm-1");
+        cache.put("rm-1", snapshot("{}", 10L), epoch);
+
+        assertNull(cache.getFresh("rm-1"));
+    }
+
+    private RoadmapConfigSnapshot snapshot(String json, long updatedAtMillis) {
+        return new RoadmapConfigSnapshot(json.getBytes(StandardCharsets.UTF_8), Instant.ofEpochMilli(updatedAtMillis), "hash");
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.roadmap.application;
 
+import com.example.roadmap.domain.Initiative;
+import com.example.roadmap.domain.InitiativeExpediente;
+import com.example.roadmap.domain.InitiativeImpact;
 import com.example.roadmap.domain.Roadmap;
 import com.example.roadmap.domain.RoadmapConfig;
 import com.example.roadmap.domain.RoadmapConfigRepository;
@@ -7,12 +10,18 @@ import com.example.roadmap.domain.RoadmapRepository;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class RoadmapConfigUseCaseTest {
@@ -60,6 +69,52 @@ class RoadmapConfigUseCaseTest {
         assertEquals("Test", configRepository.saved.getProducto());
     }
 
+    @Test
+    void savingASharedExpedienteRefreshesTheOtherRoadmap() {
+        SharedExpedienteConfigRepositoryStub configRepository = new SharedExpedienteConfigRepositoryStub();
+        configRepository.configs.put("rm-a", configWithExpediente("ini-a", "Antigua"));
+        configRepository.configs.put("rm-b", configWithExpediente("ini-b", "Antigua"));
+        RoadmapConfigUseCase useCase = new RoadmapConfigUseCase(new InMemoryRoadmapRepositoryStub(), configRepository, null,
+            new RoadmapConfigCache(100_000L, 60_000L, () -> 0L));
+        assertEquals("Antigua", empresa(useCase.getByRoadmapId("rm-b").orElseThrow()));
+
+        Set<String> linked = useCase.saveForRoadmap("rm-a", configWithExpediente("ini-a", "Nueva"));
+
+        assertEquals(Set.of("rm-b"), linked);
+        assertEquals("Nueva", empresa(useCase.getByRoadmapId("rm-b").orElseThrow()));
+    }
+
+    @Test
+    void getDependencyClosureRejectsDepthOutOfRangeAndUnknownRoadmaps() {
+        InMemoryRoadmapRepositoryStub roadmapRepository = new InMemoryRoadmapRepositoryStub();
+        InMemoryConfigRepositoryStub configRepository = new InMemoryConfigRepositoryStub();
+        RoadmapConfigUseCase useCase = new RoadmapConfigUseCase(roadmapRepository, configRepository);
+
+        assertThrows(IllegalArgumentException.class, () -> useCase.getDependencyClosure("rm-1", "ini-1", true, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> useCase.getDependencyClosure("rm-1", "ini-1", true, RoadmapConfigUseCase.MAX_DEPENDENCY_DEPTH + 1));
+        assertTrue(useCase.getDependencyClosure("rm-1", "ini-1", true, 3).isEmpty());
+
+        roadmapRepository.roadmap = new Roadmap("rm-1", "Roadmap Base", "desc", Instant.now());
+        assertEquals(List.of(), useCase.getDependencyClosure("rm-1", "ini-1", false, 3).orElseThrow());
+    }
+
+    private static RoadmapConfig configWithExpediente(String initiativeId, String empresa) {
+        InitiativeExpediente expediente = new InitiativeExpediente();
+        expediente.setId("exp-1");
+        expediente.setEmpresa(empresa);
+        Initiative initiative = new Initiative();
+        initiative.setId(initiativeId);
+        initiative.setExpedientes(new ArrayList<>(List.of(expediente)));
+        RoadmapConfig config = new RoadmapConfig();
+        config.setIniciativas(new ArrayList<>(List.of(initiative)));
+        return config;
+    }
+
+    private static String empresa(RoadmapConfig config) {
+        return config.getIniciativas().get(0).getExpedientes().get(0).getEmpresa();
+    }
+
     private static class InMemoryRoadmapRepositoryStub implements RoadmapRepository {
         Roadmap roadmap;
 
@@ -96,9 +151,69 @@ class RoadmapConfigUseCaseTest {
         }
 
         @Override
-        public void saveForRoadmap(String roadmapId, RoadmapConfig config) {
+        public Set<String> saveForRoadmap(String roadmapId, RoadmapConfig config) {
             this.lastRoadmapId = roadmapId;
             this.saved = config;
+            return Set.of();
+        }
+
+        @Override
+        public Optional<Instant> findUpdatedAt(String roadmapId) {
+            return Optional.of(Instant.EPOCH);
+        }
+
+        @Override
+        public List<Initiative> findInitiativesInWindow(String roadmapId, LocalDate from, LocalDate to) {
+            return List.of();
+        }
+
+        @Override
+        public int countInitiativesWithoutStartDate(String roadmapId) {
+            return 0;
+        }
+
+        @Override
+        public List<InitiativeImpact> findDependencyClosure(String roadmapId, String initiativeId, boolean dependents, int maxDepth) {
+            return List.of();
+        }
+    }
+
+    /** Two roadmaps linking the same expediente, as in the normalized tables. */
+    private static class SharedExpedienteConfigRepositoryStub extends InMemoryConfigRepositoryStub {
+        final Map<String, RoadmapConfig> configs = new HashMap<>();
+        final Map<String, Instant> versions = new HashMap<>();
+        private long clock;
+
+        @Override
+        public Optional<RoadmapConfig> findByRoadmapId(String roadmapId) {
+            return Optional.ofNullable(configs.get(roadmapId));
+        }
+
+        @Override
+        public Optional<Instant> findUpdatedAt(String roadmapId) {
+            return Optional.of(versions.getOrDefault(roadmapId, Instant.EPOCH));
+        }
+
+        @Override
+        public Set<String> saveForRoadmap(String roadmapId, RoadmapConfig config) {
+            configs.put(roadmapId, config);
+            versions.put(roadmapId, Instant.ofEpochMilli(++clock));
+            Set<String> linked = new HashSet<>();
+            for (InitiativeExpediente saved : config.getIniciativas().get(0).getExpedientes()) {
+                for (Map.Entry<String, RoadmapConfig> other : configs.entrySet()) {
+                    if (other.getKey().equals(roadmapId)) {
+                        continue;
+                    }
+                    for (InitiativeExpediente stored : other.getValue().getIniciativas().get(0).getExpedientes()) {
+                        if (stored.getId().equals(saved.getId())) {
+                            stored.setEmpresa(saved.getEmpresa());
+                            versions.put(other.getKey(), Instant.ofEpochMilli(++clock));
+                            linked.add(other.getKey());
+                        }
+                    }
+                }
+            }
+            return linked;
         }
     }
 }
@@ -0,0 +1,102 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.Initiative;
+import com.example.roadmap.domain.Roadmap;
+import com.example.roadmap.domain.RoadmapCommitment;
+import com.example.roadmap.domain.RoadmapConfig;
+import com.example.roadmap.domain.RoadmapExportRepository;
+import com.example.roadmap.domain.RoadmapExportSink;
+import com.example.roadmap.domain.RoadmapHorizon;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoadmapExportUseCaseTest {
+
+    @Test
+    void exportWritesImportShapeWithEmptyListsPresent() throws Exception {
+        RoadmapExportRepository repository = (roadmapId, sink) -> {
+            RoadmapConfig header = new RoadmapConfig();
+            header.setProducto("ETNA");
+            header.setOrganizacion("Org");
+            header.setHorizonte_base(new RoadmapHorizon("2026", "2028"));
+            sink.begin(new Roadmap(roadmapId, "ETNA", "Plan", Instant.parse("2026-01-01T00:00:00Z")), header);
+            for (int i = 1; i <= 2; i++) {
+                Initiative initiative = new Initiative();
+                initiative.setId("I" + i);
+                initiative.setNombre("Iniciativa " + i);
+                sink.initiative(initiative);
+            }
+            RoadmapCommitment commitment = new RoadmapCommitment();
+            commitment.setId("C1");
+            sink.commitment(commitment);
+            sink.end();
+            return true;
+        };
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertTrue(new RoadmapExportUseCase(repository).export("R1", out));
+
+        JsonNode json = new ObjectMapper().readTree(out.toByteArray());
+        assertEquals("ETNA", json.get("title").asText());
+        assertEquals("2026-01-01T00:00:00Z", json.get("createdAt").asText());
+        assertEquals("2028", json.get("horizonte_base").get("fin").asText());
+        assertTrue(json.get("ejes_estrategicos").isArray());
+        assertEquals(0, json.get("ejes_estrategicos").size());
+        assertEquals("I2", json.get("iniciativas").get(1).get("id").asText());
+        assertEquals("C1", json.get("compromisos").get(0).get("id").asText());
+    }
+
+    @Test
+    void missingRoadmapWritesNothing() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertFalse(new RoadmapExportUseCase((roadmapId, sink) -> false).export("R1", out));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void exportToFileSpoolsGzipAndRejectsExportsOverTheLimit() throws Exception {
+        AtomicReference<RoadmapExportUseCase> self = new AtomicReference<>();
+        AtomicReference<Exception> nested = new AtomicReference<>();
+        RoadmapExportRepository repository = (roadmapId, sink) -> {
+            // A second export while this one holds the only slot is rejected.
+            nested.set(assertThrows(IllegalStateException.class, () -> self.get().exportToFile("R2", false)));
+            sink.begin(new Roadmap(roadmapId, "ETNA", "Plan", Instant.parse("2026-01-01T00:00:00Z")), new RoadmapConfig());
+            sink.end();
+            return true;
+        };
+        self.set(new RoadmapExportUseCase(repository, 1));
+
+        Optional<Path> file = self.get().exportToFile("R1", true);
+
+        assertTrue(nested.get().getMessage().contains("exportaciones"));
+        assertTrue(file.isPresent());
+        try (GZIPInputStream in = new GZIPInputStream(Files.newInputStream(file.get()))) {
+            assertEquals("ETNA", new ObjectMapper().readTree(in).get("title").asText());
+        }
+        Files.delete(file.get());
+        // The slot is released once the file is written.
+        Optional<Path> again = self.get().exportToFile("R3", false);
+        assertTrue(again.isPresent());
+        Files.delete(again.get());
+    }
+
+    @Test
+    void exportToFileOfMissingRoadmapLeavesNoFile() throws Exception {
+        assertTrue(new RoadmapExportUseCase((roadmapId, sink) -> false, 1).exportToFile("R1", false).isEmpty());
+    }
+}
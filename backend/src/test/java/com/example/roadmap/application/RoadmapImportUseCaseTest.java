@@ -0,0 +1,127 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.Initiative;
+import com.example.roadmap.domain.Roadmap;
+import com.example.roadmap.domain.RoadmapCommitment;
+import com.example.roadmap.domain.RoadmapConfig;
+import com.example.roadmap.domain.RoadmapImportRepository;
+import com.example.roadmap.domain.RoadmapImportSession;
+import com.example.roadmap.domain.StrategicAxis;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoadmapImportUseCaseTest {
+
+    @Test
+    void initiativesAreWrittenInBatchesEvenWhenListedBeforeAxes() {
+        RecordingImportRepository repository = new RecordingImportRepository();
+        RoadmapImportUseCase useCase = new RoadmapImportUseCase(repository, 2, 1);
+        String json = """
+            {
+              "iniciativas": [
+                {"id": "I1", "nombre": "Uno", "eje": "E1"},
+                {"id": "I2", "nombre": "Dos", "eje": "E1"},
+                {"id": "I3", "nombre": "Tres", "eje": "E1"}
+              ],
+              "title": "ETNA",
+              "ejes_estrategicos": [{"id": "E1", "nombre": "Eje"}],
+              "compromisos": [{"id": "C1", "descripcion": "Hito"}],
+              "expedientes_catalogo": [{"id": "X"}]
+            }
+            """;
+
+        RoadmapImportProgress progress = useCase.importNow(stream(json));
+
+        assertEquals(RoadmapImportProgress.State.COMPLETED, progress.getState());
+        assertEquals("ETNA", progress.getRoadmap().getTitle());
+        assertEquals(List.of("axes:1", "initiatives:2@0", "initiatives:1@2", "commitments:1@0", "commit"), repository.calls);
+        assertEquals(3L, progress.getInitiatives());
+        assertEquals(100, progress.getPercent());
+        assertTrue(repository.closed);
+    }
+
+    @Test
+    void missingTitleIsRejectedBeforeOpeningTransaction() {
+        RecordingImportRepository repository = new RecordingImportRepository();
+        RoadmapImportUseCase useCase = new RoadmapImportUseCase(repository, 10, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> useCase.importNow(stream("{\"iniciativas\": []}")));
+        assertThrows(IllegalArgumentException.class, () -> useCase.importNow(stream("{\"title\": \"A\", \"iniciativas\": {}}")));
+        assertEquals(List.of("axes:0"), repository.calls);
+        assertFalse(repository.calls.contains("commit"));
+    }
+
+    @Test
+    void blockingImportsShareTheConcurrencyLimitAndPayloadsAreBounded() {
+        RecordingImportRepository repository = new RecordingImportRepository();
+        RoadmapImportUseCase useCase = new RoadmapImportUseCase(repository, 10, 1, 64, roadmap -> { });
+        List<RuntimeException> nested = new ArrayList<>();
+        repository.onOpen = () -> {
+            try {
+                useCase.importNow(stream("{\"title\": \"B\"}"));
+            } catch (RuntimeException e) {
+                nested.add(e);
+            }
+        };
+
+        useCase.importNow(stream("{\"title\": \"A\"}"));
+        assertEquals(1, nested.size());
+        assertTrue(nested.get(0) instanceof IllegalStateException);
+
+        repository.onOpen = () -> { };
+        assertThrows(IllegalArgumentException.class,
+            () -> useCase.importNow(stream("{\"title\": \"" + "x".repeat(100) + "\"}")));
+        useCase.importNow(stream("{\"title\": \"C\"}"));
+    }
+
+    private ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class RecordingImportRepository implements RoadmapImportRepository {
+        final List<String> calls = new ArrayList<>();
+        boolean closed;
+        Runnable onOpen = () -> { };
+
+        @Override
+        public RoadmapImportSession openImport(Roadmap roadmap, RoadmapConfig config) {
+            onOpen.run();
+            return new RoadmapImportSession() {
+                @Override
+                public void writeAxes(List<StrategicAxis> axes) {
+                    calls.add("axes:" + axes.size());
+                }
+
+                @Override
+                public int writeInitiatives(List<Initiative> initiatives, int firstPosition) {
+                    calls.add("initiatives:" + initiatives.size() + "@" + firstPosition);
+                    return 0;
+                }
+
+                @Override
+                public void writeCommitments(List<RoadmapCommitment> commitments, int firstPosition) {
+                    calls.add("commitments:" + commitments.size() + "@" + firstPosition);
+                }
+
+                @Override
+                public void commit() {
+                    calls.add("commit");
+                }
+
+                @Override
+                public void close() {
+                    closed = true;
+                }
+            };
+        }
+    }
+}
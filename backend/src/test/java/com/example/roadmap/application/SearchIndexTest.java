@@ -0,0 +1,69 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.SearchDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchIndexTest {
+
+    @Test
+    void foldsAccentsMatchesPrefixAndRanksTitlesFirst() {
+        SearchIndex index = new SearchIndex();
+        index.put(new SearchDocument(SearchDocument.Tipo.ROADMAP, "r1", "r1", "Gestión documental", "Plan de archivo"));
+        index.put(new SearchDocument(SearchDocument.Tipo.INICIATIVA, "i1", "r1", "Migración", "gestión del cambio"));
+        index.put(new SearchDocument(SearchDocument.Tipo.INICIATIVA, "i2", "r1", "Portal del empleado", null));
+
+        SearchIndex.Page page = index.search("GESTION", null, null, 0, 10);
+        assertEquals(2, page.getTotal());
+        assertEquals("r1", page.getItems().get(0).getId());
+        assertEquals("i1", page.getItems().get(1).getId());
+
+        assertEquals("i2", index.search("portal emple", null, null, 0, 10).getItems().get(0).getId());
+        assertEquals(0, index.search("emple ", null, null, 0, 10).getTotal());
+        assertEquals(0, index.search("gestion portal", null, null, 0, 10).getTotal());
+        assertEquals(List.of("gestion", "cambio"), SearchIndex.tokens("Gestión del cambio"));
+    }
+
+    @Test
+    void replacesRoadmapDocumentsAndFiltersByTypeAndRoadmap() {
+        SearchIndex index = new SearchIndex();
+        index.put(new SearchDocument(SearchDocument.Tipo.ROADMAP, "r1", "r1", "Roadmap datos", null));
+        index.put(new SearchDocument(SearchDocument.Tipo.ROADMAP, "r2", "r2", "Roadmap datos", null));
+        index.put(new SearchDocument(SearchDocument.Tipo.INICIATIVA, "old", "r1", "Datos antiguos", null));
+
+        index.replaceRoadmap("r1", List.of(
+            new SearchDocument(SearchDocument.Tipo.INICIATIVA, "new", "r1", "Datos nuevos", null),
+            new SearchDocument(SearchDocument.Tipo.EXPEDIENTE, "e1", null, "EXP-1", "Datos SA")
+        ));
+
+        assertEquals(0, index.search("antiguos", null, null, 0, 10).getTotal());
+        assertEquals(4, index.search("datos", null, null, 0, 10).getTotal());
+        assertEquals(2, index.search("datos", null, "r1", 0, 10).getTotal());
+        assertEquals(2, index.search("datos", SearchDocument.Tipo.ROADMAP, null, 0, 10).getTotal());
+
+        SearchIndex.Page second = index.search("datos", null, null, 3, 2);
+        assertEquals(4, second.getTotal());
+        assertEquals(1, second.getItems().size());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void rareTermRestrictsCandidatesInLargeIndexes() {
+        SearchIndex index = new SearchIndex();
+        for (int i = 0; i < 5000; i++) {
+            String title = i % 1000 == 0 ? "Plan hito " + i : "Plan " + i;
+            index.put(new SearchDocument(SearchDocument.Tipo.INICIATIVA, "i" + i, "r" + (i % 2), title, null));
+        }
+        index.put(new SearchDocument(SearchDocument.Tipo.INICIATIVA, "i1000", "r0", "Plan 1000", null));
+
+        SearchIndex.Page page = index.search("plan hito", null, null, 0, 10);
+        assertEquals(4, page.getTotal());
+        assertEquals(List.of("i0", "i2000", "i3000", "i4000"),
+            page.getItems().stream().map(SearchIndex.Hit::getId).toList());
+        assertEquals(3, index.search("hito plan", null, "r0", 1, 10).getItems().size());
+        assertEquals(5000, index.search("plan", null, null, 0, 1).getTotal());
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.Sesion;
+import com.example.roadmap.domain.SesionFilter;
+import com.example.roadmap.domain.SesionPage;
+import com.example.roadmap.domain.SesionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SessionReaperTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 18, 12, 0);
+
+    @Test
+    void deletesExpiredInBatchesUntilAShortBatch() {
+        ExpiringSessionsStub repository = new ExpiringSessionsStub(1250, 0);
+        SessionReaper reaper = reaper(repository, Duration.ofHours(24), 10);
+
+        assertEquals(1250, reaper.runOnce());
+        assertEquals(List.of(500, 500, 250), repository.expiredBatches);
+        assertEquals(NOW.minusMinutes(60), repository.lastExpiredBefore);
+    }
+
+    @Test
+    void stopsAfterMaxBatchesAndReportsLag() {
+        ExpiringSessionsStub repository = new ExpiringSessionsStub(5000, 0);
+        repository.oldestExpired = NOW.minusHours(3);
+        SessionReaper reaper = reaper(repository, Duration.ofHours(24), 2);
+
+        assertEquals(1000, reaper.runOnce());
+        Map<String, Object> stats = reaper.stats();
+        assertEquals(1000L, stats.get("expiredReaped"));
+        assertEquals(2L * 3600L, stats.get("lagSeconds"));
+    }
+
+    @Test
+    void keepsRevokedSessionsWhenStatelessValidationNeedsThem() {
+        ExpiringSessionsStub repository = new ExpiringSessionsStub(0, 300);
+
+        assertEquals(0, reaper(repository, null, 10).runOnce());
+        assertEquals(300, reaper(repository, Duration.ofHours(24), 10).runOnce());
+        assertEquals(NOW.minusHours(24), repository.lastRevokedBefore);
+    }
+
+    @Test
+    void dropsWholePartitionsWhenTableIsPartitioned() {
+        ExpiringSessionsStub repository = new ExpiringSessionsStub(0, 0);
+        repository.partitioned = true;
+
+        reaper(repository, Duration.ofHours(24), 10).runOnce();
+
+        assertEquals(LocalDate.of(2026, 10, 25), repository.partitionsUntil);
+        assertEquals(LocalDate.of(2026, 10, 18), repository.partitionsBefore);
+        assertEquals(1, repository.expiredBatches.size());
+    }
+
+    private static SessionReaper reaper(SesionRepository repository, Duration revokedRetention, int maxBatches) {
+        return new SessionReaper(repository, true, 60000L, 500, 0L, maxBatches,
+            Duration.ofMinutes(60), revokedRetention, () -> NOW);
+    }
+
+    private static final class ExpiringSessionsStub implements SesionRepository {
+        private final List<Integer> expiredBatches = new ArrayList<>();
+        private int expired;
+        private int revoked;
+        private LocalDateTime lastExpiredBefore;
+        private LocalDateTime lastRevokedBefore;
+        private LocalDateTime oldestExpired;
+        private boolean partitioned;
+        private LocalDate partitionsUntil;
+        private LocalDate partitionsBefore;
+
+        private ExpiringSessionsStub(int expired, int revoked) {
+            this.expired = expired;
+            this.revoked = revoked;
+        }
+
+        @Override
+        public int deleteExpiredBatch(LocalDateTime expiredBefore, int limit) {
+            lastExpiredBefore = expiredBefore;
+            int deleted = Math.min(expired, limit);
+            expired -= deleted;
+            expiredBatches.add(deleted);
+            return deleted;
+        }
+
+        @Override
+        public int deleteRevokedBatch(LocalDateTime revokedBefore, int limit) {
+            lastRevokedBefore = revokedBefore;
+            int deleted = Math.min(revoked, limit);
+            revoked -= deleted;
+            return deleted;
+        }
+
+        @Override
+        public Optional<LocalDateTime> findOldestExpiredBefore(LocalDateTime expiredBefore) {
+            return Optional.ofNullable(oldestExpired);
+        }
+
+        @Override
+        public boolean isPartitioned() {
+            return partitioned;
+        }
+
+        @Override
+        public int dropPartitionsBefore(LocalDate day) {
+            partitionsBefore = day;
+            return 0;
+        }
+
+        @Override
+        public int ensurePartitionsUntil(LocalDate day) {
+            partitionsUntil = day;
+            return 0;
+        }
+
+        @Override
+        public Optional<Sesion> findByToken(String token) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Sesion> findById(Integer id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<Sesion> findActiveByUsuarioId(Integer usuarioId) {
+            return List.of();
+        }
+
+        @Override
+        public Sesion save(Sesion sesion) {
+            return sesion;
+        }
+
+        @Override
+        public boolean updateEstado(Integer sesionId, Sesion.Estado estado) {
+            return false;
+        }
+
+        @Override
+        public SesionPage findActive(SesionFilter filter, String cursor, int limit) {
+            return new SesionPage();
+        }
+
+        @Override
+        public List<Sesion> revokeMatching(SesionFilter filter) {
+            return List.of();
+        }
+
+        @Override
+        public boolean revokeByToken(String token) {
+            return false;
+        }
+
+        @Override
+        public int revokeAllByUsuarioId(Integer usuarioId) {
+            return 0;
+        }
+
+        @Override
+        public int deleteExpired() {
+            return 0;
+        }
+
+        @Override
+        public boolean isTokenActive(String token) {
+            return false;
+        }
+
+        @Override
+        public List<Sesion> findRevokedAfter(LocalDateTime afterRevokedAt, int afterId, int limit) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.Sesion;
+import com.example.roadmap.domain.SesionFilter;
+import com.example.roadmap.domain.SesionPage;
+import com.example.roadmap.domain.SesionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionRevocationListTest {
+
+    @Test
+    void refreshPicksUpNewRevocationsIncrementally() {
+        AtomicLong now = new AtomicLong(toMillis(LocalDateTime.of(2026, 10, 18, 9, 0)));
+        RevokedSessionsStub repository = new RevokedSessionsStub();
+        List<String> notified = new ArrayList<>();
+        SessionRevocationList list = new SessionRevocationList(repository, s -> notified.add(s.getJti()), 1000, 1000, now::get);
+
+        repository.add(1, "a", LocalDateTime.of(2026, 10, 18, 8, 0), LocalDateTime.of(2026, 10, 18, 12, 0));
+        assertEquals(1, list.refresh());
+        repository.add(2, "b", LocalDateTime.of(2026, 10, 18, 8, 30), LocalDateTime.of(2026, 10, 18, 12, 0));
+        assertEquals(1, list.refresh());
+        assertEquals(0, list.refresh());
+
+        assertTrue(list.isRevoked("a"));
+        assertTrue(list.isRevoked("b"));
+        assertFalse(list.isRevoked("c"));
+        assertEquals(List.of("a", "b"), notified);
+        assertTrue(list.isFresh());
+        assertEquals(LocalDateTime.of(2026, 10, 18, 8, 29, 55), repository.lastAfter);
+    }
+
+    @Test
+    void expiredRevocationsAreDroppedAndLocalRevokesApplyAtOnce() {
+        AtomicLong now = new AtomicLong(toMillis(LocalDateTime.of(2026, 10, 18, 9, 0)));
+        RevokedSessionsStub repository = new RevokedSessionsStub();
+        SessionRevocationList list = new SessionRevocationList(repository, null, 1000, 1000, now::get);
+        repository.add(1, "a", LocalDateTime.of(2026, 10, 18, 8, 0), LocalDateTime.of(2026, 10, 18, 10, 0));
+        list.refresh();
+
+        list.revoke("local", toMillis(LocalDateTime.of(2026, 10, 18, 11, 0)));
+        assertTrue(list.isRevoked("local"));
+
+        now.set(toMillis(LocalDateTime.of(2026, 10, 18, 10, 30)));
+        assertFalse(list.isFresh());
+        list.refresh();
+        assertFalse(list.isRevoked("a"));
+        assertTrue(list.isRevoked("local"));
+        assertEquals(1, list.stats().get("revoked"));
+    }
+
+    @Test
+    void revokesDuringAFilterRebuildAreNotLost() throws Exception {
+        long start = toMillis(LocalDateTime.of(2026, 10, 18, 9, 0));
+        AtomicLong now = new AtomicLong(start);
+        SessionRevocationList list = new SessionRevocationList(new RevokedSessionsStub(), null, 1000, 1000, now::get);
+        for (int round = 0; round < 20; round++) {
+            // Expiring entries make the next refresh rebuild the filter.
+            for (int i = 0; i < 5000; i++) {
+                list.revoke("viejo-" + round + "-" + i, now.get() + 1);
+            }
+            now.addAndGet(2);
+            CountDownLatch go = new CountDownLatch(1);
+            int currentRound = round;
+            Thread revoker = new Thread(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 200; i++) {
+                    list.revoke("nuevo-" + currentRound + "-" + i, start + 3_600_000L);
+                }
+            });
+            revoker.start();
+            go.countDown();
+            list.refresh();
+            revoker.join();
+            for (int i = 0; i < 200; i++) {
+                assertTrue(list.isRevoked("nuevo-" + round + "-" + i), "perdido en ronda " + round + ": " + i);
+            }
+        }
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegatives() {
+        SessionRevocationList.BloomFilter filter = new SessionRevocationList.BloomFilter(1000);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("jti-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("jti-" + i));
+            if (filter.mightContain("otro-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 50, "falsos positivos: " + falsePositives);
+    }
+
+    private static long toMillis(LocalDateTime value) {
+        return value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class RevokedSessionsStub implements SesionRepository {
+        private final List<Sesion> revoked = new ArrayList<>();
+        private LocalDateTime lastAfter;
+
+        void add(int id, String jti, LocalDateTime revokedAt, LocalDateTime expiresAt) {
+            Sesion sesion = new Sesion(1, "token-" + jti, expiresAt);
+            sesion.setId(id);
+            sesion.setJti(jti);
+            sesion.setEstado(Sesion.Estado.REVOCADA);
+            sesion.setRevokedAt(revokedAt);
+            revoked.add(sesion);
+        }
+
+        @Override
+        public List<Sesion> findRevokedAfter(LocalDateTime afterRevokedAt, int afterId, int limit) {
+            lastAfter = afterRevokedAt;
+            return revoked.stream()
+                .filter(s -> afterRevokedAt == null || s.getRevokedAt().isAfter(afterRevokedAt)
+                    || (s.getRevokedAt().equals(afterRevokedAt) && s.getId() > afterId))
+                .sorted(Comparator.comparing(Sesion::getRevokedAt).thenComparing(Sesion::getId))
+                .limit(limit)
+                .toList();
+        }
+
+        @Override
+        public Optional<Sesion> findByToken(String token) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Sesion> findById(Integer id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<Sesion> findActiveByUsuarioId(Integer usuarioId) {
+            return List.of();
+        }
+
+        @Override
+        public Sesion save(Sesion sesion) {
+            return sesion;
+        }
+
+        @Override
+        public boolean updateEstado(Integer sesionId, Sesion.Estado estado) {
+            return false;
+        }
+
+        @Override
+        public SesionPage findActive(SesionFilter filter, String cursor, int limit) {
+            return new SesionPage();
+        }
+
+        @Override
+        public List<Sesion> revokeMatching(SesionFilter filter) {
+            return List.of();
+        }
+
+        @Override
+        public boolean revokeByToken(String token) {
+            return false;
+        }
+
+        @Override
+        public int revokeAllByUsuarioId(Integer usuarioId) {
+            return 0;
+        }
+
+        @Override
+        public int deleteExpired() {
+            return 0;
+        }
+
+        @Override
+        public boolean isTokenActive(String token) {
+            return false;
+        }
+
+        @Override
+        public int deleteExpiredBatch(LocalDateTime expiredBefore, int limit) {
+            return 0;
+        }
+
+        @Override
+        public int deleteRevokedBatch(LocalDateTime revokedBefore, int limit) {
+            return 0;
+        }
+
+        @Override
+        public Optional<LocalDateTime> findOldestExpiredBefore(LocalDateTime expiredBefore) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.roadmap.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TokenAuthenticationCacheTest {
+
+    @Test
+    void entryExpiresWithTokenEvenWhenTtlIsLonger() {
+        AtomicLong now = new AtomicLong(1_000L);
+        TokenAuthenticationCache cache = new TokenAuthenticationCache(10, 60_000L, now::get);
+        cache.put("token-a", 1, 1_500L, cache.currentEpoch());
+        assertEquals(1, cache.get("token-a"));
+
+        now.set(1_500L);
+        assertNull(cache.get("token-a"));
+        assertEquals(1L, cache.stats().get("expirations"));
+    }
+
+    @Test
+    void invalidateUsuarioRemovesAllTokensOfThatUser() {
+        TokenAuthenticationCache cache = new TokenAuthenticationCache(10, 60_000L, () -> 0L);
+        cache.put("token-a", 1, 10_000L, cache.currentEpoch());
+        cache.put("token-b", 1, 10_000L, cache.currentEpoch());
+        cache.put("token-c", 2, 10_000L, cache.currentEpoch());
+
+        assertEquals(2, cache.invalidateUsuario(1));
+        assertNull(cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+        assertEquals(2, cache.get("token-c"));
+    }
+
+    @Test
+    void invalidateDigestRemovesTokenKnownOnlyByItsHash() {
+        TokenAuthenticationCache cache = new TokenAuthenticationCache(10, 60_000L, () -> 0L);
+        cache.put("token-a", 1, 10_000L, cache.currentEpoch());
+
+        cache.invalidateDigest(TokenAuthenticationCache.digest("token-a"));
+
+        assertNull(cache.get("token-a"));
+    }
+
+    @Test
+    void invalidateDigestsRemovesABulkRevocationAtOnce() {
+        TokenAuthenticationCache cache = new TokenAuthenticationCache(10, 60_000L, () -> 0L);
+        cache.put("token-a", 1, 10_000L, cache.currentEpoch());
+        cache.put("token-b", 2, 10_000L, cache.currentEpoch());
+        cache.put("token-c", 3, 10_000L, cache.currentEpoch());
+
+        assertEquals(2, cache.invalidateDigests(List.of(
+            TokenAuthenticationCache.digest("token-a"), TokenAuthenticationCache.digest("token-b"))));
+        assertNull(cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+        assertEquals(3, cache.get("token-c"));
+    }
+
+    @Test
+    void putIsDiscardedWhenInvalidationRacedWithVerification() {
+        TokenAuthenticationCache cache = new TokenAuthenticationCache(10, 60_000L, () -> 0L);
+        long epoch = cache.currentEpoch();
+
+        cache.invalidateToken("token-a");
+        cache.put("token-a", 1, 10_000L, epoch);
+
+        assertNull(cache.get("token-a"));
+    }
+
+    @Test
+    void sizeIsBoundedByMaxEntries() {
+        TokenAuthenticationCache cache = new TokenAuthenticationCache(2, 60_000L, () -> 0L);
+        cache.put("token-a", 1, 10_000L, cache.currentEpoch());
+        cache.put("token-b", 2, 10_000L, cache.currentEpoch());
+        cache.put("token-c", 3, 10_000L, cache.currentEpoch());
+
+        assertEquals(2, cache.stats().get("size"));
+        assertEquals(1L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    void fullCacheEvictsABatchAndSweepDropsExpiredEntries() {
+        AtomicLong now = new AtomicLong();
+        TokenAuthenticationCache cache = new TokenAuthenticationCache(100, 60_000L, now::get);
+        for (int i = 0; i < 100; i++) {
+            cache.put("token-" + i, i, i < 50 ? 1_000L : 100_000L, cache.currentEpoch());
+        }
+
+        cache.put("token-100", 100, 100_000L, cache.currentEpoch());
+        assertEquals(91, cache.stats().get("size"));
+        assertEquals(10L, cache.stats().get("evictions"));
+        cache.put("token-101", 101, 100_000L, cache.currentEpoch());
+        assertEquals(10L, cache.stats().get("evictions"));
+
+        now.set(2_000L);
+        int expired = cache.sweepExpired();
+        assertEquals(92 - expired, cache.stats().get("size"));
+        assertEquals((long) expired, cache.stats().get("expirations"));
+        assertEquals(101, cache.get("token-101"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.Usuario;
+import com.example.roadmap.domain.UsuarioPrincipal;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UsuarioPrincipalCacheTest {
+
+    @Test
+    void loadsOncePerTtl() {
+        AtomicLong now = new AtomicLong(0L);
+        AtomicInteger loads = new AtomicInteger();
+        UsuarioPrincipalCache cache = new UsuarioPrincipalCache(10, 30_000L, now::get);
+        UsuarioPrincipal admin = principal(1, Usuario.Role.ADMIN);
+
+        UsuarioPrincipal first = cache.get(1, id -> { loads.incrementAndGet(); return Optional.of(admin); }).orElseThrow();
+        UsuarioPrincipal second = cache.get(1, id -> { loads.incrementAndGet(); return Optional.of(admin); }).orElseThrow();
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+
+        now.set(30_000L);
+        cache.get(1, id -> { loads.incrementAndGet(); return Optional.of(admin); });
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateMakesRoleChangeVisible() {
+        UsuarioPrincipalCache cache = new UsuarioPrincipalCache(10, 30_000L, () -> 0L);
+        cache.get(1, id -> Optional.of(principal(1, Usuario.Role.ADMIN)));
+
+        cache.invalidate(1);
+
+        assertEquals(Usuario.Role.CONSULTA,
+            cache.get(1, id -> Optional.of(principal(1, Usuario.Role.CONSULTA))).orElseThrow().getRol());
+    }
+
+    @Test
+    void loadRacingWithInvalidationIsNotCached() {
+        UsuarioPrincipalCache cache = new UsuarioPrincipalCache(10, 30_000L, () -> 0L);
+
+        cache.get(1, id -> {
+            cache.invalidate(1);
+            return Optional.of(principal(1, Usuario.Role.ADMIN));
+        });
+
+        assertEquals(Usuario.Role.GESTION,
+            cache.get(1, id -> Optional.of(principal(1, Usuario.Role.GESTION))).orElseThrow().getRol());
+    }
+
+    @Test
+    void missingUsersAreNotCached() {
+        UsuarioPrincipalCache cache = new UsuarioPrincipalCache(10, 30_000L, () -> 0L);
+
+        assertTrue(cache.get(7, id -> Optional.empty()).isEmpty());
+        assertEquals(0, cache.stats().get("size"));
+    }
+
+    @Test
+    void fullCacheEvictsABatchAndSweepDropsExpiredEntries() {
+        AtomicLong now = new AtomicLong(0L);
+        UsuarioPrincipalCache cache = new UsuarioPrincipalCache(10, 30_000L, now::get);
+        for (int id = 1; id <= 10; id++) {
+            int userId = id;
+            cache.get(userId, key -> Optional.of(principal(userId, Usuario.Role.CONSULTA)));
+        }
+
+        cache.get(11, key -> Optional.of(principal(11, Usuario.Role.CONSULTA)));
+        assertEquals(10, cache.stats().get("size"));
+        assertEquals(1L, cache.stats().get("evictions"));
+
+        now.set(30_000L);
+        assertEquals(10, cache.sweepExpired());
+        assertEquals(0, cache.stats().get("size"));
+    }
+
+    private UsuarioPrincipal principal(int id, Usuario.Role rol) {
+        return new UsuarioPrincipal(id, "user" + id, rol, true);
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.roadmap.application;
+
+import com.example.roadmap.domain.Usuario;
+import com.example.roadmap.domain.UsuarioPage;
+import com.example.roadmap.domain.UsuarioPrincipal;
+import com.example.roadmap.domain.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UsuarioProvisioningUseCaseTest {
+
+    @Test
+    void reportsEveryRowAndInsertsOnlyValidNewUsers() {
+        UsersStub repository = new UsersStub(Set.of("existente"));
+        PasswordHashingService hashing = new PasswordHashingService(new BCryptPasswordEncoder(4), 4, 2, 4, 5000, 2, 8);
+        UsuarioProvisioningUseCase useCase = new UsuarioProvisioningUseCase(repository, hashing, 100, 2, 0);
+
+        UsuarioProvisioningUseCase.ProvisioningResult result = useCase.provision(List.of(
+            new UsuarioProvisioningUseCase.ProvisionRow("ana.garcia", "gestion", "secreto1"),
+            new UsuarioProvisioningUseCase.ProvisionRow("existente", "CONSULTA", null),
+            new UsuarioProvisioningUseCase.ProvisionRow("Ána.García", "CONSULTA", null),
+            new UsuarioProvisioningUseCase.ProvisionRow("xy", "CONSULTA", null),
+            new UsuarioProvisioningUseCase.ProvisionRow("luis", "JEFE", null),
+            new UsuarioProvisioningUseCase.ProvisionRow("marta", "ADMIN", ""),
+            new UsuarioProvisioningUseCase.ProvisionRow("pedro", "CONSULTA", "corta")
+        ), "admin");
+
+        List<UsuarioProvisioningUseCase.RowResult> rows = result.getResults();
+        assertEquals(2, result.getCreated());
+        assertEquals(5, result.getFailed());
+        assertEquals(UsuarioProvisioningUseCase.Estado.CREADO, rows.get(0).getEstado());
+        assertEquals(UsuarioProvisioningUseCase.Estado.YA_EXISTE, rows.get(1).getEstado());
+        assertEquals(UsuarioProvisioningUseCase.Estado.DUPLICADO, rows.get(2).getEstado());
+        assertEquals(UsuarioProvisioningUseCase.Estado.INVALIDO, rows.get(3).getEstado());
+        assertEquals(UsuarioProvisioningUseCase.Estado.INVALIDO, rows.get(4).getEstado());
+        assertEquals(UsuarioProvisioningUseCase.Estado.CREADO, rows.get(5).getEstado());
+        assertEquals(UsuarioProvisioningUseCase.Estado.INVALIDO, rows.get(6).getEstado());
+
+        assertEquals(1, repository.existenceQueries);
+        assertEquals(2, repository.inserted.size());
+        Usuario ana = repository.inserted.get(0);
+        assertEquals(Usuario.Role.GESTION, ana.getRol());
+        assertTrue(new BCryptPasswordEncoder(4).matches("secreto1", ana.getPasswordHash()));
+        assertFalse(ana.getMustChangePassword());
+        Usuario marta = repository.inserted.get(1);
+        assertNull(marta.getPasswordHash());
+        assertTrue(marta.getMustChangePassword());
+        assertEquals("admin", marta.getCreatedBy());
+    }
+
+    @Test
+    void userCreatedConcurrentlyIsNotReportedAsCreated() {
+        UsersStub repository = new UsersStub(Set.of());
+        // Otra petición crea "carlos" después de la comprobación y antes del lote.
+        repository.createdAfterCheck.add("carlos");
+        PasswordHashingService hashing = new PasswordHashingService(new BCryptPasswordEncoder(4), 4, 2, 4, 5000, 2, 8);
+        UsuarioProvisioningUseCase useCase = new UsuarioProvisioningUseCase(repository, hashing, 100, 2, 0);
+
+        UsuarioProvisioningUseCase.ProvisioningResult result = useCase.provision(List.of(
+            new UsuarioProvisioningUseCase.ProvisionRow("ana", "CONSULTA", null),
+            new UsuarioProvisioningUseCase.ProvisionRow("carlos", "CONSULTA", null),
+            new UsuarioProvisioningUseCase.ProvisionRow("marta", "CONSULTA", null)
+        ), "admin");
+
+        List<UsuarioProvisioningUseCase.RowResult> rows = result.getResults();
+        assertEquals(2, result.getCreated());
+        assertEquals(UsuarioProvisioningUseCase.Estado.CREADO, rows.get(0).getEstado());
+        assertEquals(UsuarioProvisioningUseCase.Estado.YA_EXISTE, rows.get(1).getEstado());
+        assertNull(rows.get(1).getId());
+        assertEquals(UsuarioProvisioningUseCase.Estado.CREADO, rows.get(2).getEstado());
+        assertEquals(List.of("ana", "marta"), repository.inserted.stream().map(Usuario::getUsername).toList());
+    }
+
+    @Test
+    void parsesCsvWithHeaderSemicolonsAndQuotes() {
+        List<UsuarioProvisioningUseCase.ProvisionRow> rows = UsuarioProvisioningUseCase.parseCsv(
+            "username;rol;password\r\nana;GESTION;\"a;b\"\"c\"\r\n\r\nluis;CONSULTA\n");
+
+        assertEquals(2, rows.size());
+        assertEquals("ana", rows.get(0).getUsername());
+        assertEquals("a;b\"c", rows.get(0).getPassword());
+        assertEquals("CONSULTA", rows.get(1).getRol());
+        assertNull(rows.get(1).getPassword());
+    }
+
+    private static final class UsersStub implements UsuarioRepository {
+        private final Set<String> existing;
+        private final Set<String> createdAfterCheck = new HashSet<>();
+        private final List<Usuario> inserted = new ArrayList<>();
+        private int existenceQueries;
+
+        private UsersStub(Set<String> existing) {
+            this.existing = existing;
+        }
+
+        @Override
+        public Set<String> findExistingUsernames(Collection<String> usernames) {
+            existenceQueries++;
+            Set<String> out = new HashSet<>();
+            for (String username : usernames) {
+                if (existing.contains(username)) {
+                    out.add(username);
+                }
+            }
+            return out;
+        }
+
+        @Override
+        public Map<String, Integer> insertAll(List<Usuario> usuarios, int batchSize) {
+            // Como INSERT IGNORE: se omiten los usernames que ya existen en ese momento.
+            Map<String, Integer> ids = new HashMap<>();
+            for (Usuario usuario : usuarios) {
+                if (existing.contains(usuario.getUsername()) || createdAfterCheck.contains(usuario.getUsername())) {
+                    continue;
+                }
+                inserted.add(usuario);
+                ids.put(usuario.getUsername(), inserted.size());
+            }
+            return ids;
+        }
+
+        @Override
+        public Optional<Usuario> findByUsername(String username) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Usuario> findById(Integer id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<UsuarioPrincipal> findPrincipalById(Integer id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<Usuario> findAll() {
+            return List.of();
+        }
+
+        @Override
+        public Usuario save(Usuario usuario) {
+            return usuario;
+        }
+
+        @Override
+        public boolean updatePassword(Integer usuarioId, String passwordHash) {
+            return false;
+        }
+
+        @Override
+        public boolean replacePasswordHash(Integer usuarioId, String currentHash, String newHash) {
+            return false;
+        }
+
+        @Override
+        public boolean updateRol(Integer usuarioId, Usuario.Role rol) {
+            return false;
+        }
+
+        @Override
+        public boolean updateActivo(Integer usuarioId, Boolean activo) {
+            return false;
+        }
+
+        @Override
+        public boolean delete(Integer usuarioId) {
+            return false;
+        }
+
+        @Override
+        public boolean updateRolKeepingActiveAdmin(Integer usuarioId, Usuario.Role rol) {
+            return false;
+        }
+
+        @Override
+        public boolean updateActivoKeepingActiveAdmin(Integer usuarioId, Boolean activo) {
+            return false;
+        }
+
+        @Override
+        public boolean deleteKeepingActiveAdmin(Integer usuarioId) {
+            return false;
+        }
+
+        @Override
+        public Map<Usuario.Role, Integer> countByRol(Boolean activo) {
+            return Map.of();
+        }
+
+        @Override
+        public UsuarioPage search(String usernamePrefix, Usuario.Role rol, Boolean activo, String cursor, int limit) {
+            return new UsuarioPage();
+        }
+
+        @Override
+        public boolean existsByUsername(String username) {
+            return false;
+        }
+    }
+}
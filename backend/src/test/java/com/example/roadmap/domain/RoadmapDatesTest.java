@@ -0,0 +1,37 @@
+package com.example.roadmap.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoadmapDatesTest {
+
+    @Test
+    void quartersMapToTheirFirstAndLastDay() {
+        assertEquals(LocalDate.of(2026, 4, 1), RoadmapDates.periodStart("2026-T2").orElseThrow());
+        assertEquals(LocalDate.of(2026, 6, 30), RoadmapDates.periodEnd("2026-T2").orElseThrow());
+        assertEquals(LocalDate.of(2030, 12, 31), RoadmapDates.periodEnd(" q4 2030 ").orElseThrow());
+        assertEquals(LocalDate.of(2027, 7, 1), RoadmapDates.periodStart("2027-S2").orElseThrow());
+    }
+
+    @Test
+    void readsDaysMonthsAndYearsInIsoAndSpanishOrder() {
+        assertEquals(LocalDate.of(2026, 3, 15), RoadmapDates.periodStart("15/03/2026").orElseThrow());
+        assertEquals(LocalDate.of(2026, 3, 15), RoadmapDates.periodEnd("2026-03-15T10:00:00").orElseThrow());
+        assertEquals(LocalDate.of(2024, 2, 29), RoadmapDates.periodEnd("2024-02").orElseThrow());
+        assertEquals(LocalDate.of(2026, 11, 1), RoadmapDates.periodStart("11/2026").orElseThrow());
+        assertEquals(LocalDate.of(2028, 1, 1), RoadmapDates.periodStart("2028").orElseThrow());
+    }
+
+    @Test
+    void unreadableValuesAreEmpty() {
+        assertTrue(RoadmapDates.periodStart(null).isEmpty());
+        assertTrue(RoadmapDates.periodStart("  ").isEmpty());
+        assertTrue(RoadmapDates.periodStart("pendiente").isEmpty());
+        assertTrue(RoadmapDates.periodStart("31/02/2026").isEmpty());
+        assertTrue(RoadmapDates.periodStart("2026-S3").isEmpty());
+    }
+}
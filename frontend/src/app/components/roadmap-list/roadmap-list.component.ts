@@ -3,7 +3,7 @@ import { Component, OnDestroy, OnInit } from '@angular/core';
 import { FormsModule } from '@angular/forms';
 import { Router } from '@angular/router';
 import { Subject } from 'rxjs';
-import { takeUntil } from 'rxjs/operators';
+import { debounceTime, distinctUntilChanged, takeUntil } from 'rxjs/operators';
 
 import { AuthService } from '../../services/auth.service';
 import { ConnectionStateService } from '../../services/connection-state.service';
@@ -13,6 +13,8 @@ import { Roadmap, RoadmapService } from '../../services/roadmap.service';
  * RoadmapListComponent
  *
  * Shows available roadmaps with search and navigation actions.
+ * The search term is sent to the backend, so it also finds roadmaps that
+ * are not loaded yet; "Cargar más" keeps paging through the matches.
  * Standalone component for routing.
  */
 @Component({
@@ -24,12 +26,15 @@ import { Roadmap, RoadmapService } from '../../services/roadmap.service';
 })
 export class RoadmapListComponent implements OnInit, OnDestroy {
   roadmaps: Roadmap[] = [];
-  filteredRoadmaps: Roadmap[] = [];
   loading = false;
+  loadingMore = false;
+  nextCursor: string | null = null;
+  totalHint: number | null = null;
   search = '';
   connectionError = '';
   reconnecting = false;
   private readonly destroy$ = new Subject<void>();
+  private readonly search$ = new Subject<string>();
 
   constructor(
     private readonly router: Router,
@@ -52,6 +57,10 @@ export class RoadmapListComponent implements OnInit, OnDestroy {
         this.load();
       });
 
+    this.search$
+      .pipe(debounceTime(300), distinctUntilChanged(), takeUntil(this.destroy$))
+      .subscribe(() => this.load());
+
     this.load();
   }
 
@@ -67,17 +76,23 @@ export class RoadmapListComponent implements OnInit, OnDestroy {
    * Requests backend status and roadmap list.
    */
   load(): void {
+    const term = this.search.trim();
     this.loading = true;
     this.connectionError = '';
 
     console.log('📌 Cargando roadmaps...');
     
     this.connectionState.refreshStatus().subscribe({ error: () => void 0 });
-    this.service.list().subscribe({
-      next: (r) => {
-        console.log(`   ✅ ${r.length} roadmaps cargados`);
-        this.roadmaps = r;
-        this.applyFilter();
+    this.service.listPage(null, 50, 'summary', term).subscribe({
+      next: (page) => {
+        if (term !== this.search.trim()) {
+          // A newer search is pending; its load() replaces this page.
+          return;
+        }
+        console.log(`   ✅ ${page.items.length} de ${page.totalHint ?? '?'} roadmaps cargados`);
+        this.roadmaps = page.items;
+        this.nextCursor = page.nextCursor;
+        this.totalHint = page.totalHint;
         this.loading = false;
       },
       error: (err) => {
@@ -95,17 +110,37 @@ export class RoadmapListComponent implements OnInit, OnDestroy {
   }
 
   /**
-   * Updates visible rows based on search criteria.
+   * Appends the next page of roadmaps.
    */
-  applyFilter(): void {
-    const term = this.search.trim().toLowerCase();
-    if (!term) {
-      this.filteredRoadmaps = [...this.roadmaps];
+  loadMore(): void {
+    if (!this.nextCursor || this.loadingMore) {
       return;
     }
-    this.filteredRoadmaps = this.roadmaps.filter((r) =>
-      `${r.title || ''} ${r.description || ''}`.toLowerCase().includes(term)
-    );
+    const term = this.search.trim();
+    this.loadingMore = true;
+    this.service.listPage(this.nextCursor, 50, 'summary', term)
+      .pipe(takeUntil(this.destroy$))
+      .subscribe({
+        next: (page) => {
+          this.loadingMore = false;
+          if (term !== this.search.trim()) {
+            return;
+          }
+          this.roadmaps = [...this.roadmaps, ...page.items];
+          this.nextCursor = page.nextCursor;
+        },
+        error: (err) => {
+          this.connectionError = err?.error?.message || 'Error cargando roadmaps desde backend.';
+          this.loadingMore = false;
+        }
+      });
+  }
+
+  /**
+   * Reloads the list from the backend once the user stops typing.
+   */
+  onSearchChange(): void {
+    this.search$.next(this.search.trim());
   }
 
   /**
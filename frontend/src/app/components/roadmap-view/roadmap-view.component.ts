@@ -1,5 +1,7 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
 import { ActivatedRoute, Router } from '@angular/router';
+import { Subject, Subscription } from 'rxjs';
+import { debounceTime, takeUntil } from 'rxjs/operators';
 
 import { AuthService } from '../../services/auth.service';
 import { ConnectionStateService } from '../../services/connection-state.service';
@@ -66,7 +68,7 @@ type SidePanel = 'none' | 'expedientes' | 'compromisos';
   templateUrl: './roadmap-view.component.html',
   styleUrls: ['./roadmap-view.component.scss']
 })
-export class RoadmapViewComponent implements OnInit {
+export class RoadmapViewComponent implements OnInit, OnDestroy {
   roadmap: Roadmap | null = null;
   config: RoadmapConfig | null = null;
   readonly quarterOptions = [1, 2, 3, 4];
@@ -109,11 +111,17 @@ export class RoadmapViewComponent implements OnInit {
   commitmentDraft: CommitmentConfig = this.createEmptyCommitmentDraft();
   showLinkExpedienteSelector = false;
   linkExpedienteSearch = '';
+  catalogResults: InitiativeExpediente[] = [];
+  catalogNextCursor: string | null = null;
+  catalogLoading = false;
   expedientesPanelWidth = 760;
   expeditionContextInitiativeIds: string[] = [];
   createInitiativeModalOpen = false;
   createInitiativeDraft: InitiativeConfig = this.createNewInitiativeDraft('');
   collapsedAxisIds: Set<string> = new Set<string>();
+  private readonly destroy$ = new Subject<void>();
+  private readonly catalogQuery$ = new Subject<string>();
+  private catalogRequest: Subscription | null = null;
 
   constructor(
     private readonly route: ActivatedRoute,
@@ -127,9 +135,21 @@ export class RoadmapViewComponent implements OnInit {
    * Loads roadmap and associated edit configuration.
    */
   ngOnInit(): void {
+    this.catalogQuery$
+      .pipe(debounceTime(250), takeUntil(this.destroy$))
+      .subscribe(() => this.requestCatalogPage(true));
     this.load();
   }
 
+  /**
+   * Cleans reactive subscriptions.
+   */
+  ngOnDestroy(): void {
+    this.catalogRequest?.unsubscribe();
+    this.destroy$.next();
+    this.destroy$.complete();
+  }
+
   /**
    * Navigates back to roadmap list.
    */
@@ -250,7 +270,7 @@ export class RoadmapViewComponent implements OnInit {
       .filter((v) => !!v)
       .join(', ');
     this.showLinkExpedienteSelector = false;
-    this.linkExpedienteSearch = '';
+    this.resetLinkExpedienteSelector();
     this.expeditionContextInitiativeIds = [];
     this.initiativeModalOpen = true;
   }
@@ -262,7 +282,7 @@ export class RoadmapViewComponent implements OnInit {
     this.dependenciesInput = '';
     this.activeInitiativeTab = 'general';
     this.showLinkExpedienteSelector = false;
-    this.linkExpedienteSearch = '';
+    this.resetLinkExpedienteSelector();
     this.expeditionContextInitiativeIds = [];
   }
 
@@ -634,6 +654,12 @@ export class RoadmapViewComponent implements OnInit {
     return (row.initiativeNames || []).join(', ');
   }
 
+  /**
+   * Catalog entries that can still be linked to the initiative draft.
+   *
+   * Server results are already filtered by prefix; entries embedded in the
+   * config (legacy storage or explicit opt-in) are filtered locally.
+   */
   expedientesCatalogoDisponibles(): InitiativeExpediente[] {
     if (!this.config || !this.initiativeDraft) {
       return [];
@@ -641,8 +667,7 @@ export class RoadmapViewComponent implements OnInit {
 
     const filter = this.linkExpedienteSearch.trim().toLowerCase();
     const linkedIds = new Set(this.draftExpedientes().map((item) => item.id).filter((id) => !!id));
-    return (this.config.expedientes_catalogo || [])
-      .filter((expediente) => !linkedIds.has(expediente.id))
+    const embedded = (this.config.expedientes_catalogo || [])
       .filter((expediente) => {
         if (!filter) {
           return true;
@@ -657,6 +682,17 @@ export class RoadmapViewComponent implements OnInit {
         ];
         return values.some((value) => String(value || '').toLowerCase().includes(filter));
       });
+
+    const seen = new Set<string>();
+    return [...this.catalogResults, ...embedded]
+      .filter((expediente) => !linkedIds.has(expediente.id))
+      .filter((expediente) => {
+        if (seen.has(expediente.id)) {
+          return false;
+        }
+        seen.add(expediente.id);
+        return true;
+      });
   }
 
   toggleLinkExpedienteSelector(): void {
@@ -665,8 +701,53 @@ export class RoadmapViewComponent implements OnInit {
     }
     this.showLinkExpedienteSelector = !this.showLinkExpedienteSelector;
     if (!this.showLinkExpedienteSelector) {
-      this.linkExpedienteSearch = '';
+      this.resetLinkExpedienteSelector();
+      return;
     }
+    this.requestCatalogPage(true);
+  }
+
+  /**
+   * Schedules a catalog search after the user stops typing.
+   */
+  onLinkExpedienteSearchChange(value: string): void {
+    this.linkExpedienteSearch = value;
+    this.catalogQuery$.next(value);
+  }
+
+  /**
+   * Loads the next catalog page for the current search.
+   */
+  loadMoreCatalog(): void {
+    if (this.catalogNextCursor && !this.catalogLoading) {
+      this.requestCatalogPage(false);
+    }
+  }
+
+  private requestCatalogPage(reset: boolean): void {
+    this.catalogRequest?.unsubscribe();
+    this.catalogLoading = true;
+    const cursor = reset ? null : this.catalogNextCursor;
+    this.catalogRequest = this.roadmapService.searchExpedientes(this.linkExpedienteSearch, cursor).subscribe({
+      next: (page) => {
+        const items = (page?.items || []).map((item: any) => this.normalizeSingleExpediente(item));
+        this.catalogResults = reset ? items : [...this.catalogResults, ...items];
+        this.catalogNextCursor = page?.nextCursor || null;
+        this.catalogLoading = false;
+      },
+      error: () => {
+        this.catalogLoading = false;
+      }
+    });
+  }
+
+  private resetLinkExpedienteSelector(): void {
+    this.catalogRequest?.unsubscribe();
+    this.catalogRequest = null;
+    this.linkExpedienteSearch = '';
+    this.catalogResults = [];
+    this.catalogNextCursor = null;
+    this.catalogLoading = false;
   }
 
   linkExistingExpediente(expediente: InitiativeExpediente): void {
@@ -684,7 +765,7 @@ export class RoadmapViewComponent implements OnInit {
 
     this.draftExpedientes().push(this.cloneExpediente(expediente));
     this.showLinkExpedienteSelector = false;
-    this.linkExpedienteSearch = '';
+    this.resetLinkExpedienteSelector();
   }
 
   /**
@@ -1456,7 +1537,7 @@ export class RoadmapViewComponent implements OnInit {
       .filter((v) => !!v)
       .join(', ');
     this.showLinkExpedienteSelector = false;
-    this.linkExpedienteSearch = '';
+    this.resetLinkExpedienteSelector();
     this.initiativeModalOpen = true;
   }
 
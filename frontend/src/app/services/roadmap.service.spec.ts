@@ -71,6 +71,43 @@ describe('RoadmapService', () => {
     req.flush({});
   });
 
+  it('should page the expedientes catalog with GET /api/expedientes', () => {
+    service.searchExpedientes(' DNA ', 'abc', 20).subscribe((page) => {
+      expect(page.items.length).toBe(0);
+      expect(page.nextCursor).toBeNull();
+    });
+
+    const req = httpMock.expectOne((request) => request.url === '/api/expedientes');
+    expect(req.request.method).toBe('GET');
+    expect(req.request.params.get('q')).toBe('DNA');
+    expect(req.request.params.get('cursor')).toBe('abc');
+    expect(req.request.params.get('limit')).toBe('20');
+    req.flush({ items: [], nextCursor: null });
+  });
+
+  it('should request one roadmap page with cursor and projection', () => {
+    service.listPage('next', 25).subscribe((page) => {
+      expect(page.items.length).toBe(0);
+      expect(page.totalHint).toBeNull();
+    });
+
+    const req = httpMock.expectOne((request) => request.url === '/api/roadmaps/page');
+    expect(req.request.method).toBe('GET');
+    expect(req.request.params.get('cursor')).toBe('next');
+    expect(req.request.params.get('limit')).toBe('25');
+    expect(req.request.params.get('fields')).toBe('summary');
+    req.flush({ items: [], nextCursor: null, totalHint: null });
+  });
+
+  it('should send the search term to the roadmap page endpoint', () => {
+    service.listPage(null, 50, 'summary', '  portal ').subscribe();
+
+    const req = httpMock.expectOne((request) => request.url === '/api/roadmaps/page');
+    expect(req.request.params.get('q')).toBe('portal');
+    expect(req.request.params.has('cursor')).toBeFalse();
+    req.flush({ items: [], nextCursor: null, totalHint: null });
+  });
+
   it('should import roadmap with POST /api/roadmaps/import', () => {
     const payload = {
       title: 'ETNA',
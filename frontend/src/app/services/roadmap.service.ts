@@ -1,5 +1,5 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable, Subject } from 'rxjs';
 
 /** Core roadmap data structure used by UI and API calls. */
@@ -10,6 +10,13 @@ export interface Roadmap {
   createdAt?: string;
 }
 
+/** One page of the roadmap listing, newest first. */
+export interface RoadmapPage {
+  items: Roadmap[];
+  nextCursor: string | null;
+  totalHint: number | null;
+}
+
 /** Strategic axis used in roadmap editing UI. */
 export interface AxisConfig {
   id: string;
@@ -37,6 +44,12 @@ export interface InitiativeExpediente {
   informacion_adicional: Record<string, string>;
 }
 
+/** One page of the global expedientes catalog. */
+export interface ExpedienteCatalogPage {
+  items: InitiativeExpediente[];
+  nextCursor: string | null;
+}
+
 /** Initiative definition used in roadmap editing UI. */
 export interface InitiativeConfig {
   id: string;
@@ -101,6 +114,7 @@ export interface RoadmapImportPayload {
 @Injectable({ providedIn: 'root' })
 export class RoadmapService {
   base = '/api/roadmaps';
+  expedientesBase = '/api/expedientes';
   private readonly roadmapsChangedSubject = new Subject<void>();
   readonly roadmapsChanged$ = this.roadmapsChangedSubject.asObservable();
 
@@ -121,6 +135,31 @@ export class RoadmapService {
    */
   list(): Observable<Roadmap[]> { return this.http.get<Roadmap[]>(this.base); }
 
+  /**
+   * Lists roadmaps one page at a time, newest first.
+   *
+   * @param cursor Cursor returned by the previous page.
+   * @param limit Page size.
+   * @param fields 'summary' cuts long descriptions; 'full' returns them complete.
+   * @param query Text the title or description must contain; filtered by the backend.
+   * @returns Observable<RoadmapPage> one roadmap page.
+   */
+  listPage(
+    cursor: string | null = null,
+    limit = 50,
+    fields: 'summary' | 'full' = 'summary',
+    query = ''
+  ): Observable<RoadmapPage> {
+    let params = new HttpParams().set('limit', String(limit)).set('fields', fields);
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    if (query.trim()) {
+      params = params.set('q', query.trim());
+    }
+    return this.http.get<RoadmapPage>(`${this.base}/page`, { params });
+  }
+
   /**
    * Retrieves one roadmap by id.
    *
@@ -132,13 +171,39 @@ export class RoadmapService {
   /**
    * Reads editable roadmap configuration from backend persistence.
    *
+   * The global expedientes catalog is only embedded when requested; the UI
+   * pages it through {@link searchExpedientes} instead.
+   *
    * @param id Roadmap identifier.
+   * @param includeCatalog Whether to embed the full expedientes catalog.
    * @returns Observable<RoadmapConfig> saved configuration.
    */
-  getConfig(id: string): Observable<RoadmapConfig> {
+  getConfig(id: string, includeCatalog = false): Observable<RoadmapConfig> {
+    if (includeCatalog) {
+      return this.http.get<RoadmapConfig>(`${this.base}/${id}/config`, { params: { catalogo: 'true' } });
+    }
     return this.http.get<RoadmapConfig>(`${this.base}/${id}/config`);
   }
 
+  /**
+   * Searches the global expedientes catalog by expediente code or company prefix.
+   *
+   * @param query Search prefix; empty for no filter.
+   * @param cursor Cursor returned by the previous page.
+   * @param limit Page size.
+   * @returns Observable<ExpedienteCatalogPage> one catalog page.
+   */
+  searchExpedientes(query: string, cursor: string | null = null, limit = 50): Observable<ExpedienteCatalogPage> {
+    let params = new HttpParams().set('limit', String(limit));
+    if (query.trim()) {
+      params = params.set('q', query.trim());
+    }
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.http.get<ExpedienteCatalogPage>(this.expedientesBase, { params });
+  }
+
   /**
    * Persists editable roadmap configuration in backend persistence.
    *